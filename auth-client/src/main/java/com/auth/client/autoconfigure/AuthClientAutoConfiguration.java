@@ -0,0 +1,195 @@
+package com.auth.client.autoconfigure;
+
+import com.auth.client.introspection.CachingOpaqueTokenIntrospector;
+import com.auth.client.introspection.TokenFormatAuthenticationManager;
+import com.auth.client.jwt.CachingJwtDecoder;
+import com.auth.client.jwt.RevocationCheckingJwtDecoder;
+import com.auth.client.jwt.ScopeAuthoritiesConverter;
+import com.auth.client.jwt.TokenRevocationFilter;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.support.BasicAuthenticationInterceptor;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.OpaqueTokenAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.introspection.SpringOpaqueTokenIntrospector;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Local access token validation for services that trust the auth platform.
+ *
+ * <p>The default decoder fetches the key set on the first request and again, on the request
+ * thread, for every token with an unknown {@code kid}. Here one JWK source per process is fetched
+ * at startup, refreshed in the background {@code refresh-ahead} before it expires, and refetched on
+ * a {@code kid} miss at most once per {@code min-refresh-interval}: concurrent misses wait for the
+ * single fetch in progress instead of starting their own. If the authorization server cannot be
+ * reached, the last key set that was fetched successfully keeps being served for {@code
+ * outage-tolerance}.
+ *
+ * <p>On top of it sit the verified-token cache, every {@link TokenRevocationFilter} bean and a
+ * {@link JwtAuthenticationConverter} using precompiled scope mappings. With {@code
+ * auth.client.introspection.enabled} opaque reference tokens are accepted as well, through a
+ * cached introspection client and a {@link TokenFormatAuthenticationManager} that picks the path
+ * by token format. Each bean backs off when the application defines its own.
+ */
+@Slf4j
+@AutoConfiguration(before = OAuth2ResourceServerAutoConfiguration.class)
+@ConditionalOnClass(JwtDecoder.class)
+@EnableConfigurationProperties({AuthClientProperties.class, OAuth2ResourceServerProperties.class})
+public class AuthClientAutoConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public JWKSource<SecurityContext> jwkSource(
+      AuthClientProperties properties, OAuth2ResourceServerProperties resourceServerProperties)
+      throws MalformedURLException {
+    String jwkSetUri =
+        properties.getJwkSetUri() != null
+            ? properties.getJwkSetUri()
+            : resourceServerProperties.getJwt().getJwkSetUri();
+    if (jwkSetUri == null) {
+      throw new IllegalStateException(
+          "Set auth.client.jwk-set-uri or spring.security.oauth2.resourceserver.jwt.jwk-set-uri");
+    }
+    AuthClientProperties.JwkSet jwkSet = properties.getJwkSet();
+    DefaultResourceRetriever retriever =
+        new DefaultResourceRetriever(
+            (int) jwkSet.getConnectTimeout().toMillis(),
+            (int) jwkSet.getReadTimeout().toMillis(),
+            JWKSourceBuilder.DEFAULT_HTTP_SIZE_LIMIT);
+
+    JWKSource<SecurityContext> jwkSource =
+        JWKSourceBuilder.<SecurityContext>create(URI.create(jwkSetUri).toURL(), retriever)
+            .cache(jwkSet.getCacheTtl().toMillis(), jwkSet.getRefreshTimeout().toMillis())
+            .refreshAheadCache(jwkSet.getRefreshAhead().toMillis(), true)
+            .rateLimited(jwkSet.getMinRefreshInterval().toMillis())
+            .outageTolerant(jwkSet.getOutageTolerance().toMillis())
+            .retrying(true)
+            .build();
+
+    if (jwkSet.isWarmUp()) {
+      warmUp(jwkSource, jwkSetUri);
+    }
+    return jwkSource;
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public JwtDecoder jwtDecoder(
+      JWKSource<SecurityContext> jwkSource,
+      AuthClientProperties properties,
+      ObjectProvider<TokenRevocationFilter> revocationFilters,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+    jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+    // Claims are validated by NimbusJwtDecoder's OAuth2TokenValidator, as in the default decoder
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+    JwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+
+    if (properties.getTokenCache().isEnabled()) {
+      decoder =
+          new CachingJwtDecoder(
+              decoder, jwkSource, properties.getTokenCache(), meterRegistry.getIfAvailable());
+    }
+    List<TokenRevocationFilter> filters = revocationFilters.orderedStream().toList();
+    if (!filters.isEmpty()) {
+      decoder = new RevocationCheckingJwtDecoder(decoder, filters);
+    }
+    return decoder;
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public ScopeAuthoritiesConverter scopeAuthoritiesConverter(AuthClientProperties properties) {
+    AuthClientProperties.Authorities authorities = properties.getAuthorities();
+    return new ScopeAuthoritiesConverter(
+        authorities.getScopeClaims(), authorities.getDefaultPrefix(), authorities.getMappings());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public JwtAuthenticationConverter jwtAuthenticationConverter(
+      ScopeAuthoritiesConverter scopeAuthoritiesConverter) {
+    JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+    converter.setJwtGrantedAuthoritiesConverter(scopeAuthoritiesConverter);
+    return converter;
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  @ConditionalOnProperty(prefix = "auth.client.introspection", name = "enabled")
+  public OpaqueTokenIntrospector opaqueTokenIntrospector(
+      AuthClientProperties properties,
+      ScopeAuthoritiesConverter scopeAuthoritiesConverter,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    AuthClientProperties.Introspection introspection = properties.getIntrospection();
+    if (introspection.getUri() == null) {
+      throw new IllegalStateException("Set auth.client.introspection.uri");
+    }
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(introspection.getConnectTimeout());
+    requestFactory.setReadTimeout(introspection.getReadTimeout());
+    RestTemplate restTemplate = new RestTemplate(requestFactory);
+    restTemplate
+        .getInterceptors()
+        .add(
+            new BasicAuthenticationInterceptor(
+                introspection.getClientId(), introspection.getClientSecret()));
+
+    return new CachingOpaqueTokenIntrospector(
+        new SpringOpaqueTokenIntrospector(introspection.getUri(), restTemplate),
+        scopeAuthoritiesConverter,
+        introspection,
+        meterRegistry.getIfAvailable());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  @ConditionalOnProperty(prefix = "auth.client.introspection", name = "enabled")
+  public TokenFormatAuthenticationManager tokenFormatAuthenticationManager(
+      JwtDecoder jwtDecoder,
+      JwtAuthenticationConverter jwtAuthenticationConverter,
+      OpaqueTokenIntrospector opaqueTokenIntrospector) {
+    JwtAuthenticationProvider jwtProvider = new JwtAuthenticationProvider(jwtDecoder);
+    jwtProvider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+    return new TokenFormatAuthenticationManager(
+        jwtProvider, new OpaqueTokenAuthenticationProvider(opaqueTokenIntrospector));
+  }
+
+  private void warmUp(JWKSource<SecurityContext> jwkSource, String jwkSetUri) {
+    try {
+      List<JWK> keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+      log.info("Loaded {} signing keys from {}", keys.size(), jwkSetUri);
+    } catch (KeySourceException e) {
+      // Not fatal: the first request retries, and the server may simply be starting up too
+      log.warn("Could not load JWK set from {} at startup: {}", jwkSetUri, e.getMessage());
+    }
+  }
+}
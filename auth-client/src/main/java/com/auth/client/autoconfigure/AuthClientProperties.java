@@ -0,0 +1,81 @@
+package com.auth.client.autoconfigure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "auth.client")
+@Getter
+@Setter
+public class AuthClientProperties {
+
+  // Defaults to spring.security.oauth2.resourceserver.jwt.jwk-set-uri
+  private String jwkSetUri;
+  private JwkSet jwkSet = new JwkSet();
+  private TokenCache tokenCache = new TokenCache();
+  private Authorities authorities = new Authorities();
+  private Introspection introspection = new Introspection();
+
+  @Getter
+  @Setter
+  public static class JwkSet {
+    // How long a fetched key set is served before it must be refetched
+    private Duration cacheTtl = Duration.ofMinutes(5);
+    // Background refresh starts this long before the cached set expires
+    private Duration refreshAhead = Duration.ofSeconds(30);
+    // Requests wait at most this long for a refresh another thread is already running
+    private Duration refreshTimeout = Duration.ofSeconds(15);
+    // At most one fetch per interval, however many unknown kids arrive
+    private Duration minRefreshInterval = Duration.ofSeconds(30);
+    // The last good key set keeps being served this long while the authorization server is down
+    private Duration outageTolerance = Duration.ofHours(12);
+    private Duration connectTimeout = Duration.ofMillis(500);
+    private Duration readTimeout = Duration.ofSeconds(2);
+    // Fetch the key set during startup instead of on the first request
+    private boolean warmUp = true;
+  }
+
+  @Getter
+  @Setter
+  public static class TokenCache {
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    // Upper bound on how long a decoded token is reused, even if it expires later
+    private Duration maxTtl = Duration.ofMinutes(10);
+    // Cache hits look their signing key up in the JWK set at most this often per kid
+    private Duration keyCheckInterval = Duration.ofSeconds(30);
+  }
+
+  @Getter
+  @Setter
+  public static class Authorities {
+    // Claims holding granted scopes, as a space-separated string or a list
+    private List<String> scopeClaims = new ArrayList<>(List.of("scope", "scp"));
+    // Authority given for a scope without an explicit mapping
+    private String defaultPrefix = "SCOPE_";
+    // Scope to authorities, e.g. admin -> [ROLE_ADMIN, SCOPE_admin]; replaces the default
+    private Map<String, List<String>> mappings = new LinkedHashMap<>();
+  }
+
+  @Getter
+  @Setter
+  public static class Introspection {
+    // Accept opaque reference tokens next to JWTs, checked at the introspection endpoint
+    private boolean enabled = false;
+    private String uri;
+    private String clientId;
+    private String clientSecret;
+    private long maximumSize = 10_000;
+    // Upper bound on how long an active result is reused; also how late a revocation is noticed
+    private Duration maxTtl = Duration.ofSeconds(30);
+    // Inactive results are remembered this long so a bad token cannot hammer the endpoint
+    private Duration negativeTtl = Duration.ofSeconds(10);
+    private Duration connectTimeout = Duration.ofMillis(500);
+    private Duration readTimeout = Duration.ofSeconds(2);
+  }
+}
@@ -0,0 +1,116 @@
+package com.auth.client.introspection;
+
+import com.auth.client.autoconfigure.AuthClientProperties;
+import com.auth.client.jwt.ScopeAuthoritiesConverter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
+import org.springframework.security.oauth2.server.resource.introspection.OAuth2IntrospectionAuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+
+/**
+ * {@link OpaqueTokenIntrospector} that remembers introspection results.
+ *
+ * <p>A reference token carries nothing the resource server can check by itself, so without a cache
+ * every request would cost a round trip to the authorization server. Results are kept in a bounded
+ * Caffeine cache keyed by the SHA-256 of the raw token. An active result expires at the token's
+ * {@code exp} or after {@code max-ttl}, whichever comes first; {@code max-ttl} is therefore also
+ * the longest a revoked token keeps being accepted. An inactive result is kept for {@code
+ * negative-ttl} so a bad token repeated in a loop reaches the endpoint once per interval. Errors
+ * talking to the endpoint are not cached. Concurrent requests with the same uncached token share
+ * one introspection call.
+ *
+ * <p>Authorities are derived with the same {@link ScopeAuthoritiesConverter} as for JWTs. Hit and
+ * miss counts are exported as the {@code cache.*} metrics tagged {@code
+ * cache=opaque.introspector}.
+ */
+public class CachingOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
+
+  private final OpaqueTokenIntrospector delegate;
+  private final ScopeAuthoritiesConverter authoritiesConverter;
+  private final Cache<String, Optional<OAuth2AuthenticatedPrincipal>> cache;
+
+  public CachingOpaqueTokenIntrospector(
+      OpaqueTokenIntrospector delegate,
+      ScopeAuthoritiesConverter authoritiesConverter,
+      AuthClientProperties.Introspection properties,
+      @Nullable MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.authoritiesConverter = authoritiesConverter;
+    Duration maxTtl = properties.getMaxTtl();
+    Duration negativeTtl = properties.getNegativeTtl();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfter(
+                Expiry.creating(
+                    (String key, Optional<OAuth2AuthenticatedPrincipal> result) ->
+                        result.map(principal -> timeToLive(principal, maxTtl)).orElse(negativeTtl)))
+            .recordStats()
+            .build();
+    if (meterRegistry != null) {
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, "opaque.introspector");
+    }
+  }
+
+  @Override
+  public OAuth2AuthenticatedPrincipal introspect(String token) {
+    return cache
+        .get(digest(token), key -> introspectOrInactive(token))
+        .orElseThrow(() -> new BadOpaqueTokenException("Provided token isn't active"));
+  }
+
+  /** Drops a token so its next use is introspected again. */
+  public void invalidate(String token) {
+    cache.invalidate(digest(token));
+  }
+
+  private Optional<OAuth2AuthenticatedPrincipal> introspectOrInactive(String token) {
+    OAuth2AuthenticatedPrincipal principal;
+    try {
+      principal = delegate.introspect(token);
+    } catch (BadOpaqueTokenException e) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new OAuth2IntrospectionAuthenticatedPrincipal(
+            principal.getName(),
+            principal.getAttributes(),
+            authoritiesConverter.convert(principal.getAttributes())));
+  }
+
+  private static Duration timeToLive(OAuth2AuthenticatedPrincipal principal, Duration maxTtl) {
+    Object exp = principal.getAttribute(OAuth2TokenIntrospectionClaimNames.EXP);
+    if (!(exp instanceof Instant expiresAt)) {
+      return maxTtl;
+    }
+    Duration remaining = Duration.between(Instant.now(), expiresAt);
+    if (remaining.isNegative()) {
+      return Duration.ZERO;
+    }
+    return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
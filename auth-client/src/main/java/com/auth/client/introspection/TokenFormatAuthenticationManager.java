@@ -0,0 +1,38 @@
+package com.auth.client.introspection;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.OpaqueTokenAuthenticationProvider;
+
+/**
+ * Authenticates bearer tokens of either format the authorization server issues.
+ *
+ * <p>A JWT always has three dot-separated parts and a reference token never contains a dot, so the
+ * token itself says which path it takes: JWTs are verified locally and everything else goes to the
+ * (cached) introspection endpoint. Clients can be switched between the formats without touching the
+ * resource servers.
+ */
+public class TokenFormatAuthenticationManager implements AuthenticationManager {
+
+  private final JwtAuthenticationProvider jwtProvider;
+  private final OpaqueTokenAuthenticationProvider opaqueProvider;
+
+  public TokenFormatAuthenticationManager(
+      JwtAuthenticationProvider jwtProvider, OpaqueTokenAuthenticationProvider opaqueProvider) {
+    this.jwtProvider = jwtProvider;
+    this.opaqueProvider = opaqueProvider;
+  }
+
+  @Override
+  public Authentication authenticate(Authentication authentication)
+      throws AuthenticationException {
+    if (authentication instanceof BearerTokenAuthenticationToken bearer
+        && bearer.getToken().indexOf('.') < 0) {
+      return opaqueProvider.authenticate(authentication);
+    }
+    return jwtProvider.authenticate(authentication);
+  }
+}
@@ -0,0 +1,156 @@
+package com.auth.client.jwt;
+
+import com.auth.client.autoconfigure.AuthClientProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} that remembers tokens it has already verified.
+ *
+ * <p>Clients repeat the same access token on every call until it expires, and each decode costs an
+ * RSA signature check plus claim validation. Decoded tokens are kept in a bounded Caffeine cache
+ * keyed by the SHA-256 of the raw token (the token itself is never held as a key), and each entry
+ * expires at the token's {@code exp} or after {@code max-ttl}, whichever comes first. Failed
+ * decodes are not cached.
+ *
+ * <p>A cached token is only reused while its {@code kid} is still in the current JWK set, so a key
+ * removed from the authorization server stops being accepted on the next JWK refresh. A decode
+ * that verified the signature marks its {@code kid} as current, and cache hits look a {@code kid}
+ * up in the JWK set again at most once per {@code key-check-interval}. Revoked
+ * tokens are rejected on every use by {@link RevocationCheckingJwtDecoder} in front of this cache;
+ * {@link #invalidate(String)} and {@link #invalidateIf(Predicate)} additionally free their entries,
+ * e.g. by {@code jti} or subject.
+ *
+ * <p>Hit and miss counts are exported as the {@code cache.*} metrics tagged {@code
+ * cache=jwt.decoder}.
+ */
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder {
+
+  // MessageDigest is stateful, so each thread hashes with its own instance
+  private static final ThreadLocal<MessageDigest> SHA_256 =
+      ThreadLocal.withInitial(CachingJwtDecoder::newSha256);
+
+  private final JwtDecoder delegate;
+  private final JWKSource<SecurityContext> jwkSource;
+  private final Cache<String, Jwt> cache;
+  // kids found in the JWK set within the last key-check-interval
+  private final Cache<String, Boolean> currentKids;
+
+  public CachingJwtDecoder(
+      JwtDecoder delegate,
+      JWKSource<SecurityContext> jwkSource,
+      AuthClientProperties.TokenCache properties,
+      @Nullable MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.jwkSource = jwkSource;
+    Duration maxTtl = properties.getMaxTtl();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfter(Expiry.creating((String key, Jwt jwt) -> timeToLive(jwt, maxTtl)))
+            .recordStats()
+            .build();
+    this.currentKids =
+        Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(properties.getKeyCheckInterval())
+            .build();
+    if (meterRegistry != null) {
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.decoder");
+    }
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    String key = digest(token);
+    Jwt cached = cache.getIfPresent(key);
+    if (cached != null) {
+      if (signingKeyPresent(cached)) {
+        return cached;
+      }
+      cache.invalidate(key);
+    }
+    Jwt jwt = delegate.decode(token);
+    Object kid = jwt.getHeaders().get("kid");
+    if (kid != null) {
+      // The delegate just verified the signature with this key
+      currentKids.put(kid.toString(), Boolean.TRUE);
+    }
+    cache.put(key, jwt);
+    return jwt;
+  }
+
+  /** Drops a revoked token so its next use is verified from scratch. */
+  public void invalidate(String token) {
+    cache.invalidate(digest(token));
+  }
+
+  /** Drops every cached token matching the filter, for example all tokens of one subject. */
+  public void invalidateIf(Predicate<Jwt> filter) {
+    cache.asMap().values().removeIf(filter);
+  }
+
+  private boolean signingKeyPresent(Jwt jwt) {
+    Object kid = jwt.getHeaders().get("kid");
+    if (kid == null || currentKids.getIfPresent(kid.toString()) != null) {
+      return true;
+    }
+    try {
+      JWKMatcher matcher = new JWKMatcher.Builder().keyID(kid.toString()).build();
+      if (jwkSource.get(new JWKSelector(matcher), null).isEmpty()) {
+        return false;
+      }
+      currentKids.put(kid.toString(), Boolean.TRUE);
+      return true;
+    } catch (KeySourceException e) {
+      log.debug("Could not check signing key {} of cached token: {}", kid, e.getMessage());
+      return false;
+    }
+  }
+
+  private static Duration timeToLive(Jwt jwt, Duration maxTtl) {
+    Instant expiresAt = jwt.getExpiresAt();
+    if (expiresAt == null) {
+      return maxTtl;
+    }
+    Duration remaining = Duration.between(Instant.now(), expiresAt);
+    if (remaining.isNegative()) {
+      return Duration.ZERO;
+    }
+    return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
+  }
+
+  private static String digest(String token) {
+    byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+  }
+
+  private static MessageDigest newSha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
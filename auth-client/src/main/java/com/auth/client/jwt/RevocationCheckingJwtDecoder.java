@@ -0,0 +1,30 @@
+package com.auth.client.jwt;
+
+import java.util.List;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/** Rejects decoded tokens that any {@link TokenRevocationFilter} reports as revoked. */
+public class RevocationCheckingJwtDecoder implements JwtDecoder {
+
+  private final JwtDecoder delegate;
+  private final List<TokenRevocationFilter> filters;
+
+  public RevocationCheckingJwtDecoder(JwtDecoder delegate, List<TokenRevocationFilter> filters) {
+    this.delegate = delegate;
+    this.filters = List.copyOf(filters);
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    Jwt jwt = delegate.decode(token);
+    for (TokenRevocationFilter filter : filters) {
+      if (filter.isRevoked(jwt)) {
+        throw new BadJwtException("Token has been revoked");
+      }
+    }
+    return jwt;
+  }
+}
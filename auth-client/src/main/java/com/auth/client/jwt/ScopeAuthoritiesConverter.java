@@ -0,0 +1,95 @@
+package com.auth.client.jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Maps a token's scopes to granted authorities.
+ *
+ * <p>Explicit mappings are turned into immutable authority lists once, at construction. Scopes
+ * without a mapping become {@code <default-prefix><scope>}, as with Spring's {@code
+ * JwtGrantedAuthoritiesConverter}. Tokens carry only a handful of distinct scope sets, so the
+ * resulting collection is memoized per raw scope value and a request costs one map lookup instead
+ * of splitting the claim and allocating authorities again.
+ */
+public class ScopeAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+  // Distinct scope sets are few; past this many the claim is probably not a plain scope list
+  private static final int MAX_MEMOIZED = 1_024;
+
+  private final List<String> scopeClaims;
+  private final String defaultPrefix;
+  private final Map<String, List<GrantedAuthority>> mappings;
+  private final Map<Object, Collection<GrantedAuthority>> memoized = new ConcurrentHashMap<>();
+
+  public ScopeAuthoritiesConverter(
+      List<String> scopeClaims, String defaultPrefix, Map<String, List<String>> mappings) {
+    this.scopeClaims = List.copyOf(scopeClaims);
+    this.defaultPrefix = defaultPrefix;
+    Map<String, List<GrantedAuthority>> compiled = new ConcurrentHashMap<>();
+    mappings.forEach(
+        (scope, authorities) ->
+            compiled.put(
+                scope,
+                authorities.stream()
+                    .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                    .toList()));
+    this.mappings = Map.copyOf(compiled);
+  }
+
+  @Override
+  public Collection<GrantedAuthority> convert(Jwt jwt) {
+    return convert(jwt.getClaims());
+  }
+
+  /** Same mapping for claims that did not come from a JWT, e.g. an introspection response. */
+  public Collection<GrantedAuthority> convert(Map<String, Object> claims) {
+    for (String claim : scopeClaims) {
+      Object value = claims.get(claim);
+      if (value != null) {
+        Collection<GrantedAuthority> authorities = memoized.get(value);
+        if (authorities == null) {
+          authorities = toAuthorities(value);
+          if (memoized.size() < MAX_MEMOIZED) {
+            memoized.put(value, authorities);
+          }
+        }
+        return authorities;
+      }
+    }
+    return List.of();
+  }
+
+  private Collection<GrantedAuthority> toAuthorities(Object value) {
+    List<String> scopes = new ArrayList<>();
+    if (value instanceof String scopeString) {
+      for (String scope : scopeString.split(" ")) {
+        if (!scope.isEmpty()) {
+          scopes.add(scope);
+        }
+      }
+    } else if (value instanceof Collection<?> scopeList) {
+      scopeList.forEach(scope -> scopes.add(String.valueOf(scope)));
+    }
+
+    Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+    for (String scope : scopes) {
+      List<GrantedAuthority> mapped = mappings.get(scope);
+      if (mapped != null) {
+        authorities.addAll(mapped);
+      } else {
+        authorities.add(new SimpleGrantedAuthority(defaultPrefix + scope));
+      }
+    }
+    return List.copyOf(authorities);
+  }
+}
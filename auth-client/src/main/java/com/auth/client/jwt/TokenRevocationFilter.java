@@ -0,0 +1,15 @@
+package com.auth.client.jwt;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Hook for rejecting tokens that are still cryptographically valid, for example because they were
+ * revoked, their user was disabled or their {@code jti} is on a deny list fed by the authorization
+ * server. Every bean of this type is consulted on every request, including cache hits, so
+ * implementations must answer from memory.
+ */
+@FunctionalInterface
+public interface TokenRevocationFilter {
+
+  boolean isRevoked(Jwt jwt);
+}
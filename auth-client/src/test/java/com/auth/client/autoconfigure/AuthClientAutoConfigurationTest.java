@@ -0,0 +1,103 @@
+package com.auth.client.autoconfigure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+
+@DisplayName("AuthClientAutoConfiguration tests")
+class AuthClientAutoConfigurationTest {
+
+  private final AtomicInteger fetches = new AtomicInteger();
+  private final AtomicReference<JWKSet> served = new AtomicReference<>();
+  private HttpServer server;
+  private RSAKey current;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    current = new RSAKeyGenerator(2048).keyID("key-1").generate();
+    served.set(new JWKSet(current.toPublicJWK()));
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/oauth2/jwks",
+        exchange -> {
+          fetches.incrementAndGet();
+          byte[] body = served.get().toString().getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  @DisplayName("jwkSource: 기동 시 한 번 가져온 키 셋을 요청마다 다시 가져오지 않고 재사용")
+  void jwkSource_shouldReuseCachedKeySet() throws Exception {
+    // given
+    JWKSource<SecurityContext> jwkSource = jwkSource();
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      assertThat(jwkSource.get(byKid("key-1"), null)).extracting(JWK::getKeyID).contains("key-1");
+    }
+
+    // then
+    assertThat(fetches).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("jwkSource: 모르는 kid는 키 셋을 한 번만 다시 가져오고 이후 miss는 간격 안에서 제한")
+  void jwkSource_shouldRefreshOnceForUnknownKid() throws Exception {
+    // given
+    JWKSource<SecurityContext> jwkSource = jwkSource();
+    RSAKey rotated = new RSAKeyGenerator(2048).keyID("key-2").generate();
+    served.set(new JWKSet(List.of(current.toPublicJWK(), rotated.toPublicJWK())));
+
+    // when
+    List<JWK> found = jwkSource.get(byKid("key-2"), null);
+    for (int i = 0; i < 5; i++) {
+      catchThrowable(() -> jwkSource.get(byKid("unknown"), null));
+      jwkSource.get(byKid("key-2"), null);
+    }
+
+    // then
+    assertThat(found).extracting(JWK::getKeyID).containsExactly("key-2");
+    assertThat(fetches).hasValue(2);
+  }
+
+  private JWKSource<SecurityContext> jwkSource() throws Exception {
+    AuthClientProperties properties = new AuthClientProperties();
+    properties.setJwkSetUri(
+        "http://127.0.0.1:" + server.getAddress().getPort() + "/oauth2/jwks");
+    return new AuthClientAutoConfiguration()
+        .jwkSource(properties, new OAuth2ResourceServerProperties());
+  }
+
+  private static JWKSelector byKid(String kid) {
+    return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+  }
+}
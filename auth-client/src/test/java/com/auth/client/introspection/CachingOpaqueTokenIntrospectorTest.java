@@ -0,0 +1,98 @@
+package com.auth.client.introspection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.*;
+
+import com.auth.client.autoconfigure.AuthClientProperties;
+import com.auth.client.jwt.ScopeAuthoritiesConverter;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
+import org.springframework.security.oauth2.server.resource.introspection.OAuth2IntrospectionAuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.resource.introspection.OAuth2IntrospectionException;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingOpaqueTokenIntrospector tests")
+class CachingOpaqueTokenIntrospectorTest {
+
+  @Mock private OpaqueTokenIntrospector delegate;
+
+  private CachingOpaqueTokenIntrospector introspector;
+
+  @BeforeEach
+  void setUp() {
+    introspector =
+        new CachingOpaqueTokenIntrospector(
+            delegate,
+            new ScopeAuthoritiesConverter(
+                List.of("scope"), "SCOPE_", Map.of("admin", List.of("ROLE_ADMIN"))),
+            new AuthClientProperties.Introspection(),
+            null);
+  }
+
+  @Test
+  @DisplayName("introspect: 활성 토큰은 한 번만 조회하고 scope 매핑으로 권한 부여")
+  void introspect_shouldReuseActiveResultWithMappedAuthorities() {
+    // given
+    Map<String, Object> claims =
+        Map.of(
+            "sub", "user@example.com",
+            "scope", List.of("read", "admin"),
+            "exp", Instant.now().plusSeconds(300));
+    given(delegate.introspect("handle"))
+        .willReturn(new OAuth2IntrospectionAuthenticatedPrincipal(claims, List.of()));
+
+    // when
+    OAuth2AuthenticatedPrincipal first = introspector.introspect("handle");
+    OAuth2AuthenticatedPrincipal second = introspector.introspect("handle");
+
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(first.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly("SCOPE_read", "ROLE_ADMIN");
+    then(delegate).should(times(1)).introspect("handle");
+  }
+
+  @Test
+  @DisplayName("introspect: 비활성 토큰은 negative-ttl 동안 다시 조회하지 않음")
+  void introspect_shouldRememberInactiveTokens() {
+    // given
+    given(delegate.introspect("revoked")).willThrow(new BadOpaqueTokenException("inactive"));
+
+    // when & then
+    assertThatThrownBy(() -> introspector.introspect("revoked"))
+        .isInstanceOf(BadOpaqueTokenException.class);
+    assertThatThrownBy(() -> introspector.introspect("revoked"))
+        .isInstanceOf(BadOpaqueTokenException.class);
+    then(delegate).should(times(1)).introspect("revoked");
+  }
+
+  @Test
+  @DisplayName("introspect: 엔드포인트 오류는 캐시하지 않음")
+  void introspect_shouldNotCacheEndpointErrors() {
+    // given
+    given(delegate.introspect("handle"))
+        .willThrow(new OAuth2IntrospectionException("connection refused"))
+        .willReturn(
+            new OAuth2IntrospectionAuthenticatedPrincipal(
+                Map.of("sub", "user@example.com"), List.of()));
+
+    // when & then
+    assertThatThrownBy(() -> introspector.introspect("handle"))
+        .isInstanceOf(OAuth2IntrospectionException.class);
+    assertThat(introspector.introspect("handle").getName()).isEqualTo("user@example.com");
+    then(delegate).should(times(2)).introspect("handle");
+  }
+}
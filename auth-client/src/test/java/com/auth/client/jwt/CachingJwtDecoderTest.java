@@ -0,0 +1,145 @@
+package com.auth.client.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+import com.auth.client.autoconfigure.AuthClientProperties;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingJwtDecoder tests")
+class CachingJwtDecoderTest {
+
+  @Mock private JwtDecoder delegate;
+  @Mock private JWKSource<SecurityContext> jwkSource;
+  @Mock private JWK signingKey;
+
+  private CachingJwtDecoder decoder;
+  private Jwt jwt;
+
+  @BeforeEach
+  void setUp() {
+    decoder =
+        new CachingJwtDecoder(delegate, jwkSource, new AuthClientProperties.TokenCache(), null);
+    jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .header("kid", "key-1")
+            .subject("user@example.com")
+            .claim("jti", "jti-1")
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(300))
+            .build();
+  }
+
+  @Test
+  @DisplayName("decode: 같은 토큰은 서명 검증 없이 캐시에서 반환")
+  void decode_shouldReuseVerifiedToken() throws Exception {
+    // given
+    given(delegate.decode("token")).willReturn(jwt);
+
+    // when
+    Jwt first = decoder.decode("token");
+    Jwt second = decoder.decode("token");
+
+    // then
+    assertThat(second).isSameAs(first);
+    then(delegate).should(times(1)).decode("token");
+    // The kid was just verified by the delegate, so the hit needs no JWK lookup
+    then(jwkSource).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("decode: 적중한 토큰의 kid는 확인 간격마다 한 번만 JWK 세트에서 조회")
+  void decode_shouldLookUpKidOncePerCheckInterval() throws Exception {
+    // given
+    AuthClientProperties.TokenCache properties = new AuthClientProperties.TokenCache();
+    properties.setKeyCheckInterval(Duration.ofMillis(200));
+    decoder = new CachingJwtDecoder(delegate, jwkSource, properties, null);
+    given(delegate.decode("token")).willReturn(jwt);
+    given(jwkSource.get(any(JWKSelector.class), any())).willReturn(List.of(signingKey));
+    decoder.decode("token");
+    Thread.sleep(300);
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      decoder.decode("token");
+    }
+
+    // then
+    then(jwkSource).should(times(1)).get(any(JWKSelector.class), any());
+    then(delegate).should(times(1)).decode("token");
+  }
+
+  @Test
+  @DisplayName("decode: 서명 키가 JWK 세트에서 제거되면 다시 검증")
+  void decode_shouldVerifyAgainWhenSigningKeyRemoved() throws Exception {
+    // given
+    AuthClientProperties.TokenCache properties = new AuthClientProperties.TokenCache();
+    properties.setKeyCheckInterval(Duration.ZERO);
+    decoder = new CachingJwtDecoder(delegate, jwkSource, properties, null);
+    given(delegate.decode("token")).willReturn(jwt).willThrow(new BadJwtException("unknown kid"));
+    given(jwkSource.get(any(JWKSelector.class), any())).willReturn(List.of());
+    decoder.decode("token");
+
+    // when & then
+    assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+    then(delegate).should(times(2)).decode("token");
+  }
+
+  @Test
+  @DisplayName("decode: 폐기 필터가 거부하면 캐시된 토큰도 거부")
+  void decode_shouldRejectRevokedTokenEvenWhenCached() throws Exception {
+    // given
+    given(delegate.decode("token")).willReturn(jwt);
+    List<String> revokedJtis = new CopyOnWriteArrayList<>();
+    JwtDecoder checked =
+        new RevocationCheckingJwtDecoder(
+            decoder, List.of(token -> revokedJtis.contains(token.getId())));
+    checked.decode("token");
+
+    // when
+    revokedJtis.add("jti-1");
+
+    // then
+    assertThatThrownBy(() -> checked.decode("token"))
+        .isInstanceOf(BadJwtException.class)
+        .hasMessageContaining("revoked");
+    then(delegate).should(times(1)).decode("token");
+  }
+
+  @Test
+  @DisplayName("invalidate: 다른 스레드에서 해시한 토큰도 같은 캐시 항목을 제거")
+  void invalidate_shouldMatchKeyHashedOnAnotherThread() throws Exception {
+    // given
+    given(delegate.decode("token")).willReturn(jwt);
+    decoder.decode("token");
+
+    // when
+    Thread invalidating = new Thread(() -> decoder.invalidate("token"));
+    invalidating.start();
+    invalidating.join();
+    decoder.decode("token");
+
+    // then
+    then(delegate).should(times(2)).decode("token");
+  }
+}
@@ -0,0 +1,54 @@
+package com.auth.client.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+@DisplayName("ScopeAuthoritiesConverter tests")
+class ScopeAuthoritiesConverterTest {
+
+  private final ScopeAuthoritiesConverter converter =
+      new ScopeAuthoritiesConverter(
+          List.of("scope", "scp"),
+          "SCOPE_",
+          Map.of("admin", List.of("ROLE_ADMIN", "SCOPE_admin")));
+
+  @Test
+  @DisplayName("convert: 매핑된 scope는 지정 권한으로, 나머지는 접두사를 붙여 변환")
+  void convert_shouldApplyMappingsAndDefaultPrefix() {
+    // given
+    Jwt jwt = jwt(Map.of("scope", "read admin"));
+
+    // when & then
+    assertThat(converter.convert(jwt))
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly("SCOPE_read", "ROLE_ADMIN", "SCOPE_admin");
+  }
+
+  @Test
+  @DisplayName("convert: 같은 scope 값은 같은 권한 컬렉션을 재사용")
+  void convert_shouldMemoizePerScopeValue() {
+    // given
+    Jwt first = jwt(Map.of("scp", List.of("read", "write")));
+    Jwt second = jwt(Map.of("scp", List.of("read", "write")));
+
+    // when & then
+    assertThat(converter.convert(second)).isSameAs(converter.convert(first));
+    assertThat(converter.convert(jwt(Map.of("sub", "user")))).isEmpty();
+  }
+
+  private static Jwt jwt(Map<String, Object> claims) {
+    return Jwt.withTokenValue("token")
+        .header("alg", "RS256")
+        .claims(c -> c.putAll(claims))
+        .issuedAt(Instant.now())
+        .expiresAt(Instant.now().plusSeconds(60))
+        .build();
+  }
+}
@@ -1,9 +1,24 @@
 package com.auth.oauth2.config;
 
-import lombok.extern.slf4j.Slf4j;
+import com.auth.oauth2.repository.AuditEventRepository;
+import com.auth.oauth2.security.audit.AuditEvent;
+import com.auth.oauth2.security.audit.AuditEventPublisher;
+import com.auth.oauth2.security.audit.AuditEventSink;
+import com.auth.oauth2.security.audit.AuditEventType;
+import com.auth.oauth2.security.audit.JdbcAuditEventSink;
+import com.auth.oauth2.security.audit.LoggingAuditEventSink;
+import com.auth.oauth2.security.introspection.ReferenceTokenStore;
+import com.auth.oauth2.security.introspection.TokenRevocationRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
@@ -11,15 +26,47 @@ import org.springframework.security.oauth2.server.authorization.client.Registere
 import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
 import org.springframework.lang.Nullable;
 
+/**
+ * Audit events of the authorization service and the authentication listeners go through the
+ * {@link AuditEventPublisher}, so request threads only enqueue them; every {@link AuditEventSink}
+ * bean receives them in batches on the writer thread. Besides the log lines they are persisted to
+ * the day-partitioned audit tables unless {@code audit.store.enabled} is false.
+ */
 @Configuration
-@Slf4j
 public class AuditConfig {
 
+  @Bean
+  public LoggingAuditEventSink loggingAuditEventSink() {
+    return new LoggingAuditEventSink();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "audit.store.enabled", havingValue = "true", matchIfMissing = true)
+  public JdbcAuditEventSink jdbcAuditEventSink(AuditEventRepository auditEventRepository) {
+    return new JdbcAuditEventSink(auditEventRepository);
+  }
+
+  @Bean
+  public AuditEventPublisher auditEventPublisher(
+      AuditProperties properties,
+      ObjectProvider<AuditEventSink> sinks,
+      MeterRegistry meterRegistry) {
+    return new AuditEventPublisher(properties, sinks.orderedStream().toList(), meterRegistry);
+  }
+
   @Bean
   public OAuth2AuthorizationService oauth2AuthorizationService(
-      JdbcTemplate jdbcTemplate, RegisteredClientRepository registeredClientRepository) {
+      JdbcTemplate jdbcTemplate,
+      RegisteredClientRepository registeredClientRepository,
+      TokenRevocationRegistry tokenRevocationRegistry,
+      ReferenceTokenStore referenceTokenStore,
+      AuditEventPublisher auditEventPublisher) {
     OAuth2AuthorizationService delegate =
         new JdbcOAuth2AuthorizationService(jdbcTemplate, registeredClientRepository);
+    // Access token of an authorization whose refresh token was just presented, until the refreshed
+    // authorization is saved; saves without a preceding refresh need no lookup of the previous row
+    Cache<String, OAuth2Authorization.Token<OAuth2AccessToken>> refreshedAccessTokens =
+        Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(1)).build();
     return new OAuth2AuthorizationService() {
       @Override
       public void save(OAuth2Authorization authorization) {
@@ -31,24 +78,44 @@ public class AuditConfig {
           String refreshTokenId = authorization.getId();
           
           // Log refresh token rotation
-          log.info(
-              "audit.token.rotation refresh_token_issued principal={} client_id={} authorization_id={}",
-              principalName,
-              clientId,
-              refreshTokenId);
+          auditEventPublisher.publish(
+              AuditEvent.of(
+                  AuditEventType.REFRESH_TOKEN_ROTATED,
+                  principalName,
+                  clientId,
+                  AuditEvent.attributes("authorization_id", refreshTokenId)));
         }
         
+        // Access tokens that stop being valid here must also stop passing local introspection:
+        // revoked ones are saved invalidated, a refresh replaces the one looked up by findByToken
+        OAuth2Authorization.Token<OAuth2AccessToken> replaced =
+            refreshedAccessTokens.asMap().remove(authorization.getId());
+        if (authorization.getAccessToken() != null) {
+          if (replaced != null
+              && !replaced
+                  .getToken()
+                  .getTokenValue()
+                  .equals(authorization.getAccessToken().getToken().getTokenValue())) {
+            invalidate(replaced);
+          }
+          if (authorization.getAccessToken().isInvalidated()) {
+            invalidate(authorization.getAccessToken());
+          }
+        }
+
         delegate.save(authorization);
+        referenceTokenStore.save(authorization);
         String principalName = authorization.getPrincipalName();
         String clientId = authorization.getRegisteredClientId();
         boolean hasAccessToken = authorization.getAccessToken() != null;
         boolean hasRefreshToken = authorization.getRefreshToken() != null;
-        log.info(
-            "audit.token.issued principal={} client_id={} access_token={} refresh_token={}",
-            principalName,
-            clientId,
-            hasAccessToken,
-            hasRefreshToken);
+        auditEventPublisher.publish(
+            AuditEvent.of(
+                AuditEventType.TOKEN_ISSUED,
+                principalName,
+                clientId,
+                AuditEvent.attributes(
+                    "access_token", hasAccessToken, "refresh_token", hasRefreshToken)));
       }
 
       @Override
@@ -58,14 +125,14 @@ public class AuditConfig {
         boolean hadRefreshToken = authorization.getRefreshToken() != null;
         
         delegate.remove(authorization);
+        invalidate(authorization.getAccessToken());
         
         if (hadRefreshToken) {
-          log.warn(
-              "audit.token.rotation refresh_token_invalidated principal={} client_id={}",
-              principalName,
-              clientId);
+          auditEventPublisher.publish(
+              AuditEvent.of(AuditEventType.REFRESH_TOKEN_INVALIDATED, principalName, clientId));
         } else {
-          log.info("audit.token.removed principal={} client_id={}", principalName, clientId);
+          auditEventPublisher.publish(
+              AuditEvent.of(AuditEventType.TOKEN_REMOVED, principalName, clientId));
         }
       }
 
@@ -83,9 +150,13 @@ public class AuditConfig {
         // If findByToken returns null for a refresh token, it means the token was already used
         if (authorization == null && tokenType == OAuth2TokenType.REFRESH_TOKEN) {
           // This is a reuse attempt - the refresh token was already used and rotated
-          log.error(
-              "audit.token.reuse_detected refresh_token_reuse_attempt token_hash={}",
-              token.length() > 8 ? token.substring(0, 8) : "***");
+          auditEventPublisher.publish(
+              AuditEvent.of(
+                  AuditEventType.REFRESH_TOKEN_REUSED,
+                  null,
+                  null,
+                  AuditEvent.attributes(
+                      "token_hash", token.length() > 8 ? token.substring(0, 8) : "***")));
           
           // Return null to indicate the token is invalid (already handled by Spring)
           return null;
@@ -98,21 +169,39 @@ public class AuditConfig {
           if (refreshToken != null && refreshToken.getToken() != null) {
             String storedTokenValue = refreshToken.getToken().getTokenValue();
             if (storedTokenValue != null && !storedTokenValue.equals(token)) {
-              log.error(
-                  "audit.token.reuse_detected token_mismatch principal={} client_id={} token_hash={}",
-                  authorization.getPrincipalName(),
-                  authorization.getRegisteredClientId(),
-                  token.length() > 8 ? token.substring(0, 8) : "***");
+              auditEventPublisher.publish(
+                  AuditEvent.of(
+                      AuditEventType.REFRESH_TOKEN_MISMATCH,
+                      authorization.getPrincipalName(),
+                      authorization.getRegisteredClientId(),
+                      AuditEvent.attributes(
+                      "token_hash", token.length() > 8 ? token.substring(0, 8) : "***")));
               
               // Invalidate all tokens for this authorization as a security measure
               delegate.remove(authorization);
+              invalidate(authorization.getAccessToken());
               return null;
             }
           }
         }
         
+        if (authorization != null
+            && tokenType == OAuth2TokenType.REFRESH_TOKEN
+            && authorization.getAccessToken() != null) {
+          refreshedAccessTokens.put(authorization.getId(), authorization.getAccessToken());
+        }
+
+        if (authorization != null && tokenType != OAuth2TokenType.REFRESH_TOKEN) {
+          // Later introspections of the same reference token are answered from memory
+          referenceTokenStore.save(authorization);
+        }
         return authorization;
       }
+
+      private void invalidate(OAuth2Authorization.Token<OAuth2AccessToken> accessToken) {
+        tokenRevocationRegistry.revoke(accessToken);
+        referenceTokenStore.remove(accessToken);
+      }
     };
   }
 }
@@ -0,0 +1,45 @@
+package com.auth.oauth2.config;
+
+import com.auth.oauth2.security.audit.AuditEventPublisher;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+@Getter
+@Setter
+public class AuditProperties {
+
+  // Events waiting for the writer thread; rounded up to a power of two
+  private int bufferSize = 16_384;
+  // Which event is lost when the buffer is full: DROP_NEWEST or DROP_OLDEST
+  private AuditEventPublisher.OverflowPolicy overflowPolicy =
+      AuditEventPublisher.OverflowPolicy.DROP_NEWEST;
+  // Events handed to the sinks per write
+  private int batchSize = 500;
+  // Writer sleep while the buffer is empty; bounds how long a single event waits
+  private Duration idleWait = Duration.ofMillis(50);
+  // How long shutdown waits for queued events to be written
+  private Duration shutdownTimeout = Duration.ofSeconds(5);
+  private Store store = new Store();
+
+  @Getter
+  @Setter
+  public static class Store {
+    // Persist events to one audit_events_yyyyMMdd table per UTC day
+    private boolean enabled = true;
+    // Day tables older than this many days are dropped
+    private int retentionDays = 30;
+    // How often tomorrow's table is created ahead and expired tables are dropped
+    private Duration maintenanceInterval = Duration.ofHours(1);
+    // Queries without "from" look back this far
+    private Duration defaultLookback = Duration.ofDays(7);
+    // Longest range one query may cover, i.e. the most day tables it reads
+    private Duration maxRange = Duration.ofDays(31);
+    private int defaultPageSize = 50;
+    private int maxPageSize = 500;
+  }
+}
@@ -3,15 +3,18 @@ package com.auth.oauth2.config;
 import com.auth.oauth2.domain.entity.OAuth2Client;
 import com.auth.oauth2.domain.entity.Role;
 import com.auth.oauth2.domain.entity.User;
+import com.auth.oauth2.domain.entity.UserChangeType;
 import com.auth.oauth2.repository.OAuth2ClientRepository;
 import com.auth.oauth2.repository.UserRepository;
+import com.auth.oauth2.service.UserChangeService;
 import java.util.ArrayList;
 import java.util.Collections;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,8 +26,10 @@ public class DataInitializer {
   private final UserRepository userRepository;
   private final OAuth2ClientRepository clientRepository;
   private final OAuth2ClientProperties clientProperties;
-  // Create BCryptPasswordEncoder directly instead of registering as bean to avoid bean conflicts
-  private final BCryptPasswordEncoder userPasswordEncoder = new BCryptPasswordEncoder();
+  private final UserChangeService userChangeService;
+
+  @Qualifier("userPasswordEncoder")
+  private final PasswordEncoder userPasswordEncoder;
 
   @EventListener(ApplicationReadyEvent.class)
   @Transactional
@@ -47,7 +52,7 @@ public class DataInitializer {
               .credentialsNonExpired(true)
               .build();
 
-      userRepository.save(testUser);
+      userChangeService.record(userRepository.save(testUser), UserChangeType.CREATED);
       log.info("Default test user created: t@t.com / 1234");
     } else {
       log.debug("Default test user already exists");
@@ -64,6 +69,32 @@ public class DataInitializer {
     if (clientProperties.getTestClient().isEnabled()) {
       initializeTestClient();
     }
+
+    // Resource server client, reads the user change feed
+    if (clientProperties.getDefaultClients().getResourceServer().isEnabled()) {
+      initializeResourceServerClient();
+    }
+  }
+
+  private void initializeResourceServerClient() {
+    var resourceServerConfig = clientProperties.getDefaultClients().getResourceServer();
+
+    if (!clientRepository.existsByClientId(resourceServerConfig.getClientId())) {
+      OAuth2Client resourceServerClient =
+          OAuth2Client.builder()
+              .clientId(resourceServerConfig.getClientId())
+              .clientSecret(resourceServerConfig.getClientSecret())
+              .redirectUris(new ArrayList<>())
+              .scopes(new ArrayList<>(resourceServerConfig.getScopes()))
+              .grantTypes(new ArrayList<>(resourceServerConfig.getGrantTypes()))
+              .enabled(true)
+              .build();
+
+      clientRepository.save(resourceServerClient);
+      log.info("Resource server client created: clientId={}", resourceServerConfig.getClientId());
+    } else {
+      log.debug("Resource server client already exists");
+    }
   }
 
   private void initializeSlackClient() {
@@ -0,0 +1,99 @@
+package com.auth.oauth2.config;
+
+import com.auth.oauth2.security.introspection.LocalTokenVerifier;
+import com.auth.oauth2.security.introspection.ReferenceTokenStore;
+import com.auth.oauth2.security.introspection.TokenRevocationRegistry;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+@Configuration
+public class IntrospectionConfig {
+
+  @Bean
+  public TokenRevocationRegistry tokenRevocationRegistry(
+      IntrospectionProperties properties, ObjectProvider<StringRedisTemplate> redisTemplate) {
+    IntrospectionProperties.LocalVerification localVerification =
+        properties.getLocalVerification();
+    return new TokenRevocationRegistry(
+        localVerification,
+        localVerification.getReplication().isEnabled() ? redisTemplate.getIfAvailable() : null);
+  }
+
+  @Bean
+  public ReferenceTokenStore referenceTokenStore(
+      IntrospectionProperties properties, ObjectProvider<StringRedisTemplate> redisTemplate) {
+    IntrospectionProperties.ReferenceTokens referenceTokens = properties.getReferenceTokens();
+    IntrospectionProperties.Replication replication = referenceTokens.getReplication();
+    return new ReferenceTokenStore(
+        referenceTokens.getMaximumSize(),
+        replication.isEnabled() ? redisTemplate.getIfAvailable() : null,
+        replication.getChannel());
+  }
+
+  @Bean
+  public LocalTokenVerifier localTokenVerifier(
+      JWKSource<SecurityContext> jwkSource,
+      TokenRevocationRegistry tokenRevocationRegistry,
+      ReferenceTokenStore referenceTokenStore,
+      IntrospectionProperties properties,
+      MeterRegistry meterRegistry) {
+    DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+    jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+    // Claims are validated by NimbusJwtDecoder's OAuth2TokenValidator below
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+    NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+    // No clock skew: the store treats a token as expired from the exact second in exp
+    jwtDecoder.setJwtValidator(new JwtTimestampValidator(Duration.ZERO));
+    return new LocalTokenVerifier(
+        jwtDecoder,
+        tokenRevocationRegistry,
+        referenceTokenStore,
+        properties.getLocalVerification().isEnabled(),
+        meterRegistry);
+  }
+
+  /** Applies revocations and reference token removals published by the other nodes. */
+  @Bean
+  public RedisMessageListenerContainer introspectionReplicationListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      TokenRevocationRegistry tokenRevocationRegistry,
+      ReferenceTokenStore referenceTokenStore,
+      IntrospectionProperties properties) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    IntrospectionProperties.Replication revocations =
+        properties.getLocalVerification().getReplication();
+    if (revocations.isEnabled()) {
+      container.addMessageListener(
+          (message, pattern) ->
+              tokenRevocationRegistry.onReplicatedRevocation(
+                  new String(message.getBody(), StandardCharsets.UTF_8)),
+          new ChannelTopic(revocations.getChannel()));
+    }
+    IntrospectionProperties.Replication referenceTokens =
+        properties.getReferenceTokens().getReplication();
+    if (referenceTokens.isEnabled()) {
+      container.addMessageListener(
+          (message, pattern) ->
+              referenceTokenStore.onReplicatedRemoval(
+                  new String(message.getBody(), StandardCharsets.UTF_8)),
+          new ChannelTopic(referenceTokens.getChannel()));
+    }
+    return container;
+  }
+}
@@ -0,0 +1,66 @@
+package com.auth.oauth2.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "introspection")
+@Getter
+@Setter
+public class IntrospectionProperties {
+
+  private Batch batch = new Batch();
+  private LocalVerification localVerification = new LocalVerification();
+  private ReferenceTokens referenceTokens = new ReferenceTokens();
+
+  @Getter
+  @Setter
+  public static class Batch {
+    // Larger requests are rejected with 400; BatchIntrospectionRequest caps it at 10 000
+    private int maxTokens = 1_000;
+    // Tokens resolved per store query; results are flushed to the client after each query
+    private int lookupSize = 100;
+    // Registered clients resolved while mapping stored authorizations are reused this long
+    private Duration clientCacheTtl = Duration.ofSeconds(30);
+  }
+
+  @Getter
+  @Setter
+  public static class LocalVerification {
+    // Answer for JWT access tokens from their signature and the revocation set, without the store
+    private boolean enabled = true;
+    // Revoked tokens remembered until they expire; on overflow older tokens go to the store again
+    private long maxRevokedTokens = 100_000;
+    // Failed revocation publishes are retried this often; a node that hears nothing on the channel
+    // for three intervals sends every token to the store until it does
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+    private Replication replication = new Replication();
+  }
+
+  @Getter
+  @Setter
+  public static class ReferenceTokens {
+    // Active opaque access tokens kept in memory; a miss falls back to the store
+    private long maximumSize = 100_000;
+    private Replication replication = new Replication("oauth2:reference-tokens");
+  }
+
+  @Getter
+  @Setter
+  public static class Replication {
+    // Share changes between nodes over Redis pub/sub; required when running more than one node
+    private boolean enabled = true;
+    private String channel;
+
+    public Replication() {
+      this("oauth2:token-revocations");
+    }
+
+    public Replication(String channel) {
+      this.channel = channel;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.auth.oauth2.config;
+
+import com.auth.oauth2.security.shedding.AdaptiveConcurrencyLimiter;
+import com.auth.oauth2.security.shedding.LoadSheddingFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+  @Bean
+  public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+      LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+    return new AdaptiveConcurrencyLimiter(properties, meterRegistry, System::nanoTime);
+  }
+
+  @Bean
+  public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(
+      AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter, ObjectMapper objectMapper) {
+    FilterRegistrationBean<LoadSheddingFilter> registration =
+        new FilterRegistrationBean<>(
+            new LoadSheddingFilter(adaptiveConcurrencyLimiter, objectMapper));
+    // Ahead of rate limiting, the token bulkheads and every SecurityFilterChain
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 3);
+    return registration;
+  }
+}
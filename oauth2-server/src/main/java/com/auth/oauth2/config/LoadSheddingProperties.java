@@ -0,0 +1,41 @@
+package com.auth.oauth2.config;
+
+import com.auth.oauth2.security.shedding.RequestPriority;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "load-shedding")
+@Getter
+@Setter
+public class LoadSheddingProperties {
+
+  private boolean enabled = true;
+  private int initialLimit = 100;
+  private int minLimit = 10;
+  private int maxLimit = 1000;
+  // Fraction of the distance to the new target the limit moves per window
+  private double smoothing = 0.2;
+  // Short-term latency may exceed the long-term average by this factor before the limit shrinks
+  private double rttTolerance = 1.5;
+  // Windows averaged into the long-term latency baseline
+  private int longWindow = 600;
+  private Duration sampleWindow = Duration.ofMillis(100);
+  private int minSamples = 10;
+  // Share of the limit each priority may fill; lower priorities are shed first
+  private Map<RequestPriority, Double> shares = defaultShares();
+
+  private static Map<RequestPriority, Double> defaultShares() {
+    Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+    shares.put(RequestPriority.CRITICAL, 1.0);
+    shares.put(RequestPriority.HIGH, 0.9);
+    shares.put(RequestPriority.NORMAL, 0.75);
+    shares.put(RequestPriority.LOW, 0.5);
+    return shares;
+  }
+}
@@ -0,0 +1,76 @@
+package com.auth.oauth2.config;
+
+import com.auth.oauth2.domain.entity.User;
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings {@code users.normalized_email} to its final shape on tables created before the column
+ * existed. {@code ddl-auto: update} can only add the column as nullable, so rows without a value
+ * are backfilled here and the NOT NULL constraint and unique index are added afterwards.
+ *
+ * <p>Runs once the schema has been updated and before the web server accepts requests. Every step
+ * is idempotent, so on an up-to-date table this costs two index-backed queries.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class NormalizedEmailMigration {
+
+  static final String UNIQUE_INDEX = "ux_users_normalized_email";
+
+  private static final int BATCH_SIZE = 1000;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @PostConstruct
+  public void migrate() {
+    long backfilled = backfill();
+    if (backfilled > 0) {
+      log.info("Backfilled normalized_email for {} users", backfilled);
+    }
+
+    Integer duplicates =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT normalized_email FROM users"
+                + " GROUP BY normalized_email HAVING COUNT(*) > 1) d",
+            Integer.class);
+    if (duplicates != null && duplicates > 0) {
+      throw new IllegalStateException(
+          duplicates
+              + " emails are registered more than once with different case or surrounding"
+              + " whitespace; merge those users before normalized_email can be made unique");
+    }
+
+    // Both statements are accepted by H2 and PostgreSQL and are no-ops once applied
+    jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN normalized_email SET NOT NULL");
+    jdbcTemplate.execute(
+        "CREATE UNIQUE INDEX IF NOT EXISTS " + UNIQUE_INDEX + " ON users (normalized_email)");
+  }
+
+  // Normalized in Java rather than with LOWER(TRIM(...)) so that stored values match the lookups
+  // of User.normalizeEmail exactly; each batch commits on its own
+  private long backfill() {
+    long total = 0;
+    List<Object[]> batch;
+    do {
+      batch =
+          jdbcTemplate.query(
+              "SELECT id, email FROM users WHERE normalized_email IS NULL ORDER BY id LIMIT ?",
+              (rs, rowNum) ->
+                  new Object[] {User.normalizeEmail(rs.getString("email")), rs.getLong("id")},
+              BATCH_SIZE);
+      if (!batch.isEmpty()) {
+        jdbcTemplate.batchUpdate("UPDATE users SET normalized_email = ? WHERE id = ?", batch);
+        total += batch.size();
+      }
+    } while (batch.size() == BATCH_SIZE);
+    return total;
+  }
+}
@@ -1,5 +1,12 @@
 package com.auth.oauth2.config;
 
+import com.auth.oauth2.security.CustomOAuth2TokenCustomizer;
+import com.auth.oauth2.security.bulkhead.ClientBulkheads;
+import com.auth.oauth2.security.bulkhead.TokenEndpointBulkheadFilter;
+import com.auth.oauth2.security.introspection.LocalTokenVerifier;
+import com.auth.oauth2.security.introspection.LocalVerificationIntrospectionProvider;
+import com.auth.oauth2.security.token.ReferenceAccessTokenGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
@@ -11,6 +18,7 @@ import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,9 +28,17 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2TokenIntrospectionAuthenticationProvider;
 import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configurers.OAuth2AuthorizationServerConfigurer;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
+import org.springframework.security.oauth2.server.authorization.token.DelegatingOAuth2TokenGenerator;
+import org.springframework.security.oauth2.server.authorization.token.JwtGenerator;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2RefreshTokenGenerator;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenGenerator;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
 import org.springframework.security.web.util.matcher.MediaTypeRequestMatcher;
 
@@ -34,13 +50,29 @@ public class OAuth2AuthorizationServerConfig {
   private final PasswordEncoder passwordEncoder;
 
   @Bean
-  @Order(1)
-  public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity http)
+  @Order(2)
+  public SecurityFilterChain authorizationServerSecurityFilterChain(
+      HttpSecurity http,
+      LocalTokenVerifier localTokenVerifier,
+      ObjectProvider<ClientBulkheads> clientBulkheads,
+      ObjectMapper objectMapper)
       throws Exception {
     // HttpSecurity에 PasswordEncoder를 명시적으로 설정
     // OAuth2AuthorizationServerConfiguration이 이를 사용하도록 함
     http.setSharedObject(PasswordEncoder.class, passwordEncoder);
     OAuth2AuthorizationServerConfiguration.applyDefaultSecurity(http);
+    // Answer introspection of our own JWTs from their signature before querying the store
+    http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
+        .tokenIntrospectionEndpoint(
+            introspection ->
+                introspection.authenticationProviders(
+                    providers ->
+                        providers.replaceAll(
+                            provider ->
+                                provider instanceof OAuth2TokenIntrospectionAuthenticationProvider
+                                    ? new LocalVerificationIntrospectionProvider(
+                                        provider, localTokenVerifier)
+                                    : provider)));
 
     http
         // Redirect to the login page when not authenticated from the
@@ -53,6 +85,14 @@ public class OAuth2AuthorizationServerConfig {
         // Accept access tokens for Client Registration
         .oauth2ResourceServer((resourceServer) -> resourceServer.jwt(Customizer.withDefaults()));
 
+    // Token bulkheads are entered after client authentication (which runs before the
+    // AuthorizationFilter) and wrap the token endpoint filter behind it
+    clientBulkheads.ifAvailable(
+        bulkheads ->
+            http.addFilterBefore(
+                new TokenEndpointBulkheadFilter(bulkheads, objectMapper),
+                AuthorizationFilter.class));
+
     return http.build();
   }
 
@@ -82,6 +122,21 @@ public class OAuth2AuthorizationServerConfig {
     return keyPair;
   }
 
+  /**
+   * JWT access tokens by default and opaque handles for clients with reference tokens enabled,
+   * both carrying the claims added by {@link CustomOAuth2TokenCustomizer}.
+   */
+  @Bean
+  public OAuth2TokenGenerator<?> tokenGenerator(
+      JWKSource<SecurityContext> jwkSource, CustomOAuth2TokenCustomizer tokenCustomizer) {
+    JwtGenerator jwtGenerator = new JwtGenerator(new NimbusJwtEncoder(jwkSource));
+    jwtGenerator.setJwtCustomizer(tokenCustomizer);
+    return new DelegatingOAuth2TokenGenerator(
+        jwtGenerator,
+        new ReferenceAccessTokenGenerator(tokenCustomizer.forReferenceTokens()),
+        new OAuth2RefreshTokenGenerator());
+  }
+
   @Bean
   public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
     return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
@@ -29,6 +29,7 @@ public class OAuth2ClientProperties {
   @Setter
   public static class DefaultClients {
     private Slack slack = new Slack();
+    private ResourceServer resourceServer = new ResourceServer();
 
     @Getter
     @Setter
@@ -47,6 +48,16 @@ public class OAuth2ClientProperties {
           new ArrayList<>(
               List.of("authorization_code", "refresh_token", "client_credentials"));
     }
+
+    @Getter
+    @Setter
+    public static class ResourceServer {
+      private boolean enabled = true;
+      private String clientId = "resource-server";
+      private String clientSecret = "resource-server-secret-key";
+      private List<String> scopes = new ArrayList<>(List.of("users.read"));
+      private List<String> grantTypes = new ArrayList<>(List.of("client_credentials"));
+    }
   }
 
   @Getter
@@ -1,40 +1,149 @@
 package com.auth.oauth2.config;
 
+import com.auth.oauth2.security.rate.Bucket4jRateLimiter;
+import com.auth.oauth2.security.rate.DistributedRateLimiter;
+import com.auth.oauth2.security.rate.GcraRateLimiter;
+import com.auth.oauth2.security.rate.LocalRateLimiter;
+import com.auth.oauth2.security.rate.RateLimitFilter;
+import com.auth.oauth2.security.rate.RateLimitHeavyHitters;
+import com.auth.oauth2.security.rate.RateLimitKeyResolver;
+import com.auth.oauth2.security.rate.RateLimitPolicyRegistry;
+import com.auth.oauth2.security.rate.RateLimitService;
+import com.auth.oauth2.security.rate.RedisCircuitBreaker;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
 import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.RedisURI;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 
 @Configuration
-@RequiredArgsConstructor
-@ConditionalOnProperty(
-    name = "rate-limit.redis.enabled",
-    havingValue = "true",
-    matchIfMissing = true)
 public class RateLimitConfig {
 
-  private final RateLimitProperties rateLimitProperties;
+  @Bean
+  public RateLimitHeavyHitters rateLimitHeavyHitters(RateLimitProperties rateLimitProperties) {
+    return new RateLimitHeavyHitters(
+        rateLimitProperties.getHeavyHitters(), System::currentTimeMillis);
+  }
 
   @Bean
-  public LettuceBasedProxyManager<byte[]> proxyManager() {
-    RedisURI redisUri =
-        RedisURI.builder()
-            .withHost(rateLimitProperties.getRedis().isEnabled() ? "localhost" : "localhost")
-            .withPort(6379)
-            .build();
-
-    RedisClient redisClient = RedisClient.create(redisUri);
-
-    return LettuceBasedProxyManager.builderFor(redisClient)
-        .withExpirationStrategy(
-            ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(
-                Duration.ofSeconds(
-                    rateLimitProperties.getDefaultConfig().getRefillPeriodSeconds())))
-        .build();
+  @ConditionalOnProperty(
+      name = "rate-limit.filter.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+      RateLimitService rateLimitService,
+      RateLimitKeyResolver keyResolver,
+      RateLimitPolicyRegistry policyRegistry,
+      ObjectMapper objectMapper) {
+    FilterRegistrationBean<RateLimitFilter> registration =
+        new FilterRegistrationBean<>(
+            new RateLimitFilter(rateLimitService, keyResolver, policyRegistry, objectMapper));
+    registration.addUrlPatterns(
+        "/oauth2/token", "/oauth2/authorize", "/oauth2/introspect/batch", "/login");
+    // Run before every SecurityFilterChain, including the authorization server chain, and before
+    // the token endpoint bulkhead so that rejected requests never take a slot
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+    return registration;
+  }
+
+  /** Shared buckets in Redis, with a scaled-down local limiter while the circuit is open. */
+  @Configuration
+  @RequiredArgsConstructor
+  @ConditionalOnProperty(
+      name = "rate-limit.redis.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  static class RedisRateLimitConfig {
+
+    private final RateLimitProperties rateLimitProperties;
+
+    @Bean(destroyMethod = "shutdown")
+    public RedisClient rateLimitRedisClient(RedisProperties redisProperties) {
+      // Same connection settings as spring.data.redis
+      RedisURI redisUri;
+      if (StringUtils.hasText(redisProperties.getUrl())) {
+        redisUri = RedisURI.create(redisProperties.getUrl());
+      } else {
+        RedisURI.Builder builder =
+            RedisURI.builder()
+                .withHost(redisProperties.getHost())
+                .withPort(redisProperties.getPort())
+                .withDatabase(redisProperties.getDatabase())
+                .withSsl(redisProperties.getSsl().isEnabled());
+        if (StringUtils.hasText(redisProperties.getPassword())) {
+          if (StringUtils.hasText(redisProperties.getUsername())) {
+            builder.withAuthentication(
+                redisProperties.getUsername(), redisProperties.getPassword().toCharArray());
+          } else {
+            builder.withPassword(redisProperties.getPassword().toCharArray());
+          }
+        }
+        if (redisProperties.getTimeout() != null) {
+          builder.withTimeout(redisProperties.getTimeout());
+        }
+        redisUri = builder.build();
+      }
+      return RedisClient.create(redisUri);
+    }
+
+    @Bean
+    @ConditionalOnProperty(
+        name = "rate-limit.redis.backend",
+        havingValue = "cas",
+        matchIfMissing = true)
+    public DistributedRateLimiter bucket4jRateLimiter(RedisClient rateLimitRedisClient) {
+      LettuceBasedProxyManager<byte[]> proxyManager =
+          LettuceBasedProxyManager.builderFor(rateLimitRedisClient)
+              .withExpirationStrategy(
+                  ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(
+                      Duration.ofSeconds(
+                          rateLimitProperties.getDefaultConfig().getRefillPeriodSeconds())))
+              .build();
+      return new Bucket4jRateLimiter(proxyManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.redis.backend", havingValue = "gcra")
+    public DistributedRateLimiter gcraRateLimiter(RedisClient rateLimitRedisClient) {
+      return new GcraRateLimiter(rateLimitRedisClient);
+    }
+
+    @Bean
+    public RedisCircuitBreaker redisCircuitBreaker(MeterRegistry meterRegistry) {
+      return new RedisCircuitBreaker(
+          rateLimitProperties.getCircuitBreaker(), meterRegistry, System::nanoTime);
+    }
+
+    @Bean
+    public LocalRateLimiter fallbackRateLimiter() {
+      RateLimitProperties.Fallback fallback = rateLimitProperties.getFallback();
+      return new LocalRateLimiter(
+          fallback.getCapacityRatio(), fallback.getMaxKeys(), fallback.getExpireAfterAccess());
+    }
+  }
+
+  /** Single-node mode: every bucket lives in this JVM and nothing touches Redis. */
+  @Configuration
+  @RequiredArgsConstructor
+  @ConditionalOnProperty(name = "rate-limit.redis.enabled", havingValue = "false")
+  static class InMemoryRateLimitConfig {
+
+    private final RateLimitProperties rateLimitProperties;
+
+    @Bean
+    public LocalRateLimiter inMemoryRateLimiter() {
+      RateLimitProperties.InMemory inMemory = rateLimitProperties.getInMemory();
+      return new LocalRateLimiter(1.0, inMemory.getMaxKeys(), inMemory.getExpireAfterAccess());
+    }
   }
 }
@@ -1,5 +1,8 @@
 package com.auth.oauth2.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -12,6 +15,14 @@ import org.springframework.context.annotation.Configuration;
 public class RateLimitProperties {
 
   private Redis redis = new Redis();
+  private Local local = new Local();
+  private BucketCache bucketCache = new BucketCache();
+  private CircuitBreaker circuitBreaker = new CircuitBreaker();
+  private Fallback fallback = new Fallback();
+  private InMemory inMemory = new InMemory();
+  private HeavyHitters heavyHitters = new HeavyHitters();
+  private IpRules ipRules = new IpRules();
+  private Keys keys = new Keys();
   private Default defaultConfig = new Default();
   private Endpoints endpoints = new Endpoints();
   private AccountLockout accountLockout = new AccountLockout();
@@ -20,6 +31,103 @@ public class RateLimitProperties {
   @Setter
   public static class Redis {
     private boolean enabled = true;
+    // Rate limit checks waiting longer than this on Redis use the local fallback
+    private Duration timeout = Duration.ofMillis(500);
+    private Backend backend = Backend.CAS;
+
+    public enum Backend {
+      // Bucket4j compare-and-swap proxy; may retry under contention
+      CAS,
+      // Single Lua script (GCRA); exactly one round trip per decision
+      GCRA
+    }
+  }
+
+  /** Node-local token leases borrowed from the Redis bucket. */
+  @Getter
+  @Setter
+  public static class Local {
+    private boolean enabled = true;
+    // Share of a bucket's capacity a node may borrow at once (the accuracy bound per node)
+    private double maxErrorRatio = 0.05;
+    // Borrowed tokens left unused after this long are discarded
+    private Duration leaseTtl = Duration.ofSeconds(1);
+  }
+
+  /** Bounded cache of bucket proxies (and their leases) for hot keys. */
+  @Getter
+  @Setter
+  public static class BucketCache {
+    private long maxSize = 100_000;
+    private Duration expireAfterAccess = Duration.ofMinutes(5);
+  }
+
+  /** Circuit breaker around Redis calls; see RedisCircuitBreaker. */
+  @Getter
+  @Setter
+  public static class CircuitBreaker {
+    private double failureRateThreshold = 0.5;
+    private double slowCallRateThreshold = 0.5;
+    private Duration slowCallDuration = Duration.ofMillis(200);
+    private int slidingWindowSize = 100;
+    private int minimumCalls = 20;
+    private Duration openDuration = Duration.ofSeconds(10);
+    private int halfOpenProbes = 5;
+  }
+
+  /** In-process limiter used while the Redis circuit is open. */
+  @Getter
+  @Setter
+  public static class Fallback {
+    // Share of each bucket a single node may use on its own
+    private double capacityRatio = 0.25;
+    private long maxKeys = 100_000;
+    private Duration expireAfterAccess = Duration.ofMinutes(5);
+  }
+
+  /** In-process limiter that replaces Redis entirely when {@code redis.enabled} is false. */
+  @Getter
+  @Setter
+  public static class InMemory {
+    private long maxKeys = 100_000;
+    // Keep at least the longest refill period so eviction never hands out a fresh bucket early
+    private Duration expireAfterAccess = Duration.ofMinutes(5);
+  }
+
+  /** Top keys by requests and rejections; see RateLimitHeavyHitters. */
+  @Getter
+  @Setter
+  public static class HeavyHitters {
+    private boolean enabled = true;
+    // Counters per slot and per kind; keys seen more than total / capacity times are never missed
+    private int capacity = 256;
+    private Duration slotDuration = Duration.ofMinutes(1);
+    private int slots = 15;
+    // Independently locked sketches per slot, merged when a report is built
+    private int stripes = 8;
+  }
+
+  /** Initial CIDR lists and keying prefixes; see com.auth.oauth2.security.rate.IpRules. */
+  @Getter
+  @Setter
+  public static class IpRules {
+    // Exempt from rate limiting, e.g. internal services
+    private List<String> allow = new ArrayList<>();
+    // Rejected with 403 on rate-limited endpoints
+    private List<String> deny = new ArrayList<>();
+    private int ipv4PrefixLength = 32;
+    // One bucket per /64: a single IPv6 subscriber usually controls the whole prefix
+    private int ipv6PrefixLength = 64;
+  }
+
+  /** How requests are mapped to rate-limit keys; see RateLimitKeyResolver. */
+  @Getter
+  @Setter
+  public static class Keys {
+    // Proxies (IP or CIDR) whose X-Forwarded-For / X-Real-IP headers are trusted
+    private List<String> trustedProxies = new ArrayList<>(List.of("127.0.0.1/32", "::1/128"));
+    // IP bucket size relative to the client/user buckets of authenticated requests
+    private double sharedIpMultiplier = 4.0;
   }
 
   @Getter
@@ -37,6 +145,7 @@ public class RateLimitProperties {
     private EndpointConfig refresh = new EndpointConfig();
     private EndpointConfig oauth2Token = new EndpointConfig();
     private EndpointConfig oauth2Authorize = new EndpointConfig();
+    private EndpointConfig oauth2IntrospectBatch = new EndpointConfig();
 
     @Getter
     @Setter
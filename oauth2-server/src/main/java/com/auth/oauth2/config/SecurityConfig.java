@@ -1,30 +1,93 @@
 package com.auth.oauth2.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+  /**
+   * User change feed, read by resource servers with a {@code client_credentials} token carrying the
+   * {@code users.read} scope rather than a login session.
+   */
   @Bean
-  @Order(2)
+  @Order(0)
+  public SecurityFilterChain userChangeFeedSecurityFilterChain(HttpSecurity http)
+      throws Exception {
+    http.securityMatcher("/api/v1/users/changes")
+        .csrf(AbstractHttpConfigurer::disable)
+        .sessionManagement(
+            session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
+        .authorizeHttpRequests(auth -> auth.anyRequest().hasAuthority("SCOPE_users.read"));
+
+    return http.build();
+  }
+
+  /**
+   * Batch token introspection. Like {@code /oauth2/introspect} it is called by clients rather than
+   * users, so it authenticates the registered client with HTTP Basic ({@code
+   * client_secret_basic}); the JSON body leaves no room for {@code client_secret_post}.
+   */
+  @Bean
+  @Order(1)
+  public SecurityFilterChain batchIntrospectionSecurityFilterChain(
+      HttpSecurity http, RegisteredClientRepository registeredClientRepository) throws Exception {
+    DaoAuthenticationProvider clientAuthProvider = new DaoAuthenticationProvider();
+    clientAuthProvider.setUserDetailsService(
+        clientId -> {
+          RegisteredClient client = registeredClientRepository.findByClientId(clientId);
+          if (client == null) {
+            throw new UsernameNotFoundException("Unknown client: " + clientId);
+          }
+          return User.withUsername(client.getClientId())
+              .password(client.getClientSecret())
+              .authorities("ROLE_CLIENT")
+              .build();
+        });
+    // Client secrets are stored in plain text, see passwordEncoder()
+    clientAuthProvider.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+
+    http.securityMatcher("/oauth2/introspect/batch")
+        .csrf(AbstractHttpConfigurer::disable)
+        .sessionManagement(
+            session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        .authenticationManager(new ProviderManager(clientAuthProvider))
+        .httpBasic(Customizer.withDefaults())
+        .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("CLIENT"));
+
+    return http.build();
+  }
+
+  @Bean
+  @Order(3)
   public SecurityFilterChain securityFilterChain(
-      HttpSecurity http, UserDetailsService userDetailsService) throws Exception {
+      HttpSecurity http,
+      UserDetailsService userDetailsService,
+      @Qualifier("userPasswordEncoder") PasswordEncoder userPasswordEncoder)
+      throws Exception {
     // Configure DaoAuthenticationProvider for user authentication
-    // Create BCryptPasswordEncoder directly instead of registering as bean to avoid bean conflicts
-    BCryptPasswordEncoder userPasswordEncoder = new BCryptPasswordEncoder();
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService);
     authProvider.setPasswordEncoder(userPasswordEncoder);
@@ -55,12 +118,16 @@ public class SecurityConfig {
                     .permitAll()
                     .requestMatchers("/api/v1/oauth2/clients/**")
                     .authenticated() // Client management requires authentication
+                    .requestMatchers("/api/v1/admin/**")
+                    .hasRole("ADMIN")
                     .requestMatchers("/oauth2/**")
                     .permitAll()
                     .requestMatchers("/.well-known/**")
                     .permitAll()
                     .requestMatchers("/h2-console/**")
                     .permitAll()
+                    .requestMatchers("/actuator/ratelimit", "/actuator/ratelimit/**")
+                    .hasRole("ADMIN") // Exposes client IPs and user names
                     .requestMatchers("/actuator/**")
                     .permitAll()
                     .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**", "/v3/api-docs/**")
@@ -78,6 +145,15 @@ public class SecurityConfig {
     return NoOpPasswordEncoder.getInstance();
   }
 
+  /**
+   * BCrypt encoder for user passwords, shared by login, signup, the default data and bulk import.
+   * Injected by name so that it never replaces the client secret encoder above.
+   */
+  @Bean
+  public PasswordEncoder userPasswordEncoder() {
+    return new BCryptPasswordEncoder();
+  }
+
   @Bean
   public AuthenticationManager authenticationManager(AuthenticationConfiguration config)
       throws Exception {
@@ -0,0 +1,25 @@
+package com.auth.oauth2.config;
+
+import com.auth.oauth2.security.bulkhead.ClientBulkheads;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-client token bulkheads. Their filter is added to the authorization server chain after client
+ * authentication by {@link OAuth2AuthorizationServerConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(
+    name = "token-bulkhead.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class TokenBulkheadConfig {
+
+  @Bean
+  public ClientBulkheads clientBulkheads(
+      TokenBulkheadProperties properties, MeterRegistry meterRegistry) {
+    return new ClientBulkheads(properties, meterRegistry, System::nanoTime);
+  }
+}
@@ -0,0 +1,22 @@
+package com.auth.oauth2.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "token-bulkhead")
+@Getter
+@Setter
+public class TokenBulkheadProperties {
+
+  private boolean enabled = true;
+  // In-flight /oauth2/token requests per client unless the client sets its own limit
+  private int defaultMaxConcurrentRequests = 20;
+  // How long a request may wait for a free slot before it is rejected with 429
+  private Duration queueTimeout = Duration.ofMillis(200);
+  // A client's bulkhead and meters are dropped after this long without requests in flight
+  private Duration idleTimeout = Duration.ofMinutes(10);
+}
@@ -0,0 +1,31 @@
+package com.auth.oauth2.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-import")
+@Getter
+@Setter
+public class UserImportProperties {
+
+  // Records per JDBC batch and per checkpoint
+  private int batchSize = 500;
+  // Threads used for BCrypt hashing; defaults to one per core
+  private int hashParallelism = Runtime.getRuntime().availableProcessors();
+  // Number of recently seen emails kept in memory for de-duplication
+  private int dedupeWindow = 100_000;
+  private Cli cli = new Cli();
+
+  /** Settings for running an import from the command line instead of the admin endpoint. */
+  @Getter
+  @Setter
+  public static class Cli {
+    private String file;
+    private String format;
+    private String resumeJobId;
+    private boolean exitOnCompletion = true;
+  }
+}
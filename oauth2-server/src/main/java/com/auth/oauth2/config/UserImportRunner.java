@@ -0,0 +1,66 @@
+package com.auth.oauth2.config;
+
+import com.auth.oauth2.domain.dto.response.UserImportResponse;
+import com.auth.oauth2.exception.UserImportException;
+import com.auth.oauth2.service.UserImportService;
+import com.auth.oauth2.service.imports.UserImportFormat;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point for bulk user imports, e.g.
+ *
+ * <pre>
+ * ./gradlew :oauth2-server:bootRun --args='--spring.main.web-application-type=none
+ *     --user-import.cli.file=users.csv'
+ * </pre>
+ *
+ * Add {@code --user-import.cli.resume-job-id=<jobId>} to continue an interrupted import.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "user-import.cli", name = "file")
+public class UserImportRunner implements ApplicationRunner {
+
+  private final UserImportService userImportService;
+  private final UserImportProperties importProperties;
+  private final ConfigurableApplicationContext applicationContext;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    UserImportProperties.Cli cli = importProperties.getCli();
+    Path file = Path.of(cli.getFile());
+    UserImportFormat format = UserImportFormat.resolve(cli.getFormat(), file.toString());
+
+    int exitCode = 0;
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      UserImportResponse result =
+          userImportService.importUsers(
+              inputStream, format, file.getFileName().toString(), cli.getResumeJobId());
+      log.info(
+          "User import finished: jobId={}, imported={}, duplicates={}, failed={}",
+          result.getJobId(),
+          result.getImported(),
+          result.getDuplicates(),
+          result.getFailed());
+    } catch (UserImportException e) {
+      log.error(e.getMessage());
+      exitCode = 1;
+    }
+
+    if (cli.isExitOnCompletion()) {
+      int code = exitCode;
+      System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+  }
+}
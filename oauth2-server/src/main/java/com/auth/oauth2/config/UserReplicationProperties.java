@@ -0,0 +1,25 @@
+package com.auth.oauth2.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-replication")
+@Getter
+@Setter
+public class UserReplicationProperties {
+
+  // How often committed changes get their stream position; the feed lags writes by up to this
+  private Duration sequenceInterval = Duration.ofSeconds(1);
+  // Changes positioned per sequencing transaction
+  private int sequenceBatchSize = 1_000;
+  private int defaultBatchSize = 500;
+  private int maxBatchSize = 5_000;
+  // Consumers that stay away longer than this miss changes
+  private Duration retention = Duration.ofDays(30);
+  // Page size used when seeding the stream with existing users
+  private int seedBatchSize = 500;
+}
@@ -0,0 +1,35 @@
+package com.auth.oauth2.controller;
+
+import com.auth.oauth2.domain.dto.response.AuditEventPageResponse;
+import com.auth.oauth2.security.audit.AuditEventType;
+import com.auth.oauth2.service.AuditEventService;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/audit-events")
+@RequiredArgsConstructor
+public class AuditEventController {
+
+  private final AuditEventService auditEventService;
+
+  /**
+   * Audit events newest first, optionally filtered by principal, client and type. {@code from} and
+   * {@code to} are ISO-8601 instants and default to the last {@code audit.store.default-lookback};
+   * pass the returned {@code nextCursor} as {@code cursor} for the next page.
+   */
+  @GetMapping
+  public ResponseEntity<AuditEventPageResponse> search(
+      @RequestParam(required = false) String principal,
+      @RequestParam(required = false) String clientId,
+      @RequestParam(required = false) AuditEventType type,
+      @RequestParam(required = false) Instant from,
+      @RequestParam(required = false) Instant to,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(
+        auditEventService.search(principal, clientId, type, from, to, cursor, limit));
+  }
+}
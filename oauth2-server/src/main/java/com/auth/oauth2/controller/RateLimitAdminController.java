@@ -0,0 +1,40 @@
+package com.auth.oauth2.controller;
+
+import com.auth.oauth2.domain.dto.request.IpRulesRequest;
+import com.auth.oauth2.domain.dto.response.IpRulesResponse;
+import com.auth.oauth2.security.rate.IpClassifier;
+import com.auth.oauth2.security.rate.IpRules;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/rate-limit")
+@RequiredArgsConstructor
+public class RateLimitAdminController {
+
+  private final IpRules ipRules;
+
+  @GetMapping("/ip-rules")
+  public ResponseEntity<IpRulesResponse> getIpRules() {
+    return ResponseEntity.ok(toResponse(ipRules.current()));
+  }
+
+  /**
+   * Atomically replaces both CIDR lists on this node. The lists are not persisted; the next
+   * restart starts again from {@code rate-limit.ip-rules}.
+   */
+  @PutMapping("/ip-rules")
+  public ResponseEntity<IpRulesResponse> replaceIpRules(@RequestBody IpRulesRequest request) {
+    IpClassifier reloaded =
+        ipRules.reload(
+            request.getAllow() != null ? request.getAllow() : List.of(),
+            request.getDeny() != null ? request.getDeny() : List.of());
+    return ResponseEntity.ok(toResponse(reloaded));
+  }
+
+  private static IpRulesResponse toResponse(IpClassifier classifier) {
+    return IpRulesResponse.builder().allow(classifier.allow()).deny(classifier.deny()).build();
+  }
+}
@@ -0,0 +1,63 @@
+package com.auth.oauth2.controller;
+
+import com.auth.oauth2.config.IntrospectionProperties;
+import com.auth.oauth2.domain.dto.request.BatchIntrospectionRequest;
+import com.auth.oauth2.service.TokenIntrospectionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/oauth2/introspect/batch")
+@RequiredArgsConstructor
+public class TokenIntrospectionController {
+
+  private final TokenIntrospectionService tokenIntrospectionService;
+  private final IntrospectionProperties introspectionProperties;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Introspects up to {@code introspection.batch.max-tokens} tokens in one client-authenticated
+   * request and answers {@code {"results": [...]}} with one RFC 7662 response per token, in
+   * request order. Tokens are resolved {@code lookup-size} at a time and each group is flushed as
+   * soon as it is resolved, so large batches start arriving before the last lookup has run.
+   */
+  @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+  public void introspect(
+      @Valid @RequestBody BatchIntrospectionRequest request, HttpServletResponse response)
+      throws IOException {
+    IntrospectionProperties.Batch batch = introspectionProperties.getBatch();
+    List<String> tokens = request.getTokens();
+    if (tokens.size() > batch.getMaxTokens()) {
+      throw new IllegalArgumentException(
+          "At most " + batch.getMaxTokens() + " tokens can be introspected per request");
+    }
+
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+    try (JsonGenerator json = objectMapper.createGenerator(response.getOutputStream())) {
+      json.writeStartObject();
+      json.writeArrayFieldStart("results");
+      for (int from = 0; from < tokens.size(); from += batch.getLookupSize()) {
+        List<String> group =
+            tokens.subList(from, Math.min(tokens.size(), from + batch.getLookupSize()));
+        for (Map<String, Object> claims :
+            tokenIntrospectionService.introspect(group, request.getTokenTypeHint())) {
+          json.writeObject(claims);
+        }
+        json.flush();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.auth.oauth2.controller;
+
+import com.auth.oauth2.domain.dto.response.UserResponse;
+import com.auth.oauth2.domain.entity.Role;
+import com.auth.oauth2.domain.entity.User;
+import com.auth.oauth2.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+public class UserAdminController {
+
+  private final UserService userService;
+
+  @PostMapping("/{userId}/disable")
+  public ResponseEntity<UserResponse> disable(@PathVariable Long userId) {
+    return ResponseEntity.ok(toResponse(userService.setEnabled(userId, false)));
+  }
+
+  @PostMapping("/{userId}/enable")
+  public ResponseEntity<UserResponse> enable(@PathVariable Long userId) {
+    return ResponseEntity.ok(toResponse(userService.setEnabled(userId, true)));
+  }
+
+  private static UserResponse toResponse(User user) {
+    return UserResponse.builder()
+        .id(user.getId())
+        .username(user.getUsername())
+        .email(user.getEmail())
+        .roles(user.getRoles().stream().map(Role::name).toList())
+        .enabled(user.getEnabled())
+        .createdAt(user.getCreatedAt())
+        .updatedAt(user.getUpdatedAt())
+        .build();
+  }
+}
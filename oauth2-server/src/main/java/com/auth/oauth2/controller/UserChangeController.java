@@ -0,0 +1,26 @@
+package com.auth.oauth2.controller;
+
+import com.auth.oauth2.domain.dto.response.UserChangeFeedResponse;
+import com.auth.oauth2.service.UserChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/users/changes")
+@RequiredArgsConstructor
+public class UserChangeController {
+
+  private final UserChangeService userChangeService;
+
+  /**
+   * Pages through user create, update and disable changes in commit order. Start with {@code
+   * after=0} and pass the returned {@code nextCursor} on each following call.
+   */
+  @GetMapping
+  public ResponseEntity<UserChangeFeedResponse> getChanges(
+      @RequestParam(defaultValue = "0") long after,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(userChangeService.getChanges(after, limit));
+  }
+}
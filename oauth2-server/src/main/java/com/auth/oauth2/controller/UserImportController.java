@@ -0,0 +1,39 @@
+package com.auth.oauth2.controller;
+
+import com.auth.oauth2.domain.dto.response.UserImportResponse;
+import com.auth.oauth2.service.UserImportService;
+import com.auth.oauth2.service.imports.UserImportFormat;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/users/import")
+@RequiredArgsConstructor
+public class UserImportController {
+
+  private final UserImportService userImportService;
+
+  /**
+   * Starts importing a CSV or JSON Lines body into the users table and answers {@code 202} with the
+   * job, whose progress is polled at {@code GET /{jobId}}. Pass the {@code jobId} of an interrupted
+   * import to resume it; the same file must be re-sent.
+   */
+  @PostMapping
+  public ResponseEntity<UserImportResponse> importUsers(
+      InputStream body,
+      @RequestParam(required = false) String format,
+      @RequestParam(required = false) String jobId,
+      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType) {
+    UserImportFormat importFormat = UserImportFormat.resolve(format, contentType);
+    UserImportResponse response = userImportService.startImport(body, importFormat, "api", jobId);
+    return ResponseEntity.accepted().body(response);
+  }
+
+  @GetMapping("/{jobId}")
+  public ResponseEntity<UserImportResponse> getJob(@PathVariable String jobId) {
+    return ResponseEntity.ok(userImportService.getJob(jobId));
+  }
+}
@@ -0,0 +1,32 @@
+package com.auth.oauth2.domain.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchIntrospectionRequest {
+
+  /** Upper bound of {@code introspection.batch.max-tokens}. */
+  public static final int MAX_TOKENS = 10_000;
+
+  /** Tokens to introspect; results come back in the same order. */
+  @NotEmpty(message = "At least one token is required")
+  @Size(max = MAX_TOKENS, message = "At most " + MAX_TOKENS + " tokens are allowed")
+  private List<@NotBlank(message = "Tokens must not be blank") String> tokens;
+
+  /** Optional {@code access_token} or {@code refresh_token}, applied to every token. */
+  @JsonProperty("token_type_hint")
+  private String tokenTypeHint;
+}
@@ -0,0 +1,23 @@
+package com.auth.oauth2.domain.dto.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IpRulesRequest {
+
+  /** CIDR blocks exempt from rate limiting. Replaces the current list. */
+  @Builder.Default private List<String> allow = new ArrayList<>();
+
+  /** CIDR blocks rejected on rate-limited endpoints. Replaces the current list. */
+  @Builder.Default private List<String> deny = new ArrayList<>();
+}
@@ -43,4 +43,17 @@ public class OAuth2ClientRequest {
    */
   @Min(value = 1, message = "Refresh token TTL must be at least 1 second")
   private Long customRefreshTokenTtlSeconds;
+
+  /**
+   * Maximum concurrent token requests for this client.
+   * Uses the server default if null.
+   */
+  @Min(value = 1, message = "Max concurrent token requests must be at least 1")
+  private Integer maxConcurrentTokenRequests;
+
+  /**
+   * Issue opaque reference access tokens, validated by introspection, instead of JWTs.
+   * Defaults to false.
+   */
+  private Boolean referenceTokens;
 }
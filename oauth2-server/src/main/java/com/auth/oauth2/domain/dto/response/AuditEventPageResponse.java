@@ -0,0 +1,19 @@
+package com.auth.oauth2.domain.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditEventPageResponse {
+
+  private List<AuditEventResponse> events;
+  // Pass as "cursor" with the same filters for the next page; null on the last page
+  private String nextCursor;
+  private Boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.auth.oauth2.domain.dto.response;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditEventResponse {
+
+  private Instant occurredAt;
+  private String type;
+  private String principal;
+  private String clientId;
+  private Map<String, String> attributes;
+}
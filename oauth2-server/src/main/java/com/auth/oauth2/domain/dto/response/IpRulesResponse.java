@@ -0,0 +1,17 @@
+package com.auth.oauth2.domain.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IpRulesResponse {
+
+  private List<String> allow;
+  private List<String> deny;
+}
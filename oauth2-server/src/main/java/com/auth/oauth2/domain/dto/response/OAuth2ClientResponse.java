@@ -21,6 +21,8 @@ public class OAuth2ClientResponse {
   private Boolean enabled;
   private Long customAccessTokenTtlSeconds;
   private Long customRefreshTokenTtlSeconds;
+  private Integer maxConcurrentTokenRequests;
+  private Boolean referenceTokens;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
 }
@@ -0,0 +1,19 @@
+package com.auth.oauth2.domain.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChangeFeedResponse {
+
+  private List<UserChangeResponse> changes;
+  // Pass as "after" on the next call; unchanged when there was nothing new
+  private Long nextCursor;
+  private Boolean hasMore;
+}
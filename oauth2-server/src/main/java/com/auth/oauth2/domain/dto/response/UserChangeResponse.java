@@ -0,0 +1,23 @@
+package com.auth.oauth2.domain.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChangeResponse {
+
+  private Long id;
+  private Long userId;
+  private String email;
+  private String type;
+  private Boolean enabled;
+  private List<String> roles;
+  private LocalDateTime occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.auth.oauth2.domain.dto.response;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportResponse {
+
+  private String jobId;
+  private String status;
+  private String format;
+  private Long recordsProcessed;
+  private Long imported;
+  private Long duplicates;
+  private Long failed;
+  private String lastError;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+}
@@ -69,6 +69,20 @@ public class OAuth2Client {
   @Column(name = "custom_refresh_token_ttl_seconds")
   private Long customRefreshTokenTtlSeconds;
 
+  /**
+   * Maximum concurrent /oauth2/token requests for this client.
+   * Uses token-bulkhead.default-max-concurrent-requests if null.
+   */
+  @Column(name = "max_concurrent_token_requests")
+  private Integer maxConcurrentTokenRequests;
+
+  /**
+   * Issue opaque reference access tokens instead of self-contained JWTs.
+   * Treated as false if null.
+   */
+  @Column(name = "reference_tokens")
+  private Boolean referenceTokens;
+
   @Column(nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
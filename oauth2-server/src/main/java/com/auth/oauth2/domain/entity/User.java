@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,9 +22,18 @@ public class User {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  @Column(nullable = false, unique = true, length = 100)
+  @Column(nullable = false, length = 100)
   private String email;
 
+  /**
+   * Lower-cased, trimmed form of {@link #email}. All lookups go through this column so that login
+   * is case-insensitive while staying an equality probe on its unique index. Mapped as nullable so
+   * that {@code ddl-auto} can add it to a populated table; {@link
+   * com.auth.oauth2.config.NormalizedEmailMigration} backfills it and adds NOT NULL and the index.
+   */
+  @Column(name = "normalized_email", length = 100)
+  private String normalizedEmail;
+
   @Column(nullable = false)
   private String password;
 
@@ -58,15 +68,27 @@ public class User {
 
   @PrePersist
   protected void onCreate() {
+    normalizedEmail = normalizeEmail(email);
     createdAt = LocalDateTime.now();
     updatedAt = LocalDateTime.now();
   }
 
   @PreUpdate
   protected void onUpdate() {
+    normalizedEmail = normalizeEmail(email);
     updatedAt = LocalDateTime.now();
   }
 
+  /** Enables or disables login; replicated as an {@code UPDATED} or {@code DISABLED} change. */
+  public void updateEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** Canonical form used for email uniqueness and lookups. */
+  public static String normalizeEmail(String email) {
+    return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+  }
+
   /**
    * Returns the username used by Spring Security's UserDetailsService.
    * Actually returns the email address.
@@ -0,0 +1,65 @@
+package com.auth.oauth2.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox row describing a user change, written in the same transaction as the change itself. Each
+ * row carries the full replicated state of the user after the change, so consumers can apply rows
+ * as idempotent upserts and skip straight to the latest row per user.
+ *
+ * <p>The identity {@code id} is taken at insert time and does not follow commit order, so the
+ * stream is ordered by {@code position} instead, which {@code UserChangeService} assigns only after
+ * the row has committed. Rows without a position are not visible in the feed yet.
+ */
+@Entity
+@Table(
+    name = "user_changes",
+    indexes = @Index(name = "idx_user_changes_user_id", columnList = "user_id"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChange {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long userId;
+
+  @Column(nullable = false, length = 100)
+  private String email;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private UserChangeType changeType;
+
+  @Column(nullable = false)
+  private Boolean enabled;
+
+  // Comma-separated role names
+  @Column(nullable = false, length = 200)
+  private String roles;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  // Position in the change stream, null until sequenced
+  @Column(name = "stream_position", unique = true)
+  private Long position;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+
+  public void assignPosition(long position) {
+    this.position = position;
+  }
+}
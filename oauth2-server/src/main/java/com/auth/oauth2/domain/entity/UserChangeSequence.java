@@ -0,0 +1,30 @@
+package com.auth.oauth2.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row counter handing out {@link UserChange} stream positions. Sequencing holds a write lock
+ * on this row until it commits, so positions become visible strictly in order on every instance.
+ */
+@Entity
+@Table(name = "user_change_sequence")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class UserChangeSequence {
+
+  public static final long ID = 1L;
+
+  @Id private Long id;
+
+  @Column(nullable = false)
+  private Long lastPosition;
+
+  public long next() {
+    return ++lastPosition;
+  }
+}
@@ -0,0 +1,7 @@
+package com.auth.oauth2.domain.entity;
+
+public enum UserChangeType {
+  CREATED,
+  UPDATED,
+  DISABLED
+}
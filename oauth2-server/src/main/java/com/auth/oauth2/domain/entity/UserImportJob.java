@@ -0,0 +1,80 @@
+package com.auth.oauth2.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress checkpoint of a bulk user import. {@code recordsProcessed} is advanced in the same
+ * transaction as each written batch, so an interrupted import can be resumed from the first record
+ * that was not committed.
+ */
+@Entity
+@Table(name = "user_import_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportJob {
+
+  public enum Status {
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  @Id
+  @Column(length = 36)
+  private String id;
+
+  @Column(nullable = false, length = 255)
+  private String source;
+
+  @Column(nullable = false, length = 10)
+  private String format;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private Status status;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private Long recordsProcessed = 0L;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private Long imported = 0L;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private Long duplicates = 0L;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private Long failed = 0L;
+
+  @Column(length = 500)
+  private String lastError;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+    updatedAt = LocalDateTime.now();
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now();
+  }
+}
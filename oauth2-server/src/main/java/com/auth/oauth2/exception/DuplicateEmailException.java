@@ -0,0 +1,7 @@
+package com.auth.oauth2.exception;
+
+public class DuplicateEmailException extends RuntimeException {
+  public DuplicateEmailException(String message) {
+    super(message);
+  }
+}
@@ -52,6 +52,63 @@ public class GlobalExceptionHandler {
         .body(error);
   }
 
+  @ExceptionHandler(IpAddressDeniedException.class)
+  public ResponseEntity<Map<String, Object>> handleIpAddressDeniedException(
+      IpAddressDeniedException ex) {
+    log.warn("IP address denied: {}", ex.getMessage());
+
+    Map<String, Object> error = new HashMap<>();
+    error.put("status", HttpStatus.FORBIDDEN.value());
+    error.put("message", ex.getMessage());
+    error.put("error", "IP_DENIED");
+
+    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+  }
+
+  @ExceptionHandler(DuplicateEmailException.class)
+  public ResponseEntity<Map<String, Object>> handleDuplicateEmailException(
+      DuplicateEmailException ex) {
+    Map<String, Object> error = new HashMap<>();
+    error.put("status", HttpStatus.CONFLICT.value());
+    error.put("message", ex.getMessage());
+    error.put("error", "DUPLICATE_EMAIL");
+
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+  }
+
+  @ExceptionHandler(UserNotFoundException.class)
+  public ResponseEntity<Map<String, Object>> handleUserNotFoundException(
+      UserNotFoundException ex) {
+    Map<String, Object> error = new HashMap<>();
+    error.put("status", HttpStatus.NOT_FOUND.value());
+    error.put("message", ex.getMessage());
+    error.put("error", "USER_NOT_FOUND");
+
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+  }
+
+  @ExceptionHandler(UserImportJobNotFoundException.class)
+  public ResponseEntity<Map<String, Object>> handleUserImportJobNotFoundException(
+      UserImportJobNotFoundException ex) {
+    Map<String, Object> error = new HashMap<>();
+    error.put("status", HttpStatus.NOT_FOUND.value());
+    error.put("message", ex.getMessage());
+    error.put("error", "IMPORT_JOB_NOT_FOUND");
+
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+  }
+
+  @ExceptionHandler(UserImportFormatMismatchException.class)
+  public ResponseEntity<Map<String, Object>> handleUserImportFormatMismatchException(
+      UserImportFormatMismatchException ex) {
+    Map<String, Object> error = new HashMap<>();
+    error.put("status", HttpStatus.CONFLICT.value());
+    error.put("message", ex.getMessage());
+    error.put("error", "IMPORT_FORMAT_MISMATCH");
+
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+  }
+
   @ExceptionHandler(RuntimeException.class)
   public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException ex) {
     log.error("RuntimeException: {}", ex.getMessage());
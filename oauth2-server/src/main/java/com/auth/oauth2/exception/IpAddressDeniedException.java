@@ -0,0 +1,7 @@
+package com.auth.oauth2.exception;
+
+public class IpAddressDeniedException extends RuntimeException {
+  public IpAddressDeniedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,7 @@
+package com.auth.oauth2.exception;
+
+public class UserImportException extends RuntimeException {
+  public UserImportException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,7 @@
+package com.auth.oauth2.exception;
+
+public class UserImportFormatMismatchException extends RuntimeException {
+  public UserImportFormatMismatchException(String message) {
+    super(message);
+  }
+}
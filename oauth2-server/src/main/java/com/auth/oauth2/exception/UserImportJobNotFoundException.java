@@ -0,0 +1,7 @@
+package com.auth.oauth2.exception;
+
+public class UserImportJobNotFoundException extends RuntimeException {
+  public UserImportJobNotFoundException(String message) {
+    super(message);
+  }
+}
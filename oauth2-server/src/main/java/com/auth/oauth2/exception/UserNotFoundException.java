@@ -0,0 +1,7 @@
+package com.auth.oauth2.exception;
+
+public class UserNotFoundException extends RuntimeException {
+  public UserNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,275 @@
+package com.auth.oauth2.repository;
+
+import com.auth.oauth2.security.audit.AuditEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC store for audit events, partitioned by UTC day into tables named {@code
+ * audit_events_yyyyMMdd}.
+ *
+ * <p>Each day table has its own indexes on {@code (principal, occurred_at)}, {@code (client_id,
+ * occurred_at)} and {@code (event_type, occurred_at)}, so they stay as small as one day of traffic,
+ * and retention is a {@code DROP TABLE} instead of a large {@code DELETE}. Plain tables rather
+ * than declarative partitioning keep the DDL portable across H2 and PostgreSQL.
+ *
+ * <p>Queries walk the day tables newest first and page by keyset on {@code (occurred_at, id)}:
+ * every page is an index range scan, however deep the client has paged.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditEventRepository {
+
+  private static final String TABLE_PREFIX = "audit_events_";
+  private static final Pattern TABLE_NAME = Pattern.compile(TABLE_PREFIX + "\\d{8}");
+  private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+  // Attribute values are free text such as exception messages
+  private static final int MAX_ATTRIBUTE_LENGTH = 500;
+
+  private static final String COLUMNS =
+      "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+          + " occurred_at TIMESTAMP NOT NULL,"
+          + " event_type VARCHAR(50) NOT NULL,"
+          + " principal VARCHAR(200),"
+          + " client_id VARCHAR(100),"
+          + " attributes VARCHAR(4000)";
+
+  private static final String SELECT_COLUMNS =
+      "SELECT id, occurred_at, event_type, principal, client_id, attributes FROM ";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  // Days whose table is known to exist, so inserts skip the DDL
+  private final Set<LocalDate> createdPartitions = ConcurrentHashMap.newKeySet();
+
+  /** A persisted event; {@code id} is only unique within its day. */
+  public record StoredAuditEvent(
+      long id,
+      Instant occurredAt,
+      String type,
+      @Nullable String principal,
+      @Nullable String clientId,
+      Map<String, String> attributes) {}
+
+  /** Position after which the next page starts, newest first. */
+  public record Cursor(Instant occurredAt, long id) {}
+
+  /** Filters of a query; null filters match everything. {@code to} is exclusive. */
+  public record Criteria(
+      @Nullable String principal,
+      @Nullable String clientId,
+      @Nullable String type,
+      Instant from,
+      Instant to,
+      @Nullable Cursor after) {}
+
+  /** Inserts the events with one statement batch per day table, creating tables as needed. */
+  public void insert(List<AuditEvent> events) {
+    Map<LocalDate, List<Object[]>> rowsByDay = new TreeMap<>();
+    for (AuditEvent event : events) {
+      rowsByDay
+          .computeIfAbsent(dayOf(event.timestamp()), day -> new ArrayList<>())
+          .add(
+              new Object[] {
+                Timestamp.from(event.timestamp()),
+                event.type().name(),
+                event.principal(),
+                event.clientId(),
+                toJson(event.attributes())
+              });
+    }
+    rowsByDay.forEach(
+        (day, rows) -> {
+          createPartition(day);
+          jdbcTemplate.batchUpdate(
+              "INSERT INTO "
+                  + table(day)
+                  + " (occurred_at, event_type, principal, client_id, attributes)"
+                  + " VALUES (?, ?, ?, ?, ?)",
+              rows);
+        });
+  }
+
+  public void createPartition(LocalDate day) {
+    if (createdPartitions.contains(day)) {
+      return;
+    }
+    String table = table(day);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (" + COLUMNS + ")");
+    createIndex(table, "principal");
+    createIndex(table, "client_id");
+    createIndex(table, "event_type");
+    createdPartitions.add(day);
+  }
+
+  // Index names are schema-wide in PostgreSQL, hence the table prefix
+  private void createIndex(String table, String column) {
+    jdbcTemplate.execute(
+        "CREATE INDEX IF NOT EXISTS "
+            + table
+            + "_"
+            + column
+            + " ON "
+            + table
+            + " ("
+            + column
+            + ", occurred_at)");
+  }
+
+  /** Days that have a table, oldest first. */
+  public List<LocalDate> partitions() {
+    List<String> tables =
+        jdbcTemplate.queryForList(
+            "SELECT table_name FROM information_schema.tables"
+                + " WHERE LOWER(table_name) LIKE 'audit_events_%'"
+                + " AND table_schema = CURRENT_SCHEMA",
+            String.class);
+    return tables.stream()
+        .map(String::toLowerCase)
+        .filter(name -> TABLE_NAME.matcher(name).matches())
+        .map(name -> LocalDate.parse(name.substring(TABLE_PREFIX.length()), DAY))
+        .sorted()
+        .toList();
+  }
+
+  /** Drops the tables of all days before {@code cutoff} and returns how many were dropped. */
+  public int dropPartitionsBefore(LocalDate cutoff) {
+    int dropped = 0;
+    for (LocalDate day : partitions()) {
+      if (!day.isBefore(cutoff)) {
+        break;
+      }
+      jdbcTemplate.execute("DROP TABLE IF EXISTS " + table(day));
+      createdPartitions.remove(day);
+      dropped++;
+    }
+    return dropped;
+  }
+
+  /** Up to {@code limit} events matching the criteria, newest first. */
+  public List<StoredAuditEvent> find(Criteria criteria, int limit) {
+    Instant upper =
+        criteria.after() != null && criteria.after().occurredAt().isBefore(criteria.to())
+            ? criteria.after().occurredAt()
+            : criteria.to();
+    LocalDate firstDay = dayOf(criteria.from());
+    LocalDate lastDay = dayOf(upper);
+
+    List<StoredAuditEvent> events = new ArrayList<>(limit);
+    List<LocalDate> days = partitions();
+    for (int i = days.size() - 1; i >= 0 && events.size() < limit; i--) {
+      LocalDate day = days.get(i);
+      if (day.isAfter(lastDay)) {
+        continue;
+      }
+      if (day.isBefore(firstDay)) {
+        break;
+      }
+      events.addAll(findInPartition(day, criteria, limit - events.size()));
+    }
+    return events;
+  }
+
+  private List<StoredAuditEvent> findInPartition(LocalDate day, Criteria criteria, int limit) {
+    StringBuilder sql =
+        new StringBuilder(SELECT_COLUMNS)
+            .append(table(day))
+            .append(" WHERE occurred_at >= ? AND occurred_at < ?");
+    List<Object> args = new ArrayList<>();
+    args.add(Timestamp.from(criteria.from()));
+    args.add(Timestamp.from(criteria.to()));
+    if (criteria.principal() != null) {
+      sql.append(" AND principal = ?");
+      args.add(criteria.principal());
+    }
+    if (criteria.clientId() != null) {
+      sql.append(" AND client_id = ?");
+      args.add(criteria.clientId());
+    }
+    if (criteria.type() != null) {
+      sql.append(" AND event_type = ?");
+      args.add(criteria.type());
+    }
+    Cursor after = criteria.after();
+    if (after != null) {
+      // Equal timestamps only occur within one day table, where ids are comparable
+      sql.append(" AND (occurred_at < ? OR (occurred_at = ? AND id < ?))");
+      args.add(Timestamp.from(after.occurredAt()));
+      args.add(Timestamp.from(after.occurredAt()));
+      args.add(after.id());
+    }
+    sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT ?");
+    args.add(limit);
+    return jdbcTemplate.query(sql.toString(), this::mapRow, args.toArray());
+  }
+
+  private StoredAuditEvent mapRow(ResultSet rs, int rowNum) throws SQLException {
+    return new StoredAuditEvent(
+        rs.getLong("id"),
+        rs.getTimestamp("occurred_at").toInstant(),
+        rs.getString("event_type"),
+        rs.getString("principal"),
+        rs.getString("client_id"),
+        fromJson(rs.getString("attributes")));
+  }
+
+  @Nullable
+  private String toJson(Map<String, Object> attributes) {
+    if (attributes.isEmpty()) {
+      return null;
+    }
+    Map<String, String> values = new LinkedHashMap<>();
+    attributes.forEach(
+        (name, value) -> {
+          String text = String.valueOf(value);
+          if (text.length() > MAX_ATTRIBUTE_LENGTH) {
+            text = text.substring(0, MAX_ATTRIBUTE_LENGTH);
+          }
+          values.put(name, text);
+        });
+    try {
+      return objectMapper.writeValueAsString(values);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize audit attributes", e);
+    }
+  }
+
+  private Map<String, String> fromJson(@Nullable String json) {
+    if (json == null) {
+      return Map.of();
+    }
+    try {
+      return objectMapper.readValue(json, new TypeReference<LinkedHashMap<String, String>>() {});
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not read audit attributes", e);
+    }
+  }
+
+  private static LocalDate dayOf(Instant instant) {
+    return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+  }
+
+  private static String table(LocalDate day) {
+    return TABLE_PREFIX + DAY.format(day);
+  }
+}
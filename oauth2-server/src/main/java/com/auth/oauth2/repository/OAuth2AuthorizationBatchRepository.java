@@ -0,0 +1,143 @@
+package com.auth.oauth2.repository;
+
+import com.auth.oauth2.config.IntrospectionProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Multi-token reads of the {@code oauth2_authorization} table written by {@link
+ * JdbcOAuth2AuthorizationService}. {@code findByToken} costs one query per token; here any number
+ * of access and refresh token values are matched with a single {@code IN} query and mapped by the
+ * same row mapper.
+ *
+ * <p>The row mapper resolves the registered client of every row. A batch usually holds tokens of
+ * a handful of clients, so those lookups go through a short-lived cache instead of one query per
+ * row.
+ */
+@Repository
+public class OAuth2AuthorizationBatchRepository {
+
+  private static final String SELECT_SQL = "SELECT * FROM oauth2_authorization WHERE ";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final LoadingCache<String, RegisteredClient> registeredClients;
+  private final JdbcOAuth2AuthorizationService.OAuth2AuthorizationRowMapper rowMapper;
+
+  public OAuth2AuthorizationBatchRepository(
+      JdbcTemplate jdbcTemplate,
+      RegisteredClientRepository registeredClientRepository,
+      IntrospectionProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.registeredClients =
+        Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(properties.getBatch().getClientCacheTtl())
+            .build(registeredClientRepository::findById);
+    this.rowMapper =
+        new JdbcOAuth2AuthorizationService.OAuth2AuthorizationRowMapper(
+            new CachedRegisteredClients(registeredClientRepository, registeredClients));
+  }
+
+  /**
+   * Finds the authorizations holding any of the given token values with one query.
+   *
+   * @param tokenType restricts the match to access or refresh tokens; {@code null} matches both
+   * @return authorizations keyed by each requested token value they hold; values without a match
+   *     are absent
+   */
+  public Map<String, OAuth2Authorization> findByTokenValues(
+      Collection<String> tokenValues, @Nullable OAuth2TokenType tokenType) {
+    if (tokenValues.isEmpty()) {
+      return Map.of();
+    }
+    String placeholders = String.join(", ", Collections.nCopies(tokenValues.size(), "?"));
+    List<String> columns = new ArrayList<>(2);
+    if (tokenType == null || OAuth2TokenType.ACCESS_TOKEN.equals(tokenType)) {
+      columns.add("access_token_value");
+    }
+    if (tokenType == null || OAuth2TokenType.REFRESH_TOKEN.equals(tokenType)) {
+      columns.add("refresh_token_value");
+    }
+    if (columns.isEmpty()) {
+      return Map.of();
+    }
+
+    StringBuilder sql = new StringBuilder(SELECT_SQL);
+    List<SqlParameterValue> args = new ArrayList<>(tokenValues.size() * columns.size());
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        sql.append(" OR ");
+      }
+      sql.append(columns.get(i)).append(" IN (").append(placeholders).append(')');
+      for (String tokenValue : tokenValues) {
+        // Token values are stored as BLOBs, exactly as JdbcOAuth2AuthorizationService binds them
+        args.add(
+            new SqlParameterValue(Types.BLOB, tokenValue.getBytes(StandardCharsets.UTF_8)));
+      }
+    }
+
+    List<OAuth2Authorization> authorizations =
+        jdbcTemplate.query(sql.toString(), rowMapper, args.toArray());
+    Map<String, OAuth2Authorization> byTokenValue = new HashMap<>();
+    for (OAuth2Authorization authorization : authorizations) {
+      if (authorization.getAccessToken() != null) {
+        byTokenValue.put(
+            authorization.getAccessToken().getToken().getTokenValue(), authorization);
+      }
+      if (authorization.getRefreshToken() != null) {
+        byTokenValue.put(
+            authorization.getRefreshToken().getToken().getTokenValue(), authorization);
+      }
+    }
+    byTokenValue.keySet().retainAll(tokenValues);
+    return byTokenValue;
+  }
+
+  /** Client id of the client the authorization was granted to, from the client cache. */
+  @Nullable
+  public String clientIdOf(OAuth2Authorization authorization) {
+    RegisteredClient client = registeredClients.get(authorization.getRegisteredClientId());
+    return client != null ? client.getClientId() : null;
+  }
+
+  /**
+   * The application's {@link RegisteredClientRepository} with {@code findById} answered from the
+   * client cache, for the row mapper; every other call goes to the repository itself.
+   */
+  private record CachedRegisteredClients(
+      RegisteredClientRepository repository, LoadingCache<String, RegisteredClient> byId)
+      implements RegisteredClientRepository {
+
+    @Override
+    public void save(RegisteredClient registeredClient) {
+      repository.save(registeredClient);
+    }
+
+    @Override
+    public RegisteredClient findById(String id) {
+      return byId.get(id);
+    }
+
+    @Override
+    public RegisteredClient findByClientId(String clientId) {
+      return repository.findByClientId(clientId);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.auth.oauth2.repository;
+
+import com.auth.oauth2.domain.entity.Role;
+import com.auth.oauth2.domain.entity.User;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC batch writer for bulk user creation. Bypasses JPA so that thousands of users can be written
+ * with one statement batch instead of one persist and flush per entity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+  // INSERT ... SELECT ... WHERE NOT EXISTS is portable across H2 and PostgreSQL and lets existing
+  // emails be skipped without a separate existence query per row
+  private static final String INSERT_USER_SQL =
+      "INSERT INTO users (email, normalized_email, password, enabled, account_non_expired,"
+          + " account_non_locked, credentials_non_expired, created_at, updated_at)"
+          + " SELECT ?, ?, ?, TRUE, TRUE, TRUE, TRUE, ?, ?"
+          + " WHERE NOT EXISTS (SELECT 1 FROM users WHERE normalized_email = ?)";
+
+  private static final String INSERT_ROLE_SQL =
+      "INSERT INTO user_roles (user_id, role)"
+          + " SELECT u.id, ? FROM users u WHERE u.normalized_email = ?"
+          + " AND NOT EXISTS (SELECT 1 FROM user_roles r WHERE r.user_id = u.id)";
+
+  // Outbox row for replicas; the NOT EXISTS guard keeps rows reported as SUCCESS_NO_INFO that were
+  // in fact skipped from publishing a second CREATED change for an existing user
+  private static final String INSERT_CHANGE_SQL =
+      "INSERT INTO user_changes (user_id, email, change_type, enabled, roles, created_at)"
+          + " SELECT u.id, u.email, 'CREATED', u.enabled, ?, ? FROM users u"
+          + " WHERE u.normalized_email = ?"
+          + " AND NOT EXISTS (SELECT 1 FROM user_changes c WHERE c.user_id = u.id)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** A user to insert; {@code passwordHash} must already be encoded. */
+  public record NewUser(String email, String passwordHash) {}
+
+  /**
+   * Inserts the given users with {@link Role#ROLE_USER}, skipping emails that already exist, and
+   * publishes a {@code CREATED} change for each. Must run inside a transaction so that users, roles
+   * and changes are committed together.
+   *
+   * @return one flag per input row, {@code true} when the row was inserted
+   * @throws DataIntegrityViolationException if a concurrent writer inserted one of the emails
+   *     between the existence check and the insert
+   */
+  public boolean[] insertIfAbsent(List<NewUser> users) {
+    if (users.isEmpty()) {
+      return new boolean[0];
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> userArgs = new ArrayList<>(users.size());
+    List<String> normalizedEmails = new ArrayList<>(users.size());
+    for (NewUser user : users) {
+      String normalizedEmail = User.normalizeEmail(user.email());
+      normalizedEmails.add(normalizedEmail);
+      userArgs.add(
+          new Object[] {
+            user.email(), normalizedEmail, user.passwordHash(), now, now, normalizedEmail
+          });
+    }
+    int[] counts = jdbcTemplate.batchUpdate(INSERT_USER_SQL, userArgs);
+
+    boolean[] inserted = new boolean[users.size()];
+    List<Object[]> roleArgs = new ArrayList<>(users.size());
+    List<Object[]> changeArgs = new ArrayList<>(users.size());
+    for (int i = 0; i < counts.length; i++) {
+      // Some drivers report SUCCESS_NO_INFO for batched statements; the role insert is guarded
+      // by NOT EXISTS so it is safe to attempt it for those rows too
+      inserted[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+      if (inserted[i]) {
+        roleArgs.add(new Object[] {Role.ROLE_USER.name(), normalizedEmails.get(i)});
+        changeArgs.add(new Object[] {Role.ROLE_USER.name(), now, normalizedEmails.get(i)});
+      }
+    }
+    if (!roleArgs.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_ROLE_SQL, roleArgs);
+      jdbcTemplate.batchUpdate(INSERT_CHANGE_SQL, changeArgs);
+    }
+    return inserted;
+  }
+}
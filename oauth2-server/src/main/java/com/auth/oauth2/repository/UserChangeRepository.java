@@ -0,0 +1,30 @@
+package com.auth.oauth2.repository;
+
+import com.auth.oauth2.domain.entity.UserChange;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+
+  // Range scan on the unique stream_position index
+  List<UserChange> findByPositionGreaterThanOrderByPositionAsc(Long position, Limit limit);
+
+  List<UserChange> findByPositionIsNullOrderByIdAsc(Limit limit);
+
+  boolean existsByIdGreaterThan(Long id);
+
+  // Unsequenced rows are never purged, and the newest sequenced row is always kept so that an idle
+  // stream is never mistaken for an empty one
+  @Modifying
+  @Query(
+      "delete from UserChange c where c.createdAt < :cutoff"
+          + " and c.position < (select max(d.position) from UserChange d)")
+  int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
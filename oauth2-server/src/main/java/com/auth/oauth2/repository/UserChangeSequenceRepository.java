@@ -0,0 +1,19 @@
+package com.auth.oauth2.repository;
+
+import com.auth.oauth2.domain.entity.UserChangeSequence;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserChangeSequenceRepository extends JpaRepository<UserChangeSequence, Long> {
+
+  // SELECT ... FOR UPDATE, held until the sequencing transaction commits
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from UserChangeSequence s where s.id = :id")
+  Optional<UserChangeSequence> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,8 @@
+package com.auth.oauth2.repository;
+
+import com.auth.oauth2.domain.entity.UserImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, String> {}
@@ -1,16 +1,30 @@
 package com.auth.oauth2.repository;
 
 import com.auth.oauth2.domain.entity.User;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-  Optional<User> findByEmail(String email);
+  Optional<User> findByNormalizedEmail(String normalizedEmail);
 
-  boolean existsByEmail(String email);
+  boolean existsByNormalizedEmail(String normalizedEmail);
+
+  // Keyset paging over the primary key
+  List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  // Case-insensitive: both resolve through the unique index on normalized_email
+  default Optional<User> findByEmail(String email) {
+    return findByNormalizedEmail(User.normalizeEmail(email));
+  }
+
+  default boolean existsByEmail(String email) {
+    return existsByNormalizedEmail(User.normalizeEmail(email));
+  }
 
   // Method for Spring Security compatibility (actually queries by email)
   default Optional<User> findByUsername(String username) {
@@ -1,6 +1,9 @@
 package com.auth.oauth2.security;
 
-import lombok.extern.slf4j.Slf4j;
+import com.auth.oauth2.security.audit.AuditEvent;
+import com.auth.oauth2.security.audit.AuditEventPublisher;
+import com.auth.oauth2.security.audit.AuditEventType;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationListener;
 import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
 import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
@@ -8,35 +11,50 @@ import org.springframework.stereotype.Component;
 import org.springframework.lang.NonNull;
 
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class AuditAuthenticationEventListener
     implements ApplicationListener<AuthenticationSuccessEvent> {
 
+  private final AuditEventPublisher auditEventPublisher;
+
   @Override
   public void onApplicationEvent(@NonNull AuthenticationSuccessEvent event) {
     String principal = event.getAuthentication() != null ? event.getAuthentication().getName() : "unknown";
-    String details =
+    // The details object is stringified by the audit writer, not on the request thread
+    Object details =
         event.getAuthentication() != null && event.getAuthentication().getDetails() != null
-            ? event.getAuthentication().getDetails().toString()
+            ? event.getAuthentication().getDetails()
             : "";
-    log.info("audit.auth.success principal={} details={}", principal, details);
+    auditEventPublisher.publish(
+        AuditEvent.of(
+            AuditEventType.AUTH_SUCCESS,
+            principal,
+            null,
+            AuditEvent.attributes("details", details)));
   }
 
   @Component
-  @Slf4j
+  @RequiredArgsConstructor
   public static class FailureListener
       implements ApplicationListener<AbstractAuthenticationFailureEvent> {
+
+    private final AuditEventPublisher auditEventPublisher;
+
     @Override
     public void onApplicationEvent(@NonNull AbstractAuthenticationFailureEvent event) {
       String principal =
           event.getAuthentication() != null ? event.getAuthentication().getName() : "unknown";
       String exception = event.getException() != null ? event.getException().getClass().getSimpleName() : "Exception";
-      log.warn(
-          "audit.auth.failure principal={} error={} message={}",
-          principal,
-          exception,
-          event.getException() != null ? event.getException().getMessage() : "");
+      String message =
+          event.getException() != null && event.getException().getMessage() != null
+              ? event.getException().getMessage()
+              : "";
+      auditEventPublisher.publish(
+          AuditEvent.of(
+              AuditEventType.AUTH_FAILURE,
+              principal,
+              null,
+              AuditEvent.attributes("error", exception, "message", message)));
     }
   }
 }
-
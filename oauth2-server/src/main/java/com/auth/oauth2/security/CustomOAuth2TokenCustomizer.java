@@ -2,11 +2,15 @@ package com.auth.oauth2.security;
 
 import com.auth.oauth2.repository.UserRepository;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.server.authorization.token.JwtEncodingContext;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenClaimsContext;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenClaimsSet;
 import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenCustomizer;
 import org.springframework.stereotype.Component;
 
@@ -18,8 +22,22 @@ public class CustomOAuth2TokenCustomizer implements OAuth2TokenCustomizer<JwtEnc
 
   @Override
   public void customize(JwtEncodingContext context) {
-    Authentication principal = context.getPrincipal();
+    addClaims(context.getPrincipal(), context.getAuthorizedScopes(), context.getClaims()::claim);
+  }
+
+  /**
+   * The same claims for opaque reference tokens, where they are stored with the authorization and
+   * returned by introspection instead of being embedded in the token.
+   */
+  public OAuth2TokenCustomizer<OAuth2TokenClaimsContext> forReferenceTokens() {
+    return context -> {
+      OAuth2TokenClaimsSet.Builder claims = context.getClaims();
+      addClaims(context.getPrincipal(), context.getAuthorizedScopes(), claims::claim);
+    };
+  }
 
+  private void addClaims(
+      Authentication principal, Set<String> authorizedScopes, BiConsumer<String, Object> claims) {
     if (principal != null && principal.getName() != null) {
       // Add user information to the token
       // principal.getName() actually returns the email
@@ -30,23 +48,20 @@ public class CustomOAuth2TokenCustomizer implements OAuth2TokenCustomizer<JwtEnc
                 List<String> roles =
                     user.getRoles().stream().map(Enum::name).collect(Collectors.toList());
 
-                context
-                    .getClaims()
-                    .claim("userId", user.getId())
-                    .claim("username", user.getUsername())
-                    .claim("email", user.getEmail());
+                claims.accept("userId", user.getId());
+                claims.accept("username", user.getUsername());
+                claims.accept("email", user.getEmail());
 
                 // Add roles as scopes if not already present
-                if (context.getAuthorizedScopes() != null
-                    && !context.getAuthorizedScopes().isEmpty()) {
-                  context.getClaims().claim("scope", context.getAuthorizedScopes());
+                if (authorizedScopes != null && !authorizedScopes.isEmpty()) {
+                  claims.accept("scope", authorizedScopes);
                 } else if (!roles.isEmpty()) {
-                  context.getClaims().claim("scope", roles);
+                  claims.accept("scope", roles);
                 }
               });
     }
 
     // Ensure token type is set
-    context.getClaims().claim("token_type", OAuth2AccessToken.TokenType.BEARER.getValue());
+    claims.accept("token_type", OAuth2AccessToken.TokenType.BEARER.getValue());
   }
 }
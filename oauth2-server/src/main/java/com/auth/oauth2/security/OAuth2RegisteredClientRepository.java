@@ -3,12 +3,14 @@ package com.auth.oauth2.security;
 import com.auth.oauth2.config.OAuth2ClientProperties;
 import com.auth.oauth2.domain.entity.OAuth2Client;
 import com.auth.oauth2.repository.OAuth2ClientRepository;
+import com.auth.oauth2.security.bulkhead.ClientBulkheads;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
+import org.springframework.security.oauth2.server.authorization.settings.OAuth2TokenFormat;
 import org.springframework.security.oauth2.server.authorization.settings.TokenSettings;
 import org.springframework.stereotype.Component;
 
@@ -72,17 +74,26 @@ public class OAuth2RegisteredClientRepository implements RegisteredClientReposit
     var tokenSettings = getTokenSettings(client);
 
     return builder
-        .clientSettings(
-            ClientSettings.builder()
-                .requireAuthorizationConsent(false)
-                // PKCE is optional: clients can use PKCE if they want, but it's not required
-                // This allows registered confidential clients to work without PKCE
-                .requireProofKey(false)
-                .build())
+        .clientSettings(getClientSettings(client))
         .tokenSettings(tokenSettings)
         .build();
   }
 
+  private ClientSettings getClientSettings(OAuth2Client client) {
+    ClientSettings.Builder settings =
+        ClientSettings.builder()
+            .requireAuthorizationConsent(false)
+            // PKCE is optional: clients can use PKCE if they want, but it's not required
+            // This allows registered confidential clients to work without PKCE
+            .requireProofKey(false);
+    // Read by the token endpoint bulkhead; the server default applies when absent
+    if (client.getMaxConcurrentTokenRequests() != null) {
+      settings.setting(
+          ClientBulkheads.MAX_CONCURRENT_REQUESTS, client.getMaxConcurrentTokenRequests());
+    }
+    return settings.build();
+  }
+
   private TokenSettings getTokenSettings(OAuth2Client client) {
     // Use custom TTL if client has one, otherwise use default settings
     Duration accessTokenTtl =
@@ -99,6 +110,11 @@ public class OAuth2RegisteredClientRepository implements RegisteredClientReposit
         .accessTokenTimeToLive(accessTokenTtl)
         .refreshTokenTimeToLive(refreshTokenTtl)
         .reuseRefreshTokens(false) // Refresh Token Rotation (RTR) enabled
+        // Opaque handles are generated by ReferenceAccessTokenGenerator
+        .accessTokenFormat(
+            Boolean.TRUE.equals(client.getReferenceTokens())
+                ? OAuth2TokenFormat.REFERENCE
+                : OAuth2TokenFormat.SELF_CONTAINED)
         .build();
   }
 }
@@ -22,10 +22,11 @@ public class UserDetailsServiceImpl implements UserDetailsService {
   @Override
   @Transactional(readOnly = true)
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    // The username parameter is actually an email
+    // The username parameter is actually an email; normalized once here so that login is
+    // case-insensitive
     User user =
         userRepository
-            .findByEmail(username)
+            .findByNormalizedEmail(User.normalizeEmail(username))
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
     Collection<GrantedAuthority> authorities =
@@ -0,0 +1,44 @@
+package com.auth.oauth2.security.audit;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+
+/**
+ * One audit record. Attribute values are kept as they are and only turned into strings by the
+ * sinks, on the writer thread.
+ */
+public record AuditEvent(
+    Instant timestamp,
+    AuditEventType type,
+    @Nullable String principal,
+    @Nullable String clientId,
+    Map<String, Object> attributes) {
+
+  public static AuditEvent of(
+      AuditEventType type,
+      @Nullable String principal,
+      @Nullable String clientId,
+      Map<String, Object> attributes) {
+    return new AuditEvent(Instant.now(), type, principal, clientId, attributes);
+  }
+
+  public static AuditEvent of(
+      AuditEventType type, @Nullable String principal, @Nullable String clientId) {
+    return of(type, principal, clientId, Map.of());
+  }
+
+  /**
+   * Attributes from alternating names and values, kept in the given order so that log lines and
+   * stored rows list them the same way every time.
+   */
+  public static Map<String, Object> attributes(Object... namesAndValues) {
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      attributes.put((String) namesAndValues[i], namesAndValues[i + 1]);
+    }
+    return Collections.unmodifiableMap(attributes);
+  }
+}
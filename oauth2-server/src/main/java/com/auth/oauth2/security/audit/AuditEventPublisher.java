@@ -0,0 +1,169 @@
+package com.auth.oauth2.security.audit;
+
+import com.auth.oauth2.config.AuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Takes audit events off the request thread.
+ *
+ * <p>{@link #publish} puts the event into a preallocated {@link AuditRingBuffer} and returns; it
+ * never blocks and never does I/O. A single {@code audit-writer} thread drains the buffer in
+ * batches of up to {@code batch-size} and hands each batch to every {@link AuditEventSink}. When
+ * the buffer is empty the writer sleeps for {@code idle-wait}, which bounds how long an event can
+ * sit in a quiet buffer.
+ *
+ * <p>When the writer falls behind and the buffer fills up, {@code overflow-policy} decides which
+ * event is lost: {@code DROP_NEWEST} discards the incoming one, {@code DROP_OLDEST} makes room by
+ * discarding the oldest queued one. A failing sink loses its batch but does not stop the writer or
+ * the other sinks. On shutdown the writer stops after the web server and writes what is left.
+ *
+ * <p>Exported as the {@code audit.buffer.size} and {@code audit.drain.lag} gauges (the age of the
+ * oldest event in the last batch) and the {@code audit.events.dropped}, {@code
+ * audit.events.written} and {@code audit.sink.errors} counters.
+ */
+@Slf4j
+public class AuditEventPublisher implements SmartLifecycle {
+
+  public enum OverflowPolicy {
+    DROP_NEWEST,
+    DROP_OLDEST
+  }
+
+  private final AuditRingBuffer buffer;
+  private final List<AuditEventSink> sinks;
+  private final OverflowPolicy overflowPolicy;
+  private final int batchSize;
+  private final long idleWaitNanos;
+  private final Duration shutdownTimeout;
+  private final Counter dropped;
+  private final Counter written;
+  private final Counter sinkErrors;
+
+  private volatile long lagMillis;
+  private volatile boolean running;
+  private Thread writer;
+
+  public AuditEventPublisher(
+      AuditProperties properties, List<AuditEventSink> sinks, MeterRegistry meterRegistry) {
+    this.buffer = new AuditRingBuffer(properties.getBufferSize());
+    this.sinks = List.copyOf(sinks);
+    this.overflowPolicy = properties.getOverflowPolicy();
+    this.batchSize = properties.getBatchSize();
+    this.idleWaitNanos = properties.getIdleWait().toNanos();
+    this.shutdownTimeout = properties.getShutdownTimeout();
+
+    this.dropped =
+        Counter.builder("audit.events.dropped")
+            .description("Audit events lost because the buffer was full")
+            .tag("policy", overflowPolicy.name().toLowerCase())
+            .register(meterRegistry);
+    this.written =
+        Counter.builder("audit.events.written")
+            .description("Audit events handed to the sinks")
+            .register(meterRegistry);
+    this.sinkErrors =
+        Counter.builder("audit.sink.errors")
+            .description("Audit batches a sink failed to write")
+            .register(meterRegistry);
+    Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size).register(meterRegistry);
+    TimeGauge.builder("audit.drain.lag", this, TimeUnit.MILLISECONDS, p -> p.lagMillis)
+        .register(meterRegistry);
+  }
+
+  /** Queues an event for the writer; drops an event instead of waiting if the buffer is full. */
+  public void publish(AuditEvent event) {
+    if (buffer.offer(event)) {
+      return;
+    }
+    if (overflowPolicy == OverflowPolicy.DROP_OLDEST && buffer.poll() != null) {
+      dropped.increment();
+      if (buffer.offer(event)) {
+        return;
+      }
+    }
+    // Other producers took the room; the incoming event is lost under either policy
+    dropped.increment();
+  }
+
+  /** Writes one batch from the buffer and returns its size, 0 if the buffer was empty. */
+  int drain() {
+    List<AuditEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.size()) + 1);
+    AuditEvent event;
+    while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+      batch.add(event);
+    }
+    if (batch.isEmpty()) {
+      lagMillis = 0;
+      return 0;
+    }
+    lagMillis = Math.max(0, Duration.between(batch.get(0).timestamp(), Instant.now()).toMillis());
+    for (AuditEventSink sink : sinks) {
+      try {
+        sink.write(batch);
+      } catch (RuntimeException e) {
+        sinkErrors.increment();
+        log.warn(
+            "Audit sink {} failed to write {} events: {}",
+            sink.getClass().getSimpleName(),
+            batch.size(),
+            e.getMessage());
+      }
+    }
+    written.increment(batch.size());
+    return batch.size();
+  }
+
+  private void run() {
+    while (running) {
+      if (drain() == 0) {
+        LockSupport.parkNanos(idleWaitNanos);
+      }
+    }
+    // Events published up to shutdown
+    while (drain() > 0) {}
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    LockSupport.unpark(writer);
+    try {
+      if (!writer.join(shutdownTimeout)) {
+        log.warn(
+            "Audit writer did not finish within {}; {} events lost",
+            shutdownTimeout,
+            buffer.size());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  // Starts before and stops after the web server, so requests in flight at shutdown are audited
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+}
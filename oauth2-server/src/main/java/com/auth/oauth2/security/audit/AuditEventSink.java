@@ -0,0 +1,14 @@
+package com.auth.oauth2.security.audit;
+
+import java.util.List;
+
+/**
+ * Destination of audit events. Called only from the {@link AuditEventPublisher} writer thread,
+ * one batch at a time, so implementations may block on I/O. The batch must not be kept after the
+ * call returns.
+ */
+@FunctionalInterface
+public interface AuditEventSink {
+
+  void write(List<AuditEvent> batch);
+}
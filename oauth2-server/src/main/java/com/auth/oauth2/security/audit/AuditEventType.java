@@ -0,0 +1,31 @@
+package com.auth.oauth2.security.audit;
+
+import org.slf4j.event.Level;
+
+/** Kinds of audit events, with the log line prefix and level each had as a plain log call. */
+public enum AuditEventType {
+  AUTH_SUCCESS("audit.auth.success", Level.INFO),
+  AUTH_FAILURE("audit.auth.failure", Level.WARN),
+  TOKEN_ISSUED("audit.token.issued", Level.INFO),
+  TOKEN_REMOVED("audit.token.removed", Level.INFO),
+  REFRESH_TOKEN_ROTATED("audit.token.rotation refresh_token_issued", Level.INFO),
+  REFRESH_TOKEN_INVALIDATED("audit.token.rotation refresh_token_invalidated", Level.WARN),
+  REFRESH_TOKEN_REUSED("audit.token.reuse_detected refresh_token_reuse_attempt", Level.ERROR),
+  REFRESH_TOKEN_MISMATCH("audit.token.reuse_detected token_mismatch", Level.ERROR);
+
+  private final String logPrefix;
+  private final Level level;
+
+  AuditEventType(String logPrefix, Level level) {
+    this.logPrefix = logPrefix;
+    this.level = level;
+  }
+
+  public String getLogPrefix() {
+    return logPrefix;
+  }
+
+  public Level getLevel() {
+    return level;
+  }
+}
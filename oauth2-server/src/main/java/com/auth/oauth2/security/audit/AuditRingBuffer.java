@@ -0,0 +1,88 @@
+package com.auth.oauth2.security.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.lang.Nullable;
+
+/**
+ * Bounded lock-free queue over a preallocated array (Vyukov's MPMC ring). Each slot carries a
+ * sequence number telling producers and consumers whose turn it is, so {@link #offer} and {@link
+ * #poll} are one CAS on the tail or head counter in the common case and never wait for each
+ * other. A full buffer makes {@link #offer} fail instead of blocking.
+ *
+ * <p>Several consumers are allowed so that a producer can drop the oldest event itself.
+ */
+final class AuditRingBuffer {
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<AuditEvent> slots;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  AuditRingBuffer(int requestedCapacity) {
+    this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+    this.mask = capacity - 1;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  boolean offer(AuditEvent event) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.set(index, event);
+          // Publishes the slot to consumers
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // The slot still holds an event from one lap ago: full
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  @Nullable
+  AuditEvent poll() {
+    long position = head.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          AuditEvent event = slots.getAndSet(index, null);
+          // Hands the slot back to producers for the next lap
+          sequences.set(index, position + capacity);
+          return event;
+        }
+        position = head.get();
+      } else if (difference < 0) {
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+  }
+
+  /** Approximate number of queued events. */
+  int size() {
+    long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(capacity, size));
+  }
+
+  int capacity() {
+    return capacity;
+  }
+}
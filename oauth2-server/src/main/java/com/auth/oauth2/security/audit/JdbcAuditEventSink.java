@@ -0,0 +1,17 @@
+package com.auth.oauth2.security.audit;
+
+import com.auth.oauth2.repository.AuditEventRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/** Persists audit events to the day-partitioned {@link AuditEventRepository}, batch by batch. */
+@RequiredArgsConstructor
+public class JdbcAuditEventSink implements AuditEventSink {
+
+  private final AuditEventRepository auditEventRepository;
+
+  @Override
+  public void write(List<AuditEvent> batch) {
+    auditEventRepository.insert(batch);
+  }
+}
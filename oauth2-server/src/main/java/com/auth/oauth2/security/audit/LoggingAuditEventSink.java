@@ -0,0 +1,36 @@
+package com.auth.oauth2.security.audit;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes each event as the {@code audit.*} log line it used to be, e.g. {@code audit.token.issued
+ * principal=... client_id=... access_token=true refresh_token=true}.
+ */
+@Slf4j
+public class LoggingAuditEventSink implements AuditEventSink {
+
+  @Override
+  public void write(List<AuditEvent> batch) {
+    for (AuditEvent event : batch) {
+      AuditEventType type = event.type();
+      if (log.isEnabledForLevel(type.getLevel())) {
+        log.atLevel(type.getLevel()).log(format(event));
+      }
+    }
+  }
+
+  static String format(AuditEvent event) {
+    StringBuilder line = new StringBuilder(event.type().getLogPrefix());
+    if (event.principal() != null) {
+      line.append(" principal=").append(event.principal());
+    }
+    if (event.clientId() != null) {
+      line.append(" client_id=").append(event.clientId());
+    }
+    event
+        .attributes()
+        .forEach((name, value) -> line.append(' ').append(name).append('=').append(value));
+    return line.toString();
+  }
+}
@@ -0,0 +1,185 @@
+package com.auth.oauth2.security.bulkhead;
+
+import com.auth.oauth2.config.TokenBulkheadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+/**
+ * Per-client caps on in-flight token requests.
+ *
+ * <p>Each authenticated client gets a fair semaphore sized by its {@link #MAX_CONCURRENT_REQUESTS}
+ * client setting (from {@code OAuth2Client.maxConcurrentTokenRequests}) or {@code
+ * default-max-concurrent-requests}. A request waits at most {@code queue-timeout} for a slot, so a
+ * client whose requests are stuck, for example on row locks in {@code oauth2_authorization}, can
+ * only tie up its own share of request threads and database connections.
+ *
+ * <p>Bulkheads are only created for clients that passed client authentication, so a caller cannot
+ * fill the map with made-up ids or queue in another client's bulkhead. The limit is read from the
+ * {@link RegisteredClient} loaded for that authentication, so a changed limit applies from the next
+ * request and resizes the live semaphore without dropping requests that already hold a slot.
+ *
+ * <p>Per client ({@code client} tag): {@code oauth2.token.bulkhead.active} in-flight requests,
+ * {@code oauth2.token.bulkhead.limit}, {@code oauth2.token.bulkhead.queued} waiting requests and
+ * the {@code oauth2.token.bulkhead.rejected} counter. Saturation is active over limit. A bulkhead
+ * with nothing in flight for {@code idle-timeout}, such as one of a deleted client, is dropped
+ * together with its meters.
+ */
+public class ClientBulkheads {
+
+  /** {@link RegisteredClient} setting holding the client's limit; absent means the default. */
+  public static final String MAX_CONCURRENT_REQUESTS =
+      "settings.client.max-concurrent-token-requests";
+
+  private final MeterRegistry meterRegistry;
+  private final int defaultLimit;
+  private final long queueTimeoutNanos;
+  private final long idleTimeoutNanos;
+  private final LongSupplier clock;
+  private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+  public ClientBulkheads(
+      TokenBulkheadProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+    this.meterRegistry = meterRegistry;
+    this.defaultLimit = properties.getDefaultMaxConcurrentRequests();
+    this.queueTimeoutNanos = properties.getQueueTimeout().toNanos();
+    this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+    this.clock = clock;
+  }
+
+  /** The bulkhead of a client that has been authenticated for the current request. */
+  public Bulkhead forClient(RegisteredClient client) {
+    String clientId = client.getClientId();
+    Bulkhead bulkhead;
+    do {
+      bulkhead = bulkheads.get(clientId);
+      if (bulkhead == null) {
+        bulkhead = bulkheads.computeIfAbsent(clientId, this::newBulkhead);
+      }
+      bulkhead.lastUsed = clock.getAsLong();
+      // evictIdle may have dropped it before lastUsed was touched; once touched it is kept
+    } while (bulkheads.get(clientId) != bulkhead);
+    Object limit = client.getClientSettings().getSetting(MAX_CONCURRENT_REQUESTS);
+    bulkhead.resize(limit instanceof Number number ? number.intValue() : defaultLimit);
+    return bulkhead;
+  }
+
+  /**
+   * Waits up to {@code queue-timeout} for a slot. Every {@code true} must be paired with {@link
+   * Bulkhead#release()}.
+   */
+  public boolean tryAcquire(Bulkhead bulkhead) {
+    try {
+      if (bulkhead.permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        return true;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    bulkhead.rejected.increment();
+    return false;
+  }
+
+  /** Drops bulkheads that had nothing in flight for {@code idle-timeout}, with their meters. */
+  @Scheduled(fixedDelayString = "${token-bulkhead.idle-timeout:PT10M}")
+  public void evictIdle() {
+    long now = clock.getAsLong();
+    for (String clientId : bulkheads.keySet()) {
+      bulkheads.computeIfPresent(
+          clientId,
+          (id, bulkhead) -> {
+            if (bulkhead.active() > 0 || now - bulkhead.lastUsed < idleTimeoutNanos) {
+              return bulkhead;
+            }
+            bulkhead.meters.forEach(meterRegistry::remove);
+            return null;
+          });
+    }
+  }
+
+  private Bulkhead newBulkhead(String clientId) {
+    Bulkhead bulkhead =
+        new Bulkhead(
+            Counter.builder("oauth2.token.bulkhead.rejected")
+                .description("Token requests rejected after waiting for a slot")
+                .tag("client", clientId)
+                .register(meterRegistry));
+    bulkhead.meters =
+        List.of(
+            bulkhead.rejected,
+            Gauge.builder("oauth2.token.bulkhead.active", bulkhead, Bulkhead::active)
+                .description("In-flight token requests")
+                .tag("client", clientId)
+                .register(meterRegistry),
+            Gauge.builder("oauth2.token.bulkhead.limit", bulkhead, Bulkhead::limit)
+                .tag("client", clientId)
+                .register(meterRegistry),
+            Gauge.builder(
+                    "oauth2.token.bulkhead.queued", bulkhead, b -> b.permits.getQueueLength())
+                .description("Token requests waiting for a slot")
+                .tag("client", clientId)
+                .register(meterRegistry));
+    return bulkhead;
+  }
+
+  public static final class Bulkhead {
+    private final ResizableSemaphore permits = new ResizableSemaphore();
+    private final Counter rejected;
+    private List<Meter> meters = List.of();
+    private volatile int limit;
+    private volatile long lastUsed;
+
+    private Bulkhead(Counter rejected) {
+      this.rejected = rejected;
+    }
+
+    public void release() {
+      permits.release();
+    }
+
+    public int limit() {
+      return limit;
+    }
+
+    public int active() {
+      return limit - permits.availablePermits();
+    }
+
+    private void resize(int newLimit) {
+      if (newLimit == limit) {
+        return;
+      }
+      synchronized (this) {
+        int delta = newLimit - limit;
+        if (delta > 0) {
+          permits.release(delta);
+        } else if (delta < 0) {
+          // Permits may go negative; they come back as in-flight requests finish
+          permits.reducePermits(-delta);
+        }
+        limit = newLimit;
+      }
+    }
+  }
+
+  private static final class ResizableSemaphore extends Semaphore {
+    private ResizableSemaphore() {
+      // Fair, so queued requests are served in arrival order
+      super(0, true);
+    }
+
+    @Override
+    protected void reducePermits(int reduction) {
+      super.reducePermits(reduction);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.auth.oauth2.security.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Runs each {@code POST /oauth2/token} inside the bulkhead of the client that authenticated it.
+ *
+ * <p>Sits in the authorization server filter chain right after client authentication, so the slot
+ * is held for token generation and the authorization insert. A request that has not authenticated
+ * a client passes through without a slot: the token endpoint rejects it, and a claimed {@code
+ * client_id} never decides which bulkhead a request waits in.
+ */
+@Slf4j
+public class TokenEndpointBulkheadFilter extends OncePerRequestFilter {
+
+  private final ClientBulkheads bulkheads;
+  private final ObjectMapper objectMapper;
+
+  public TokenEndpointBulkheadFilter(ClientBulkheads bulkheads, ObjectMapper objectMapper) {
+    this.bulkheads = bulkheads;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return !"POST".equals(request.getMethod()) || !"/oauth2/token".equals(path);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (!(authentication instanceof OAuth2ClientAuthenticationToken clientAuthentication)
+        || !clientAuthentication.isAuthenticated()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    RegisteredClient client = clientAuthentication.getRegisteredClient();
+    String clientId = client.getClientId();
+    ClientBulkheads.Bulkhead bulkhead = bulkheads.forClient(client);
+
+    if (!bulkheads.tryAcquire(bulkhead)) {
+      log.warn("Concurrency limit exceeded: client={}, limit={}", clientId, bulkhead.limit());
+      writeTooManyRequests(response, "Too many concurrent token requests for client: " + clientId);
+      return;
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      bulkhead.release();
+    }
+  }
+
+  private void writeTooManyRequests(HttpServletResponse response, String message)
+      throws IOException {
+    Map<String, Object> error = new LinkedHashMap<>();
+    error.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+    error.put("message", message);
+    error.put("error", "CONCURRENCY_LIMIT_EXCEEDED");
+
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    // Slots free up as soon as the client's in-flight requests finish
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), error);
+  }
+}
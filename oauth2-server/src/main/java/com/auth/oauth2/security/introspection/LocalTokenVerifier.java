@@ -0,0 +1,124 @@
+package com.auth.oauth2.security.introspection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * Answers introspection of access tokens without the authorization store.
+ *
+ * <p>For a JWT the signature is checked against this server's own key set and the expiry against
+ * the clock, which costs CPU only. A token that passes is active unless the {@link
+ * TokenRevocationRegistry} lists its {@code jti}. Everything the decoder cannot vouch for goes to
+ * the store: tokens signed with a key this server no longer holds (keys are regenerated on
+ * restart), tokens without {@code jti} and tokens issued before the registry could see all
+ * revocations.
+ *
+ * <p>Opaque reference tokens are looked up in the {@link ReferenceTokenStore}; on a miss the
+ * store decides.
+ *
+ * <p>Outcomes are counted in {@code oauth2.introspection.local} tagged by {@code outcome}.
+ */
+public class LocalTokenVerifier {
+
+  public enum Outcome {
+    /** Signature valid, not expired and not revoked. */
+    ACTIVE,
+    /** Signed by this server but expired or revoked. */
+    INACTIVE,
+    /** Cannot be decided locally; look the token up in the store. */
+    UNKNOWN
+  }
+
+  /**
+   * Result of {@link #verify}. For {@link Outcome#ACTIVE} {@code claims} holds the token's claims
+   * including {@code client_id}, with times as {@link java.time.Instant}s; otherwise it is null.
+   */
+  public record Verification(Outcome outcome, @Nullable Map<String, Object> claims) {
+
+    private static final Verification INACTIVE = new Verification(Outcome.INACTIVE, null);
+    private static final Verification UNKNOWN = new Verification(Outcome.UNKNOWN, null);
+  }
+
+  private final JwtDecoder jwtDecoder;
+  private final TokenRevocationRegistry revocationRegistry;
+  private final ReferenceTokenStore referenceTokenStore;
+  private final boolean enabled;
+  private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+  public LocalTokenVerifier(
+      JwtDecoder jwtDecoder,
+      TokenRevocationRegistry revocationRegistry,
+      ReferenceTokenStore referenceTokenStore,
+      boolean enabled,
+      MeterRegistry meterRegistry) {
+    this.jwtDecoder = jwtDecoder;
+    this.revocationRegistry = revocationRegistry;
+    this.referenceTokenStore = referenceTokenStore;
+    this.enabled = enabled;
+    for (Outcome outcome : Outcome.values()) {
+      outcomes.put(
+          outcome,
+          Counter.builder("oauth2.introspection.local")
+              .description("Introspection requests answered from the token signature")
+              .tag("outcome", outcome.name().toLowerCase())
+              .register(meterRegistry));
+    }
+  }
+
+  public Verification verify(String token) {
+    if (!enabled) {
+      return count(Verification.UNKNOWN);
+    }
+    if (!isJwt(token)) {
+      Map<String, Object> claims = referenceTokenStore.findClaims(token);
+      return count(
+          claims != null ? new Verification(Outcome.ACTIVE, claims) : Verification.UNKNOWN);
+    }
+    Jwt jwt;
+    try {
+      jwt = jwtDecoder.decode(token);
+    } catch (JwtValidationException e) {
+      // The signature was verified before the claims: ours, but expired or not yet valid
+      return count(Verification.INACTIVE);
+    } catch (JwtException e) {
+      return count(Verification.UNKNOWN);
+    }
+    if (jwt.getId() == null
+        || jwt.getIssuedAt() == null
+        || !revocationRegistry.covers(jwt.getIssuedAt())) {
+      return count(Verification.UNKNOWN);
+    }
+    if (revocationRegistry.isRevoked(jwt.getId())) {
+      return count(Verification.INACTIVE);
+    }
+    Map<String, Object> claims = new LinkedHashMap<>(jwt.getClaims());
+    // Access tokens are issued with the client id as their only audience
+    List<String> audience = jwt.getAudience();
+    if (audience != null && !audience.isEmpty()) {
+      claims.put(OAuth2TokenIntrospectionClaimNames.CLIENT_ID, audience.get(0));
+    }
+    return count(new Verification(Outcome.ACTIVE, claims));
+  }
+
+  private Verification count(Verification verification) {
+    outcomes.get(verification.outcome()).increment();
+    return verification;
+  }
+
+  // header.payload.signature; anything else is an opaque reference token
+  private static boolean isJwt(String token) {
+    int first = token.indexOf('.');
+    int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+    return second > 0 && token.indexOf('.', second + 1) < 0;
+  }
+}
@@ -0,0 +1,72 @@
+package com.auth.oauth2.security.introspection;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospection;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2TokenIntrospectionAuthenticationToken;
+
+/**
+ * {@code /oauth2/introspect} provider that tries {@link LocalTokenVerifier} first and only hands
+ * the request to the store-backed provider of the authorization server when the token cannot be
+ * decided locally.
+ */
+public class LocalVerificationIntrospectionProvider implements AuthenticationProvider {
+
+  private final AuthenticationProvider storeProvider;
+  private final LocalTokenVerifier verifier;
+
+  public LocalVerificationIntrospectionProvider(
+      AuthenticationProvider storeProvider, LocalTokenVerifier verifier) {
+    this.storeProvider = storeProvider;
+    this.verifier = verifier;
+  }
+
+  @Override
+  public Authentication authenticate(Authentication authentication)
+      throws AuthenticationException {
+    OAuth2TokenIntrospectionAuthenticationToken request =
+        (OAuth2TokenIntrospectionAuthenticationToken) authentication;
+    // Same requirement as the store-backed provider: only authenticated clients may introspect
+    if (!(request.getPrincipal() instanceof OAuth2ClientAuthenticationToken clientPrincipal)
+        || !clientPrincipal.isAuthenticated()) {
+      throw new OAuth2AuthenticationException(OAuth2ErrorCodes.INVALID_CLIENT);
+    }
+
+    LocalTokenVerifier.Verification verification = verifier.verify(request.getToken());
+    return switch (verification.outcome()) {
+      case UNKNOWN -> storeProvider.authenticate(authentication);
+      case INACTIVE ->
+          new OAuth2TokenIntrospectionAuthenticationToken(
+              request.getToken(), clientPrincipal, OAuth2TokenIntrospection.builder().build());
+      case ACTIVE ->
+          new OAuth2TokenIntrospectionAuthenticationToken(
+              request.getToken(), clientPrincipal, activeClaims(verification.claims()));
+    };
+  }
+
+  @Override
+  public boolean supports(Class<?> authentication) {
+    return OAuth2TokenIntrospectionAuthenticationToken.class.isAssignableFrom(authentication);
+  }
+
+  private static OAuth2TokenIntrospection activeClaims(Map<String, Object> tokenClaims) {
+    Map<String, Object> claims = new LinkedHashMap<>(tokenClaims);
+    // OAuth2TokenIntrospection expects scope as a list; the JWT may carry a space-separated string
+    if (claims.get(OAuth2TokenIntrospectionClaimNames.SCOPE) instanceof String scope) {
+      claims.put(OAuth2TokenIntrospectionClaimNames.SCOPE, Arrays.asList(scope.split(" ")));
+    }
+    return OAuth2TokenIntrospection.withClaims(claims)
+        .active(true)
+        .tokenType(OAuth2AccessToken.TokenType.BEARER.getValue())
+        .build();
+  }
+}
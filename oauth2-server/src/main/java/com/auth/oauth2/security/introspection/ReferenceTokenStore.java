@@ -0,0 +1,205 @@
+package com.auth.oauth2.security.introspection;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+
+/**
+ * Compact in-memory copy of the active opaque access tokens, so that introspecting a reference
+ * token is a hash lookup instead of a BLOB scan of {@code oauth2_authorization}.
+ *
+ * <p>Entries are keyed by the SHA-256 of the handle, never the handle itself, and hold only the
+ * claims introspection returns, with times as epoch seconds. Each expires with its token. Tokens
+ * are added when issued and when the store has to be asked for one, and removed when they are
+ * revoked or replaced by a refresh. A missing entry is never an answer on its own: the caller
+ * falls back to the authorization store, so an evicted or never-seen token is merely slower.
+ *
+ * <p>With replication enabled, only removals are published on a Redis channel, as the key alone.
+ * Claims never travel over Redis: a message can make another node forget a token, never accept
+ * one, and a node that has not seen a token loads it from the authorization store on first use. A
+ * removal published while Redis is unreachable is lost for the other nodes, which keep answering
+ * from their copy until the token expires.
+ */
+@Slf4j
+public class ReferenceTokenStore {
+
+  /** What introspection needs to know about one active reference token. */
+  public record Entry(
+      String clientId,
+      @Nullable String subject,
+      @Nullable String issuer,
+      @Nullable String scope,
+      long issuedAt,
+      long expiresAt,
+      @Nullable Long userId,
+      @Nullable String username,
+      @Nullable String email) {
+
+    Map<String, Object> toClaims() {
+      Map<String, Object> claims = new LinkedHashMap<>();
+      if (subject != null) {
+        claims.put(OAuth2TokenIntrospectionClaimNames.SUB, subject);
+      }
+      if (issuer != null) {
+        claims.put(OAuth2TokenIntrospectionClaimNames.ISS, issuer);
+      }
+      claims.put(OAuth2TokenIntrospectionClaimNames.AUD, List.of(clientId));
+      if (scope != null) {
+        claims.put(OAuth2TokenIntrospectionClaimNames.SCOPE, Arrays.asList(scope.split(" ")));
+      }
+      claims.put(OAuth2TokenIntrospectionClaimNames.IAT, Instant.ofEpochSecond(issuedAt));
+      claims.put(OAuth2TokenIntrospectionClaimNames.EXP, Instant.ofEpochSecond(expiresAt));
+      if (userId != null) {
+        claims.put("userId", userId);
+      }
+      if (username != null) {
+        claims.put("username", username);
+      }
+      if (email != null) {
+        claims.put("email", email);
+      }
+      claims.put(OAuth2TokenIntrospectionClaimNames.CLIENT_ID, clientId);
+      return claims;
+    }
+  }
+
+  private final Cache<String, Entry> entries;
+  @Nullable private final StringRedisTemplate redisTemplate;
+  private final String channel;
+
+  public ReferenceTokenStore(
+      long maximumSize, @Nullable StringRedisTemplate redisTemplate, String channel) {
+    this.redisTemplate = redisTemplate;
+    this.channel = channel;
+    this.entries =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(
+                Expiry.creating(
+                    (String key, Entry entry) -> {
+                      Duration remaining =
+                          Duration.between(Instant.now(), Instant.ofEpochSecond(entry.expiresAt()));
+                      return remaining.isNegative() ? Duration.ZERO : remaining;
+                    }))
+            .build();
+  }
+
+  /**
+   * Claims of an active reference token known to this node, or {@code null} if the store must be
+   * asked.
+   */
+  @Nullable
+  public Map<String, Object> findClaims(String handle) {
+    Entry entry = entries.getIfPresent(digest(handle));
+    if (entry == null || entry.expiresAt() <= Instant.now().getEpochSecond()) {
+      return null;
+    }
+    return entry.toClaims();
+  }
+
+  /** Remembers the authorization's access token if it is an active reference token. */
+  public void save(OAuth2Authorization authorization) {
+    OAuth2Authorization.Token<OAuth2AccessToken> token = authorization.getAccessToken();
+    if (token == null || !isReference(token) || !token.isActive()) {
+      return;
+    }
+    String key = digest(token.getToken().getTokenValue());
+    if (entries.getIfPresent(key) != null) {
+      return;
+    }
+    Entry entry = toEntry(token);
+    if (entry == null) {
+      return;
+    }
+    entries.put(key, entry);
+  }
+
+  /** Forgets a reference token that was revoked or replaced. */
+  public void remove(@Nullable OAuth2Authorization.Token<OAuth2AccessToken> token) {
+    if (token == null || !isReference(token)) {
+      return;
+    }
+    String key = digest(token.getToken().getTokenValue());
+    entries.invalidate(key);
+    publish(key);
+  }
+
+  /** Forgets a token removed on another node; the message is the key, see {@link #publish}. */
+  public void onReplicatedRemoval(String key) {
+    entries.invalidate(key);
+  }
+
+  private void publish(String key) {
+    if (redisTemplate == null) {
+      return;
+    }
+    try {
+      redisTemplate.convertAndSend(channel, key);
+    } catch (RuntimeException e) {
+      log.warn("Could not replicate reference token removal: {}", e.getMessage());
+    }
+  }
+
+  // Handles are base64url without padding; JWTs always contain dots
+  private static boolean isReference(OAuth2Authorization.Token<OAuth2AccessToken> token) {
+    return token.getToken().getTokenValue().indexOf('.') < 0;
+  }
+
+  @Nullable
+  private static Entry toEntry(OAuth2Authorization.Token<OAuth2AccessToken> token) {
+    OAuth2AccessToken accessToken = token.getToken();
+    Map<String, Object> claims = token.getClaims() != null ? token.getClaims() : Map.of();
+    // Reference tokens are issued with the client id as their only audience
+    if (!(claims.get(OAuth2TokenIntrospectionClaimNames.AUD) instanceof Collection<?> audience)
+        || audience.isEmpty()) {
+      return null;
+    }
+    Object userId = claims.get("userId");
+    return new Entry(
+        audience.iterator().next().toString(),
+        stringClaim(claims, OAuth2TokenIntrospectionClaimNames.SUB),
+        stringClaim(claims, OAuth2TokenIntrospectionClaimNames.ISS),
+        accessToken.getScopes().isEmpty() ? null : String.join(" ", accessToken.getScopes()),
+        accessToken.getIssuedAt().getEpochSecond(),
+        accessToken.getExpiresAt().getEpochSecond(),
+        userId instanceof Number number ? number.longValue() : null,
+        stringClaim(claims, "username"),
+        stringClaim(claims, "email"));
+  }
+
+  @Nullable
+  private static String stringClaim(Map<String, Object> claims, String name) {
+    Object value = claims.get(name);
+    if (value == null || value instanceof Collection<?>) {
+      return null;
+    }
+    return value.toString();
+  }
+
+  private static String digest(String handle) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(handle.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
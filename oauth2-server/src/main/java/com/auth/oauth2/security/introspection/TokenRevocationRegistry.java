@@ -0,0 +1,185 @@
+package com.auth.oauth2.security.introspection;
+
+import com.auth.oauth2.config.IntrospectionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+
+/**
+ * In-memory set of access tokens ({@code jti}) that were revoked, replaced by a refresh or removed
+ * from the authorization store before they expired. Each entry is dropped once its token expires,
+ * since signature verification rejects the token from then on anyway.
+ *
+ * <p>The set only knows about revocations that happened while this node was running, so it only
+ * vouches for tokens issued after the node became ready ({@link #covers}); older tokens are checked
+ * against the store. The same applies after an entry had to be evicted because {@code
+ * max-revoked-tokens} was reached: every token issued before the eviction goes back to the store.
+ *
+ * <p>With replication enabled every revocation is also published on a Redis channel and applied
+ * by the other nodes. Pub/sub delivers at most once, so two bounds keep a lost message from
+ * leaving a revoked token active: revocations that could not be published are sent again with the
+ * next heartbeat ({@link #heartbeat}), and a node that has not heard the channel for three
+ * heartbeat intervals stops vouching for any token until it hears it again, and then only for
+ * tokens issued from that moment on.
+ */
+@Slf4j
+public class TokenRevocationRegistry {
+
+  static final String HEARTBEAT = "heartbeat";
+
+  private final Cache<String, Instant> revoked;
+  // Revocations whose publish failed, sent again with the next heartbeat
+  private final Cache<String, Instant> unpublished;
+  @Nullable private final StringRedisTemplate redisTemplate;
+  private final String channel;
+  private final Duration maxSilence;
+  private volatile Instant trustedSince = Instant.MAX;
+  private volatile Instant lastHeard = Instant.now();
+
+  public TokenRevocationRegistry(
+      IntrospectionProperties.LocalVerification properties,
+      @Nullable StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+    this.channel = properties.getReplication().getChannel();
+    this.maxSilence = properties.getHeartbeatInterval().multipliedBy(3);
+    this.unpublished = untilExpiry(properties.getMaxRevokedTokens()).build();
+    this.revoked =
+        untilExpiry(properties.getMaxRevokedTokens())
+            .evictionListener(
+                (String jti, Instant expiresAt, RemovalCause cause) -> {
+                  if (cause == RemovalCause.SIZE) {
+                    trustedSince = Instant.now();
+                    log.warn("Revocation set full, tokens issued before now go to the store");
+                  }
+                })
+            .build();
+  }
+
+  /** Starts vouching for tokens once every revocation from now on is known to this node. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void startTrusting() {
+    if (trustedSince.equals(Instant.MAX)) {
+      lastHeard = Instant.now();
+      trustedSince = lastHeard;
+    }
+  }
+
+  /**
+   * Sends the revocations that could not be published before, then a heartbeat that tells every
+   * subscribed node, this one included, that the channel still delivers.
+   */
+  @Scheduled(fixedDelayString = "${introspection.local-verification.heartbeat-interval:PT10S}")
+  public void heartbeat() {
+    if (redisTemplate == null) {
+      return;
+    }
+    try {
+      for (Map.Entry<String, Instant> entry : unpublished.asMap().entrySet()) {
+        redisTemplate.convertAndSend(channel, message(entry.getKey(), entry.getValue()));
+        unpublished.invalidate(entry.getKey());
+      }
+      redisTemplate.convertAndSend(channel, HEARTBEAT);
+    } catch (RuntimeException e) {
+      log.warn("Revocation channel unreachable: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Records that a stored access token is no longer valid. Tokens without a {@code jti} or an
+   * expiry are never answered locally and are skipped.
+   */
+  public void revoke(@Nullable OAuth2Authorization.Token<?> token) {
+    if (token == null || token.getClaims() == null) {
+      return;
+    }
+    Object jti = token.getClaims().get(JwtClaimNames.JTI);
+    Instant expiresAt = token.getToken().getExpiresAt();
+    if (jti == null || expiresAt == null || expiresAt.isBefore(Instant.now())) {
+      return;
+    }
+    revoked.put(jti.toString(), expiresAt);
+    publish(jti.toString(), expiresAt);
+  }
+
+  /** Applies a revocation published by another node, see {@link #publish}. */
+  public void onReplicatedRevocation(String message) {
+    heard();
+    if (HEARTBEAT.equals(message)) {
+      return;
+    }
+    int separator = message.indexOf(' ');
+    if (separator < 0) {
+      log.warn("Ignoring malformed revocation message: {}", message);
+      return;
+    }
+    try {
+      Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(message.substring(separator + 1)));
+      revoked.put(message.substring(0, separator), expiresAt);
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring malformed revocation message: {}", message);
+    }
+  }
+
+  public boolean isRevoked(String jti) {
+    return revoked.getIfPresent(jti) != null;
+  }
+
+  /** Whether every revocation of a token issued at {@code issuedAt} is known to this node. */
+  public boolean covers(Instant issuedAt) {
+    return !issuedAt.isBefore(trustedSince) && !isSilent(Instant.now());
+  }
+
+  private void heard() {
+    Instant now = Instant.now();
+    if (isSilent(now) && !trustedSince.equals(Instant.MAX)) {
+      // Revocations sent while the channel was silent may be lost
+      trustedSince = now;
+      log.warn("Revocation channel was silent, tokens issued before now go to the store");
+    }
+    lastHeard = now;
+  }
+
+  private boolean isSilent(Instant now) {
+    return redisTemplate != null && now.isAfter(lastHeard.plus(maxSilence));
+  }
+
+  private void publish(String jti, Instant expiresAt) {
+    if (redisTemplate == null) {
+      return;
+    }
+    try {
+      redisTemplate.convertAndSend(channel, message(jti, expiresAt));
+    } catch (RuntimeException e) {
+      unpublished.put(jti, expiresAt);
+      log.warn("Could not replicate revocation of {}, retrying: {}", jti, e.getMessage());
+    }
+  }
+
+  private static String message(String jti, Instant expiresAt) {
+    return jti + " " + expiresAt.getEpochSecond();
+  }
+
+  /** Entries are dropped once their token expires. */
+  private static Caffeine<String, Instant> untilExpiry(long maximumSize) {
+    return Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(
+            Expiry.creating(
+                (String jti, Instant expiresAt) -> {
+                  Duration remaining = Duration.between(Instant.now(), expiresAt);
+                  return remaining.isNegative() ? Duration.ZERO : remaining;
+                }));
+  }
+}
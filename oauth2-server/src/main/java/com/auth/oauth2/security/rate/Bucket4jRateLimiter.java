@@ -0,0 +1,41 @@
+package com.auth.oauth2.security.rate;
+
+import io.github.bucket4j.distributed.AsyncBucketProxy;
+import io.github.bucket4j.distributed.proxy.AsyncProxyManager;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bucket4j compare-and-swap buckets in Redis. Each decision reads the bucket state and writes it
+ * back with a conditional update, retrying when another node won the race.
+ */
+public class Bucket4jRateLimiter implements DistributedRateLimiter {
+
+  private final AsyncProxyManager<byte[]> proxyManager;
+
+  public Bucket4jRateLimiter(LettuceBasedProxyManager<byte[]> proxyManager) {
+    this.proxyManager = proxyManager.asAsync();
+  }
+
+  @Override
+  public RemoteBucket bucket(String key, RateLimitPolicy policy) {
+    AsyncBucketProxy bucket =
+        proxyManager
+            .builder()
+            .build(
+                key.getBytes(StandardCharsets.UTF_8),
+                () -> CompletableFuture.completedFuture(policy.configuration()));
+    return new RemoteBucket() {
+      @Override
+      public CompletableFuture<Long> tryConsumeAsMuchAsPossible(long maxTokens) {
+        return bucket.tryConsumeAsMuchAsPossible(maxTokens);
+      }
+
+      @Override
+      public CompletableFuture<Boolean> tryConsume() {
+        return bucket.tryConsume(1);
+      }
+    };
+  }
+}
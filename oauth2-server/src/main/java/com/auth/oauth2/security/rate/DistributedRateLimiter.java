@@ -0,0 +1,23 @@
+package com.auth.oauth2.security.rate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shared bucket store behind {@link RateLimitService}, selected by {@code
+ * rate-limit.redis.backend}.
+ */
+public interface DistributedRateLimiter {
+
+  /** Creates the handle for one bucket. Handles are cached per key by the caller. */
+  RemoteBucket bucket(String key, RateLimitPolicy policy);
+
+  interface RemoteBucket {
+
+    /** Takes up to {@code maxTokens} tokens and completes with the number actually taken. */
+    CompletableFuture<Long> tryConsumeAsMuchAsPossible(long maxTokens);
+
+    default CompletableFuture<Boolean> tryConsume() {
+      return tryConsumeAsMuchAsPossible(1).thenApply(taken -> taken > 0);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.auth.oauth2.security.rate;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generic Cell Rate Algorithm evaluated by one Lua script in Redis.
+ *
+ * <p>The bucket is a single value, the theoretical arrival time (TAT) in microseconds of Redis
+ * server time. Taking {@code n} tokens is allowed while {@code TAT + n * interval - now} stays
+ * within {@code capacity * interval}. The read, the decision and the write happen atomically in the
+ * script, so every decision is exactly one {@code EVALSHA} round trip regardless of contention,
+ * unlike the read/compare-and-swap loop of {@link Bucket4jRateLimiter}.
+ *
+ * <p>Tokens come back continuously at {@code refillRate / refillPeriod} rather than all at once at
+ * the end of the period; burst capacity is the same.
+ */
+public class GcraRateLimiter implements DistributedRateLimiter, AutoCloseable {
+
+  // KEYS[1] bucket; ARGV[1] emission interval (µs), ARGV[2] capacity, ARGV[3] max tokens to take
+  static final String SCRIPT =
+      """
+      local time = redis.call('TIME')
+      local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+      local interval = tonumber(ARGV[1])
+      local capacity = tonumber(ARGV[2])
+      local requested = tonumber(ARGV[3])
+      local tat = tonumber(redis.call('GET', KEYS[1])) or now
+      if tat < now then
+        tat = now
+      end
+      local granted = math.min(requested, math.floor((now + capacity * interval - tat) / interval))
+      if granted <= 0 then
+        return 0
+      end
+      tat = tat + granted * interval
+      redis.call('SET', KEYS[1], string.format('%.0f', tat), 'PX', math.ceil((tat - now) / 1000))
+      return granted
+      """;
+
+  private static final byte[] ONE = ascii(1);
+
+  private final StatefulRedisConnection<byte[], byte[]> connection;
+  private final RedisAsyncCommands<byte[], byte[]> commands;
+  private final byte[] scriptBytes;
+  private final String scriptSha;
+
+  public GcraRateLimiter(RedisClient redisClient) {
+    this.connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+    this.commands = connection.async();
+    this.scriptBytes = SCRIPT.getBytes(StandardCharsets.UTF_8);
+    this.scriptSha = sha1Hex(scriptBytes);
+  }
+
+  @Override
+  public RemoteBucket bucket(String key, RateLimitPolicy policy) {
+    // Prefixed so that switching backends never reads the other backend's bucket format
+    byte[][] keys = {("gcra:" + key).getBytes(StandardCharsets.UTF_8)};
+    long intervalMicros = TimeUnit.NANOSECONDS.toMicros(policy.tokenIntervalNanos());
+    byte[] interval = ascii(Math.max(1, intervalMicros));
+    byte[] capacity = ascii(policy.capacity());
+    byte[] batch = ascii(policy.leaseBatchSize());
+
+    return maxTokens ->
+        execute(
+            keys,
+            interval,
+            capacity,
+            maxTokens == 1 ? ONE : maxTokens == policy.leaseBatchSize() ? batch : ascii(maxTokens));
+  }
+
+  private CompletableFuture<Long> execute(byte[][] keys, byte[]... args) {
+    return commands
+        .<Long>evalsha(scriptSha, ScriptOutputType.INTEGER, keys, args)
+        .toCompletableFuture()
+        .exceptionallyCompose(
+            error -> {
+              Throwable cause = error.getCause() != null ? error.getCause() : error;
+              if (cause instanceof RedisNoScriptException) {
+                // Script cache was flushed or this is a fresh node: EVAL loads it again
+                return commands
+                    .<Long>eval(scriptBytes, ScriptOutputType.INTEGER, keys, args)
+                    .toCompletableFuture();
+              }
+              return CompletableFuture.failedFuture(error);
+            });
+  }
+
+  @Override
+  public void close() {
+    connection.close();
+  }
+
+  private static byte[] ascii(long value) {
+    return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static String sha1Hex(byte[] bytes) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,340 @@
+package com.auth.oauth2.security.rate;
+
+import java.util.List;
+
+/**
+ * Immutable allow/deny classifier over CIDR blocks, stored in a path-compressed binary radix trie.
+ *
+ * <p>IPv4 addresses and blocks are mapped into the IPv6 space ({@code ::ffff:0:0/96}), so both
+ * families share one trie. A lookup walks at most one node per distinct prefix length on the path,
+ * never more than 128 bit tests whatever the size of the lists, and allocates nothing: the address
+ * is parsed straight from the string into two {@code long}s. The longest matching block decides;
+ * when the same block is on both lists, deny wins.
+ *
+ * <p>Instances are never modified after {@link #of}; {@link IpRules} swaps in a new one on reload.
+ */
+public final class IpClassifier {
+
+  public enum Verdict {
+    /** Not on either list: rate limited as usual. */
+    NONE,
+    /** Exempt from rate limiting, for example internal service CIDRs. */
+    ALLOW,
+    /** Rejected outright. */
+    DENY
+  }
+
+  static final int VALID = 0;
+  static final int HIGH = 1;
+  static final int LOW = 2;
+
+  private static final long IPV4_MAPPED = 0x0000_FFFF_0000_0000L;
+  private static final long INVALID = -1;
+
+  private static final IpClassifier EMPTY = new IpClassifier(null, List.of(), List.of());
+
+  private final Node root;
+  private final List<String> allow;
+  private final List<String> deny;
+
+  private IpClassifier(Node root, List<String> allow, List<String> deny) {
+    this.root = root;
+    this.allow = allow;
+    this.deny = deny;
+  }
+
+  public static IpClassifier empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds a classifier from CIDR blocks such as {@code 10.0.0.0/8} or {@code 2001:db8::/32}; a
+   * bare address is a single-host block.
+   *
+   * @throws IllegalArgumentException if an entry is not a valid block
+   */
+  public static IpClassifier of(List<String> allow, List<String> deny) {
+    Node root = null;
+    for (String cidr : allow) {
+      root = insert(root, cidr, Verdict.ALLOW);
+    }
+    for (String cidr : deny) {
+      root = insert(root, cidr, Verdict.DENY);
+    }
+    return new IpClassifier(root, List.copyOf(allow), List.copyOf(deny));
+  }
+
+  public List<String> allow() {
+    return allow;
+  }
+
+  public List<String> deny() {
+    return deny;
+  }
+
+  /** Classifies an IP literal; anything that is not one is {@link Verdict#NONE}. */
+  public Verdict classify(CharSequence address) {
+    if (root == null || parse(address, VALID) == 0) {
+      return Verdict.NONE;
+    }
+    return classify(parse(address, HIGH), parse(address, LOW));
+  }
+
+  Verdict classify(long high, long low) {
+    Verdict verdict = Verdict.NONE;
+    Node node = root;
+    while (node != null && commonPrefixLength(node.high, node.low, high, low) >= node.length) {
+      if (node.verdict != null) {
+        verdict = node.verdict;
+      }
+      if (node.length == 128) {
+        break;
+      }
+      node = bitAt(high, low, node.length) == 0 ? node.zero : node.one;
+    }
+    return verdict;
+  }
+
+  private static Node insert(Node root, String cidr, Verdict verdict) {
+    int slash = cidr.indexOf('/');
+    String address = (slash < 0 ? cidr : cidr.substring(0, slash)).trim();
+    if (parse(address, VALID) == 0) {
+      throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+    }
+    long high = parse(address, HIGH);
+    long low = parse(address, LOW);
+    boolean ipv4 = address.indexOf(':') < 0;
+    int maxLength = ipv4 ? 32 : 128;
+    int length;
+    try {
+      length = slash < 0 ? maxLength : Integer.parseInt(cidr.substring(slash + 1).trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid CIDR block: " + cidr, e);
+    }
+    if (length < 0 || length > maxLength) {
+      throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+    }
+    if (ipv4) {
+      length += 96;
+    }
+    return insert(root, maskHigh(high, length), maskLow(low, length), length, verdict);
+  }
+
+  private static Node insert(Node node, long high, long low, int length, Verdict verdict) {
+    if (node == null) {
+      return new Node(high, low, length, verdict);
+    }
+    int common =
+        Math.min(
+            commonPrefixLength(node.high, node.low, high, low), Math.min(length, node.length));
+    if (common == node.length && common == length) {
+      if (node.verdict != Verdict.DENY) {
+        node.verdict = verdict;
+      }
+      return node;
+    }
+    if (common == node.length) {
+      // The new block lies below this node
+      if (bitAt(high, low, common) == 0) {
+        node.zero = insert(node.zero, high, low, length, verdict);
+      } else {
+        node.one = insert(node.one, high, low, length, verdict);
+      }
+      return node;
+    }
+    Node parent =
+        common == length
+            ? new Node(high, low, length, verdict)
+            : new Node(maskHigh(high, common), maskLow(low, common), common, null);
+    parent.attach(node);
+    if (common != length) {
+      parent.attach(new Node(high, low, length, verdict));
+    }
+    return parent;
+  }
+
+  /**
+   * Parses an IPv4 or IPv6 literal without allocating. With {@link #VALID} returns 1 for a valid
+   * literal and 0 otherwise; with {@link #HIGH} or {@link #LOW} returns that half of the 128-bit
+   * address, IPv4 as {@code ::ffff:a.b.c.d}. A zone suffix ({@code %eth0}) is ignored.
+   */
+  static long parse(CharSequence s, int part) {
+    int end = s.length();
+    boolean colon = false;
+    for (int i = 0; i < end; i++) {
+      char c = s.charAt(i);
+      if (c == '%') {
+        end = i;
+        break;
+      }
+      colon |= c == ':';
+    }
+    if (!colon) {
+      long ipv4 = parseIpv4(s, 0, end);
+      if (part == VALID) {
+        return ipv4 == INVALID ? 0 : 1;
+      }
+      return part == HIGH ? 0 : IPV4_MAPPED | ipv4;
+    }
+    return parseIpv6(s, end, part);
+  }
+
+  private static long parseIpv4(CharSequence s, int start, int end) {
+    long value = 0;
+    int octets = 0;
+    int octet = 0;
+    int digits = 0;
+    for (int i = start; i <= end; i++) {
+      char c = i < end ? s.charAt(i) : '.';
+      if (c == '.') {
+        if (digits == 0 || octets == 4) {
+          return INVALID;
+        }
+        value = (value << 8) | octet;
+        octets++;
+        octet = 0;
+        digits = 0;
+      } else if (c >= '0' && c <= '9' && digits < 3) {
+        octet = octet * 10 + (c - '0');
+        digits++;
+        if (octet > 255) {
+          return INVALID;
+        }
+      } else {
+        return INVALID;
+      }
+    }
+    return octets == 4 ? value : INVALID;
+  }
+
+  private static long parseIpv6(CharSequence s, int end, int part) {
+    // Groups before "::" are accumulated in (headHigh, headLow), groups after it in (tailHigh,
+    // tailLow); both are right-aligned 128-bit values until the head is shifted into place.
+    long headHigh = 0;
+    long headLow = 0;
+    long tailHigh = 0;
+    long tailLow = 0;
+    int head = 0;
+    int tail = 0;
+    boolean gap = false;
+    int i = 0;
+    if (end >= 2 && s.charAt(0) == ':' && s.charAt(1) == ':') {
+      gap = true;
+      i = 2;
+    }
+    while (i < end) {
+      int start = i;
+      long group = 0;
+      while (i < end && i - start < 5 && Character.digit(s.charAt(i), 16) >= 0) {
+        group = (group << 4) | Character.digit(s.charAt(i), 16);
+        i++;
+      }
+      int groups = 1;
+      if (i < end && s.charAt(i) == '.') {
+        // Embedded IPv4 tail, e.g. ::ffff:192.0.2.1
+        group = parseIpv4(s, start, end);
+        if (group == INVALID) {
+          return part == VALID ? 0 : INVALID;
+        }
+        groups = 2;
+        i = end;
+      } else if (i == start || i - start > 4) {
+        return part == VALID ? 0 : INVALID;
+      }
+
+      int shift = 16 * groups;
+      if (gap) {
+        tailHigh = (tailHigh << shift) | (tailLow >>> (64 - shift));
+        tailLow = (tailLow << shift) | group;
+        tail += groups;
+      } else {
+        headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+        headLow = (headLow << shift) | group;
+        head += groups;
+      }
+
+      if (i == end) {
+        break;
+      }
+      if (s.charAt(i) != ':' || ++i == end) {
+        // Missing separator, or a single trailing colon
+        return part == VALID ? 0 : INVALID;
+      }
+      if (s.charAt(i) == ':') {
+        if (gap) {
+          return part == VALID ? 0 : INVALID;
+        }
+        gap = true;
+        i++;
+      }
+    }
+    if (gap ? head + tail > 7 : head + tail != 8) {
+      return part == VALID ? 0 : INVALID;
+    }
+    if (part == VALID) {
+      return 1;
+    }
+
+    int headShift = 16 * (8 - head);
+    if (head == 0) {
+      headHigh = 0;
+      headLow = 0;
+    } else if (headShift >= 64) {
+      headHigh = headLow << (headShift - 64);
+      headLow = 0;
+    } else if (headShift > 0) {
+      headHigh = (headHigh << headShift) | (headLow >>> (64 - headShift));
+      headLow <<= headShift;
+    }
+    return part == HIGH ? headHigh | tailHigh : headLow | tailLow;
+  }
+
+  static long maskHigh(long high, int length) {
+    if (length >= 64) {
+      return high;
+    }
+    return length == 0 ? 0 : high & (-1L << (64 - length));
+  }
+
+  static long maskLow(long low, int length) {
+    if (length <= 64) {
+      return 0;
+    }
+    return length == 128 ? low : low & (-1L << (128 - length));
+  }
+
+  private static int commonPrefixLength(long aHigh, long aLow, long bHigh, long bLow) {
+    long high = aHigh ^ bHigh;
+    return high != 0
+        ? Long.numberOfLeadingZeros(high)
+        : 64 + Long.numberOfLeadingZeros(aLow ^ bLow);
+  }
+
+  private static int bitAt(long high, long low, int index) {
+    return (int) (index < 64 ? high >>> (63 - index) : low >>> (127 - index)) & 1;
+  }
+
+  private static final class Node {
+    private final long high;
+    private final long low;
+    private final int length;
+    private Verdict verdict;
+    private Node zero;
+    private Node one;
+
+    private Node(long high, long low, int length, Verdict verdict) {
+      this.high = high;
+      this.low = low;
+      this.length = length;
+      this.verdict = verdict;
+    }
+
+    private void attach(Node child) {
+      if (bitAt(child.high, child.low, length) == 0) {
+        zero = child;
+      } else {
+        one = child;
+      }
+    }
+  }
+}
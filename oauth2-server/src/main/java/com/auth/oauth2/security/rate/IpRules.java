@@ -0,0 +1,142 @@
+package com.auth.oauth2.security.rate;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Current allow/deny lists and the prefix lengths used to key client IPs.
+ *
+ * <p>An IPv6 client controls at least a /64, so keying by the full address would hand it 2^64
+ * buckets; addresses are therefore keyed by their {@code ipv6-prefix-length} network (and IPv4 by
+ * {@code ipv4-prefix-length}, the full address by default). The lists start from {@code
+ * rate-limit.ip-rules} and can be replaced at runtime through {@link #reload}: the new trie is
+ * built off to the side and published with a single volatile write, so lookups never block or see
+ * a partially built list.
+ *
+ * <p>Network keys are formatted once per address and then served from a small cache, since the
+ * same clients keep coming back; addresses keyed as themselves are returned without formatting.
+ */
+@Slf4j
+@Component
+public class IpRules {
+
+  private static final int NETWORK_CACHE_SIZE = 10_000;
+
+  private final int ipv4PrefixLength;
+  private final int ipv6PrefixLength;
+  private final String ipv4Suffix;
+  private final String ipv6Suffix;
+  private final Cache<String, String> networks =
+      Caffeine.newBuilder().maximumSize(NETWORK_CACHE_SIZE).build();
+  private volatile IpClassifier classifier;
+
+  public IpRules(RateLimitProperties rateLimitProperties) {
+    RateLimitProperties.IpRules properties = rateLimitProperties.getIpRules();
+    this.ipv4PrefixLength = properties.getIpv4PrefixLength();
+    this.ipv6PrefixLength = properties.getIpv6PrefixLength();
+    if (ipv4PrefixLength < 1 || ipv4PrefixLength > 32) {
+      throw new IllegalArgumentException("ipv4-prefix-length must be between 1 and 32");
+    }
+    if (ipv6PrefixLength < 1 || ipv6PrefixLength > 128) {
+      throw new IllegalArgumentException("ipv6-prefix-length must be between 1 and 128");
+    }
+    this.ipv4Suffix = "/" + ipv4PrefixLength;
+    this.ipv6Suffix = "/" + ipv6PrefixLength;
+    this.classifier = IpClassifier.of(properties.getAllow(), properties.getDeny());
+  }
+
+  public IpClassifier.Verdict classify(String ip) {
+    return classifier.classify(ip);
+  }
+
+  public IpClassifier current() {
+    return classifier;
+  }
+
+  /**
+   * Replaces both lists at once. Invalid blocks are rejected before anything is published.
+   *
+   * @throws IllegalArgumentException if an entry is not a valid CIDR block
+   */
+  public IpClassifier reload(List<String> allow, List<String> deny) {
+    IpClassifier reloaded = IpClassifier.of(allow, deny);
+    classifier = reloaded;
+    log.info(
+        "Reloaded rate limit IP rules: {} allowed, {} denied blocks", allow.size(), deny.size());
+    return reloaded;
+  }
+
+  /**
+   * The value an IP is rate limited under: the address itself, or its network when the configured
+   * prefix is shorter than the address, e.g. {@code 2001:db8:1:2::/64}. Non-literals are returned
+   * unchanged.
+   */
+  public String bucketKey(String ip) {
+    // Without a prefix to apply, an address is its own key; IPv4-mapped IPv6 literals use the IPv4
+    // prefix, so IPv6 can only skip formatting when neither prefix applies
+    if (ip.indexOf(':') < 0
+        ? ipv4PrefixLength == 32
+        : ipv6PrefixLength == 128 && ipv4PrefixLength == 32) {
+      return ip;
+    }
+    String network = networks.getIfPresent(ip);
+    if (network == null) {
+      network = network(ip);
+      networks.put(ip, network);
+    }
+    return network;
+  }
+
+  private String network(String ip) {
+    if (IpClassifier.parse(ip, IpClassifier.VALID) == 0) {
+      return ip;
+    }
+    long high = IpClassifier.parse(ip, IpClassifier.HIGH);
+    long low = IpClassifier.parse(ip, IpClassifier.LOW);
+    // IPv4 written as ::ffff:a.b.c.d must not collapse into a single IPv6 network
+    boolean ipv4 = high == 0 && (low >>> 32) == 0xffffL;
+    if (ipv4 ? ipv4PrefixLength == 32 : ipv6PrefixLength == 128) {
+      return ip;
+    }
+    if (ipv4) {
+      long network = IpClassifier.maskLow(low, 96 + ipv4PrefixLength);
+      return new StringBuilder(18)
+          .append((network >>> 24) & 0xff)
+          .append('.')
+          .append((network >>> 16) & 0xff)
+          .append('.')
+          .append((network >>> 8) & 0xff)
+          .append('.')
+          .append(network & 0xff)
+          .append(ipv4Suffix)
+          .toString();
+    }
+    return formatIpv6Network(
+        IpClassifier.maskHigh(high, ipv6PrefixLength),
+        IpClassifier.maskLow(low, ipv6PrefixLength),
+        ipv6PrefixLength,
+        ipv6Suffix);
+  }
+
+  private static String formatIpv6Network(long high, long low, int prefixLength, String suffix) {
+    // Only the groups covered by the prefix are written; the rest are zero
+    int groups = (prefixLength + 15) / 16;
+    StringBuilder network = new StringBuilder(48);
+    for (int i = 0; i < groups; i++) {
+      long half = i < 4 ? high : low;
+      int shift = 48 - 16 * (i % 4);
+      if (i > 0) {
+        network.append(':');
+      }
+      network.append(Long.toHexString((half >>> shift) & 0xffff));
+    }
+    if (groups < 8) {
+      network.append("::");
+    }
+    return network.append(suffix).toString();
+  }
+}
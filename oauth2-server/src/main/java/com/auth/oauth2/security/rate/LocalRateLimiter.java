@@ -0,0 +1,50 @@
+package com.auth.oauth2.security.rate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import java.time.Duration;
+
+/**
+ * In-process token buckets kept in a bounded Caffeine map with idle eviction.
+ *
+ * <p>Serves two roles: the whole limiter when Redis is disabled ({@code capacityRatio} 1), and the
+ * fallback while the Redis circuit is open. In the latter case each node only sees its own traffic,
+ * so bucket sizes are scaled down by {@code capacityRatio} to stay conservative across the cluster.
+ *
+ * <p>A check is a Caffeine lookup plus a lock-free Bucket4j local bucket update, well under a
+ * microsecond. Idle buckets are evicted after {@code expireAfterAccess}, which should be at least
+ * the longest refill period so that eviction never resets a bucket that is still refilling.
+ */
+public class LocalRateLimiter {
+
+  private final double capacityRatio;
+  private final Cache<String, Bucket> buckets;
+
+  public LocalRateLimiter(double capacityRatio, long maxKeys, Duration expireAfterAccess) {
+    this.capacityRatio = capacityRatio;
+    this.buckets =
+        Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(expireAfterAccess).build();
+  }
+
+  public boolean tryConsume(String key, RateLimitPolicy policy) {
+    Bucket bucket = buckets.getIfPresent(key);
+    if (bucket == null) {
+      bucket = buckets.get(key, k -> newBucket(policy));
+    }
+    return bucket.tryConsume(1);
+  }
+
+  private Bucket newBucket(RateLimitPolicy policy) {
+    long capacity = Math.max(1, (long) (policy.capacity() * capacityRatio));
+    long refillRate = Math.max(1, (long) (policy.refillRate() * capacityRatio));
+    return Bucket.builder()
+        .addLimit(
+            Bandwidth.classic(
+                capacity,
+                Refill.intervally(refillRate, Duration.ofSeconds(policy.refillPeriodSeconds()))))
+        .build();
+  }
+}
@@ -0,0 +1,77 @@
+package com.auth.oauth2.security.rate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local slice of a distributed token bucket.
+ *
+ * <p>Tokens are borrowed from the Redis bucket in batches and handed out locally without a network
+ * round trip. Borrowed tokens are only valid for the lease TTL; whatever is left afterwards is
+ * discarded, so a node can never spend tokens it borrowed long ago. After Redis reports an empty
+ * bucket the lease remembers the denial for a short interval so that rejected traffic does not hit
+ * Redis either.
+ */
+final class LocalTokenLease {
+
+  private final long ttlNanos;
+  private final AtomicLong tokens = new AtomicLong();
+  private final AtomicBoolean refilling = new AtomicBoolean();
+  private volatile long expiresAtNanos;
+  private volatile long deniedUntilNanos;
+
+  LocalTokenLease(long ttlNanos, long nowNanos) {
+    this.ttlNanos = ttlNanos;
+    // Start expired and not denied
+    this.expiresAtNanos = nowNanos;
+    this.deniedUntilNanos = nowNanos;
+  }
+
+  /** Takes one locally held token, if the lease is still valid and not empty. */
+  boolean tryAcquire(long nowNanos) {
+    if (nowNanos - expiresAtNanos >= 0) {
+      return false;
+    }
+    long current;
+    do {
+      current = tokens.get();
+      if (current <= 0) {
+        return false;
+      }
+    } while (!tokens.compareAndSet(current, current - 1));
+    return true;
+  }
+
+  /** Adds tokens borrowed from the distributed bucket and extends the lease. */
+  void grant(long granted, long nowNanos) {
+    if (nowNanos - expiresAtNanos >= 0) {
+      // Leftovers from an expired lease are discarded rather than carried over
+      tokens.set(granted);
+    } else {
+      tokens.addAndGet(granted);
+    }
+    expiresAtNanos = nowNanos + ttlNanos;
+    deniedUntilNanos = nowNanos;
+  }
+
+  long remaining(long nowNanos) {
+    return nowNanos - expiresAtNanos >= 0 ? 0 : Math.max(0, tokens.get());
+  }
+
+  /** Returns {@code true} if the caller won the right to borrow the next batch. */
+  boolean tryStartRefill() {
+    return refilling.compareAndSet(false, true);
+  }
+
+  void finishRefill() {
+    refilling.set(false);
+  }
+
+  void deny(long untilNanos) {
+    deniedUntilNanos = untilNanos;
+  }
+
+  boolean isDenied(long nowNanos) {
+    return nowNanos - deniedUntilNanos < 0;
+  }
+}
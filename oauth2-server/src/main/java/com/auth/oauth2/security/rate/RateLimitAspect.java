@@ -1,12 +1,14 @@
 package com.auth.oauth2.security.rate;
 
-import com.auth.oauth2.config.RateLimitProperties;
+import com.auth.oauth2.exception.IpAddressDeniedException;
 import com.auth.oauth2.security.rate.annotation.RateLimit;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -17,71 +19,30 @@ public class RateLimitAspect {
 
   private final RateLimitService rateLimitService;
   private final RateLimitKeyResolver keyResolver;
-  private final RateLimitProperties rateLimitProperties;
+  private final RateLimitPolicyRegistry policyRegistry;
 
   @Around("@annotation(rateLimit)")
   public Object rateLimit(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
-    String key = keyResolver.resolveIp();
-
-    int capacity;
-    int refillRate;
-    int refillPeriodSeconds;
-
-    String endpointName = rateLimit.value();
-    if (!"default".equals(endpointName)) {
-      RateLimitProperties.Endpoints.EndpointConfig endpointConfig = getEndpointConfig(endpointName);
-      if (endpointConfig != null) {
-        capacity = endpointConfig.getCapacity();
-        refillRate = endpointConfig.getRefillRate();
-        refillPeriodSeconds = endpointConfig.getRefillPeriodSeconds();
-      } else {
-        // Fallback to annotation values or default
-        capacity =
-            rateLimit.capacity() != -1
-                ? rateLimit.capacity()
-                : rateLimitProperties.getDefaultConfig().getCapacity();
-        refillRate =
-            rateLimit.refillRate() != -1
-                ? rateLimit.refillRate()
-                : rateLimitProperties.getDefaultConfig().getRefillRate();
-        refillPeriodSeconds =
-            rateLimit.refillPeriodSeconds() != -1
-                ? rateLimit.refillPeriodSeconds()
-                : rateLimitProperties.getDefaultConfig().getRefillPeriodSeconds();
-      }
-    } else {
-      // Use annotation values or default
-      capacity =
-          rateLimit.capacity() != -1
-              ? rateLimit.capacity()
-              : rateLimitProperties.getDefaultConfig().getCapacity();
-      refillRate =
-          rateLimit.refillRate() != -1
-              ? rateLimit.refillRate()
-              : rateLimitProperties.getDefaultConfig().getRefillRate();
-      refillPeriodSeconds =
-          rateLimit.refillPeriodSeconds() != -1
-              ? rateLimit.refillPeriodSeconds()
-              : rateLimitProperties.getDefaultConfig().getRefillPeriodSeconds();
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    RateLimitPolicy policy = policyRegistry.forMethod(signature.getMethod(), rateLimit);
+    String ip = keyResolver.resolveIp();
+    IpClassifier.Verdict verdict = keyResolver.classifyIp(ip);
+    if (verdict == IpClassifier.Verdict.DENY) {
+      throw new IpAddressDeniedException("Access denied for IP: " + ip);
+    }
+    if (verdict == IpClassifier.Verdict.ALLOW) {
+      return joinPoint.proceed();
     }
 
-    boolean allowed = rateLimitService.tryConsume(key, capacity, refillRate, refillPeriodSeconds);
+    List<RateLimitKey> keys = keyResolver.resolveKeys(ip, policy);
+
+    boolean allowed = rateLimitService.tryConsumeAll(keys);
 
     if (!allowed) {
       throw new com.auth.oauth2.exception.RateLimitExceededException(
-          "Rate limit exceeded for IP: " + key);
+          "Rate limit exceeded for IP: " + ip);
     }
 
     return joinPoint.proceed();
   }
-
-  private RateLimitProperties.Endpoints.EndpointConfig getEndpointConfig(String endpointName) {
-    return switch (endpointName) {
-      case "login" -> rateLimitProperties.getEndpoints().getLogin();
-      case "refresh" -> rateLimitProperties.getEndpoints().getRefresh();
-      case "oauth2-token" -> rateLimitProperties.getEndpoints().getOauth2Token();
-      case "oauth2-authorize" -> rateLimitProperties.getEndpoints().getOauth2Authorize();
-      default -> null;
-    };
-  }
 }
@@ -0,0 +1,31 @@
+package com.auth.oauth2.security.rate;
+
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/ratelimit?window=5m&top=20}: the keys that sent the most requests and
+ * received the most rejections on this node. Counts are upper bounds with their {@code error};
+ * reports of several nodes can be combined with {@link SpaceSavingSketch#merge}.
+ */
+@Component
+@Endpoint(id = "ratelimit")
+@RequiredArgsConstructor
+public class RateLimitEndpoint {
+
+  private static final int DEFAULT_TOP = 20;
+
+  private final RateLimitHeavyHitters heavyHitters;
+
+  @ReadOperation
+  public RateLimitHeavyHitters.Report heavyHitters(
+      @Nullable Duration window, @Nullable Integer top) {
+    return heavyHitters.report(
+        window != null ? window : heavyHitters.maxWindow(),
+        top != null && top > 0 ? top : DEFAULT_TOP);
+  }
+}
@@ -0,0 +1,127 @@
+package com.auth.oauth2.security.rate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rate limits the Spring Authorization Server and form login endpoints, which {@link
+ * RateLimitAspect} cannot reach.
+ *
+ * <p>Registered ahead of the Spring Security filter chain, so rejected requests never reach client
+ * authentication, session creation or password hashing. Routes are looked up in a table built once
+ * from {@link RateLimitPolicyRegistry}: an exact path match, then the HTTP method, then (for the
+ * token endpoint) the {@code grant_type} parameter.
+ *
+ * <p>Client IPs on the {@link IpRules} deny list get a 403 and those on the allow list skip rate
+ * limiting.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final RateLimitService rateLimitService;
+  private final RateLimitKeyResolver keyResolver;
+  private final ObjectMapper objectMapper;
+  private final Map<String, Route> routes;
+
+  public RateLimitFilter(
+      RateLimitService rateLimitService,
+      RateLimitKeyResolver keyResolver,
+      RateLimitPolicyRegistry policyRegistry,
+      ObjectMapper objectMapper) {
+    this.rateLimitService = rateLimitService;
+    this.keyResolver = keyResolver;
+    this.objectMapper = objectMapper;
+    this.routes =
+        Map.of(
+            "/oauth2/token",
+            new Route(
+                Set.of("POST"),
+                policyRegistry.forEndpoint("oauth2-token"),
+                Map.of("refresh_token", policyRegistry.forEndpoint("refresh"))),
+            "/oauth2/authorize",
+            new Route(
+                Set.of("GET", "POST"), policyRegistry.forEndpoint("oauth2-authorize"), Map.of()),
+            "/oauth2/introspect/batch",
+            new Route(
+                Set.of("POST"), policyRegistry.forEndpoint("oauth2-introspect-batch"), Map.of()),
+            "/login",
+            new Route(Set.of("POST"), policyRegistry.forEndpoint("login"), Map.of()));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    RateLimitPolicy policy = resolvePolicy(request);
+    if (policy == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String ip = keyResolver.resolveIp(request);
+    IpClassifier.Verdict verdict = keyResolver.classifyIp(ip);
+    if (verdict == IpClassifier.Verdict.DENY) {
+      log.warn("Denied by IP rules: endpoint={}, ip={}", policy.name(), ip);
+      writeError(response, HttpStatus.FORBIDDEN, "IP_DENIED", "Access denied for IP: " + ip);
+      return;
+    }
+
+    if (verdict == IpClassifier.Verdict.ALLOW
+        || rateLimitService.tryConsumeAll(keyResolver.resolveKeys(request, ip, policy))) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    log.warn("Rate limit exceeded: endpoint={}, ip={}", policy.name(), ip);
+    // Interval refill: a full batch of tokens is back after at most one refill period
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(policy.refillPeriodSeconds()));
+    writeError(
+        response,
+        HttpStatus.TOO_MANY_REQUESTS,
+        "RATE_LIMIT_EXCEEDED",
+        "Rate limit exceeded for IP: " + ip);
+  }
+
+  RateLimitPolicy resolvePolicy(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    Route route = routes.get(path);
+    if (route == null || !route.methods().contains(request.getMethod())) {
+      return null;
+    }
+    if (route.byGrantType().isEmpty()) {
+      return route.policy();
+    }
+    String grantType = request.getParameter("grant_type");
+    RateLimitPolicy grantPolicy = grantType != null ? route.byGrantType().get(grantType) : null;
+    return grantPolicy != null ? grantPolicy : route.policy();
+  }
+
+  private void writeError(
+      HttpServletResponse response, HttpStatus status, String code, String message)
+      throws IOException {
+    // Same body as the matching GlobalExceptionHandler method
+    Map<String, Object> error = new LinkedHashMap<>();
+    error.put("status", status.value());
+    error.put("message", message);
+    error.put("error", code);
+
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), error);
+  }
+
+  private record Route(
+      Set<String> methods, RateLimitPolicy policy, Map<String, RateLimitPolicy> byGrantType) {}
+}
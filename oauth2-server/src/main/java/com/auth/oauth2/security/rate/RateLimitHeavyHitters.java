@@ -0,0 +1,117 @@
+package com.auth.oauth2.security.rate;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Top rate-limit keys by requests and by rejections over sliding windows.
+ *
+ * <p>Time is cut into {@code slots} slots of {@code slot-duration}. Each slot is split into {@code
+ * stripes} stripes, each holding two {@link SpaceSavingSketch} summaries of {@code capacity}
+ * counters, so memory is fixed per node no matter how many distinct keys an attack uses. A request
+ * thread only locks the stripe its thread id maps to, so concurrent checks rarely wait on each
+ * other. A window is answered by merging the summaries of every stripe of its most recent slots;
+ * the result has the same shape as a single summary and can be merged again with the reports of
+ * other nodes through {@link SpaceSavingSketch#merge}. Each stripe adds its floor to the error
+ * bound of the merged counts, which is the price of not sharing one sketch.
+ */
+public class RateLimitHeavyHitters {
+
+  private final boolean enabled;
+  private final int capacity;
+  private final long slotMillis;
+  private final Stripe[][] slots;
+  private final LongSupplier clock;
+
+  public RateLimitHeavyHitters(RateLimitProperties.HeavyHitters properties, LongSupplier clock) {
+    this.enabled = properties.isEnabled();
+    this.capacity = properties.getCapacity();
+    this.slotMillis = properties.getSlotDuration().toMillis();
+    this.slots = new Stripe[properties.getSlots()][Math.max(1, properties.getStripes())];
+    for (Stripe[] stripes : slots) {
+      for (int i = 0; i < stripes.length; i++) {
+        stripes[i] = new Stripe(capacity);
+      }
+    }
+    this.clock = clock;
+  }
+
+  public void recordRequest(String key) {
+    if (enabled) {
+      record(key, false);
+    }
+  }
+
+  public void recordRejection(String key) {
+    if (enabled) {
+      record(key, true);
+    }
+  }
+
+  private void record(String key, boolean rejection) {
+    long epoch = clock.getAsLong() / slotMillis;
+    Stripe[] stripes = slots[(int) (epoch % slots.length)];
+    Stripe stripe = stripes[(int) (Thread.currentThread().threadId() % stripes.length)];
+    synchronized (stripe) {
+      if (stripe.rotate(epoch)) {
+        (rejection ? stripe.rejections : stripe.requests).offer(key);
+      }
+    }
+  }
+
+  /** Longest window that can be answered, {@code slots * slot-duration}. */
+  public Duration maxWindow() {
+    return Duration.ofMillis(slotMillis * slots.length);
+  }
+
+  /** Top keys of the last {@code window}, rounded up to whole slots, at most {@link #maxWindow}. */
+  public Report report(Duration window, int top) {
+    long windowSlots = Math.ceilDiv(window.toMillis(), slotMillis);
+    int count = (int) Math.max(1, Math.min(slots.length, windowSlots));
+    long current = clock.getAsLong() / slotMillis;
+    List<SpaceSavingSketch.Summary> requests = new ArrayList<>();
+    List<SpaceSavingSketch.Summary> rejections = new ArrayList<>();
+    for (long epoch = current - count + 1; epoch <= current; epoch++) {
+      for (Stripe stripe : slots[(int) Math.floorMod(epoch, slots.length)]) {
+        synchronized (stripe) {
+          // Skip stripes that were not written since they last wrapped around
+          if (stripe.epoch == epoch) {
+            requests.add(stripe.requests.summary());
+            rejections.add(stripe.rejections.summary());
+          }
+        }
+      }
+    }
+    return new Report(
+        Duration.ofMillis(slotMillis * count),
+        SpaceSavingSketch.merge(requests, capacity).limit(top),
+        SpaceSavingSketch.merge(rejections, capacity).limit(top));
+  }
+
+  public record Report(
+      Duration window, SpaceSavingSketch.Summary requests, SpaceSavingSketch.Summary rejections) {}
+
+  private static final class Stripe {
+    private final SpaceSavingSketch requests;
+    private final SpaceSavingSketch rejections;
+    private long epoch = -1;
+
+    private Stripe(int capacity) {
+      this.requests = new SpaceSavingSketch(capacity);
+      this.rejections = new SpaceSavingSketch(capacity);
+    }
+
+    /** Moves the stripe to {@code current}; false if it has already moved past it. */
+    private boolean rotate(long current) {
+      if (epoch < current) {
+        requests.clear();
+        rejections.clear();
+        epoch = current;
+      }
+      return epoch == current;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.auth.oauth2.security.rate;
+
+/**
+ * One bucket a request is checked against: a dimension (client IP, OAuth2 client or user), its
+ * value and the policy that applies to it.
+ *
+ * @param key Redis key, scoped by policy and dimension so that buckets never collide
+ */
+public record RateLimitKey(Dimension dimension, String value, RateLimitPolicy policy, String key) {
+
+  public enum Dimension {
+    IP("ip"),
+    CLIENT("client"),
+    USER("user");
+
+    private final String prefix;
+
+    Dimension(String prefix) {
+      this.prefix = prefix;
+    }
+
+    String prefix() {
+      return prefix;
+    }
+  }
+
+  public static RateLimitKey of(Dimension dimension, String value, RateLimitPolicy policy) {
+    return new RateLimitKey(
+        dimension, value, policy, policy.keyPrefixes().get(dimension.ordinal()).concat(value));
+  }
+}
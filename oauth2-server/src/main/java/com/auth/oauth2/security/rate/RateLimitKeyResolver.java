@@ -1,39 +1,172 @@
 package com.auth.oauth2.security.rate;
 
+import com.auth.oauth2.config.RateLimitProperties;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+/**
+ * Builds the rate-limit keys of a request.
+ *
+ * <p>The client IP honours {@code X-Forwarded-For} and {@code X-Real-IP} only when the connection
+ * comes from one of {@code rate-limit.keys.trusted-proxies}. {@code X-Forwarded-For} is read from
+ * the right and the first address that is not a trusted proxy is the client, so a caller cannot
+ * pick its own key by prepending addresses.
+ *
+ * <p>Once the security context holds an authenticated client or user, the request is also keyed
+ * by that OAuth2 client and user, and the IP bucket is widened by {@code shared-ip-multiplier} so
+ * that authenticated callers behind one NAT do not starve each other. Before authentication (in
+ * {@link RateLimitFilter}) only the plain IP bucket applies: a claimed {@code client_id} or login
+ * {@code username} is caller controlled, so it must neither widen the IP budget nor drain the
+ * bucket of the client or account it names.
+ *
+ * <p>The IP key is the client's network as defined by {@link IpRules#bucketKey}, so an IPv6 client
+ * cannot rotate through its /64 to get fresh buckets.
+ */
 @Component
 public class RateLimitKeyResolver {
 
   private static final String HEADER_X_FORWARDED_FOR = "X-Forwarded-For";
   private static final String HEADER_X_REAL_IP = "X-Real-IP";
 
+  private final IpClassifier trustedProxies;
+  private final RateLimitPolicyRegistry policyRegistry;
+  private final IpRules ipRules;
+
+  public RateLimitKeyResolver(
+      RateLimitProperties rateLimitProperties,
+      RateLimitPolicyRegistry policyRegistry,
+      IpRules ipRules) {
+    // Trusted proxies are modelled as an allow list so the per-hop check is a trie lookup
+    this.trustedProxies =
+        IpClassifier.of(rateLimitProperties.getKeys().getTrustedProxies(), List.of());
+    this.policyRegistry = policyRegistry;
+    this.ipRules = ipRules;
+  }
+
   public String resolveIp() {
-    ServletRequestAttributes attributes =
-        (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-    if (attributes == null) {
+    HttpServletRequest request = currentRequest();
+    return request != null ? resolveIp(request) : "unknown";
+  }
+
+  public String resolveIp(HttpServletRequest request) {
+    String remoteAddr = request.getRemoteAddr();
+    if (remoteAddr == null) {
       return "unknown";
     }
+    if (!isTrustedProxy(remoteAddr)) {
+      // Direct connection: forwarding headers are attacker controlled
+      return remoteAddr;
+    }
 
-    HttpServletRequest request = attributes.getRequest();
-    String ip = request.getHeader(HEADER_X_FORWARDED_FOR);
+    String forwardedFor = request.getHeader(HEADER_X_FORWARDED_FOR);
+    if (StringUtils.hasText(forwardedFor)) {
+      String[] hops = forwardedFor.split(",");
+      String outermostProxy = null;
+      for (int i = hops.length - 1; i >= 0; i--) {
+        String hop = hops[i].trim();
+        if (hop.isEmpty() || "unknown".equalsIgnoreCase(hop)) {
+          continue;
+        }
+        if (!isTrustedProxy(hop)) {
+          return hop;
+        }
+        outermostProxy = hop;
+      }
+      if (outermostProxy != null) {
+        return outermostProxy;
+      }
+    }
 
-    if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-      ip = request.getHeader(HEADER_X_REAL_IP);
+    String realIp = request.getHeader(HEADER_X_REAL_IP);
+    if (StringUtils.hasText(realIp) && !"unknown".equalsIgnoreCase(realIp.trim())) {
+      return realIp.trim();
     }
+    return remoteAddr;
+  }
 
-    if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-      ip = request.getRemoteAddr();
+  /** Whether {@code ip} is exempt from rate limiting, denied, or neither; see {@link IpRules}. */
+  public IpClassifier.Verdict classifyIp(String ip) {
+    return ipRules.classify(ip);
+  }
+
+  /**
+   * Keys for the current request whose client IP was already resolved by {@link #resolveIp()}; the
+   * IP key is always first.
+   */
+  public List<RateLimitKey> resolveKeys(String ip, RateLimitPolicy policy) {
+    HttpServletRequest request = currentRequest();
+    if (request == null) {
+      return List.of(RateLimitKey.of(RateLimitKey.Dimension.IP, ipRules.bucketKey(ip), policy));
     }
+    return resolveKeys(request, ip, policy);
+  }
 
-    // X-Forwarded-For can contain multiple IPs, take the first one
-    if (ip != null && ip.contains(",")) {
-      ip = ip.split(",")[0].trim();
+  /** Keys for {@code request}; the IP key is always first. */
+  public List<RateLimitKey> resolveKeys(HttpServletRequest request, RateLimitPolicy policy) {
+    return resolveKeys(request, resolveIp(request), policy);
+  }
+
+  /** Keys for {@code request} whose client IP was already resolved by {@link #resolveIp}. */
+  public List<RateLimitKey> resolveKeys(
+      HttpServletRequest request, String ip, RateLimitPolicy policy) {
+    String clientId = null;
+    String username = null;
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.isAuthenticated()
+        && !(authentication instanceof AnonymousAuthenticationToken)) {
+      if (authentication instanceof OAuth2ClientAuthenticationToken) {
+        clientId = authentication.getName();
+      } else if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+        List<String> audience = jwtAuthentication.getToken().getAudience();
+        clientId = audience != null && !audience.isEmpty() ? audience.get(0) : null;
+        username = authentication.getName();
+      } else {
+        username = authentication.getName();
+      }
+    }
+    if (username != null && username.equals(clientId)) {
+      // Client credentials tokens use the client id as subject
+      username = null;
     }
 
-    return ip != null ? ip : "unknown";
+    String network = ipRules.bucketKey(ip);
+    if (clientId == null && username == null) {
+      return List.of(RateLimitKey.of(RateLimitKey.Dimension.IP, network, policy));
+    }
+
+    List<RateLimitKey> keys = new ArrayList<>(3);
+    keys.add(
+        RateLimitKey.of(
+            RateLimitKey.Dimension.IP, network, policyRegistry.sharedIpPolicy(policy)));
+    if (clientId != null) {
+      keys.add(RateLimitKey.of(RateLimitKey.Dimension.CLIENT, clientId, policy));
+    }
+    if (username != null) {
+      keys.add(RateLimitKey.of(RateLimitKey.Dimension.USER, username, policy));
+    }
+    return keys;
+  }
+
+  private boolean isTrustedProxy(String address) {
+    // Host names and garbage are never trusted; nothing here goes through DNS
+    return trustedProxies.classify(address) == IpClassifier.Verdict.ALLOW;
+  }
+
+  private static HttpServletRequest currentRequest() {
+    ServletRequestAttributes attributes =
+        (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+    return attributes != null ? attributes.getRequest() : null;
   }
 }
@@ -0,0 +1,57 @@
+package com.auth.oauth2.security.rate;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fully resolved limit for one endpoint or annotated method. Everything derived from the raw
+ * numbers is computed once here so the request path only reads fields.
+ *
+ * @param leaseBatchSize number of tokens a node borrows from Redis at once
+ * @param tokenIntervalNanos average time between two refilled tokens
+ * @param keyPrefixes {@code name:dimension:} of every {@link RateLimitKey.Dimension}, by ordinal
+ */
+public record RateLimitPolicy(
+    String name,
+    int capacity,
+    int refillRate,
+    int refillPeriodSeconds,
+    BucketConfiguration configuration,
+    long leaseBatchSize,
+    long tokenIntervalNanos,
+    List<String> keyPrefixes) {
+
+  public static RateLimitPolicy of(
+      String name, int capacity, int refillRate, int refillPeriodSeconds, double maxErrorRatio) {
+    Duration refillPeriod = Duration.ofSeconds(refillPeriodSeconds);
+    BucketConfiguration configuration =
+        BucketConfiguration.builder()
+            .addLimit(Bandwidth.classic(capacity, Refill.intervally(refillRate, refillPeriod)))
+            .build();
+    return new RateLimitPolicy(
+        name,
+        capacity,
+        refillRate,
+        refillPeriodSeconds,
+        configuration,
+        Math.max(1, (long) (capacity * maxErrorRatio)),
+        refillPeriod.toNanos() / refillRate,
+        Arrays.stream(RateLimitKey.Dimension.values())
+            .map(dimension -> name + ":" + dimension.prefix() + ":")
+            .toList());
+  }
+
+  /** Same refill period, with capacity and refill rate multiplied by {@code factor}. */
+  public RateLimitPolicy scaled(String scaledName, double factor, double maxErrorRatio) {
+    return of(
+        scaledName,
+        (int) Math.max(1, Math.ceil(capacity * factor)),
+        (int) Math.max(1, Math.ceil(refillRate * factor)),
+        refillPeriodSeconds,
+        maxErrorRatio);
+  }
+}
@@ -0,0 +1,150 @@
+package com.auth.oauth2.security.rate;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import com.auth.oauth2.security.rate.annotation.RateLimit;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Resolves {@link RateLimitPolicy} instances from {@link RateLimitProperties}.
+ *
+ * <p>Endpoint policies are built on construction, and the policy of every {@link RateLimit}
+ * annotated controller method is resolved once all singletons exist, so the aspect only does a map
+ * lookup per call.
+ */
+@Slf4j
+@Component
+public class RateLimitPolicyRegistry implements SmartInitializingSingleton {
+
+  public static final String DEFAULT = "default";
+
+  private final ApplicationContext applicationContext;
+  private final double maxErrorRatio;
+  private final double sharedIpMultiplier;
+  private final RateLimitPolicy defaultPolicy;
+  private final Map<String, RateLimitPolicy> endpointPolicies;
+  private final Map<Method, RateLimitPolicy> methodPolicies = new ConcurrentHashMap<>();
+  private final Map<String, RateLimitPolicy> sharedIpPolicies = new ConcurrentHashMap<>();
+
+  public RateLimitPolicyRegistry(
+      ApplicationContext applicationContext, RateLimitProperties rateLimitProperties) {
+    this.applicationContext = applicationContext;
+    this.maxErrorRatio = rateLimitProperties.getLocal().getMaxErrorRatio();
+    this.sharedIpMultiplier = rateLimitProperties.getKeys().getSharedIpMultiplier();
+
+    RateLimitProperties.Default defaultConfig = rateLimitProperties.getDefaultConfig();
+    this.defaultPolicy =
+        RateLimitPolicy.of(
+            DEFAULT,
+            defaultConfig.getCapacity(),
+            defaultConfig.getRefillRate(),
+            defaultConfig.getRefillPeriodSeconds(),
+            maxErrorRatio);
+
+    RateLimitProperties.Endpoints endpoints = rateLimitProperties.getEndpoints();
+    this.endpointPolicies =
+        Map.of(
+            "login", endpointPolicy("login", endpoints.getLogin()),
+            "refresh", endpointPolicy("refresh", endpoints.getRefresh()),
+            "oauth2-token", endpointPolicy("oauth2-token", endpoints.getOauth2Token()),
+            "oauth2-authorize", endpointPolicy("oauth2-authorize", endpoints.getOauth2Authorize()),
+            "oauth2-introspect-batch",
+            endpointPolicy("oauth2-introspect-batch", endpoints.getOauth2IntrospectBatch()));
+  }
+
+  public RateLimitPolicy getDefaultPolicy() {
+    return defaultPolicy;
+  }
+
+  /** Returns the configured policy for an endpoint name, or {@code null} if there is none. */
+  public RateLimitPolicy forEndpoint(String endpointName) {
+    return endpointPolicies.get(endpointName);
+  }
+
+  public RateLimitPolicy forMethod(Method method, RateLimit rateLimit) {
+    RateLimitPolicy policy = methodPolicies.get(method);
+    if (policy == null) {
+      // Methods outside request mappings are resolved on first use
+      policy = methodPolicies.computeIfAbsent(method, m -> resolve(m, rateLimit));
+    }
+    return policy;
+  }
+
+  /**
+   * Policy for the IP bucket of an authenticated request that is also limited per client or user,
+   * widened by {@code rate-limit.keys.shared-ip-multiplier}. Derived once per policy.
+   */
+  public RateLimitPolicy sharedIpPolicy(RateLimitPolicy policy) {
+    RateLimitPolicy shared = sharedIpPolicies.get(policy.name());
+    if (shared == null) {
+      shared =
+          sharedIpPolicies.computeIfAbsent(
+              policy.name(),
+              name -> policy.scaled(name + "-shared", sharedIpMultiplier, maxErrorRatio));
+    }
+    return shared;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    applicationContext
+        .getBeansOfType(RequestMappingHandlerMapping.class)
+        .values()
+        .forEach(
+            mapping ->
+                mapping
+                    .getHandlerMethods()
+                    .values()
+                    .forEach(
+                        handlerMethod -> {
+                          Method method = handlerMethod.getMethod();
+                          RateLimit rateLimit =
+                              AnnotatedElementUtils.findMergedAnnotation(method, RateLimit.class);
+                          if (rateLimit != null) {
+                            methodPolicies.computeIfAbsent(method, m -> resolve(m, rateLimit));
+                          }
+                        }));
+    log.info("Resolved rate limit policies for {} annotated methods", methodPolicies.size());
+  }
+
+  private RateLimitPolicy resolve(Method method, RateLimit rateLimit) {
+    if (!DEFAULT.equals(rateLimit.value())) {
+      RateLimitPolicy endpointPolicy = endpointPolicies.get(rateLimit.value());
+      if (endpointPolicy != null) {
+        return endpointPolicy;
+      }
+    }
+    if (rateLimit.capacity() == -1
+        && rateLimit.refillRate() == -1
+        && rateLimit.refillPeriodSeconds() == -1) {
+      return defaultPolicy;
+    }
+
+    // Use annotation values, falling back to the defaults
+    return RateLimitPolicy.of(
+        method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+        rateLimit.capacity() != -1 ? rateLimit.capacity() : defaultPolicy.capacity(),
+        rateLimit.refillRate() != -1 ? rateLimit.refillRate() : defaultPolicy.refillRate(),
+        rateLimit.refillPeriodSeconds() != -1
+            ? rateLimit.refillPeriodSeconds()
+            : defaultPolicy.refillPeriodSeconds(),
+        maxErrorRatio);
+  }
+
+  private RateLimitPolicy endpointPolicy(
+      String name, RateLimitProperties.Endpoints.EndpointConfig config) {
+    return RateLimitPolicy.of(
+        name,
+        config.getCapacity(),
+        config.getRefillRate(),
+        config.getRefillPeriodSeconds(),
+        maxErrorRatio);
+  }
+}
@@ -1,57 +1,289 @@
 package com.auth.oauth2.security.rate;
 
 import com.auth.oauth2.config.RateLimitProperties;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.BucketConfiguration;
-import io.github.bucket4j.Refill;
-import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
-import java.time.Duration;
-import java.util.function.Supplier;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+/**
+ * Token-bucket rate limiting backed by Redis.
+ *
+ * <p>With {@code rate-limit.local.enabled} each node holds a {@link LocalTokenLease} per key and
+ * borrows tokens from the Redis bucket in batches of {@code capacity * max-error-ratio}. Requests
+ * are served from the lease, and the next batch is borrowed asynchronously once the lease runs low,
+ * so most requests never touch the network. The global limit is never exceeded because every token
+ * is taken from Redis before it is spent; the error is bounded to at most one batch per node per
+ * key that may be stranded on a node (and discarded when the lease expires).
+ *
+ * <p>All Redis calls go through the asynchronous {@link DistributedRateLimiter} selected by {@code
+ * rate-limit.redis.backend}, so no thread waits on Redis unless the caller chooses to join. Calls
+ * are guarded by {@link RedisCircuitBreaker}; failed calls, calls slower than {@code
+ * rate-limit.redis.timeout} and every call while the circuit is open are decided by the {@link
+ * LocalRateLimiter} fallback instead of failing open.
+ *
+ * <p>With {@code rate-limit.redis.enabled=false} there is no shared store: every check goes
+ * straight to the in-process {@link LocalRateLimiter}, synchronously and without futures.
+ *
+ * <p>Every checked key and every rejection is counted in {@link RateLimitHeavyHitters}.
+ *
+ * <p>Bucket handles, their encoded Redis keys and leases are cached per key in a bounded map, so a
+ * hot key costs one cache lookup.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RateLimitService {
 
-  private final LettuceBasedProxyManager<byte[]> proxyManager;
-  private final RateLimitProperties rateLimitProperties;
+  private final DistributedRateLimiter distributedRateLimiter;
+  private final RateLimitPolicyRegistry policyRegistry;
+  private final RedisCircuitBreaker circuitBreaker;
+  private final LocalRateLimiter localRateLimiter;
+  private final RateLimitHeavyHitters heavyHitters;
+  private final boolean localLeasesEnabled;
+  private final long leaseTtlNanos;
+  private final long redisTimeoutMillis;
+  private final Cache<String, CachedBucket> buckets;
 
-  public boolean tryConsume(String key, int capacity, int refillRate, int refillPeriodSeconds) {
-    try {
-      Supplier<BucketConfiguration> configSupplier =
-          () -> {
-            Bandwidth bandwidth =
-                Bandwidth.classic(
-                    capacity,
-                    Refill.intervally(refillRate, Duration.ofSeconds(refillPeriodSeconds)));
+  /**
+   * {@code distributedRateLimiter} and {@code circuitBreaker} are absent when {@code
+   * rate-limit.redis.enabled} is false; {@code localRateLimiter} is then the full-size in-memory
+   * limiter instead of the scaled-down fallback.
+   */
+  public RateLimitService(
+      @Nullable DistributedRateLimiter distributedRateLimiter,
+      RateLimitPolicyRegistry policyRegistry,
+      @Nullable RedisCircuitBreaker circuitBreaker,
+      LocalRateLimiter localRateLimiter,
+      RateLimitHeavyHitters heavyHitters,
+      RateLimitProperties rateLimitProperties) {
+    this.distributedRateLimiter = distributedRateLimiter;
+    this.policyRegistry = policyRegistry;
+    this.circuitBreaker = circuitBreaker;
+    this.localRateLimiter = localRateLimiter;
+    this.heavyHitters = heavyHitters;
+    this.localLeasesEnabled = rateLimitProperties.getLocal().isEnabled();
+    this.leaseTtlNanos = rateLimitProperties.getLocal().getLeaseTtl().toNanos();
+    this.redisTimeoutMillis = rateLimitProperties.getRedis().getTimeout().toMillis();
+    RateLimitProperties.BucketCache bucketCache = rateLimitProperties.getBucketCache();
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(bucketCache.getMaxSize())
+            .expireAfterAccess(bucketCache.getExpireAfterAccess())
+            .build();
+  }
+
+  /**
+   * Blocking variant of {@link #tryConsumeAsync}. Request threads are virtual ({@code
+   * spring.threads.virtual.enabled}), so waiting here unmounts the thread instead of holding a
+   * platform thread for the Redis round trip.
+   */
+  public boolean tryConsume(String key, RateLimitPolicy policy) {
+    if (distributedRateLimiter == null) {
+      heavyHitters.recordRequest(key);
+      return consumeLocally(key, policy);
+    }
+    return tryConsumeAsync(key, policy).join();
+  }
+
+  public boolean tryConsumeWithDefault(String key) {
+    return tryConsume(key, policyRegistry.getDefaultPolicy());
+  }
+
+  /** Blocking variant of {@link #tryConsumeAllAsync}. */
+  public boolean tryConsumeAll(List<RateLimitKey> keys) {
+    if (distributedRateLimiter == null) {
+      // In-memory mode: plain loop, no futures on the hot path
+      boolean allowed = true;
+      for (RateLimitKey key : keys) {
+        heavyHitters.recordRequest(key.key());
+        allowed &= consumeLocally(key.key(), key.policy());
+      }
+      return allowed;
+    }
+    return tryConsumeAllAsync(keys).join();
+  }
+
+  /**
+   * Checks every bucket of one request; the request is allowed only if all of them allow it. All
+   * checks are issued before any reply is awaited, so Lettuce pipelines the commands on its shared
+   * connection and the request pays one round trip rather than one per dimension. A bucket that
+   * allowed the request keeps its token even if another one rejects it.
+   */
+  public CompletableFuture<Boolean> tryConsumeAllAsync(List<RateLimitKey> keys) {
+    if (keys.size() == 1) {
+      RateLimitKey key = keys.get(0);
+      return tryConsumeAsync(key.key(), key.policy());
+    }
+    @SuppressWarnings("unchecked")
+    CompletableFuture<Boolean>[] checks = new CompletableFuture[keys.size()];
+    for (int i = 0; i < checks.length; i++) {
+      RateLimitKey key = keys.get(i);
+      checks[i] = tryConsumeAsync(key.key(), key.policy());
+    }
+    return CompletableFuture.allOf(checks)
+        .thenApply(
+            ignored -> {
+              for (CompletableFuture<Boolean> check : checks) {
+                if (!check.join()) {
+                  return false;
+                }
+              }
+              return true;
+            });
+  }
 
-            return BucketConfiguration.builder().addLimit(bandwidth).build();
-          };
+  /**
+   * Consumes one token without blocking the caller. The returned future never completes
+   * exceptionally: while Redis is failing, too slow or behind an open circuit, the decision comes
+   * from the conservative in-process fallback limiter.
+   */
+  public CompletableFuture<Boolean> tryConsumeAsync(String key, RateLimitPolicy policy) {
+    heavyHitters.recordRequest(key);
+    if (distributedRateLimiter == null) {
+      return CompletableFuture.completedFuture(consumeLocally(key, policy));
+    }
+    try {
+      CachedBucket cached = buckets.getIfPresent(key);
+      if (cached == null) {
+        cached = buckets.get(key, k -> newBucket(k, policy));
+      }
 
-      Bucket bucket = proxyManager.builder().build(key.getBytes(), configSupplier);
+      long now = System.nanoTime();
+      if (localLeasesEnabled) {
+        LocalTokenLease lease = cached.lease();
+        if (lease.tryAcquire(now)) {
+          // Borrow the next batch in the background before the lease runs dry
+          if (lease.remaining(now) <= policy.leaseBatchSize() / 2 && lease.tryStartRefill()) {
+            refillAsync(key, cached, policy.leaseBatchSize());
+          }
+          return CompletableFuture.completedFuture(Boolean.TRUE);
+        }
+        if (lease.isDenied(now)) {
+          rejected(key);
+          return CompletableFuture.completedFuture(Boolean.FALSE);
+        }
+      }
 
-      boolean consumed = bucket.tryConsume(1);
-      if (!consumed) {
-        log.warn("Rate limit exceeded for key: {}", key);
+      if (!circuitBreaker.tryAcquirePermission()) {
+        return CompletableFuture.completedFuture(consumeLocally(key, policy));
       }
-      return consumed;
+      CompletableFuture<Boolean> remote;
+      try {
+        remote =
+            localLeasesEnabled
+                ? borrow(cached, policy, now)
+                : cached.remote().tryConsume();
+      } catch (RuntimeException e) {
+        remote = CompletableFuture.failedFuture(e);
+      }
+      return withCircuitBreaker(key, policy, remote, now);
     } catch (Exception e) {
-      log.error("Error checking rate limit for key: {}", key, e);
-      // Fail open: allow request if Redis is unavailable
-      return true;
+      log.debug("Error preparing rate limit check for key: {}", key, e);
+      return CompletableFuture.completedFuture(consumeLocally(key, policy));
     }
   }
 
-  public boolean tryConsumeWithDefault(String key) {
-    RateLimitProperties.Default defaultConfig = rateLimitProperties.getDefaultConfig();
-    return tryConsume(
-        key,
-        defaultConfig.getCapacity(),
-        defaultConfig.getRefillRate(),
-        defaultConfig.getRefillPeriodSeconds());
+  /** Takes the next batch for an empty lease and spends one token of it on this request. */
+  private CompletableFuture<Boolean> borrow(CachedBucket cached, RateLimitPolicy policy, long now) {
+    LocalTokenLease lease = cached.lease();
+    if (!lease.tryStartRefill()) {
+      // Another request is already borrowing for this key; take a single token so that
+      // concurrent misses cannot strand more than one batch on this node
+      return cached.remote().tryConsume();
+    }
+    try {
+      return cached
+          .remote()
+          .tryConsumeAsMuchAsPossible(policy.leaseBatchSize())
+          .whenComplete((granted, error) -> lease.finishRefill())
+          .thenApply(
+              granted -> {
+                if (granted <= 0) {
+                  // Skip Redis for roughly one token interval, never longer than the lease itself
+                  lease.deny(now + Math.min(policy.tokenIntervalNanos(), leaseTtlNanos));
+                  return false;
+                }
+                lease.grant(granted - 1, now);
+                return true;
+              });
+    } catch (RuntimeException e) {
+      lease.finishRefill();
+      throw e;
+    }
+  }
+
+  private CompletableFuture<Boolean> withCircuitBreaker(
+      String key, RateLimitPolicy policy, CompletableFuture<Boolean> remote, long startNanos) {
+    return remote
+        .orTimeout(redisTimeoutMillis, TimeUnit.MILLISECONDS)
+        .handle(
+            (consumed, error) -> {
+              circuitBreaker.onResult(error == null, System.nanoTime() - startNanos);
+              if (error != null) {
+                // Not logged per request at warn level: the breaker reports sustained failures
+                log.debug("Redis rate limit check failed for key: {}", key, error);
+                return consumeLocally(key, policy);
+              }
+              if (!consumed) {
+                rejected(key);
+              }
+              return consumed;
+            });
+  }
+
+  private boolean consumeLocally(String key, RateLimitPolicy policy) {
+    boolean consumed = localRateLimiter.tryConsume(key, policy);
+    if (!consumed) {
+      rejected(key);
+    }
+    return consumed;
   }
+
+  private void rejected(String key) {
+    // Per-key visibility comes from the heavy hitters; a log line per rejection floods under attack
+    heavyHitters.recordRejection(key);
+    log.debug("Rate limit exceeded for key: {}", key);
+  }
+
+  private void refillAsync(String key, CachedBucket cached, long batchSize) {
+    LocalTokenLease lease = cached.lease();
+    if (!circuitBreaker.tryAcquirePermission()) {
+      // Let the lease drain; requests then go through the fallback path
+      lease.finishRefill();
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      cached
+          .remote()
+          .tryConsumeAsMuchAsPossible(batchSize)
+          .orTimeout(redisTimeoutMillis, TimeUnit.MILLISECONDS)
+          .whenComplete(
+              (granted, error) -> {
+                circuitBreaker.onResult(error == null, System.nanoTime() - start);
+                if (error != null) {
+                  log.debug("Background lease refill failed for key: {}", key, error);
+                } else if (granted > 0) {
+                  lease.grant(granted, System.nanoTime());
+                }
+                lease.finishRefill();
+              });
+    } catch (RuntimeException e) {
+      circuitBreaker.onResult(false, System.nanoTime() - start);
+      lease.finishRefill();
+      log.debug("Background lease refill failed for key: {}", key, e);
+    }
+  }
+
+  private CachedBucket newBucket(String key, RateLimitPolicy policy) {
+    return new CachedBucket(
+        distributedRateLimiter.bucket(key, policy),
+        new LocalTokenLease(leaseTtlNanos, System.nanoTime()));
+  }
+
+  private record CachedBucket(DistributedRateLimiter.RemoteBucket remote, LocalTokenLease lease) {}
 }
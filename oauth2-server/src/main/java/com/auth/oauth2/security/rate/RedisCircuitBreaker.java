@@ -0,0 +1,179 @@
+package com.auth.oauth2.security.rate;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker around the Redis-backed limiter.
+ *
+ * <p>Outcomes of the last {@code sliding-window-size} Redis calls are kept in a ring. Once at
+ * least {@code minimum-calls} are recorded and either the failure rate or the slow-call rate
+ * reaches its threshold, the circuit opens and callers use the in-process fallback limiter. After
+ * {@code open-duration} a limited number of probe calls is let through (half-open); the circuit
+ * closes when all probes succeed quickly and opens again on the first bad probe.
+ *
+ * <p>Transitions are logged once and counted in {@code ratelimit.redis.circuit.transitions}; the
+ * current state is exported as the {@code ratelimit.redis.circuit.state} gauge (0 closed, 1 open,
+ * 2 half-open).
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private static final byte FAILED = 1;
+  private static final byte SLOW = 2;
+
+  private final double failureRateThreshold;
+  private final double slowCallRateThreshold;
+  private final long slowCallNanos;
+  private final int minimumCalls;
+  private final long openNanos;
+  private final int halfOpenProbes;
+  private final LongSupplier clock;
+  private final MeterRegistry meterRegistry;
+
+  private final byte[] window;
+  private int next;
+  private int recorded;
+  private int failures;
+  private int slowCalls;
+
+  private volatile State state = State.CLOSED;
+  private long openedAtNanos;
+  private int probesIssued;
+  private int probesSucceeded;
+
+  public RedisCircuitBreaker(
+      RateLimitProperties.CircuitBreaker properties,
+      MeterRegistry meterRegistry,
+      LongSupplier clock) {
+    this.failureRateThreshold = properties.getFailureRateThreshold();
+    this.slowCallRateThreshold = properties.getSlowCallRateThreshold();
+    this.slowCallNanos = properties.getSlowCallDuration().toNanos();
+    this.minimumCalls = properties.getMinimumCalls();
+    this.openNanos = properties.getOpenDuration().toNanos();
+    this.halfOpenProbes = properties.getHalfOpenProbes();
+    this.window = new byte[properties.getSlidingWindowSize()];
+    this.clock = clock;
+    this.meterRegistry = meterRegistry;
+    Gauge.builder("ratelimit.redis.circuit.state", this, breaker -> breaker.state.ordinal())
+        .description("Redis rate limiter circuit state (0 closed, 1 open, 2 half-open)")
+        .register(meterRegistry);
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /** Returns {@code true} if the caller may go to Redis now. */
+  public boolean tryAcquirePermission() {
+    if (state == State.CLOSED) {
+      return true;
+    }
+    synchronized (this) {
+      if (state == State.OPEN) {
+        if (clock.getAsLong() - openedAtNanos < openNanos) {
+          return false;
+        }
+        // The caller becomes the first probe
+        transitionTo(State.HALF_OPEN);
+      }
+      if (state == State.CLOSED) {
+        return true;
+      }
+      if (probesIssued >= halfOpenProbes) {
+        return false;
+      }
+      probesIssued++;
+      return true;
+    }
+  }
+
+  /** Records the outcome of a call that was granted permission. */
+  public synchronized void onResult(boolean success, long durationNanos) {
+    boolean slow = durationNanos >= slowCallNanos;
+    switch (state) {
+      case CLOSED -> {
+        record((byte) ((success ? 0 : FAILED) | (slow ? SLOW : 0)));
+        if (recorded >= minimumCalls
+            && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+          transitionTo(State.OPEN);
+        }
+      }
+      case HALF_OPEN -> {
+        if (!success || slow) {
+          transitionTo(State.OPEN);
+        } else if (++probesSucceeded >= halfOpenProbes) {
+          transitionTo(State.CLOSED);
+        }
+      }
+      default -> {
+        // Late result of a call started before the circuit opened
+      }
+    }
+  }
+
+  private void record(byte outcome) {
+    if (recorded == window.length) {
+      byte evicted = window[next];
+      failures -= evicted & FAILED;
+      slowCalls -= (evicted & SLOW) >> 1;
+    } else {
+      recorded++;
+    }
+    window[next] = outcome;
+    failures += outcome & FAILED;
+    slowCalls += (outcome & SLOW) >> 1;
+    next = (next + 1) % window.length;
+  }
+
+  private double failureRate() {
+    return (double) failures / recorded;
+  }
+
+  private double slowCallRate() {
+    return (double) slowCalls / recorded;
+  }
+
+  private void transitionTo(State target) {
+    State previous = state;
+    if (target == State.OPEN) {
+      log.warn(
+          "Rate limit Redis circuit {} -> OPEN: calls={}, failureRate={}, slowCallRate={}",
+          previous,
+          recorded,
+          recorded > 0 ? failureRate() : 0,
+          recorded > 0 ? slowCallRate() : 0);
+      openedAtNanos = clock.getAsLong();
+    } else {
+      log.warn("Rate limit Redis circuit {} -> {}", previous, target);
+    }
+    if (target != State.HALF_OPEN) {
+      resetWindow();
+    }
+    probesIssued = 0;
+    probesSucceeded = 0;
+    state = target;
+    Counter.builder("ratelimit.redis.circuit.transitions")
+        .tag("from", previous.name())
+        .tag("to", target.name())
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private void resetWindow() {
+    next = 0;
+    recorded = 0;
+    failures = 0;
+    slowCalls = 0;
+  }
+}
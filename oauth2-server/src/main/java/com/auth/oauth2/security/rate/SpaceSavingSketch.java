@@ -0,0 +1,141 @@
+package com.auth.oauth2.security.rate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitter summary (Metwally et al.) over at most {@code capacity} counters.
+ *
+ * <p>Every key whose true count exceeds {@code total / capacity} is guaranteed to be tracked. A
+ * tracked count may overestimate the true count by at most its {@code error}; a key that is not
+ * tracked occurred at most {@link Summary#floor()} times. Not thread-safe.
+ */
+public final class SpaceSavingSketch {
+
+  private static final Comparator<Counter> BY_COUNT =
+      Comparator.<Counter>comparingLong(counter -> counter.count)
+          .thenComparingLong(counter -> counter.sequence);
+
+  private final int capacity;
+  private final Map<String, Counter> counters;
+  private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+  private long sequence;
+  private long total;
+
+  SpaceSavingSketch(int capacity) {
+    this.capacity = capacity;
+    this.counters = new HashMap<>(capacity * 2);
+  }
+
+  void offer(String key) {
+    total++;
+    Counter counter = counters.get(key);
+    if (counter != null) {
+      byCount.remove(counter);
+      counter.count++;
+      byCount.add(counter);
+      return;
+    }
+    if (counters.size() < capacity) {
+      add(new Counter(key, 1, 0, sequence++));
+      return;
+    }
+    // Replace the smallest counter; the newcomer inherits its count as the error bound
+    Counter min = byCount.pollFirst();
+    counters.remove(min.key);
+    add(new Counter(key, min.count + 1, min.count, sequence++));
+  }
+
+  void clear() {
+    counters.clear();
+    byCount.clear();
+    total = 0;
+  }
+
+  Summary summary() {
+    List<HeavyHitter> entries = new ArrayList<>(counters.size());
+    for (Counter counter : byCount.descendingSet()) {
+      entries.add(new HeavyHitter(counter.key, counter.count, counter.error));
+    }
+    long floor = counters.size() < capacity ? 0 : byCount.first().count;
+    return new Summary(total, floor, entries);
+  }
+
+  private void add(Counter counter) {
+    counters.put(counter.key, counter);
+    byCount.add(counter);
+  }
+
+  /**
+   * Combines summaries of disjoint streams, such as the slots of a window or the reports of
+   * several nodes, into one summary of at most {@code capacity} entries with the same guarantees.
+   */
+  public static Summary merge(List<Summary> summaries, int capacity) {
+    Map<String, long[]> merged = new HashMap<>();
+    long total = 0;
+    long floors = 0;
+    for (Summary summary : summaries) {
+      total += summary.total();
+      floors += summary.floor();
+      for (HeavyHitter entry : summary.entries()) {
+        merged.putIfAbsent(entry.key(), new long[2]);
+      }
+    }
+    for (Summary summary : summaries) {
+      Map<String, HeavyHitter> present = new HashMap<>(summary.entries().size() * 2);
+      for (HeavyHitter entry : summary.entries()) {
+        present.put(entry.key(), entry);
+      }
+      for (Map.Entry<String, long[]> slot : merged.entrySet()) {
+        HeavyHitter entry = present.get(slot.getKey());
+        long[] countAndError = slot.getValue();
+        // A key missing from one summary may still have occurred up to that summary's floor
+        countAndError[0] += entry != null ? entry.count() : summary.floor();
+        countAndError[1] += entry != null ? entry.error() : summary.floor();
+      }
+    }
+
+    List<HeavyHitter> entries = new ArrayList<>(merged.size());
+    merged.forEach(
+        (key, countAndError) ->
+            entries.add(new HeavyHitter(key, countAndError[0], countAndError[1])));
+    entries.sort(Comparator.comparingLong(HeavyHitter::count).reversed());
+    if (entries.size() <= capacity) {
+      return new Summary(total, floors, entries);
+    }
+    long floor = Math.max(floors, entries.get(capacity).count());
+    return new Summary(total, floor, List.copyOf(entries.subList(0, capacity)));
+  }
+
+  /** One tracked key: {@code count - error <= true count <= count}. */
+  public record HeavyHitter(String key, long count, long error) {}
+
+  /**
+   * Entries ordered by count, highest first. {@code floor} bounds the count of any key that is not
+   * listed.
+   */
+  public record Summary(long total, long floor, List<HeavyHitter> entries) {
+
+    public Summary limit(int top) {
+      return entries.size() <= top ? this : new Summary(total, floor, entries.subList(0, top));
+    }
+  }
+
+  private static final class Counter {
+    private final String key;
+    private final long error;
+    private final long sequence;
+    private long count;
+
+    private Counter(String key, long count, long error, long sequence) {
+      this.key = key;
+      this.count = count;
+      this.error = error;
+      this.sequence = sequence;
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package com.auth.oauth2.security.shedding;
+
+import com.auth.oauth2.config.LoadSheddingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-wide concurrency limit that follows observed latency (gradient, Vegas-style).
+ *
+ * <p>Request latencies are averaged over {@code sample-window}. That short-term average is
+ * compared with a slow exponential average of the same samples; while the short term stays within
+ * {@code rtt-tolerance} of the long term the limit grows by {@code sqrt(limit)} per window, and
+ * once the backend slows down (say Postgres waits on locks) it shrinks in proportion to the
+ * slowdown. The new limit is smoothed and clamped to {@code [min-limit, max-limit]}. No latency
+ * target is configured: when the backend recovers, short-term latency drops back under the
+ * long-term average and the limit climbs again by itself.
+ *
+ * <p>The limit only grows while at least half of it is in use, so a quiet period does not leave an
+ * inflated limit behind. Windows with fewer than {@code min-samples} latencies are discarded
+ * without changing the limit.
+ *
+ * <p>Exported as {@code loadshedding.limit} and {@code loadshedding.in_flight} gauges and the
+ * {@code loadshedding.rejected} counter tagged by {@code priority}.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double smoothing;
+  private final double rttTolerance;
+  private final double longWindowWeight;
+  private final long sampleWindowNanos;
+  private final int minSamples;
+  private final Map<RequestPriority, Double> shares;
+  private final Map<RequestPriority, Counter> rejected;
+  private final LongSupplier clock;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private final AtomicReference<RttWindow> rtt = new AtomicReference<>(RttWindow.EMPTY);
+  private final AtomicBoolean updating = new AtomicBoolean();
+  private volatile long windowEnd;
+  private volatile double limit;
+  private double longRttNanos;
+
+  public AdaptiveConcurrencyLimiter(
+      LoadSheddingProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+    this.minLimit = properties.getMinLimit();
+    this.maxLimit = properties.getMaxLimit();
+    this.smoothing = properties.getSmoothing();
+    this.rttTolerance = properties.getRttTolerance();
+    this.longWindowWeight = 1.0 / properties.getLongWindow();
+    this.sampleWindowNanos = properties.getSampleWindow().toNanos();
+    this.minSamples = properties.getMinSamples();
+    this.clock = clock;
+    this.limit = properties.getInitialLimit();
+    this.windowEnd = clock.getAsLong() + sampleWindowNanos;
+
+    this.shares = new EnumMap<>(RequestPriority.class);
+    this.rejected = new EnumMap<>(RequestPriority.class);
+    for (RequestPriority priority : RequestPriority.values()) {
+      shares.put(priority, properties.getShares().getOrDefault(priority, 1.0));
+      rejected.put(
+          priority,
+          Counter.builder("loadshedding.rejected")
+              .description("Requests shed because the concurrency limit was reached")
+              .tag("priority", priority.name().toLowerCase())
+              .register(meterRegistry));
+    }
+    Gauge.builder("loadshedding.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+        .register(meterRegistry);
+    Gauge.builder("loadshedding.in_flight", inFlight, AtomicInteger::get)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Admits a request of the given priority if the in-flight count is below that priority's share
+   * of the limit. Every {@code true} must be paired with {@link #release}.
+   */
+  public boolean tryAcquire(RequestPriority priority) {
+    int allowed = Math.max(1, (int) (limit * shares.get(priority)));
+    while (true) {
+      int current = inFlight.get();
+      if (current >= allowed) {
+        rejected.get(priority).increment();
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        maxInFlight.accumulateAndGet(current + 1, Math::max);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Ends a request admitted by {@link #tryAcquire}. {@code rttNanos} feeds the limit unless it is
+   * negative, which callers use for requests whose latency says nothing about the backend.
+   */
+  public void release(long rttNanos) {
+    inFlight.decrementAndGet();
+    if (rttNanos >= 0) {
+      rtt.updateAndGet(window -> window.add(rttNanos));
+    }
+    long now = clock.getAsLong();
+    if (now - windowEnd >= 0 && updating.compareAndSet(false, true)) {
+      try {
+        updateLimit(now);
+      } finally {
+        updating.set(false);
+      }
+    }
+  }
+
+  public double getLimit() {
+    return limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  private void updateLimit(long now) {
+    // Every tick starts a new window, so sampled or not, the next update is a full window away
+    RttWindow window = rtt.getAndSet(RttWindow.EMPTY);
+    int peakInFlight = maxInFlight.getAndSet(inFlight.get());
+    windowEnd = now + sampleWindowNanos;
+    if (window.count() < minSamples) {
+      // Too few samples for a stable average
+      return;
+    }
+    double shortRtt = (double) window.sum() / window.count();
+
+    if (longRttNanos == 0) {
+      longRttNanos = shortRtt;
+    } else {
+      longRttNanos += (shortRtt - longRttNanos) * longWindowWeight;
+      if (longRttNanos > 2 * shortRtt) {
+        // Latency fell back after an overload: let the baseline follow faster than the average
+        longRttNanos *= 0.95;
+      }
+    }
+
+    double current = limit;
+    double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+    if (gradient == 1.0 && peakInFlight < current / 2) {
+      // Not using the limit we have: no evidence that a bigger one would be safe
+      return;
+    }
+    double target = current * gradient + Math.sqrt(current);
+    double next = Math.max(minLimit, Math.min(maxLimit, current + (target - current) * smoothing));
+    limit = next;
+    if ((int) next != (int) current) {
+      log.debug(
+          "Concurrency limit {} -> {} (rtt short={}us, long={}us)",
+          (int) current,
+          (int) next,
+          (long) (shortRtt / 1000),
+          (long) (longRttNanos / 1000));
+    }
+  }
+
+  /**
+   * Latencies of the current window. Sum and count change together in one compare-and-set, so an
+   * update never divides a sum by a count that misses or double-counts a sample.
+   */
+  private record RttWindow(long sum, long count) {
+
+    static final RttWindow EMPTY = new RttWindow(0, 0);
+
+    RttWindow add(long rttNanos) {
+      return new RttWindow(sum + rttNanos, count + 1);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.auth.oauth2.security.shedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * First filter of every request: admits it through {@link AdaptiveConcurrencyLimiter} by its
+ * {@link RequestPriority} or answers 503 straight away, before any security filter, session or
+ * database work.
+ *
+ * <p>Only the short, uniform requests on the token, introspection, revocation and login endpoints
+ * feed their latency to the limiter. Everything else is admitted the same way but not sampled: key
+ * set and discovery never touch the database and would dilute the signal, while bulk import, the
+ * replication feed and streamed batch introspection run for seconds by design and would read as
+ * a backend slowdown, collapsing the limit.
+ */
+@Slf4j
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+  private static final Set<String> SAMPLED_PATHS =
+      Set.of("/oauth2/token", "/oauth2/introspect", "/oauth2/revoke", "/login");
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final ObjectMapper objectMapper;
+
+  public LoadSheddingFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+    this.limiter = limiter;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    RequestPriority priority = RequestPriority.of(request);
+    if (!limiter.tryAcquire(priority)) {
+      log.debug("Shedding {} request: {}", priority, request.getRequestURI());
+      writeServiceUnavailable(response);
+      return;
+    }
+
+    boolean sampled = isSampled(request);
+    long start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      limiter.release(sampled ? System.nanoTime() - start : -1);
+    }
+  }
+
+  private static boolean isSampled(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return SAMPLED_PATHS.contains(path);
+  }
+
+  private void writeServiceUnavailable(HttpServletResponse response) throws IOException {
+    Map<String, Object> error = new LinkedHashMap<>();
+    error.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+    error.put("message", "Server is overloaded, please retry");
+    error.put("error", "SERVER_OVERLOADED");
+
+    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), error);
+  }
+}
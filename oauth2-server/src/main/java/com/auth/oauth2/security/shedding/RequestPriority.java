@@ -0,0 +1,45 @@
+package com.auth.oauth2.security.shedding;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Shedding order under overload, most important first. Each class may only start a request while
+ * the server-wide in-flight count is below its share of the adaptive limit, so lower classes are
+ * turned away first as the limit shrinks.
+ */
+public enum RequestPriority {
+  /** Key set and discovery: resource servers cannot verify any token without them. */
+  CRITICAL,
+  /**
+   * Token endpoint (refresh, code and token exchange), introspection (single and batch) and
+   * revocation.
+   */
+  HIGH,
+  /** Authorization, login, user info and the management API. */
+  NORMAL,
+  /**
+   * Signup, bulk import and the replication feed: can be retried later without breaking existing
+   * sessions.
+   */
+  LOW;
+
+  public static RequestPriority of(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    if (path.equals("/oauth2/jwks") || path.startsWith("/.well-known/")) {
+      return CRITICAL;
+    }
+    if (path.equals("/oauth2/token")
+        || path.equals("/oauth2/introspect")
+        || path.equals("/oauth2/introspect/batch")
+        || path.equals("/oauth2/revoke")) {
+      return HIGH;
+    }
+    if (path.equals("/signup")
+        || path.startsWith("/signup/")
+        || path.startsWith("/api/v1/admin/users/import")
+        || path.equals("/api/v1/users/changes")) {
+      return LOW;
+    }
+    return NORMAL;
+  }
+}
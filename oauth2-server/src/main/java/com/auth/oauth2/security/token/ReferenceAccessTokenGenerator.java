@@ -0,0 +1,70 @@
+package com.auth.oauth2.security.token;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.security.crypto.keygen.Base64StringKeyGenerator;
+import org.springframework.security.crypto.keygen.StringKeyGenerator;
+import org.springframework.security.oauth2.core.ClaimAccessor;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2AccessTokenGenerator;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenClaimsContext;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenContext;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenCustomizer;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenGenerator;
+
+/**
+ * Generates opaque access tokens for clients whose token settings ask for {@code reference}
+ * format. Claims are built and customized exactly as by {@link OAuth2AccessTokenGenerator} and
+ * kept in the authorization store, where introspection reads them; the token itself is only a
+ * random 256-bit handle of 43 characters instead of a signed JWT of about a kilobyte.
+ */
+public class ReferenceAccessTokenGenerator implements OAuth2TokenGenerator<OAuth2AccessToken> {
+
+  private static final int HANDLE_BYTES = 32;
+
+  private final OAuth2AccessTokenGenerator claimsGenerator = new OAuth2AccessTokenGenerator();
+  private final StringKeyGenerator handleGenerator =
+      new Base64StringKeyGenerator(Base64.getUrlEncoder().withoutPadding(), HANDLE_BYTES);
+
+  public ReferenceAccessTokenGenerator(
+      OAuth2TokenCustomizer<OAuth2TokenClaimsContext> accessTokenCustomizer) {
+    claimsGenerator.setAccessTokenCustomizer(accessTokenCustomizer);
+  }
+
+  @Override
+  public OAuth2AccessToken generate(OAuth2TokenContext context) {
+    // Returns null unless an access token in reference format is requested
+    OAuth2AccessToken generated = claimsGenerator.generate(context);
+    if (generated == null) {
+      return null;
+    }
+    return new ReferenceAccessToken(
+        handleGenerator.generateKey(),
+        generated,
+        ((ClaimAccessor) generated).getClaims());
+  }
+
+  /** Claims must be exposed so that they are stored with the authorization. */
+  private static final class ReferenceAccessToken extends OAuth2AccessToken
+      implements ClaimAccessor {
+
+    private final Map<String, Object> claims;
+
+    private ReferenceAccessToken(
+        String handle, OAuth2AccessToken generated, Map<String, Object> claims) {
+      super(
+          generated.getTokenType(),
+          handle,
+          generated.getIssuedAt(),
+          generated.getExpiresAt(),
+          Set.copyOf(generated.getScopes()));
+      this.claims = claims;
+    }
+
+    @Override
+    public Map<String, Object> getClaims() {
+      return claims;
+    }
+  }
+}
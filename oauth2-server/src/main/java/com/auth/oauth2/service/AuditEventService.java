@@ -0,0 +1,127 @@
+package com.auth.oauth2.service;
+
+import com.auth.oauth2.config.AuditProperties;
+import com.auth.oauth2.domain.dto.response.AuditEventPageResponse;
+import com.auth.oauth2.domain.dto.response.AuditEventResponse;
+import com.auth.oauth2.repository.AuditEventRepository;
+import com.auth.oauth2.security.audit.AuditEventType;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Searches the persisted audit trail and keeps its day tables rotated.
+ *
+ * <p>Results are newest first and paged with an opaque cursor holding the position of the last
+ * event returned ({@code <epoch micros>-<id>}). A query covers at most {@code
+ * audit.store.max-range}, so it never reads more than that many day tables.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditEventService {
+
+  private final AuditEventRepository auditEventRepository;
+  private final AuditProperties auditProperties;
+
+  public AuditEventPageResponse search(
+      @Nullable String principal,
+      @Nullable String clientId,
+      @Nullable AuditEventType type,
+      @Nullable Instant from,
+      @Nullable Instant to,
+      @Nullable String cursor,
+      @Nullable Integer limit) {
+    AuditProperties.Store store = auditProperties.getStore();
+    Instant until = to != null ? to : Instant.now();
+    Instant since = from != null ? from : until.minus(store.getDefaultLookback());
+    if (!since.isBefore(until)) {
+      throw new IllegalArgumentException("'from' must be before 'to'");
+    }
+    if (Duration.between(since, until).compareTo(store.getMaxRange()) > 0) {
+      throw new IllegalArgumentException(
+          "Time range must not exceed " + store.getMaxRange().toDays() + " days");
+    }
+    int size =
+        limit == null
+            ? store.getDefaultPageSize()
+            : Math.max(1, Math.min(limit, store.getMaxPageSize()));
+
+    List<AuditEventRepository.StoredAuditEvent> events =
+        auditEventRepository.find(
+            new AuditEventRepository.Criteria(
+                principal,
+                clientId,
+                type != null ? type.name() : null,
+                since,
+                until,
+                cursor != null ? parseCursor(cursor) : null),
+            size + 1);
+
+    boolean hasMore = events.size() > size;
+    if (hasMore) {
+      events = events.subList(0, size);
+    }
+    return AuditEventPageResponse.builder()
+        .events(events.stream().map(AuditEventService::toResponse).toList())
+        .nextCursor(hasMore ? formatCursor(events.get(events.size() - 1)) : null)
+        .hasMore(hasMore)
+        .build();
+  }
+
+  /**
+   * Creates today's and tomorrow's tables ahead of the first insert and drops tables older than
+   * {@code audit.store.retention-days}. Runs at startup and every {@code maintenance-interval}.
+   */
+  @Scheduled(fixedDelayString = "${audit.store.maintenance-interval:PT1H}")
+  public void maintainPartitions() {
+    if (!auditProperties.getStore().isEnabled()) {
+      return;
+    }
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    auditEventRepository.createPartition(today);
+    auditEventRepository.createPartition(today.plusDays(1));
+    int retentionDays = auditProperties.getStore().getRetentionDays();
+    int dropped = auditEventRepository.dropPartitionsBefore(today.minusDays(retentionDays));
+    if (dropped > 0) {
+      log.info("Dropped {} audit event tables older than {} days", dropped, retentionDays);
+    }
+  }
+
+  private static AuditEventRepository.Cursor parseCursor(String cursor) {
+    int separator = cursor.indexOf('-');
+    try {
+      long micros = Long.parseLong(cursor.substring(0, separator));
+      long id = Long.parseLong(cursor.substring(separator + 1));
+      Instant occurredAt =
+          Instant.ofEpochSecond(
+              Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+      return new AuditEventRepository.Cursor(occurredAt, id);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+  }
+
+  private static String formatCursor(AuditEventRepository.StoredAuditEvent event) {
+    Instant occurredAt = event.occurredAt();
+    long micros = occurredAt.getEpochSecond() * 1_000_000L + occurredAt.getNano() / 1_000;
+    return micros + "-" + event.id();
+  }
+
+  private static AuditEventResponse toResponse(AuditEventRepository.StoredAuditEvent event) {
+    return AuditEventResponse.builder()
+        .occurredAt(event.occurredAt())
+        .type(event.type())
+        .principal(event.principal())
+        .clientId(event.clientId())
+        .attributes(event.attributes())
+        .build();
+  }
+}
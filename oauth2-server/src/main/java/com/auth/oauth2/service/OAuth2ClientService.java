@@ -35,6 +35,8 @@ public class OAuth2ClientService {
             .enabled(true)
             .customAccessTokenTtlSeconds(request.getCustomAccessTokenTtlSeconds())
             .customRefreshTokenTtlSeconds(request.getCustomRefreshTokenTtlSeconds())
+            .maxConcurrentTokenRequests(request.getMaxConcurrentTokenRequests())
+            .referenceTokens(request.getReferenceTokens())
             .build();
 
     client = clientRepository.save(client);
@@ -74,6 +76,8 @@ public class OAuth2ClientService {
         .enabled(client.getEnabled())
         .customAccessTokenTtlSeconds(client.getCustomAccessTokenTtlSeconds())
         .customRefreshTokenTtlSeconds(client.getCustomRefreshTokenTtlSeconds())
+        .maxConcurrentTokenRequests(client.getMaxConcurrentTokenRequests())
+        .referenceTokens(client.getReferenceTokens())
         .createdAt(client.getCreatedAt())
         .updatedAt(client.getUpdatedAt())
         .build();
@@ -0,0 +1,161 @@
+package com.auth.oauth2.service;
+
+import com.auth.oauth2.repository.OAuth2AuthorizationBatchRepository;
+import com.auth.oauth2.security.introspection.LocalTokenVerifier;
+import com.auth.oauth2.security.introspection.ReferenceTokenStore;
+import java.net.URL;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.core.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.stereotype.Service;
+
+/**
+ * Introspects many tokens at once with the same answers as {@code /oauth2/introspect} (RFC 7662):
+ * a token is active while it is stored, not invalidated and not expired, and an active token is
+ * described by its claims plus {@code client_id}, {@code iat}, {@code exp} and, for access tokens,
+ * {@code token_type}. Everything else is reported as {@code {"active": false}} without saying why.
+ *
+ * <p>Access tokens are answered by {@link LocalTokenVerifier} when it can; only the rest are
+ * looked up in the store.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+  private static final Map<String, Object> INACTIVE =
+      Map.of(OAuth2TokenIntrospectionClaimNames.ACTIVE, false);
+
+  private final OAuth2AuthorizationBatchRepository authorizationRepository;
+  private final LocalTokenVerifier localTokenVerifier;
+  private final ReferenceTokenStore referenceTokenStore;
+
+  /**
+   * Answers access tokens issued by this server locally (see {@link LocalTokenVerifier}) and
+   * resolves all remaining tokens with one store lookup.
+   *
+   * @param tokenTypeHint {@code access_token} or {@code refresh_token} narrows the lookup; any
+   *     other value is ignored, as RFC 7662 allows
+   * @return one claim set per token, in the order of {@code tokens}
+   */
+  public List<Map<String, Object>> introspect(List<String> tokens, @Nullable String tokenTypeHint) {
+    List<Map<String, Object>> results = new ArrayList<>(tokens.size());
+    Set<String> unresolved = new LinkedHashSet<>();
+    for (String token : tokens) {
+      LocalTokenVerifier.Verification verification = localTokenVerifier.verify(token);
+      switch (verification.outcome()) {
+        case ACTIVE -> results.add(activeClaims(verification.claims()));
+        case INACTIVE -> results.add(INACTIVE);
+        case UNKNOWN -> {
+          results.add(null);
+          unresolved.add(token);
+        }
+      }
+    }
+    if (unresolved.isEmpty()) {
+      return results;
+    }
+
+    Map<String, OAuth2Authorization> authorizations =
+        authorizationRepository.findByTokenValues(unresolved, toTokenType(tokenTypeHint));
+    for (int i = 0; i < tokens.size(); i++) {
+      if (results.get(i) == null) {
+        results.set(i, storedClaims(tokens.get(i), authorizations.get(tokens.get(i))));
+      }
+    }
+    return results;
+  }
+
+  private Map<String, Object> storedClaims(
+      String token, @Nullable OAuth2Authorization authorization) {
+    OAuth2Authorization.Token<OAuth2Token> authorizedToken =
+        authorization != null ? authorization.getToken(token) : null;
+    if (authorizedToken == null || !authorizedToken.isActive()) {
+      return INACTIVE;
+    }
+    // Later introspections of the same reference token are answered from memory
+    referenceTokenStore.save(authorization);
+    return activeClaims(authorization, authorizedToken);
+  }
+
+  private static Map<String, Object> activeClaims(Map<String, Object> tokenClaims) {
+    Map<String, Object> claims = new LinkedHashMap<>();
+    claims.put(OAuth2TokenIntrospectionClaimNames.ACTIVE, true);
+    tokenClaims.forEach((name, value) -> claims.put(name, toJson(name, value)));
+    claims.put(
+        OAuth2TokenIntrospectionClaimNames.TOKEN_TYPE,
+        OAuth2AccessToken.TokenType.BEARER.getValue());
+    return claims;
+  }
+
+  private Map<String, Object> activeClaims(
+      OAuth2Authorization authorization, OAuth2Authorization.Token<OAuth2Token> authorizedToken) {
+    Map<String, Object> claims = new LinkedHashMap<>();
+    claims.put(OAuth2TokenIntrospectionClaimNames.ACTIVE, true);
+    if (authorizedToken.getClaims() != null) {
+      authorizedToken.getClaims().forEach((name, value) -> claims.put(name, toJson(name, value)));
+    }
+    claims.put(
+        OAuth2TokenIntrospectionClaimNames.CLIENT_ID,
+        authorizationRepository.clientIdOf(authorization));
+
+    OAuth2Token token = authorizedToken.getToken();
+    if (token.getIssuedAt() != null) {
+      claims.put(OAuth2TokenIntrospectionClaimNames.IAT, token.getIssuedAt().getEpochSecond());
+    }
+    if (token.getExpiresAt() != null) {
+      claims.put(OAuth2TokenIntrospectionClaimNames.EXP, token.getExpiresAt().getEpochSecond());
+    }
+    if (token instanceof OAuth2AccessToken accessToken) {
+      claims.put(
+          OAuth2TokenIntrospectionClaimNames.TOKEN_TYPE, accessToken.getTokenType().getValue());
+      if (!claims.containsKey(OAuth2TokenIntrospectionClaimNames.SCOPE)
+          && !accessToken.getScopes().isEmpty()) {
+        claims.put(
+            OAuth2TokenIntrospectionClaimNames.SCOPE, String.join(" ", accessToken.getScopes()));
+      }
+    }
+    return claims;
+  }
+
+  // Same JSON representation as Spring's OAuth2TokenIntrospectionHttpMessageConverter
+  private static Object toJson(String name, Object value) {
+    if (value instanceof Instant instant) {
+      return instant.getEpochSecond();
+    }
+    if (value instanceof URL url) {
+      return url.toExternalForm();
+    }
+    if (value instanceof Collection<?> values) {
+      if (OAuth2TokenIntrospectionClaimNames.SCOPE.equals(name)) {
+        List<String> scopes = new ArrayList<>(values.size());
+        values.forEach(scope -> scopes.add(String.valueOf(scope)));
+        return String.join(" ", scopes);
+      }
+      return List.copyOf(values);
+    }
+    return value;
+  }
+
+  @Nullable
+  private static OAuth2TokenType toTokenType(@Nullable String tokenTypeHint) {
+    if (OAuth2TokenType.ACCESS_TOKEN.getValue().equals(tokenTypeHint)) {
+      return OAuth2TokenType.ACCESS_TOKEN;
+    }
+    if (OAuth2TokenType.REFRESH_TOKEN.getValue().equals(tokenTypeHint)) {
+      return OAuth2TokenType.REFRESH_TOKEN;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,195 @@
+package com.auth.oauth2.service;
+
+import com.auth.oauth2.config.UserReplicationProperties;
+import com.auth.oauth2.domain.dto.response.UserChangeFeedResponse;
+import com.auth.oauth2.domain.dto.response.UserChangeResponse;
+import com.auth.oauth2.domain.entity.Role;
+import com.auth.oauth2.domain.entity.User;
+import com.auth.oauth2.domain.entity.UserChange;
+import com.auth.oauth2.domain.entity.UserChangeSequence;
+import com.auth.oauth2.domain.entity.UserChangeType;
+import com.auth.oauth2.repository.UserChangeRepository;
+import com.auth.oauth2.repository.UserChangeSequenceRepository;
+import com.auth.oauth2.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ordered stream of user changes for replicas such as resource-server.
+ *
+ * <p>Writers append to the {@code user_changes} outbox in the transaction that changes the user,
+ * so the stream never contains a change that was rolled back and never misses one that committed.
+ * Identity ids are taken before commit, so a slow transaction (a large import chunk, a lock wait)
+ * can commit a lower id after higher ones are already visible. The feed is therefore not paged by
+ * id: {@link #assignPositions} gives committed rows a gap-free stream position under a row lock,
+ * and consumers page by position with {@link #getChanges}, keeping the returned cursor as their
+ * checkpoint. A change that commits late simply gets a later position.
+ *
+ * <p>Remaining limits: changes reach the feed up to {@code sequence-interval} after commit; if
+ * sequencing fails the feed stalls until it recovers but loses nothing; changes of one user are in
+ * commit order only because writers take the user row lock before inserting the outbox row; and
+ * rows are purged after {@code user-replication.retention}, so consumers away longer than that
+ * miss changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserChangeService {
+
+  private final UserChangeRepository userChangeRepository;
+  private final UserChangeSequenceRepository userChangeSequenceRepository;
+  private final UserRepository userRepository;
+  private final UserReplicationProperties replicationProperties;
+  private final TransactionTemplate transactionTemplate;
+
+  /** Appends the user's current state. Must run in the transaction that changed the user. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(User user, UserChangeType type) {
+    userChangeRepository.save(toChange(user, type));
+  }
+
+  /**
+   * Returns up to {@code limit} changes positioned after the cursor, in stream order. Committed
+   * changes that have not been sequenced yet are not returned.
+   */
+  @Transactional(readOnly = true)
+  public UserChangeFeedResponse getChanges(long after, Integer limit) {
+    int size =
+        limit == null
+            ? replicationProperties.getDefaultBatchSize()
+            : Math.max(1, Math.min(limit, replicationProperties.getMaxBatchSize()));
+    List<UserChange> changes =
+        userChangeRepository.findByPositionGreaterThanOrderByPositionAsc(
+            after, Limit.of(size + 1));
+
+    boolean hasMore = changes.size() > size;
+    if (hasMore) {
+      changes = changes.subList(0, size);
+    }
+    long nextCursor = changes.isEmpty() ? after : changes.get(changes.size() - 1).getPosition();
+    return UserChangeFeedResponse.builder()
+        .changes(changes.stream().map(UserChangeService::toResponse).toList())
+        .nextCursor(nextCursor)
+        .hasMore(hasMore)
+        .build();
+  }
+
+  /**
+   * Writes a {@code CREATED} change for every existing user when the stream has never been
+   * written to, so that users created before the outbox existed are replicated too. Runs in
+   * keyset-paged transactions of {@code seed-batch-size} users, ahead of {@code DataInitializer}
+   * so that the default users are not mistaken for a populated stream.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void seedIfEmpty() {
+    if (userChangeRepository.existsByIdGreaterThan(0L)) {
+      return;
+    }
+    long lastUserId = 0;
+    long seeded = 0;
+    while (true) {
+      long from = lastUserId;
+      List<User> users =
+          transactionTemplate.execute(
+              status -> {
+                List<User> page =
+                    userRepository.findByIdGreaterThanOrderByIdAsc(
+                        from, Limit.of(replicationProperties.getSeedBatchSize()));
+                userChangeRepository.saveAll(
+                    page.stream().map(user -> toChange(user, UserChangeType.CREATED)).toList());
+                return page;
+              });
+      if (users.isEmpty()) {
+        break;
+      }
+      seeded += users.size();
+      lastUserId = users.get(users.size() - 1).getId();
+    }
+    if (seeded > 0) {
+      log.info("Seeded user change stream with {} existing users", seeded);
+    }
+  }
+
+  /**
+   * Positions all committed, unsequenced changes in id order, {@code sequence-batch-size} per
+   * transaction. Each transaction holds the {@link UserChangeSequence} row lock until it commits,
+   * so sequencing is serialized across instances and a reader never sees a position before all
+   * lower ones.
+   */
+  @Scheduled(fixedDelayString = "${user-replication.sequence-interval:PT1S}")
+  public void assignPositions() {
+    int batchSize = replicationProperties.getSequenceBatchSize();
+    int assigned;
+    do {
+      assigned = transactionTemplate.execute(status -> assignNextPositions(batchSize));
+    } while (assigned == batchSize);
+  }
+
+  private int assignNextPositions(int batchSize) {
+    UserChangeSequence sequence =
+        userChangeSequenceRepository
+            .findByIdForUpdate(UserChangeSequence.ID)
+            // First run: positions start at 1. Concurrent first runs fail on the primary key and
+            // the loser retries on its next run.
+            .orElseGet(
+                () ->
+                    userChangeSequenceRepository.saveAndFlush(
+                        new UserChangeSequence(UserChangeSequence.ID, 0L)));
+    List<UserChange> pending =
+        userChangeRepository.findByPositionIsNullOrderByIdAsc(Limit.of(batchSize));
+    for (UserChange change : pending) {
+      change.assignPosition(sequence.next());
+    }
+    return pending.size();
+  }
+
+  @Scheduled(fixedDelayString = "${user-replication.purge-interval:PT1H}")
+  @Transactional
+  public void purgeExpired() {
+    int purged =
+        userChangeRepository.deleteOlderThan(
+            LocalDateTime.now().minus(replicationProperties.getRetention()));
+    if (purged > 0) {
+      log.info(
+          "Purged {} user changes older than {}", purged, replicationProperties.getRetention());
+    }
+  }
+
+  private static UserChange toChange(User user, UserChangeType type) {
+    return UserChange.builder()
+        .userId(user.getId())
+        .email(user.getEmail())
+        .changeType(type)
+        .enabled(user.getEnabled())
+        .roles(user.getRoles().stream().map(Role::name).collect(Collectors.joining(",")))
+        .build();
+  }
+
+  private static UserChangeResponse toResponse(UserChange change) {
+    return UserChangeResponse.builder()
+        .id(change.getId())
+        .userId(change.getUserId())
+        .email(change.getEmail())
+        .type(change.getChangeType().name())
+        .enabled(change.getEnabled())
+        .roles(
+            change.getRoles().isEmpty() ? List.of() : Arrays.asList(change.getRoles().split(",")))
+        .occurredAt(change.getCreatedAt())
+        .build();
+  }
+}
@@ -0,0 +1,361 @@
+package com.auth.oauth2.service;
+
+import com.auth.oauth2.config.UserImportProperties;
+import com.auth.oauth2.domain.dto.response.UserImportResponse;
+import com.auth.oauth2.domain.entity.User;
+import com.auth.oauth2.domain.entity.UserImportJob;
+import com.auth.oauth2.exception.UserImportException;
+import com.auth.oauth2.exception.UserImportFormatMismatchException;
+import com.auth.oauth2.exception.UserImportJobNotFoundException;
+import com.auth.oauth2.repository.UserBatchRepository;
+import com.auth.oauth2.repository.UserBatchRepository.NewUser;
+import com.auth.oauth2.repository.UserImportJobRepository;
+import com.auth.oauth2.service.imports.UserImportFormat;
+import com.auth.oauth2.service.imports.UserImportReader;
+import com.auth.oauth2.service.imports.UserImportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams users from CSV or JSON Lines into the {@code users} table.
+ *
+ * <p>Input is consumed in batches of {@code user-import.batch-size} records: passwords of a batch
+ * are BCrypt-hashed in parallel, the batch is written with one JDBC batch and the job checkpoint is
+ * advanced in the same transaction. Memory use is bounded by the batch size and the de-duplication
+ * window, independent of the input size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+  private final UserBatchRepository userBatchRepository;
+  private final UserImportJobRepository jobRepository;
+  private final UserImportProperties importProperties;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Qualifier("userPasswordEncoder")
+  private final PasswordEncoder userPasswordEncoder;
+
+  // Runs imports started over HTTP one at a time; each import hashes on its own pool
+  private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+
+  /**
+   * Imports users from the given stream. When {@code resumeJobId} is set, records up to that job's
+   * checkpoint are skipped and the job continues where it stopped.
+   */
+  public UserImportResponse importUsers(
+      InputStream inputStream, UserImportFormat format, String source, String resumeJobId) {
+    UserImportJob job = startOrResume(format, source, resumeJobId);
+    return run(job, inputStream, format);
+  }
+
+  /**
+   * Starts an import in the background and returns its job, still {@code RUNNING}. The body is
+   * spooled to a temporary file first because the request stream is closed once the response is
+   * sent; progress is then read with {@link #getJob(String)}.
+   */
+  public UserImportResponse startImport(
+      InputStream inputStream, UserImportFormat format, String source, String resumeJobId) {
+    UserImportJob job = startOrResume(format, source, resumeJobId);
+    Path spool;
+    try {
+      spool = Files.createTempFile("user-import-", ".tmp");
+      Files.copy(inputStream, spool, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      markFailed(job.getId(), e);
+      throw new UserImportException("Could not buffer import body for jobId=" + job.getId(), e);
+    }
+
+    // Taken before the import thread starts updating the job
+    UserImportResponse started = toResponse(job);
+    importExecutor.execute(
+        () -> {
+          try (InputStream spooled = Files.newInputStream(spool)) {
+            run(job, spooled, format);
+          } catch (IOException e) {
+            markFailed(job.getId(), e);
+            log.error("User import could not read its buffered body: jobId={}", job.getId(), e);
+          } catch (UserImportException e) {
+            // Already logged and recorded on the job
+          } finally {
+            deleteSpool(spool);
+          }
+        });
+    return started;
+  }
+
+  public UserImportResponse getJob(String jobId) {
+    return jobRepository
+        .findById(jobId)
+        .map(this::toResponse)
+        .orElseThrow(() -> new UserImportJobNotFoundException("Import job not found: " + jobId));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    // An interrupted import is left FAILED at its last checkpoint and can be resumed
+    importExecutor.shutdownNow();
+  }
+
+  private UserImportResponse run(
+      UserImportJob job, InputStream inputStream, UserImportFormat format) {
+    long checkpoint = job.getRecordsProcessed();
+    int batchSize = Math.max(1, importProperties.getBatchSize());
+    Set<String> recentEmails = newDedupeWindow(importProperties.getDedupeWindow());
+
+    log.info(
+        "User import started: jobId={}, source={}, format={}, resumeFrom={}",
+        job.getId(),
+        job.getSource(),
+        format,
+        checkpoint);
+
+    ExecutorService hashingPool =
+        Executors.newFixedThreadPool(Math.max(1, importProperties.getHashParallelism()));
+    try (UserImportReader reader = format.open(inputStream, objectMapper)) {
+      List<UserImportRecord> batch = new ArrayList<>(batchSize);
+      UserImportRecord record;
+      while ((record = reader.next()) != null) {
+        if (record.ordinal() <= checkpoint) {
+          continue;
+        }
+        batch.add(record);
+        if (batch.size() >= batchSize) {
+          job = writeBatch(job, batch, recentEmails, hashingPool);
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        job = writeBatch(job, batch, recentEmails, hashingPool);
+      }
+
+      job.setStatus(UserImportJob.Status.COMPLETED);
+      job = jobRepository.save(job);
+      log.info(
+          "User import completed: jobId={}, records={}, imported={}, duplicates={}, failed={}",
+          job.getId(),
+          job.getRecordsProcessed(),
+          job.getImported(),
+          job.getDuplicates(),
+          job.getFailed());
+      return toResponse(job);
+    } catch (IOException | RuntimeException e) {
+      UserImportJob failedJob = markFailed(job.getId(), e);
+      log.error(
+          "User import failed: jobId={}, checkpoint={}",
+          job.getId(),
+          failedJob.getRecordsProcessed(),
+          e);
+      throw new UserImportException(
+          "User import interrupted after record "
+              + failedJob.getRecordsProcessed()
+              + "; resume with jobId="
+              + failedJob.getId(),
+          e);
+    } finally {
+      hashingPool.shutdownNow();
+    }
+  }
+
+  private UserImportJob startOrResume(UserImportFormat format, String source, String resumeJobId) {
+    if (resumeJobId != null && !resumeJobId.isBlank()) {
+      UserImportJob job =
+          jobRepository
+              .findById(resumeJobId)
+              .orElseThrow(
+                  () -> new UserImportJobNotFoundException("Import job not found: " + resumeJobId));
+      if (!job.getFormat().equals(format.name())) {
+        throw new UserImportFormatMismatchException(
+            "Import job was started with format " + job.getFormat());
+      }
+      job.setStatus(UserImportJob.Status.RUNNING);
+      job.setLastError(null);
+      return jobRepository.save(job);
+    }
+
+    UserImportJob job =
+        UserImportJob.builder()
+            .id(UUID.randomUUID().toString())
+            .source(source)
+            .format(format.name())
+            .status(UserImportJob.Status.RUNNING)
+            .build();
+    return jobRepository.save(job);
+  }
+
+  private UserImportJob writeBatch(
+      UserImportJob job,
+      List<UserImportRecord> batch,
+      Set<String> recentEmails,
+      ExecutorService hashingPool) {
+    long failed = 0;
+    long duplicates = 0;
+    List<UserImportRecord> accepted = new ArrayList<>(batch.size());
+    for (UserImportRecord record : batch) {
+      if (!record.isValid()) {
+        failed++;
+        log.debug(
+            "User import record rejected: jobId={}, record={}, reason={}",
+            job.getId(),
+            record.ordinal(),
+            record.error());
+      } else if (!recentEmails.add(User.normalizeEmail(record.email()))) {
+        duplicates++;
+      } else {
+        accepted.add(record);
+      }
+    }
+
+    List<NewUser> users = encodePasswords(accepted, hashingPool);
+    long lastOrdinal = batch.get(batch.size() - 1).ordinal();
+    long invalid = failed;
+    long duplicatesInFile = duplicates;
+
+    try {
+      return transactionTemplate.execute(
+          status -> {
+            int inserted = count(userBatchRepository.insertIfAbsent(users));
+            return advance(
+                job, lastOrdinal, inserted, duplicatesInFile + users.size() - inserted, invalid);
+          });
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent signup took one of the emails between NOT EXISTS and the insert.
+      // Rows are idempotent, so retrying them one by one is safe.
+      log.warn(
+          "User import batch conflicted with concurrent writes, retrying row by row: jobId={}",
+          job.getId());
+      int inserted = 0;
+      for (NewUser user : users) {
+        try {
+          Boolean rowInserted =
+              transactionTemplate.execute(
+                  status -> userBatchRepository.insertIfAbsent(List.of(user))[0]);
+          if (Boolean.TRUE.equals(rowInserted)) {
+            inserted++;
+          }
+        } catch (DataIntegrityViolationException ignored) {
+          // Lost the race for this email; counted as a duplicate below
+        }
+      }
+      int rowsInserted = inserted;
+      return transactionTemplate.execute(
+          status ->
+              advance(
+                  job,
+                  lastOrdinal,
+                  rowsInserted,
+                  duplicatesInFile + users.size() - rowsInserted,
+                  invalid));
+    }
+  }
+
+  private List<NewUser> encodePasswords(
+      List<UserImportRecord> records, ExecutorService hashingPool) {
+    List<CompletableFuture<NewUser>> futures = new ArrayList<>(records.size());
+    for (UserImportRecord record : records) {
+      if (record.passwordHashed()) {
+        futures.add(
+            CompletableFuture.completedFuture(new NewUser(record.email(), record.password())));
+      } else {
+        futures.add(
+            CompletableFuture.supplyAsync(
+                () -> new NewUser(record.email(), userPasswordEncoder.encode(record.password())),
+                hashingPool));
+      }
+    }
+
+    List<NewUser> users = new ArrayList<>(futures.size());
+    for (CompletableFuture<NewUser> future : futures) {
+      users.add(future.join());
+    }
+    return users;
+  }
+
+  private UserImportJob advance(
+      UserImportJob job, long lastOrdinal, long imported, long duplicates, long failed) {
+    job.setRecordsProcessed(lastOrdinal);
+    job.setImported(job.getImported() + imported);
+    job.setDuplicates(job.getDuplicates() + duplicates);
+    job.setFailed(job.getFailed() + failed);
+    return jobRepository.save(job);
+  }
+
+  private UserImportJob markFailed(String jobId, Exception cause) {
+    // Reload so that counters reflect the last committed checkpoint only
+    UserImportJob job =
+        jobRepository.findById(jobId).orElseThrow(() -> new IllegalStateException(cause));
+    job.setStatus(UserImportJob.Status.FAILED);
+    String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+    job.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+    return jobRepository.save(job);
+  }
+
+  private static void deleteSpool(Path spool) {
+    try {
+      Files.deleteIfExists(spool);
+    } catch (IOException e) {
+      log.warn("Could not delete user import spool file {}", spool, e);
+    }
+  }
+
+  private static int count(boolean[] flags) {
+    int count = 0;
+    for (boolean flag : flags) {
+      if (flag) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static Set<String> newDedupeWindow(int capacity) {
+    // Insertion-ordered and bounded: duplicates further apart than the window are caught by the
+    // NOT EXISTS guard of the insert instead
+    return Collections.newSetFromMap(
+        new LinkedHashMap<String, Boolean>() {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > capacity;
+          }
+        });
+  }
+
+  private UserImportResponse toResponse(UserImportJob job) {
+    return UserImportResponse.builder()
+        .jobId(job.getId())
+        .status(job.getStatus().name())
+        .format(job.getFormat())
+        .recordsProcessed(job.getRecordsProcessed())
+        .imported(job.getImported())
+        .duplicates(job.getDuplicates())
+        .failed(job.getFailed())
+        .lastError(job.getLastError())
+        .createdAt(job.getCreatedAt())
+        .updatedAt(job.getUpdatedAt())
+        .build();
+  }
+}
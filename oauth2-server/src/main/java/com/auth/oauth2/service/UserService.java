@@ -4,29 +4,42 @@ import com.auth.oauth2.domain.dto.request.SignupRequest;
 import com.auth.oauth2.domain.entity.OAuth2Client;
 import com.auth.oauth2.domain.entity.Role;
 import com.auth.oauth2.domain.entity.User;
+import com.auth.oauth2.domain.entity.UserChangeType;
+import com.auth.oauth2.exception.DuplicateEmailException;
+import com.auth.oauth2.exception.UserNotFoundException;
 import com.auth.oauth2.repository.OAuth2ClientRepository;
 import com.auth.oauth2.repository.UserRepository;
+import java.sql.SQLException;
 import java.util.Collections;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+  private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
   private final UserRepository userRepository;
   private final OAuth2ClientRepository clientRepository;
-  // Create BCryptPasswordEncoder directly instead of registering as bean to avoid bean conflicts
-  private final BCryptPasswordEncoder userPasswordEncoder = new BCryptPasswordEncoder();
+  private final UserChangeService userChangeService;
+  private final TransactionTemplate transactionTemplate;
 
-  @Transactional
-  public User signup(SignupRequest request) {
-    if (userRepository.existsByEmail(request.getEmail())) {
-      throw new RuntimeException("Email already exists");
-    }
+  @Qualifier("userPasswordEncoder")
+  private final PasswordEncoder userPasswordEncoder;
 
+  /**
+   * Creates a user with a single insert. Email uniqueness is enforced by the unique constraint on
+   * {@code users.normalized_email} instead of a pre-check, so there is no race window between check
+   * and insert. Password hashing runs before any transaction is opened so that no connection is
+   * held while BCrypt works.
+   */
+  public User signup(SignupRequest request) {
     // Validate redirect_uri (if clientId is provided)
     if (request.getClientId() != null
         && !request.getClientId().isBlank()
@@ -48,7 +61,45 @@ public class UserService {
             .credentialsNonExpired(true)
             .build();
 
-    return userRepository.save(user);
+    try {
+      // A short transaction around the insert and its outbox row; saveAndFlush surfaces the
+      // constraint violation here rather than at commit
+      return transactionTemplate.execute(
+          status -> {
+            User saved = userRepository.saveAndFlush(user);
+            userChangeService.record(saved, UserChangeType.CREATED);
+            return saved;
+          });
+    } catch (DataIntegrityViolationException e) {
+      // normalized_email is the only unique key besides the primary key; the lookup is a fallback
+      // for drivers that do not report the standard SQLState and only runs on the failure path
+      if (isUniqueViolation(e) || userRepository.existsByEmail(request.getEmail())) {
+        throw new DuplicateEmailException("Email already exists");
+      }
+      throw e;
+    }
+  }
+
+  /** Enables or disables a user and publishes the change to replicas. */
+  @Transactional
+  public User setEnabled(Long userId, boolean enabled) {
+    User user =
+        userRepository
+            .findById(userId)
+            .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
+    if (user.getEnabled() != enabled) {
+      user.updateEnabled(enabled);
+      // Take the user row lock before the outbox id, so that concurrent changes of this user get
+      // ids, and therefore stream positions, in commit order
+      userRepository.flush();
+      userChangeService.record(user, enabled ? UserChangeType.UPDATED : UserChangeType.DISABLED);
+    }
+    return user;
+  }
+
+  private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+    return e.getMostSpecificCause() instanceof SQLException sqlException
+        && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState());
   }
 
   private void validateRedirectUri(String redirectUri, String clientId) {
@@ -0,0 +1,119 @@
+package com.auth.oauth2.service.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads users from CSV with a header row. Recognised columns are {@code email}, {@code password}
+ * and {@code password_hash}; any other column is ignored. Double-quoted fields with {@code ""}
+ * escapes are supported, multi-line fields are not.
+ */
+public class CsvUserImportReader implements UserImportReader {
+
+  private final BufferedReader reader;
+  private int emailColumn = -1;
+  private int passwordColumn = -1;
+  private int passwordHashColumn = -1;
+  private long ordinal;
+
+  public CsvUserImportReader(BufferedReader reader) throws IOException {
+    this.reader = reader;
+    readHeader();
+  }
+
+  private void readHeader() throws IOException {
+    String header = reader.readLine();
+    if (header == null) {
+      return;
+    }
+    // Strip a UTF-8 BOM left behind by spreadsheet exports
+    if (!header.isEmpty() && header.charAt(0) == '\uFEFF') {
+      header = header.substring(1);
+    }
+    List<String> columns = split(header);
+    for (int i = 0; i < columns.size(); i++) {
+      switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+        case "email" -> emailColumn = i;
+        case "password" -> passwordColumn = i;
+        case "password_hash", "passwordhash" -> passwordHashColumn = i;
+        default -> {}
+      }
+    }
+    if (emailColumn < 0) {
+      throw new IllegalArgumentException("CSV header must contain an 'email' column");
+    }
+    if (passwordColumn < 0 && passwordHashColumn < 0) {
+      throw new IllegalArgumentException(
+          "CSV header must contain a 'password' or 'password_hash' column");
+    }
+  }
+
+  @Override
+  public UserImportRecord next() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+    } while (line.isBlank());
+
+    ordinal++;
+    List<String> fields;
+    try {
+      fields = split(line);
+    } catch (IllegalArgumentException e) {
+      return UserImportRecord.invalid(ordinal, e.getMessage());
+    }
+    return UserImportRecord.of(
+        ordinal,
+        field(fields, emailColumn),
+        field(fields, passwordColumn),
+        field(fields, passwordHashColumn));
+  }
+
+  private static String field(List<String> fields, int column) {
+    return column >= 0 && column < fields.size() ? fields.get(column) : null;
+  }
+
+  static List<String> split(String line) {
+    List<String> fields = new ArrayList<>(4);
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"') {
+          if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+            current.append('"');
+            i++;
+          } else {
+            quoted = false;
+          }
+        } else {
+          current.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("unterminated quoted field");
+    }
+    fields.add(current.toString());
+    return fields;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,61 @@
+package com.auth.oauth2.service.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads users from JSON Lines, one object per line, e.g. {@code {"email": "...", "password":
+ * "..."}} or {@code {"email": "...", "passwordHash": "$2a$10$..."}}.
+ */
+public class JsonLinesUserImportReader implements UserImportReader {
+
+  private final BufferedReader reader;
+  private final ObjectMapper objectMapper;
+  private long ordinal;
+
+  public JsonLinesUserImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+    this.reader = reader;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public UserImportRecord next() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+    } while (line.isBlank());
+
+    ordinal++;
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(line);
+    } catch (JsonProcessingException e) {
+      return UserImportRecord.invalid(ordinal, "malformed JSON");
+    }
+    if (node == null || !node.isObject()) {
+      return UserImportRecord.invalid(ordinal, "line is not a JSON object");
+    }
+
+    String hash = text(node, "passwordHash");
+    if (hash == null) {
+      hash = text(node, "password_hash");
+    }
+    return UserImportRecord.of(ordinal, text(node, "email"), text(node, "password"), hash);
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value != null && value.isTextual() ? value.asText() : null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
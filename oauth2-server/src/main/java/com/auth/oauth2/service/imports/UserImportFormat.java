@@ -0,0 +1,47 @@
+package com.auth.oauth2.service.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum UserImportFormat {
+  CSV,
+  JSONL;
+
+  public UserImportReader open(InputStream inputStream, ObjectMapper objectMapper)
+      throws IOException {
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    return switch (this) {
+      case CSV -> new CsvUserImportReader(reader);
+      case JSONL -> new JsonLinesUserImportReader(reader, objectMapper);
+    };
+  }
+
+  /**
+   * Resolves the format from an explicit name, falling back to a content type or file name hint.
+   */
+  public static UserImportFormat resolve(String format, String hint) {
+    if (format != null && !format.isBlank()) {
+      return switch (format.trim().toLowerCase(Locale.ROOT)) {
+        case "csv" -> CSV;
+        case "jsonl", "ndjson" -> JSONL;
+        default -> throw new IllegalArgumentException("Unsupported import format: " + format);
+      };
+    }
+    if (hint != null) {
+      String lowerHint = hint.toLowerCase(Locale.ROOT);
+      if (lowerHint.contains("ndjson") || lowerHint.contains("jsonl")) {
+        return JSONL;
+      }
+      if (lowerHint.contains("csv")) {
+        return CSV;
+      }
+    }
+    throw new IllegalArgumentException("Import format must be 'csv' or 'jsonl'");
+  }
+}
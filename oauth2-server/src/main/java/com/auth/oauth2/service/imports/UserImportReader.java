@@ -0,0 +1,14 @@
+package com.auth.oauth2.service.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streaming source of {@link UserImportRecord}s. Implementations read one line at a time so the
+ * memory footprint does not depend on the size of the input.
+ */
+public interface UserImportReader extends Closeable {
+
+  /** Returns the next record, or {@code null} once the input is exhausted. */
+  UserImportRecord next() throws IOException;
+}
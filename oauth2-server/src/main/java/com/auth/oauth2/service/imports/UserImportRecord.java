@@ -0,0 +1,63 @@
+package com.auth.oauth2.service.imports;
+
+import java.util.regex.Pattern;
+
+/**
+ * A single user parsed from an import file.
+ *
+ * <p>{@code ordinal} is the 1-based position of the record in the input (header excluded) and is
+ * what import checkpoints are expressed in. When {@code error} is non-null the record could not be
+ * parsed or validated and is counted as failed.
+ */
+public record UserImportRecord(
+    long ordinal, String email, String password, boolean passwordHashed, String error) {
+
+  private static final Pattern BCRYPT_HASH =
+      Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+  private static final int MAX_EMAIL_LENGTH = 100;
+  private static final int MIN_PASSWORD_LENGTH = 8;
+
+  public static UserImportRecord of(long ordinal, String email, String password, String hash) {
+    if (email == null || email.isBlank()) {
+      return invalid(ordinal, "email is required");
+    }
+    String trimmedEmail = email.trim();
+    if (trimmedEmail.length() > MAX_EMAIL_LENGTH || trimmedEmail.indexOf('@') <= 0) {
+      return invalid(ordinal, "email is not valid");
+    }
+
+    if (hash != null && !hash.isBlank()) {
+      if (!BCRYPT_HASH.matcher(hash).matches()) {
+        return invalid(ordinal, "password_hash is not a BCrypt hash");
+      }
+      return new UserImportRecord(ordinal, trimmedEmail, hash, true, null);
+    }
+
+    if (password == null || password.isEmpty()) {
+      return invalid(ordinal, "password or password_hash is required");
+    }
+    // Pre-hashed passwords are sometimes exported into the plain password column
+    if (BCRYPT_HASH.matcher(password).matches()) {
+      return new UserImportRecord(ordinal, trimmedEmail, password, true, null);
+    }
+    if (password.length() < MIN_PASSWORD_LENGTH) {
+      return invalid(ordinal, "password must be at least " + MIN_PASSWORD_LENGTH + " characters");
+    }
+    return new UserImportRecord(ordinal, trimmedEmail, password, false, null);
+  }
+
+  public static UserImportRecord invalid(long ordinal, String error) {
+    return new UserImportRecord(ordinal, null, null, false, error);
+  }
+
+  public boolean isValid() {
+    return error == null;
+  }
+
+  @Override
+  public String toString() {
+    // Never print the password column
+    return "UserImportRecord[ordinal=" + ordinal + ", email=" + email + ", error=" + error + "]";
+  }
+}
@@ -0,0 +1,90 @@
+package com.auth.oauth2.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+// DDL commits implicitly, so the test-managed transaction is disabled
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("NormalizedEmailMigration tests")
+class NormalizedEmailMigrationTest {
+
+  private static final String INSERT_USER_SQL =
+      "INSERT INTO users (email, normalized_email, password, enabled, account_non_expired,"
+          + " account_non_locked, credentials_non_expired, created_at, updated_at)"
+          + " VALUES (?, ?, 'hash', TRUE, TRUE, TRUE, TRUE, ?, ?)";
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private NormalizedEmailMigration migration;
+
+  @BeforeEach
+  void setUp() {
+    // Not a bean in this slice, so the table starts out like one created before the column
+    migration = new NormalizedEmailMigration(jdbcTemplate);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM users");
+    jdbcTemplate.execute("DROP INDEX IF EXISTS " + NormalizedEmailMigration.UNIQUE_INDEX);
+    jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN normalized_email SET NULL");
+  }
+
+  @Test
+  @DisplayName("migrate: 기존 사용자의 정규화 이메일을 채운 뒤 NOT NULL과 유일 인덱스를 적용")
+  void migrate_shouldBackfillThenEnforceConstraints() {
+    // given
+    insertUser(" Alice@Example.com", null);
+    insertUser("bob@example.com", null);
+    insertUser("carol@example.com", "carol@example.com");
+
+    // when
+    migration.migrate();
+    migration.migrate();
+
+    // then
+    List<String> normalized =
+        jdbcTemplate.queryForList("SELECT normalized_email FROM users ORDER BY id", String.class);
+    assertThat(normalized)
+        .containsExactly("alice@example.com", "bob@example.com", "carol@example.com");
+    assertThatThrownBy(() -> insertUser("dave@example.com", null))
+        .isInstanceOf(DataIntegrityViolationException.class);
+    assertThatThrownBy(() -> insertUser("BOB@example.com", "bob@example.com"))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  @DisplayName("migrate: 대소문자만 다른 중복 이메일이 있으면 제약을 걸지 않고 시작 실패")
+  void migrate_shouldFailOnCaseInsensitiveDuplicates() {
+    // given
+    insertUser("alice@example.com", null);
+    insertUser("ALICE@example.com", null);
+
+    // when & then
+    assertThatThrownBy(() -> migration.migrate())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageStartingWith("1 emails");
+    // The column was left nullable
+    insertUser("eve@example.com", null);
+  }
+
+  private void insertUser(String email, String normalizedEmail) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.update(INSERT_USER_SQL, email, normalizedEmail, now, now);
+  }
+}
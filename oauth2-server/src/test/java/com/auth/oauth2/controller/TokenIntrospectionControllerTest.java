@@ -0,0 +1,99 @@
+package com.auth.oauth2.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.auth.oauth2.config.IntrospectionProperties;
+import com.auth.oauth2.config.SecurityConfig;
+import com.auth.oauth2.domain.dto.request.BatchIntrospectionRequest;
+import com.auth.oauth2.service.TokenIntrospectionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+@WebMvcTest(controllers = TokenIntrospectionController.class)
+@Import({TokenIntrospectionControllerTest.BatchSecurityConfig.class, IntrospectionProperties.class})
+@DisplayName("TokenIntrospectionController tests")
+class TokenIntrospectionControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @MockBean private TokenIntrospectionService tokenIntrospectionService;
+  @MockBean private RegisteredClientRepository registeredClientRepository;
+
+  // Only the batch endpoint's chain; the other chains need the authorization server's beans
+  @TestConfiguration
+  static class BatchSecurityConfig {
+    @Bean
+    SecurityFilterChain batchIntrospectionSecurityFilterChain(
+        HttpSecurity http, RegisteredClientRepository registeredClientRepository)
+        throws Exception {
+      return new SecurityConfig()
+          .batchIntrospectionSecurityFilterChain(http, registeredClientRepository);
+    }
+  }
+
+  @Test
+  @DisplayName("POST /oauth2/introspect/batch: 토큰마다 요청 순서대로 결과 반환")
+  void introspect_shouldReturnResultsInRequestOrder() throws Exception {
+    // given
+    given(tokenIntrospectionService.introspect(List.of("a", "b"), null))
+        .willReturn(List.of(Map.of("active", true), Map.of("active", false)));
+
+    // when & then
+    mockMvc
+        .perform(batch(List.of("a", "b")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.results[0].active").value(true))
+        .andExpect(jsonPath("$.results[1].active").value(false));
+  }
+
+  @Test
+  @DisplayName("POST /oauth2/introspect/batch: 비어 있거나 null인 토큰은 조회 없이 400")
+  void introspect_shouldRejectBlankTokens() throws Exception {
+    // when & then
+    mockMvc.perform(batch(Arrays.asList("a", null))).andExpect(status().isBadRequest());
+    mockMvc.perform(batch(Arrays.asList("a", " "))).andExpect(status().isBadRequest());
+    then(tokenIntrospectionService).should(never()).introspect(any(), any());
+  }
+
+  @Test
+  @DisplayName("POST /oauth2/introspect/batch: 상한을 넘는 토큰 수는 조회 없이 400")
+  void introspect_shouldRejectTooManyTokens() throws Exception {
+    // given
+    List<String> tokens = Collections.nCopies(BatchIntrospectionRequest.MAX_TOKENS + 1, "t");
+
+    // when & then
+    mockMvc.perform(batch(tokens)).andExpect(status().isBadRequest());
+    then(tokenIntrospectionService).should(never()).introspect(any(), any());
+  }
+
+  private RequestBuilder batch(List<String> tokens) throws Exception {
+    return post("/oauth2/introspect/batch")
+        .with(user("gateway").roles("CLIENT"))
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(Map.of("tokens", tokens)));
+  }
+}
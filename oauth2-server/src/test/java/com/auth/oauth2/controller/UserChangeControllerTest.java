@@ -0,0 +1,109 @@
+package com.auth.oauth2.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.auth.oauth2.config.SecurityConfig;
+import com.auth.oauth2.domain.dto.response.UserChangeFeedResponse;
+import com.auth.oauth2.domain.dto.response.UserChangeResponse;
+import com.auth.oauth2.service.UserChangeService;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = UserChangeController.class)
+@Import(UserChangeControllerTest.FeedSecurityConfig.class)
+@DisplayName("UserChangeController tests")
+class UserChangeControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private UserChangeService userChangeService;
+  @MockBean private JwtDecoder jwtDecoder;
+
+  // Only the feed's chain; the other chains need the authorization server's beans
+  @TestConfiguration
+  static class FeedSecurityConfig {
+    @Bean
+    SecurityFilterChain userChangeFeedSecurityFilterChain(HttpSecurity http) throws Exception {
+      return new SecurityConfig().userChangeFeedSecurityFilterChain(http);
+    }
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/users/changes: users.read 스코프 토큰이면 변경 목록 반환")
+  void getChanges_shouldReturnFeedForUsersReadScope() throws Exception {
+    // given
+    given(userChangeService.getChanges(42L, 100))
+        .willReturn(
+            UserChangeFeedResponse.builder()
+                .changes(
+                    List.of(
+                        UserChangeResponse.builder()
+                            .id(7L)
+                            .userId(1L)
+                            .email("alice@example.com")
+                            .type("DISABLED")
+                            .enabled(false)
+                            .roles(List.of("ROLE_USER"))
+                            .build()))
+                .nextCursor(43L)
+                .hasMore(false)
+                .build());
+
+    // when & then
+    mockMvc
+        .perform(
+            get("/api/v1/users/changes")
+                .param("after", "42")
+                .param("limit", "100")
+                .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_users.read"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changes[0].email").value("alice@example.com"))
+        .andExpect(jsonPath("$.changes[0].type").value("DISABLED"))
+        .andExpect(jsonPath("$.nextCursor").value(43))
+        .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/users/changes: users.read 스코프가 없는 토큰은 403")
+  void getChanges_shouldRejectTokenWithoutUsersReadScope() throws Exception {
+    // when & then
+    mockMvc
+        .perform(
+            get("/api/v1/users/changes")
+                .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_profile"))))
+        .andExpect(status().isForbidden());
+
+    then(userChangeService).should(never()).getChanges(anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/users/changes: 토큰이 없으면 401")
+  void getChanges_shouldRequireBearerToken() throws Exception {
+    // when & then
+    mockMvc
+        .perform(get("/api/v1/users/changes"))
+        .andExpect(status().isUnauthorized())
+        .andExpect(header().exists("WWW-Authenticate"));
+
+    then(userChangeService).should(never()).getChanges(anyLong(), any());
+  }
+}
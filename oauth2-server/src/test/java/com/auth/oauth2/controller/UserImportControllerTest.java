@@ -0,0 +1,84 @@
+package com.auth.oauth2.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.auth.oauth2.domain.dto.response.UserImportResponse;
+import com.auth.oauth2.exception.UserImportFormatMismatchException;
+import com.auth.oauth2.exception.UserImportJobNotFoundException;
+import com.auth.oauth2.service.UserImportService;
+import com.auth.oauth2.service.imports.UserImportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(
+    controllers = UserImportController.class,
+    excludeAutoConfiguration = {SecurityAutoConfiguration.class})
+@DisplayName("UserImportController tests")
+class UserImportControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private UserImportService userImportService;
+
+  @Test
+  @DisplayName("POST /api/v1/admin/users/import: 가져오기를 시작하고 202와 작업 ID 반환")
+  void importUsers_shouldAcceptAndReturnJobId() throws Exception {
+    // given
+    given(userImportService.startImport(any(), eq(UserImportFormat.CSV), eq("api"), isNull()))
+        .willReturn(UserImportResponse.builder().jobId("job-1").status("RUNNING").build());
+
+    // when & then
+    mockMvc
+        .perform(
+            post("/api/v1/admin/users/import")
+                .param("format", "csv")
+                .content("email,password\na@example.com,secret\n"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.jobId").value("job-1"))
+        .andExpect(jsonPath("$.status").value("RUNNING"));
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/admin/users/import: 다른 형식으로 시작된 작업을 이어받으면 409")
+  void importUsers_shouldReturnConflictForFormatMismatch() throws Exception {
+    // given
+    given(userImportService.startImport(any(), any(), any(), eq("job-1")))
+        .willThrow(
+            new UserImportFormatMismatchException("Import job was started with format JSONL"));
+
+    // when & then
+    mockMvc
+        .perform(
+            post("/api/v1/admin/users/import")
+                .param("format", "csv")
+                .param("jobId", "job-1")
+                .content("email,password\n"))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.error").value("IMPORT_FORMAT_MISMATCH"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/admin/users/import/{jobId}: 없는 작업은 404")
+  void getJob_shouldReturnNotFoundForUnknownJob() throws Exception {
+    // given
+    given(userImportService.getJob("missing"))
+        .willThrow(new UserImportJobNotFoundException("Import job not found: missing"));
+
+    // when & then
+    mockMvc
+        .perform(get("/api/v1/admin/users/import/missing"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error").value("IMPORT_JOB_NOT_FOUND"));
+  }
+}
@@ -39,6 +39,23 @@ class GlobalExceptionHandlerTest {
     assertThat(response.getBody().get("error")).isEqualTo("RATE_LIMIT_EXCEEDED");
   }
 
+  @Test
+  @DisplayName("handleDuplicateEmailException: 중복 이메일 예외는 409 반환")
+  void handleDuplicateEmailException_shouldReturnConflictResponse() {
+    // given
+    var exception = new DuplicateEmailException("Email already exists");
+
+    // when
+    var response = exceptionHandler.handleDuplicateEmailException(exception);
+
+    // then
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    assertThat(response.getBody()).isNotNull();
+    assertThat(response.getBody().get("status")).isEqualTo(HttpStatus.CONFLICT.value());
+    assertThat(response.getBody().get("message")).isEqualTo("Email already exists");
+    assertThat(response.getBody().get("error")).isEqualTo("DUPLICATE_EMAIL");
+  }
+
   @Test
   @DisplayName("handleRuntimeException: 런타임 예외 처리")
   void handleRuntimeException_shouldReturnBadRequestResponse() {
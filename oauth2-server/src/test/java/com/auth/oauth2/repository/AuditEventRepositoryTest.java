@@ -0,0 +1,118 @@
+package com.auth.oauth2.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.security.audit.AuditEvent;
+import com.auth.oauth2.security.audit.AuditEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@JdbcTest
+@DisplayName("AuditEventRepository tests")
+class AuditEventRepositoryTest {
+
+  private static final Instant DAY_ONE = Instant.parse("2026-10-01T10:00:00Z");
+  private static final Instant DAY_TWO = Instant.parse("2026-10-02T10:00:00Z");
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private AuditEventRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new AuditEventRepository(jdbcTemplate, new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    repository.dropPartitionsBefore(LocalDate.of(9999, 1, 1));
+  }
+
+  @Test
+  @DisplayName("insert: 이벤트 날짜별 테이블에 저장")
+  void insert_shouldWriteOneTablePerDay() {
+    // when
+    repository.insert(
+        List.of(event(DAY_ONE, "alice"), event(DAY_TWO, "alice"), event(DAY_TWO, "bob")));
+
+    // then
+    assertThat(repository.partitions())
+        .containsExactly(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 2));
+  }
+
+  @Test
+  @DisplayName("find: 주체별 최신순 조회를 커서로 여러 날에 걸쳐 페이지네이션")
+  void find_shouldPageNewestFirstAcrossDays() {
+    // given
+    List<AuditEvent> events = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      events.add(event(DAY_ONE.plusSeconds(i), "alice"));
+      events.add(event(DAY_TWO.plusSeconds(i), "alice"));
+      events.add(event(DAY_TWO.plusSeconds(i), "bob"));
+    }
+    repository.insert(events);
+    Instant from = DAY_ONE.truncatedTo(ChronoUnit.DAYS);
+    Instant to = DAY_TWO.plus(1, ChronoUnit.DAYS);
+
+    // when
+    List<AuditEventRepository.StoredAuditEvent> firstPage =
+        repository.find(new AuditEventRepository.Criteria("alice", null, null, from, to, null), 4);
+    AuditEventRepository.StoredAuditEvent last = firstPage.get(firstPage.size() - 1);
+    List<AuditEventRepository.StoredAuditEvent> secondPage =
+        repository.find(
+            new AuditEventRepository.Criteria(
+                "alice",
+                null,
+                null,
+                from,
+                to,
+                new AuditEventRepository.Cursor(last.occurredAt(), last.id())),
+            4);
+
+    // then
+    assertThat(firstPage)
+        .extracting(AuditEventRepository.StoredAuditEvent::occurredAt)
+        .containsExactly(
+            DAY_TWO.plusSeconds(2), DAY_TWO.plusSeconds(1), DAY_TWO, DAY_ONE.plusSeconds(2));
+    assertThat(secondPage)
+        .extracting(AuditEventRepository.StoredAuditEvent::occurredAt)
+        .containsExactly(DAY_ONE.plusSeconds(1), DAY_ONE);
+    assertThat(firstPage.get(0).principal()).isEqualTo("alice");
+    assertThat(firstPage.get(0).attributes()).containsEntry("access_token", "true");
+  }
+
+  @Test
+  @DisplayName("dropPartitionsBefore: 보존 기간이 지난 날짜 테이블만 삭제")
+  void dropPartitionsBefore_shouldDropOnlyExpiredDays() {
+    // given
+    repository.insert(List.of(event(DAY_ONE, "alice"), event(DAY_TWO, "alice")));
+
+    // when
+    int dropped = repository.dropPartitionsBefore(LocalDate.of(2026, 10, 2));
+
+    // then
+    assertThat(dropped).isEqualTo(1);
+    assertThat(repository.partitions()).containsExactly(LocalDate.of(2026, 10, 2));
+  }
+
+  private static AuditEvent event(Instant timestamp, String principal) {
+    return new AuditEvent(
+        timestamp,
+        AuditEventType.TOKEN_ISSUED,
+        principal,
+        "client-1",
+        Map.of("access_token", true));
+  }
+}
@@ -51,7 +51,7 @@ class UserDetailsServiceImplTest {
   void shouldLoadUserDetailsByUsername() {
     // given
     var email = "test@example.com";
-    given(userRepository.findByEmail(email)).willReturn(Optional.of(testUser));
+    given(userRepository.findByNormalizedEmail(email)).willReturn(Optional.of(testUser));
 
     // when
     var userDetails = userDetailsService.loadUserByUsername(email);
@@ -69,12 +69,27 @@ class UserDetailsServiceImplTest {
     assertThat(userDetails.isCredentialsNonExpired()).isTrue();
   }
 
+  @Test
+  @DisplayName("loadUserByUsername: 대소문자와 공백이 다른 이메일도 정규화된 값으로 조회")
+  void shouldLoadUserDetailsByNormalizedEmail() {
+    // given
+    given(userRepository.findByNormalizedEmail("test@example.com"))
+        .willReturn(Optional.of(testUser));
+
+    // when
+    var userDetails = userDetailsService.loadUserByUsername("  Test@Example.COM ");
+
+    // then
+    assertThat(userDetails.getUsername()).isEqualTo("test@example.com");
+    then(userRepository).should(never()).findByEmail(anyString());
+  }
+
   @Test
   @DisplayName("인증 실패: 사용자를 찾을 수 없음")
   void shouldThrowExceptionWhenUserNotFound() {
     // given
     var email = "nonexistent@example.com";
-    given(userRepository.findByEmail(email)).willReturn(Optional.empty());
+    given(userRepository.findByNormalizedEmail(email)).willReturn(Optional.empty());
 
     // when & then
     assertThatThrownBy(() -> userDetailsService.loadUserByUsername(email))
@@ -98,7 +113,8 @@ class UserDetailsServiceImplTest {
             .credentialsNonExpired(true)
             .build();
 
-    given(userRepository.findByEmail("admin@example.com")).willReturn(Optional.of(multiRoleUser));
+    given(userRepository.findByNormalizedEmail("admin@example.com"))
+        .willReturn(Optional.of(multiRoleUser));
 
     // when
     var userDetails = userDetailsService.loadUserByUsername("admin@example.com");
@@ -125,7 +141,8 @@ class UserDetailsServiceImplTest {
             .credentialsNonExpired(true)
             .build();
 
-    given(userRepository.findByEmail("disabled@example.com")).willReturn(Optional.of(disabledUser));
+    given(userRepository.findByNormalizedEmail("disabled@example.com"))
+        .willReturn(Optional.of(disabledUser));
 
     // when
     var userDetails = userDetailsService.loadUserByUsername("disabled@example.com");
@@ -150,7 +167,8 @@ class UserDetailsServiceImplTest {
             .credentialsNonExpired(true)
             .build();
 
-    given(userRepository.findByEmail("expired@example.com")).willReturn(Optional.of(expiredUser));
+    given(userRepository.findByNormalizedEmail("expired@example.com"))
+        .willReturn(Optional.of(expiredUser));
 
     // when
     var userDetails = userDetailsService.loadUserByUsername("expired@example.com");
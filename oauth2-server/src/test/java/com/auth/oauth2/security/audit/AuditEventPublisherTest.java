@@ -0,0 +1,161 @@
+package com.auth.oauth2.security.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.config.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AuditEventPublisher tests")
+class AuditEventPublisherTest {
+
+  private AuditProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private List<AuditEvent> written;
+
+  @BeforeEach
+  void setUp() {
+    properties = new AuditProperties();
+    properties.setBufferSize(4);
+    properties.setBatchSize(3);
+    meterRegistry = new SimpleMeterRegistry();
+    written = new ArrayList<>();
+  }
+
+  @Test
+  @DisplayName("drain: 발행 순서대로 batch-size 단위로 싱크에 전달")
+  void drain_shouldWriteEventsInOrderAndInBatches() {
+    // given
+    AuditEventPublisher publisher = publisher(written::addAll);
+    for (int i = 0; i < 4; i++) {
+      publisher.publish(event("user" + i));
+    }
+
+    // when
+    int first = publisher.drain();
+    int second = publisher.drain();
+    int third = publisher.drain();
+
+    // then
+    assertThat(List.of(first, second, third)).containsExactly(3, 1, 0);
+    assertThat(written)
+        .extracting(AuditEvent::principal)
+        .containsExactly("user0", "user1", "user2", "user3");
+    assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("publish: 버퍼가 가득 차면 DROP_NEWEST는 새 이벤트를 버림")
+  void publish_shouldDropIncomingEventWhenFull() {
+    // given
+    AuditEventPublisher publisher = publisher(written::addAll);
+    for (int i = 0; i < 5; i++) {
+      publisher.publish(event("user" + i));
+    }
+
+    // when
+    drainAll(publisher);
+
+    // then
+    assertThat(written)
+        .extracting(AuditEvent::principal)
+        .containsExactly("user0", "user1", "user2", "user3");
+    assertThat(meterRegistry.get("audit.events.dropped").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("publish: 버퍼가 가득 차면 DROP_OLDEST는 가장 오래된 이벤트를 버림")
+  void publish_shouldDropOldestEventWhenFull() {
+    // given
+    properties.setOverflowPolicy(AuditEventPublisher.OverflowPolicy.DROP_OLDEST);
+    AuditEventPublisher publisher = publisher(written::addAll);
+    for (int i = 0; i < 5; i++) {
+      publisher.publish(event("user" + i));
+    }
+
+    // when
+    drainAll(publisher);
+
+    // then
+    assertThat(written)
+        .extracting(AuditEvent::principal)
+        .containsExactly("user1", "user2", "user3", "user4");
+    assertThat(meterRegistry.get("audit.events.dropped").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("drain: 실패한 싱크는 다른 싱크의 기록을 막지 않음")
+  void drain_shouldKeepWritingWhenOneSinkFails() {
+    // given
+    AuditEventSink failing =
+        batch -> {
+          throw new IllegalStateException("database down");
+        };
+    AuditEventPublisher publisher =
+        new AuditEventPublisher(properties, List.of(failing, written::addAll), meterRegistry);
+    publisher.publish(event("user"));
+
+    // when
+    publisher.drain();
+
+    // then
+    assertThat(written).hasSize(1);
+    assertThat(meterRegistry.get("audit.sink.errors").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("start/stop: 종료 시 남은 이벤트를 모두 기록")
+  void stop_shouldWriteQueuedEvents() {
+    // given
+    List<AuditEvent> concurrent = Collections.synchronizedList(new ArrayList<>());
+    AuditEventPublisher publisher = publisher(concurrent::addAll);
+    publisher.start();
+    publisher.publish(event("user0"));
+    publisher.publish(event("user1"));
+
+    // when
+    publisher.stop();
+
+    // then
+    assertThat(concurrent).extracting(AuditEvent::principal).containsExactly("user0", "user1");
+    assertThat(publisher.isRunning()).isFalse();
+  }
+
+  @Test
+  @DisplayName("format: 기존 audit 로그 라인 형식 유지, 속성은 넘긴 순서대로 기록")
+  void format_shouldKeepLogLineFormat() {
+    // given
+    AuditEvent event =
+        AuditEvent.of(
+            AuditEventType.TOKEN_ISSUED,
+            "user@example.com",
+            "client-1",
+            AuditEvent.attributes("refresh_token", false, "access_token", true));
+
+    // when
+    String line = LoggingAuditEventSink.format(event);
+
+    // then
+    assertThat(line)
+        .isEqualTo(
+            "audit.token.issued principal=user@example.com client_id=client-1"
+                + " refresh_token=false access_token=true");
+  }
+
+  private AuditEventPublisher publisher(AuditEventSink sink) {
+    return new AuditEventPublisher(properties, List.of(sink), meterRegistry);
+  }
+
+  private static void drainAll(AuditEventPublisher publisher) {
+    while (publisher.drain() > 0) {}
+  }
+
+  private static AuditEvent event(String principal) {
+    return AuditEvent.of(AuditEventType.AUTH_SUCCESS, principal, null);
+  }
+}
@@ -0,0 +1,241 @@
+package com.auth.oauth2.security.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.config.TokenBulkheadProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
+
+@DisplayName("ClientBulkheads tests")
+class ClientBulkheadsTest {
+
+  private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+  private final AtomicLong clock = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private ClientBulkheads bulkheads;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    bulkheads = new ClientBulkheads(properties(), meterRegistry, clock::get);
+  }
+
+  private static TokenBulkheadProperties properties() {
+    TokenBulkheadProperties properties = new TokenBulkheadProperties();
+    properties.setDefaultMaxConcurrentRequests(3);
+    properties.setQueueTimeout(Duration.ofMillis(10));
+    properties.setIdleTimeout(IDLE_TIMEOUT);
+    return properties;
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private static RegisteredClient client(String clientId, Integer maxConcurrentRequests) {
+    ClientSettings.Builder settings = ClientSettings.builder();
+    if (maxConcurrentRequests != null) {
+      settings.setting(ClientBulkheads.MAX_CONCURRENT_REQUESTS, maxConcurrentRequests);
+    }
+    return RegisteredClient.withId("1")
+        .clientId(clientId)
+        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+        .clientSettings(settings.build())
+        .build();
+  }
+
+  @Test
+  @DisplayName("forClient: 클라이언트 설정값, 없으면 기본값으로 한도 설정")
+  void forClient_shouldUseClientSettingOrDefault() {
+    // when & then
+    assertThat(bulkheads.forClient(client("batch", 1)).limit()).isEqualTo(1);
+    assertThat(bulkheads.forClient(client("web", null)).limit()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("forClient: 변경된 한도를 다음 요청부터 같은 bulkhead에 반영")
+  void forClient_shouldResizeOnChangedLimit() {
+    // given
+    ClientBulkheads.Bulkhead bulkhead = bulkheads.forClient(client("batch", 1));
+    assertThat(bulkheads.tryAcquire(bulkhead)).isTrue();
+
+    // when
+    ClientBulkheads.Bulkhead resized = bulkheads.forClient(client("batch", 2));
+
+    // then
+    assertThat(resized).isSameAs(bulkhead);
+    assertThat(resized.limit()).isEqualTo(2);
+    assertThat(bulkheads.tryAcquire(resized)).isTrue();
+    assertThat(bulkheads.tryAcquire(resized)).isFalse();
+  }
+
+  @Test
+  @DisplayName("tryAcquire: 한도만큼 처리 중이면 대기 시간 후 거부하고 메트릭 기록")
+  void tryAcquire_shouldRejectWhenSaturated() {
+    // given
+    ClientBulkheads.Bulkhead bulkhead = bulkheads.forClient(client("batch", 2));
+
+    // when
+    boolean first = bulkheads.tryAcquire(bulkhead);
+    boolean second = bulkheads.tryAcquire(bulkhead);
+    boolean third = bulkheads.tryAcquire(bulkhead);
+
+    // then
+    assertThat(first).isTrue();
+    assertThat(second).isTrue();
+    assertThat(third).isFalse();
+    assertThat(bulkhead.active()).isEqualTo(2);
+    assertThat(
+            meterRegistry
+                .get("oauth2.token.bulkhead.rejected")
+                .tag("client", "batch")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+    assertThat(
+            meterRegistry
+                .get("oauth2.token.bulkhead.active")
+                .tag("client", "batch")
+                .gauge()
+                .value())
+        .isEqualTo(2.0);
+
+    bulkhead.release();
+    assertThat(bulkheads.tryAcquire(bulkhead)).isTrue();
+  }
+
+  @Test
+  @DisplayName("evictIdle: 유휴 bulkhead는 메트릭과 함께 제거하고 처리 중인 bulkhead는 유지")
+  void evictIdle_shouldRemoveIdleBulkheadsWithTheirMeters() {
+    // given
+    ClientBulkheads.Bulkhead idle = bulkheads.forClient(client("deleted", null));
+    ClientBulkheads.Bulkhead busy = bulkheads.forClient(client("batch", null));
+    assertThat(bulkheads.tryAcquire(busy)).isTrue();
+    clock.addAndGet(IDLE_TIMEOUT.toNanos());
+
+    // when
+    bulkheads.evictIdle();
+
+    // then
+    assertThat(
+            meterRegistry.find("oauth2.token.bulkhead.active").tag("client", "deleted").meters())
+        .isEmpty();
+    assertThat(
+            meterRegistry.find("oauth2.token.bulkhead.rejected").tag("client", "deleted").meters())
+        .isEmpty();
+    assertThat(
+            meterRegistry.find("oauth2.token.bulkhead.active").tag("client", "batch").meters())
+        .hasSize(1);
+    assertThat(bulkheads.forClient(client("deleted", null))).isNotSameAs(idle);
+    assertThat(bulkheads.forClient(client("batch", null))).isSameAs(busy);
+  }
+
+  @Test
+  @DisplayName("forClient: 사용 시각을 기록하기 직전에 제거된 bulkhead는 반환하지 않고 새로 생성")
+  void forClient_shouldNotReturnBulkheadEvictedConcurrently() {
+    // given
+    AtomicReference<ClientBulkheads> racing = new AtomicReference<>();
+    AtomicBoolean evictOnNextRead = new AtomicBoolean();
+    racing.set(
+        new ClientBulkheads(
+            properties(),
+            meterRegistry,
+            () -> {
+              if (evictOnNextRead.getAndSet(false)) {
+                // Eviction runs between the map lookup and the lastUsed update
+                clock.addAndGet(IDLE_TIMEOUT.toNanos());
+                racing.get().evictIdle();
+              }
+              return clock.get();
+            }));
+    ClientBulkheads.Bulkhead idle = racing.get().forClient(client("batch", null));
+    evictOnNextRead.set(true);
+
+    // when
+    ClientBulkheads.Bulkhead bulkhead = racing.get().forClient(client("batch", null));
+
+    // then
+    assertThat(bulkhead).isNotSameAs(idle);
+    assertThat(racing.get().forClient(client("batch", null))).isSameAs(bulkhead);
+    assertThat(
+            meterRegistry.find("oauth2.token.bulkhead.active").tag("client", "batch").meters())
+        .hasSize(1);
+  }
+
+  @Test
+  @DisplayName("filter: 인증되지 않은 client_id는 bulkhead를 만들거나 점유하지 않음")
+  void filter_shouldBypassUnauthenticatedRequests() throws Exception {
+    // given
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/oauth2/token");
+    request.setParameter("client_id", "victim");
+    MockFilterChain chain = new MockFilterChain();
+
+    // when
+    filter().doFilter(request, new MockHttpServletResponse(), chain);
+
+    // then
+    assertThat(chain.getRequest()).isNotNull();
+    assertThat(meterRegistry.find("oauth2.token.bulkhead.active").gauges()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("filter: 인증된 클라이언트의 요청은 처리하는 동안 슬롯을 점유")
+  void filter_shouldHoldSlotOfAuthenticatedClient() throws Exception {
+    // given
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new OAuth2ClientAuthenticationToken(
+                client("batch", 2), ClientAuthenticationMethod.CLIENT_SECRET_BASIC, "secret"));
+    AtomicLong activeDuringChain = new AtomicLong(-1);
+    FilterChain chain =
+        (request, response) ->
+            activeDuringChain.set(
+                (long)
+                    meterRegistry
+                        .get("oauth2.token.bulkhead.active")
+                        .tag("client", "batch")
+                        .gauge()
+                        .value());
+
+    // when
+    filter()
+        .doFilter(
+            new MockHttpServletRequest("POST", "/oauth2/token"),
+            new MockHttpServletResponse(),
+            chain);
+
+    // then
+    assertThat(activeDuringChain.get()).isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("oauth2.token.bulkhead.active")
+                .tag("client", "batch")
+                .gauge()
+                .value())
+        .isZero();
+  }
+
+  private TokenEndpointBulkheadFilter filter() {
+    return new TokenEndpointBulkheadFilter(bulkheads, new ObjectMapper());
+  }
+}
@@ -0,0 +1,178 @@
+package com.auth.oauth2.security.introspection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+import com.auth.oauth2.config.IntrospectionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LocalTokenVerifier tests")
+class LocalTokenVerifierTest {
+
+  private static final String TOKEN = "header.payload.signature";
+
+  @Mock private JwtDecoder jwtDecoder;
+
+  private TokenRevocationRegistry revocationRegistry;
+  private ReferenceTokenStore referenceTokenStore;
+  private LocalTokenVerifier verifier;
+  private Instant issuedAt;
+
+  @BeforeEach
+  void setUp() {
+    revocationRegistry =
+        new TokenRevocationRegistry(new IntrospectionProperties.LocalVerification(), null);
+    referenceTokenStore = new ReferenceTokenStore(1_000, null, "test");
+    verifier =
+        new LocalTokenVerifier(
+            jwtDecoder, revocationRegistry, referenceTokenStore, true, new SimpleMeterRegistry());
+    revocationRegistry.startTrusting();
+    issuedAt = Instant.now().plusSeconds(1);
+  }
+
+  @Test
+  @DisplayName("verify: 서명이 유효하고 폐기되지 않은 JWT는 저장소 없이 활성")
+  void verify_shouldReturnActiveForValidUnrevokedJwt() {
+    // given
+    given(jwtDecoder.decode(TOKEN)).willReturn(jwt("jti-1", issuedAt));
+
+    // when
+    LocalTokenVerifier.Verification verification = verifier.verify(TOKEN);
+
+    // then
+    assertThat(verification.outcome()).isEqualTo(LocalTokenVerifier.Outcome.ACTIVE);
+    assertThat(verification.claims())
+        .containsEntry("jti", "jti-1")
+        .containsEntry("client_id", "gateway");
+  }
+
+  @Test
+  @DisplayName("verify: 폐기된 access token의 jti는 비활성")
+  void verify_shouldReturnInactiveForRevokedJwt() {
+    // given
+    given(jwtDecoder.decode(TOKEN)).willReturn(jwt("jti-1", issuedAt));
+    revocationRegistry.revoke(storedAccessToken("jti-1"));
+
+    // when & then
+    assertThat(verifier.verify(TOKEN).outcome()).isEqualTo(LocalTokenVerifier.Outcome.INACTIVE);
+  }
+
+  @Test
+  @DisplayName("verify: 만료된 JWT는 저장소 조회 없이 비활성")
+  void verify_shouldReturnInactiveForExpiredJwt() {
+    // given
+    given(jwtDecoder.decode(TOKEN))
+        .willThrow(
+            new JwtValidationException("expired", List.of(new OAuth2Error("invalid_token"))));
+
+    // when & then
+    assertThat(verifier.verify(TOKEN).outcome()).isEqualTo(LocalTokenVerifier.Outcome.INACTIVE);
+  }
+
+  @Test
+  @DisplayName("verify: 메모리에 있는 reference token은 저장소 없이 활성, 폐기 후에는 저장소로 위임")
+  void verify_shouldAnswerKnownReferenceTokensFromMemory() {
+    // given
+    OAuth2Authorization authorization = referenceAuthorization("opaque-handle");
+    referenceTokenStore.save(authorization);
+
+    // when
+    LocalTokenVerifier.Verification verification = verifier.verify("opaque-handle");
+
+    // then
+    assertThat(verification.outcome()).isEqualTo(LocalTokenVerifier.Outcome.ACTIVE);
+    assertThat(verification.claims())
+        .containsEntry("client_id", "gateway")
+        .containsEntry("sub", "user@example.com")
+        .containsEntry("username", "user")
+        .containsEntry("scope", List.of("read"));
+    then(jwtDecoder).shouldHaveNoInteractions();
+
+    referenceTokenStore.remove(authorization.getAccessToken());
+    assertThat(verifier.verify("opaque-handle").outcome())
+        .isEqualTo(LocalTokenVerifier.Outcome.UNKNOWN);
+  }
+
+  @Test
+  @DisplayName("verify: 불투명 토큰, 알 수 없는 키, 기동 전 발급 토큰은 저장소로 위임")
+  void verify_shouldReturnUnknownWhenStoreMustDecide() {
+    // given
+    given(jwtDecoder.decode("unknown.kid.token")).willThrow(new BadJwtException("unknown kid"));
+    given(jwtDecoder.decode(TOKEN)).willReturn(jwt("jti-1", Instant.now().minusSeconds(60)));
+
+    // when & then
+    assertThat(verifier.verify("opaque-handle").outcome())
+        .isEqualTo(LocalTokenVerifier.Outcome.UNKNOWN);
+    assertThat(verifier.verify("unknown.kid.token").outcome())
+        .isEqualTo(LocalTokenVerifier.Outcome.UNKNOWN);
+    assertThat(verifier.verify(TOKEN).outcome()).isEqualTo(LocalTokenVerifier.Outcome.UNKNOWN);
+    then(jwtDecoder).should(never()).decode("opaque-handle");
+  }
+
+  private static Jwt jwt(String jti, Instant issuedAt) {
+    return Jwt.withTokenValue(TOKEN)
+        .header("alg", "RS256")
+        .jti(jti)
+        .subject("user@example.com")
+        .audience(List.of("gateway"))
+        .issuedAt(issuedAt)
+        .expiresAt(issuedAt.plusSeconds(300))
+        .build();
+  }
+
+  private static OAuth2Authorization.Token<OAuth2AccessToken> storedAccessToken(String jti) {
+    return authorization(TOKEN, Map.of("jti", jti)).getAccessToken();
+  }
+
+  private static OAuth2Authorization referenceAuthorization(String handle) {
+    return authorization(
+        handle,
+        Map.of(
+            "sub", "user@example.com",
+            "aud", List.of("gateway"),
+            "username", "user"));
+  }
+
+  private static OAuth2Authorization authorization(String tokenValue, Map<String, Object> claims) {
+    Instant now = Instant.now();
+    OAuth2AccessToken accessToken =
+        new OAuth2AccessToken(
+            OAuth2AccessToken.TokenType.BEARER,
+            tokenValue,
+            now,
+            now.plusSeconds(300),
+            Set.of("read"));
+    RegisteredClient client =
+        RegisteredClient.withId("1")
+            .clientId("gateway")
+            .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+            .build();
+    return OAuth2Authorization.withRegisteredClient(client)
+        .principalName("gateway")
+        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+        .token(
+            accessToken,
+            metadata -> metadata.put(OAuth2Authorization.Token.CLAIMS_METADATA_NAME, claims))
+        .build();
+  }
+}
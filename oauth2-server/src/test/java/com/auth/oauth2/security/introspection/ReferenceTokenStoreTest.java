@@ -0,0 +1,111 @@
+package com.auth.oauth2.security.introspection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+@DisplayName("ReferenceTokenStore tests")
+class ReferenceTokenStoreTest {
+
+  private static final String CHANNEL = "oauth2:reference-tokens";
+  private static final String HANDLE = "opaque-handle";
+
+  private StringRedisTemplate redisTemplate;
+  private ReferenceTokenStore store;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    store = new ReferenceTokenStore(1_000, redisTemplate, CHANNEL);
+  }
+
+  @Test
+  @DisplayName("save: 발급된 토큰은 이 노드에만 저장하고 클레임을 Redis로 보내지 않음")
+  void save_shouldKeepClaimsLocal() {
+    // when
+    store.save(authorization());
+
+    // then
+    assertThat(store.findClaims(HANDLE)).containsEntry("username", "user");
+    then(redisTemplate).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("remove: 토큰 해시 키만 발행하고 다른 노드는 그 키를 잊음")
+  void remove_shouldPublishOnlyTheKey() {
+    // given
+    ReferenceTokenStore otherNode = new ReferenceTokenStore(1_000, null, CHANNEL);
+    OAuth2Authorization authorization = authorization();
+    store.save(authorization);
+    otherNode.save(authorization);
+
+    // when
+    store.remove(authorization.getAccessToken());
+
+    // then
+    ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+    then(redisTemplate).should().convertAndSend(eq(CHANNEL), message.capture());
+    assertThat(message.getValue()).matches("[A-Za-z0-9_-]{43}").doesNotContain(HANDLE);
+    otherNode.onReplicatedRemoval(message.getValue());
+    assertThat(otherNode.findClaims(HANDLE)).isNull();
+    assertThat(store.findClaims(HANDLE)).isNull();
+  }
+
+  @Test
+  @DisplayName("onReplicatedRemoval: Redis 메시지로는 토큰을 활성으로 만들 수 없음")
+  void onReplicatedRemoval_shouldNeverAddTokens() {
+    // given
+    String forged =
+        "{\"key\":\"x\",\"entry\":{\"clientId\":\"gateway\",\"subject\":\"admin\","
+            + "\"scope\":\"admin\",\"issuedAt\":0,\"expiresAt\":9999999999}}";
+
+    // when
+    store.onReplicatedRemoval(forged);
+
+    // then
+    assertThat(store.findClaims("x")).isNull();
+    then(redisTemplate).should(never()).convertAndSend(anyString(), anyString());
+  }
+
+  private static OAuth2Authorization authorization() {
+    Instant now = Instant.now();
+    OAuth2AccessToken accessToken =
+        new OAuth2AccessToken(
+            OAuth2AccessToken.TokenType.BEARER, HANDLE, now, now.plusSeconds(300), Set.of("read"));
+    RegisteredClient client =
+        RegisteredClient.withId("1")
+            .clientId("gateway")
+            .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+            .build();
+    Map<String, Object> claims =
+        Map.of(
+            "sub", "user@example.com",
+            "aud", List.of("gateway"),
+            "username", "user",
+            "email", "user@example.com");
+    return OAuth2Authorization.withRegisteredClient(client)
+        .principalName("gateway")
+        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+        .token(
+            accessToken,
+            metadata -> metadata.put(OAuth2Authorization.Token.CLAIMS_METADATA_NAME, claims))
+        .build();
+  }
+}
@@ -0,0 +1,115 @@
+package com.auth.oauth2.security.introspection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import com.auth.oauth2.config.IntrospectionProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+@DisplayName("TokenRevocationRegistry tests")
+class TokenRevocationRegistryTest {
+
+  private static final String CHANNEL = "oauth2:token-revocations";
+
+  private StringRedisTemplate redisTemplate;
+  private IntrospectionProperties.LocalVerification properties;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    properties = new IntrospectionProperties.LocalVerification();
+    properties.getReplication().setChannel(CHANNEL);
+  }
+
+  @Test
+  @DisplayName("heartbeat: 발행에 실패한 폐기는 다음 heartbeat에서 다시 발행")
+  void heartbeat_shouldRepublishFailedRevocations() {
+    // given
+    TokenRevocationRegistry registry = new TokenRevocationRegistry(properties, redisTemplate);
+    Instant expiresAt = Instant.now().plusSeconds(300).truncatedTo(ChronoUnit.SECONDS);
+    willThrow(new RedisConnectionFailureException("down"))
+        .willReturn(1L)
+        .given(redisTemplate)
+        .convertAndSend(eq(CHANNEL), anyString());
+    registry.revoke(accessToken("jti-1", expiresAt));
+
+    // when
+    registry.heartbeat();
+    registry.heartbeat();
+
+    // then
+    InOrder inOrder = inOrder(redisTemplate);
+    String message = "jti-1 " + expiresAt.getEpochSecond();
+    inOrder.verify(redisTemplate, times(2)).convertAndSend(CHANNEL, message);
+    inOrder.verify(redisTemplate).convertAndSend(CHANNEL, TokenRevocationRegistry.HEARTBEAT);
+    inOrder.verify(redisTemplate).convertAndSend(CHANNEL, TokenRevocationRegistry.HEARTBEAT);
+    then(redisTemplate).shouldHaveNoMoreInteractions();
+    assertThat(registry.isRevoked("jti-1")).isTrue();
+  }
+
+  @Test
+  @DisplayName("covers: 채널이 조용하면 어떤 토큰도 보증하지 않고, 다시 들리면 그 이후 발급분만 보증")
+  void covers_shouldStopVouchingWhileChannelIsSilent() throws InterruptedException {
+    // given
+    properties.setHeartbeatInterval(Duration.ofMillis(20));
+    TokenRevocationRegistry registry = new TokenRevocationRegistry(properties, redisTemplate);
+    registry.startTrusting();
+    Instant issuedBeforeSilence = Instant.now();
+    assertThat(registry.covers(issuedBeforeSilence)).isTrue();
+
+    // when
+    Thread.sleep(100);
+    boolean coveredWhileSilent = registry.covers(Instant.now());
+    registry.onReplicatedRevocation(TokenRevocationRegistry.HEARTBEAT);
+
+    // then
+    assertThat(coveredWhileSilent).isFalse();
+    assertThat(registry.covers(issuedBeforeSilence)).isFalse();
+    assertThat(registry.covers(Instant.now())).isTrue();
+  }
+
+  private static OAuth2Authorization.Token<OAuth2AccessToken> accessToken(
+      String jti, Instant expiresAt) {
+    OAuth2AccessToken token =
+        new OAuth2AccessToken(
+            OAuth2AccessToken.TokenType.BEARER,
+            "token-value",
+            expiresAt.minusSeconds(600),
+            expiresAt,
+            Set.of("read"));
+    RegisteredClient client =
+        RegisteredClient.withId("1")
+            .clientId("gateway")
+            .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+            .build();
+    return OAuth2Authorization.withRegisteredClient(client)
+        .principalName("gateway")
+        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+        .token(
+            token,
+            metadata ->
+                metadata.put(OAuth2Authorization.Token.CLAIMS_METADATA_NAME, Map.of("jti", jti)))
+        .build()
+        .getAccessToken();
+  }
+}
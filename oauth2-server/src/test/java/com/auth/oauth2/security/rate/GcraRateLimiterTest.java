@@ -0,0 +1,227 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+
+@DisplayName("GcraRateLimiter tests")
+class GcraRateLimiterTest {
+
+  // 10 tokens per second, burst of 5
+  private static final long INTERVAL_MICROS = 100_000;
+  private static final int CAPACITY = 5;
+
+  private final Map<String, String> store = new HashMap<>();
+  private long nowMicros = 1_700_000_000_000_000L;
+  private long lastTtlMillis;
+  private LuaValue script;
+  private Globals globals;
+
+  @BeforeEach
+  void setUp() {
+    globals = JsePlatform.standardGlobals();
+    LuaTable redis = new LuaTable();
+    redis.set("call", new RedisCall());
+    globals.set("redis", redis);
+    script = globals.load(GcraRateLimiter.SCRIPT, "gcra");
+  }
+
+  @Test
+  @DisplayName("script: 새 버킷은 capacity만큼 연속 허용한 뒤 거부")
+  void script_shouldAllowBurstUpToCapacity() {
+    // when
+    List<Long> granted = new ArrayList<>();
+    for (int i = 0; i < CAPACITY + 1; i++) {
+      granted.add(take(1));
+    }
+
+    // then
+    assertThat(granted).containsExactly(1L, 1L, 1L, 1L, 1L, 0L);
+  }
+
+  @Test
+  @DisplayName("script: 거부된 뒤에는 다음 토큰 간격이 지나야 다시 허용")
+  void script_shouldDenyUntilNextEmissionInterval() {
+    // given
+    take(CAPACITY);
+
+    // when & then
+    nowMicros += INTERVAL_MICROS - 1;
+    assertThat(take(1)).isZero();
+    nowMicros += 1;
+    assertThat(take(1)).isEqualTo(1);
+    assertThat(take(1)).isZero();
+  }
+
+  @Test
+  @DisplayName("script: 남은 토큰보다 많이 요청하면 남은 만큼만 부여")
+  void script_shouldGrantAsManyAsAvailable() {
+    // given
+    take(3);
+
+    // when
+    long granted = take(CAPACITY);
+
+    // then
+    assertThat(granted).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("script: 키는 버킷이 다시 가득 찰 때까지만 유지되고 거부는 기록하지 않음")
+  void script_shouldExpireKeyWhenBucketIsFullAgain() {
+    // when
+    take(2);
+    long ttlAfterTwo = lastTtlMillis;
+    take(CAPACITY);
+    long ttlAfterDrain = lastTtlMillis;
+    String drained = store.get("bucket");
+    take(1);
+
+    // then
+    assertThat(ttlAfterTwo).isEqualTo(2 * INTERVAL_MICROS / 1_000);
+    assertThat(ttlAfterDrain).isEqualTo(CAPACITY * INTERVAL_MICROS / 1_000);
+    assertThat(store.get("bucket")).isEqualTo(drained);
+  }
+
+  @Test
+  @DisplayName("bucket: 스크립트 캐시에 없으면(NOSCRIPT) EVAL로 다시 적재")
+  void bucket_shouldFallBackToEvalOnNoScript() throws Exception {
+    // given
+    FakeCommands commands =
+        new FakeCommands(
+            CompletableFuture.failedFuture(new RedisNoScriptException("NOSCRIPT No matching")));
+    GcraRateLimiter limiter = new GcraRateLimiter(commands.client());
+
+    // when
+    long granted =
+        limiter.bucket("token:ip:10.0.0.1", policy()).tryConsumeAsMuchAsPossible(3).get();
+
+    // then
+    assertThat(granted).isEqualTo(3);
+    assertThat(commands.calls).containsExactly("evalsha", "eval");
+    assertThat(new String(commands.evalScript, StandardCharsets.UTF_8))
+        .isEqualTo(GcraRateLimiter.SCRIPT);
+  }
+
+  @Test
+  @DisplayName("bucket: NOSCRIPT 외의 오류는 EVAL 없이 그대로 실패")
+  void bucket_shouldPropagateOtherErrors() {
+    // given
+    FakeCommands commands =
+        new FakeCommands(
+            CompletableFuture.failedFuture(new RedisCommandTimeoutException("timed out")));
+    GcraRateLimiter limiter = new GcraRateLimiter(commands.client());
+
+    // when & then
+    assertThatThrownBy(() -> limiter.bucket("token:ip:10.0.0.1", policy()).tryConsume().get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(RedisCommandTimeoutException.class);
+    assertThat(commands.calls).containsExactly("evalsha");
+  }
+
+  private long take(long requested) {
+    globals.set("KEYS", LuaValue.listOf(new LuaValue[] {LuaValue.valueOf("bucket")}));
+    globals.set(
+        "ARGV",
+        LuaValue.listOf(
+            new LuaValue[] {
+              LuaValue.valueOf(Long.toString(INTERVAL_MICROS)),
+              LuaValue.valueOf(Integer.toString(CAPACITY)),
+              LuaValue.valueOf(Long.toString(requested))
+            }));
+    return script.call().tolong();
+  }
+
+  private static RateLimitPolicy policy() {
+    return RateLimitPolicy.of("token", CAPACITY, 10, 1, 0.5);
+  }
+
+  /** The subset of {@code redis.call} the script uses, against an in-memory store. */
+  private final class RedisCall extends VarArgFunction {
+
+    @Override
+    public Varargs invoke(Varargs args) {
+      return switch (args.checkjstring(1)) {
+        case "TIME" ->
+            LuaValue.listOf(
+                new LuaValue[] {
+                  LuaValue.valueOf(Long.toString(nowMicros / 1_000_000)),
+                  LuaValue.valueOf(Long.toString(nowMicros % 1_000_000))
+                });
+        case "GET" -> {
+          String value = store.get(args.checkjstring(2));
+          yield value != null ? LuaValue.valueOf(value) : LuaValue.FALSE;
+        }
+        case "SET" -> {
+          store.put(args.checkjstring(2), args.checkjstring(3));
+          lastTtlMillis = args.checklong(5);
+          yield LuaValue.valueOf("OK");
+        }
+        default -> throw new IllegalArgumentException(args.checkjstring(1));
+      };
+    }
+  }
+
+  /** Async commands whose EVALSHA completes with a given result and EVAL always grants 3. */
+  private static final class FakeCommands {
+
+    private final List<String> calls = new ArrayList<>();
+    private final CompletableFuture<Long> evalshaResult;
+    private byte[] evalScript;
+
+    private FakeCommands(CompletableFuture<Long> evalshaResult) {
+      this.evalshaResult = evalshaResult;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisClient client() {
+      RedisAsyncCommands<byte[], byte[]> commands =
+          mock(
+              RedisAsyncCommands.class,
+              invocation -> {
+                String name = invocation.getMethod().getName();
+                calls.add(name);
+                if (name.equals("eval")) {
+                  evalScript = invocation.getArgument(0);
+                  return future(CompletableFuture.completedFuture(3L));
+                }
+                return future(evalshaResult);
+              });
+      StatefulRedisConnection<byte[], byte[]> connection = mock(StatefulRedisConnection.class);
+      given(connection.async()).willReturn(commands);
+      RedisClient client = mock(RedisClient.class);
+      given(client.connect(ByteArrayCodec.INSTANCE)).willReturn(connection);
+      return client;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisFuture<Long> future(CompletableFuture<Long> result) {
+      return mock(RedisFuture.class, invocation -> result);
+    }
+  }
+}
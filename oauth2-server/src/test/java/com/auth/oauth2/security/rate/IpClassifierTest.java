@@ -0,0 +1,59 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IpClassifier tests")
+class IpClassifierTest {
+
+  @Test
+  @DisplayName("parse: IPv4, IPv6, 축약형과 IPv4 매핑 주소를 같은 128비트 값으로 변환")
+  void parse_shouldHandleAddressForms() {
+    assertThat(IpClassifier.parse("192.0.2.1", IpClassifier.LOW))
+        .isEqualTo(IpClassifier.parse("::ffff:192.0.2.1", IpClassifier.LOW));
+    assertThat(IpClassifier.parse("2001:db8::1", IpClassifier.HIGH))
+        .isEqualTo(0x2001_0db8_0000_0000L);
+    assertThat(IpClassifier.parse("2001:db8::1", IpClassifier.LOW)).isEqualTo(1L);
+    assertThat(IpClassifier.parse("fe80::1%eth0", IpClassifier.HIGH))
+        .isEqualTo(0xfe80_0000_0000_0000L);
+    assertThat(IpClassifier.parse("::", IpClassifier.VALID)).isEqualTo(1);
+
+    for (String invalid :
+        List.of("", "unknown", "256.0.0.1", "1.2.3", "1::2::3", "1:2:3:4:5:6:7:8:9", "12345::")) {
+      assertThat(IpClassifier.parse(invalid, IpClassifier.VALID)).as(invalid).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("classify: 가장 긴 prefix가 우선하고 같은 블록이면 거부가 우선")
+  void classify_shouldUseLongestPrefix() {
+    // given
+    IpClassifier classifier =
+        IpClassifier.of(
+            List.of("10.0.0.0/8", "2001:db8::/32", "198.51.100.0/24"),
+            List.of("10.66.0.0/16", "2001:db8:bad::/48", "198.51.100.0/24"));
+
+    // when & then
+    assertThat(classifier.classify("10.1.2.3")).isEqualTo(IpClassifier.Verdict.ALLOW);
+    assertThat(classifier.classify("10.66.2.3")).isEqualTo(IpClassifier.Verdict.DENY);
+    assertThat(classifier.classify("::ffff:10.66.2.3")).isEqualTo(IpClassifier.Verdict.DENY);
+    assertThat(classifier.classify("2001:db8:1::1")).isEqualTo(IpClassifier.Verdict.ALLOW);
+    assertThat(classifier.classify("2001:db8:bad:1::1")).isEqualTo(IpClassifier.Verdict.DENY);
+    assertThat(classifier.classify("198.51.100.7")).isEqualTo(IpClassifier.Verdict.DENY);
+    assertThat(classifier.classify("203.0.113.7")).isEqualTo(IpClassifier.Verdict.NONE);
+    assertThat(classifier.classify("not-an-ip")).isEqualTo(IpClassifier.Verdict.NONE);
+  }
+
+  @Test
+  @DisplayName("of: 잘못된 CIDR은 IllegalArgumentException")
+  void of_shouldRejectInvalidBlocks() {
+    assertThatThrownBy(() -> IpClassifier.of(List.of("10.0.0.0/33"), List.of()))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> IpClassifier.of(List.of(), List.of("example.com/24")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
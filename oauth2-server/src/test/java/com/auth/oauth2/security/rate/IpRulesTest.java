@@ -0,0 +1,57 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IpRules tests")
+class IpRulesTest {
+
+  private static IpRules ipRules(int ipv4PrefixLength, int ipv6PrefixLength) {
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.getIpRules().setIpv4PrefixLength(ipv4PrefixLength);
+    properties.getIpRules().setIpv6PrefixLength(ipv6PrefixLength);
+    return new IpRules(properties);
+  }
+
+  @Test
+  @DisplayName("bucketKey: 기본 설정은 IPv4 주소 그대로, IPv6는 /64 네트워크로 키 생성")
+  void bucketKey_shouldUseDefaultPrefixes() {
+    // given
+    IpRules ipRules = ipRules(32, 64);
+
+    // when & then
+    assertThat(ipRules.bucketKey("192.0.2.1")).isEqualTo("192.0.2.1");
+    assertThat(ipRules.bucketKey("2001:db8:1:2:3:4:5:6")).isEqualTo("2001:db8:1:2::/64");
+    assertThat(ipRules.bucketKey("2001:db8:1:2::ffff")).isEqualTo("2001:db8:1:2::/64");
+    assertThat(ipRules.bucketKey("::ffff:192.0.2.1")).isEqualTo("::ffff:192.0.2.1");
+  }
+
+  @Test
+  @DisplayName("bucketKey: 짧은 prefix는 네트워크 주소로 묶고 IPv4 매핑 주소는 IPv4 prefix 사용")
+  void bucketKey_shouldGroupByConfiguredNetwork() {
+    // given
+    IpRules ipRules = ipRules(24, 56);
+
+    // when & then
+    assertThat(ipRules.bucketKey("198.51.100.7")).isEqualTo("198.51.100.0/24");
+    assertThat(ipRules.bucketKey("198.51.100.200")).isEqualTo("198.51.100.0/24");
+    assertThat(ipRules.bucketKey("::ffff:198.51.100.7")).isEqualTo("198.51.100.0/24");
+    assertThat(ipRules.bucketKey("2001:db8:1:2ff::1")).isEqualTo("2001:db8:1:200::/56");
+    // Served from the cache the second time, with the same value
+    assertThat(ipRules.bucketKey("198.51.100.7")).isEqualTo("198.51.100.0/24");
+  }
+
+  @Test
+  @DisplayName("bucketKey: IP 리터럴이 아닌 값은 그대로 반환")
+  void bucketKey_shouldKeepNonLiterals() {
+    // given
+    IpRules ipRules = ipRules(24, 64);
+
+    // when & then
+    assertThat(ipRules.bucketKey("unknown")).isEqualTo("unknown");
+    assertThat(ipRules.bucketKey("1::2::3")).isEqualTo("1::2::3");
+  }
+}
@@ -0,0 +1,80 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LocalTokenLease tests")
+class LocalTokenLeaseTest {
+
+  private static final long TTL = 1_000_000_000L;
+
+  @Test
+  @DisplayName("tryAcquire: 새 lease는 토큰이 없어 실패")
+  void tryAcquire_shouldFailOnFreshLease() {
+    LocalTokenLease lease = new LocalTokenLease(TTL, 0);
+
+    assertThat(lease.tryAcquire(1)).isFalse();
+    assertThat(lease.isDenied(1)).isFalse();
+  }
+
+  @Test
+  @DisplayName("tryAcquire: 부여된 토큰 수만큼만 로컬에서 소비")
+  void tryAcquire_shouldConsumeGrantedTokens() {
+    // given
+    LocalTokenLease lease = new LocalTokenLease(TTL, 0);
+    lease.grant(3, 0);
+
+    // when & then
+    assertThat(lease.tryAcquire(10)).isTrue();
+    assertThat(lease.tryAcquire(10)).isTrue();
+    assertThat(lease.remaining(10)).isEqualTo(1);
+    assertThat(lease.tryAcquire(10)).isTrue();
+    assertThat(lease.tryAcquire(10)).isFalse();
+  }
+
+  @Test
+  @DisplayName("tryAcquire: TTL이 지난 토큰은 사용하지 않고 다음 grant에서 버림")
+  void tryAcquire_shouldDiscardExpiredTokens() {
+    // given
+    LocalTokenLease lease = new LocalTokenLease(TTL, 0);
+    lease.grant(5, 0);
+
+    // when & then
+    assertThat(lease.tryAcquire(TTL)).isFalse();
+    assertThat(lease.remaining(TTL)).isZero();
+
+    lease.grant(1, TTL);
+    assertThat(lease.remaining(TTL)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("deny: 거부 구간 동안만 거부 상태 유지, grant 시 해제")
+  void deny_shouldHoldUntilDeadlineOrGrant() {
+    // given
+    LocalTokenLease lease = new LocalTokenLease(TTL, 0);
+
+    // when
+    lease.deny(100);
+
+    // then
+    assertThat(lease.isDenied(50)).isTrue();
+    assertThat(lease.isDenied(100)).isFalse();
+
+    lease.deny(200);
+    lease.grant(1, 60);
+    assertThat(lease.isDenied(70)).isFalse();
+  }
+
+  @Test
+  @DisplayName("tryStartRefill: 동시에 하나의 refill만 허용")
+  void tryStartRefill_shouldBeExclusive() {
+    LocalTokenLease lease = new LocalTokenLease(TTL, 0);
+
+    assertThat(lease.tryStartRefill()).isTrue();
+    assertThat(lease.tryStartRefill()).isFalse();
+    lease.finishRefill();
+    assertThat(lease.tryStartRefill()).isTrue();
+  }
+}
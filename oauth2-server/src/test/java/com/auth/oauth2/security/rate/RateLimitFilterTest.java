@@ -0,0 +1,157 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("RateLimitFilter tests")
+class RateLimitFilterTest {
+
+  private RateLimitService rateLimitService;
+  private RateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    rateLimitService = mock(RateLimitService.class);
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.getIpRules().setAllow(List.of("10.1.0.0/16"));
+    properties.getIpRules().setDeny(List.of("192.0.2.0/24"));
+    RateLimitPolicyRegistry policyRegistry =
+        new RateLimitPolicyRegistry(mock(ApplicationContext.class), properties);
+    filter =
+        new RateLimitFilter(
+            rateLimitService,
+            new RateLimitKeyResolver(properties, policyRegistry, new IpRules(properties)),
+            policyRegistry,
+            new ObjectMapper());
+  }
+
+  private MockHttpServletRequest request(String method, String path) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    request.setRemoteAddr("10.0.0.1");
+    return request;
+  }
+
+  @Test
+  @DisplayName("resolvePolicy: grant_type=refresh_token은 refresh 정책 사용")
+  void resolvePolicy_shouldSelectByGrantType() {
+    // given
+    MockHttpServletRequest refresh = request("POST", "/oauth2/token");
+    refresh.setParameter("grant_type", "refresh_token");
+    MockHttpServletRequest clientCredentials = request("POST", "/oauth2/token");
+    clientCredentials.setParameter("grant_type", "client_credentials");
+
+    // when & then
+    assertThat(filter.resolvePolicy(refresh).name()).isEqualTo("refresh");
+    assertThat(filter.resolvePolicy(clientCredentials).name()).isEqualTo("oauth2-token");
+    assertThat(filter.resolvePolicy(request("GET", "/oauth2/authorize")).name())
+        .isEqualTo("oauth2-authorize");
+    assertThat(filter.resolvePolicy(request("POST", "/login")).name()).isEqualTo("login");
+    assertThat(filter.resolvePolicy(request("POST", "/oauth2/introspect/batch")).name())
+        .isEqualTo("oauth2-introspect-batch");
+  }
+
+  @Test
+  @DisplayName("resolvePolicy: 라우트 테이블에 없는 경로나 메서드는 제외")
+  void resolvePolicy_shouldIgnoreUnknownRoutes() {
+    assertThat(filter.resolvePolicy(request("GET", "/login"))).isNull();
+    assertThat(filter.resolvePolicy(request("POST", "/oauth2/jwks"))).isNull();
+    assertThat(filter.resolvePolicy(request("GET", "/api/v1/users/me"))).isNull();
+  }
+
+  @Test
+  @DisplayName("doFilter: 한도 초과 시 체인을 호출하지 않고 429 반환")
+  void doFilter_shouldRejectBeforeSecurityChain() throws Exception {
+    // given
+    given(rateLimitService.tryConsumeAll(anyList())).willReturn(false);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    // when
+    filter.doFilter(request("POST", "/login"), response, chain);
+
+    // then
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("60");
+    assertThat(response.getContentAsString()).contains("RATE_LIMIT_EXCEEDED");
+    assertThat(chain.getRequest()).isNull();
+  }
+
+  @Test
+  @DisplayName("doFilter: 인증 전 로그인은 엔드포인트별 IP 키로만 토큰을 소비하고 통과")
+  void doFilter_shouldConsumeWithEndpointScopedKeys() throws Exception {
+    // given
+    given(rateLimitService.tryConsumeAll(anyList())).willReturn(true);
+    MockHttpServletRequest request = request("POST", "/login");
+    request.setParameter("username", "User@Example.com");
+    MockFilterChain chain = new MockFilterChain();
+
+    // when
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // then
+    then(rateLimitService)
+        .should()
+        .tryConsumeAll(
+            argThat(
+                keys ->
+                    keys.stream()
+                        .map(RateLimitKey::key)
+                        .toList()
+                        .equals(List.of("login:ip:10.0.0.1"))));
+    assertThat(chain.getRequest()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("doFilter: 대상이 아닌 요청은 rate limit 확인 없이 통과")
+  void doFilter_shouldSkipUnmatchedRequests() throws Exception {
+    // given
+    MockFilterChain chain = new MockFilterChain();
+
+    // when
+    filter.doFilter(request("GET", "/oauth2/jwks"), new MockHttpServletResponse(), chain);
+
+    // then
+    then(rateLimitService).should(never()).tryConsumeAll(anyList());
+    assertThat(chain.getRequest()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("doFilter: 거부 목록 IP는 403, 허용 목록 IP는 rate limit 없이 통과")
+  void doFilter_shouldApplyIpRules() throws Exception {
+    // given
+    MockHttpServletRequest denied = request("POST", "/login");
+    denied.setRemoteAddr("192.0.2.44");
+    MockHttpServletRequest allowed = request("POST", "/login");
+    allowed.setRemoteAddr("10.1.7.7");
+    MockHttpServletResponse deniedResponse = new MockHttpServletResponse();
+    MockFilterChain deniedChain = new MockFilterChain();
+    MockFilterChain allowedChain = new MockFilterChain();
+
+    // when
+    filter.doFilter(denied, deniedResponse, deniedChain);
+    filter.doFilter(allowed, new MockHttpServletResponse(), allowedChain);
+
+    // then
+    assertThat(deniedResponse.getStatus()).isEqualTo(403);
+    assertThat(deniedResponse.getContentAsString()).contains("IP_DENIED");
+    assertThat(deniedChain.getRequest()).isNull();
+    assertThat(allowedChain.getRequest()).isNotNull();
+    then(rateLimitService).should(never()).tryConsumeAll(anyList());
+  }
+}
@@ -0,0 +1,141 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RateLimitHeavyHitters tests")
+class RateLimitHeavyHittersTest {
+
+  private static final long MINUTE = 60_000L;
+
+  private final AtomicLong clock = new AtomicLong(10 * MINUTE);
+
+  private RateLimitHeavyHitters heavyHitters;
+
+  @BeforeEach
+  void setUp() {
+    RateLimitProperties.HeavyHitters properties = new RateLimitProperties.HeavyHitters();
+    properties.setCapacity(4);
+    properties.setSlotDuration(Duration.ofMinutes(1));
+    properties.setSlots(5);
+    heavyHitters = new RateLimitHeavyHitters(properties, clock::get);
+  }
+
+  @Test
+  @DisplayName("recordRequest: 고유 키가 용량보다 많아도 상위 키를 오차 범위 내로 추적")
+  void recordRequest_shouldKeepHeavyKeyWithBoundedError() {
+    // given
+    for (int i = 0; i < 100; i++) {
+      heavyHitters.recordRequest("login:ip:10.0.0.1");
+      if (i % 2 == 0) {
+        heavyHitters.recordRequest("login:ip:192.168.0." + i);
+      }
+    }
+
+    // when
+    SpaceSavingSketch.Summary requests = heavyHitters.report(Duration.ofMinutes(1), 10).requests();
+
+    // then
+    assertThat(requests.total()).isEqualTo(150);
+    assertThat(requests.entries()).hasSize(4);
+    SpaceSavingSketch.HeavyHitter top = requests.entries().get(0);
+    assertThat(top.key()).isEqualTo("login:ip:10.0.0.1");
+    assertThat(top.count() - top.error()).isLessThanOrEqualTo(100);
+    assertThat(top.count()).isGreaterThanOrEqualTo(100);
+  }
+
+  @Test
+  @DisplayName("recordRequest: 여러 스레드가 나눠 기록한 스트라이프를 리포트에서 합산")
+  void recordRequest_shouldMergeStripesOfConcurrentThreads() throws Exception {
+    // given
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      int thread = t;
+      threads[t] =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 100; i++) {
+                  heavyHitters.recordRequest("oauth2-token:client:hot");
+                  heavyHitters.recordRequest("oauth2-token:client:cold-" + thread + "-" + i);
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // when
+    SpaceSavingSketch.Summary requests = heavyHitters.report(Duration.ofMinutes(1), 1).requests();
+
+    // then
+    assertThat(requests.total()).isEqualTo(1_600);
+    SpaceSavingSketch.HeavyHitter top = requests.entries().get(0);
+    assertThat(top.key()).isEqualTo("oauth2-token:client:hot");
+    assertThat(top.count()).isGreaterThanOrEqualTo(800);
+    assertThat(top.count() - top.error()).isLessThanOrEqualTo(800);
+  }
+
+  @Test
+  @DisplayName("report: 윈도우를 벗어난 슬롯은 집계에서 제외")
+  void report_shouldDropSlotsOutsideWindow() {
+    // given
+    heavyHitters.recordRejection("login:user:old@example.com");
+    clock.addAndGet(3 * MINUTE);
+    heavyHitters.recordRejection("login:user:new@example.com");
+    heavyHitters.recordRejection("login:user:new@example.com");
+
+    // when
+    RateLimitHeavyHitters.Report recent = heavyHitters.report(Duration.ofMinutes(2), 10);
+    RateLimitHeavyHitters.Report all = heavyHitters.report(Duration.ofHours(1), 10);
+
+    // then
+    assertThat(recent.window()).isEqualTo(Duration.ofMinutes(2));
+    assertThat(recent.rejections().entries())
+        .extracting(SpaceSavingSketch.HeavyHitter::key)
+        .containsExactly("login:user:new@example.com");
+    assertThat(all.window()).isEqualTo(Duration.ofMinutes(5));
+    assertThat(all.rejections().entries())
+        .extracting(SpaceSavingSketch.HeavyHitter::key)
+        .containsExactly("login:user:new@example.com", "login:user:old@example.com");
+
+    // The first rejection ages out once it is older than the five-slot ring
+    clock.addAndGet(2 * MINUTE);
+    assertThat(heavyHitters.report(Duration.ofHours(1), 10).rejections().entries())
+        .extracting(SpaceSavingSketch.HeavyHitter::key)
+        .containsExactly("login:user:new@example.com");
+  }
+
+  @Test
+  @DisplayName("merge: 노드별 요약을 합산하고 누락된 키에는 floor를 더함")
+  void merge_shouldCombineNodeSummaries() {
+    // given
+    SpaceSavingSketch.Summary nodeA =
+        new SpaceSavingSketch.Summary(
+            30,
+            2,
+            List.of(
+                new SpaceSavingSketch.HeavyHitter("client:a", 20, 0),
+                new SpaceSavingSketch.HeavyHitter("client:b", 8, 2)));
+    SpaceSavingSketch.Summary nodeB =
+        new SpaceSavingSketch.Summary(
+            15, 0, List.of(new SpaceSavingSketch.HeavyHitter("client:b", 15, 0)));
+
+    // when
+    SpaceSavingSketch.Summary merged = SpaceSavingSketch.merge(List.of(nodeA, nodeB), 4);
+
+    // then
+    assertThat(merged.total()).isEqualTo(45);
+    assertThat(merged.entries())
+        .containsExactly(
+            new SpaceSavingSketch.HeavyHitter("client:b", 23, 2),
+            new SpaceSavingSketch.HeavyHitter("client:a", 20, 0));
+  }
+}
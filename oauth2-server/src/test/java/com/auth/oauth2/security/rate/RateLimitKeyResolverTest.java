@@ -0,0 +1,194 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+@DisplayName("RateLimitKeyResolver tests")
+class RateLimitKeyResolverTest {
+
+  private RateLimitPolicyRegistry policyRegistry;
+  private RateLimitKeyResolver keyResolver;
+
+  @BeforeEach
+  void setUp() {
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.getKeys().setTrustedProxies(List.of("10.0.0.0/8"));
+    policyRegistry = new RateLimitPolicyRegistry(mock(ApplicationContext.class), properties);
+    keyResolver = new RateLimitKeyResolver(properties, policyRegistry, new IpRules(properties));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/oauth2/token");
+    request.setRemoteAddr(remoteAddr);
+    if (forwardedFor != null) {
+      request.addHeader("X-Forwarded-For", forwardedFor);
+    }
+    return request;
+  }
+
+  @Test
+  @DisplayName("resolveIp: 신뢰하지 않는 연결의 X-Forwarded-For는 무시")
+  void resolveIp_shouldIgnoreHeadersFromUntrustedPeer() {
+    assertThat(keyResolver.resolveIp(request("203.0.113.7", "1.2.3.4")))
+        .isEqualTo("203.0.113.7");
+  }
+
+  @Test
+  @DisplayName("resolveIp: 오른쪽부터 신뢰 프록시를 건너뛴 첫 주소를 클라이언트로 사용")
+  void resolveIp_shouldTakeFirstUntrustedHopFromTheRight() {
+    // given: the caller prepended a spoofed address
+    MockHttpServletRequest request = request("10.0.0.2", "6.6.6.6, 198.51.100.9, 10.0.0.1");
+
+    // when & then
+    assertThat(keyResolver.resolveIp(request)).isEqualTo("198.51.100.9");
+  }
+
+  @Test
+  @DisplayName("resolveIp: 모든 hop이 신뢰 프록시면 가장 바깥 프록시 사용")
+  void resolveIp_shouldFallBackToOutermostProxy() {
+    assertThat(keyResolver.resolveIp(request("10.0.0.2", "10.0.0.5, 10.0.0.1")))
+        .isEqualTo("10.0.0.5");
+  }
+
+  @Test
+  @DisplayName("resolveKeys: 식별 정보가 없으면 IP 키 하나만 사용")
+  void resolveKeys_shouldUseIpOnlyWithoutIdentity() {
+    // given
+    RateLimitPolicy policy = policyRegistry.forEndpoint("oauth2-token");
+
+    // when
+    List<RateLimitKey> keys = keyResolver.resolveKeys(request("203.0.113.7", null), policy);
+
+    // then
+    assertThat(keys)
+        .extracting(RateLimitKey::key)
+        .containsExactly("oauth2-token:ip:203.0.113.7");
+    assertThat(keys.get(0).policy()).isSameAs(policy);
+  }
+
+  @Test
+  @DisplayName("resolveKeys: 인증 전 Basic 헤더의 client_id는 키나 IP 버킷 크기에 영향 없음")
+  void resolveKeys_shouldIgnoreClaimedClientIdBeforeAuthentication() {
+    // given
+    RateLimitPolicy policy = policyRegistry.forEndpoint("oauth2-token");
+    MockHttpServletRequest request = request("203.0.113.7", null);
+    request.addHeader(
+        "Authorization",
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString("my%20client:secret".getBytes(StandardCharsets.UTF_8)));
+
+    // when
+    List<RateLimitKey> keys = keyResolver.resolveKeys(request, policy);
+
+    // then
+    assertThat(keys)
+        .extracting(RateLimitKey::key)
+        .containsExactly("oauth2-token:ip:203.0.113.7");
+    assertThat(keys.get(0).policy()).isSameAs(policy);
+  }
+
+  @Test
+  @DisplayName("resolveKeys: 인증 전 로그인 username은 피해자 계정 버킷을 만들지 않음")
+  void resolveKeys_shouldIgnoreLoginUsernameBeforeAuthentication() {
+    // given
+    RateLimitPolicy policy = policyRegistry.forEndpoint("login");
+    MockHttpServletRequest request = request("203.0.113.7", null);
+    request.setParameter("username", "victim@example.com");
+
+    // when
+    List<RateLimitKey> keys = keyResolver.resolveKeys(request, policy);
+
+    // then
+    assertThat(keys).extracting(RateLimitKey::key).containsExactly("login:ip:203.0.113.7");
+    assertThat(keys.get(0).policy()).isSameAs(policy);
+  }
+
+  @Test
+  @DisplayName("resolveKeys: 인증된 클라이언트는 클라이언트 키를 추가하고 IP 버킷은 확장")
+  void resolveKeys_shouldAddClientKeyAfterClientAuthentication() {
+    // given
+    RateLimitPolicy policy = policyRegistry.forEndpoint("oauth2-token");
+    RegisteredClient client =
+        RegisteredClient.withId("1")
+            .clientId("my client")
+            .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+            .build();
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new OAuth2ClientAuthenticationToken(
+                client, ClientAuthenticationMethod.CLIENT_SECRET_BASIC, "secret"));
+
+    // when
+    List<RateLimitKey> keys = keyResolver.resolveKeys(request("203.0.113.7", null), policy);
+
+    // then
+    assertThat(keys)
+        .extracting(RateLimitKey::key)
+        .containsExactly("oauth2-token-shared:ip:203.0.113.7", "oauth2-token:client:my client");
+    assertThat(keys.get(0).policy().capacity()).isEqualTo(policy.capacity() * 4);
+  }
+
+  @Test
+  @DisplayName("resolveKeys: 인증된 사용자는 요청 파라미터 대신 principal 사용")
+  void resolveKeys_shouldPreferAuthenticatedPrincipal() {
+    // given
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                "alice@example.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    MockHttpServletRequest request = request("203.0.113.7", null);
+    request.setParameter("username", "mallory@example.com");
+
+    // when
+    List<RateLimitKey> keys =
+        keyResolver.resolveKeys(request, policyRegistry.getDefaultPolicy());
+
+    // then
+    assertThat(keys)
+        .extracting(RateLimitKey::key)
+        .containsExactly("default-shared:ip:203.0.113.7", "default:user:alice@example.com");
+  }
+
+  @Test
+  @DisplayName("resolveKeys: IPv6 주소는 /64 네트워크 단위로 키 생성")
+  void resolveKeys_shouldAggregateIpv6ToPrefix() {
+    // given
+    RateLimitPolicy policy = policyRegistry.forEndpoint("oauth2-token");
+
+    // when
+    List<RateLimitKey> first =
+        keyResolver.resolveKeys(request("2001:db8:1:2:aaaa::1", null), policy);
+    List<RateLimitKey> second =
+        keyResolver.resolveKeys(request("2001:db8:1:2:ffff:1:2:3", null), policy);
+
+    // then
+    assertThat(first)
+        .extracting(RateLimitKey::key)
+        .containsExactly("oauth2-token:ip:2001:db8:1:2::/64");
+    assertThat(second.get(0).key()).isEqualTo(first.get(0).key());
+  }
+}
@@ -0,0 +1,28 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RateLimitKey tests")
+class RateLimitKeyTest {
+
+  @Test
+  @DisplayName("of: 정책과 차원으로 범위가 나뉜 키 형식")
+  void of_shouldScopeKeyByPolicyAndDimension() {
+    // given
+    RateLimitPolicy policy = RateLimitPolicy.of("oauth2-token", 100, 100, 60, 0.05);
+
+    // when & then
+    assertThat(RateLimitKey.of(RateLimitKey.Dimension.IP, "2001:db8:1:2::/64", policy).key())
+        .isEqualTo("oauth2-token:ip:2001:db8:1:2::/64");
+    assertThat(RateLimitKey.of(RateLimitKey.Dimension.CLIENT, "gateway", policy).key())
+        .isEqualTo("oauth2-token:client:gateway");
+    assertThat(RateLimitKey.of(RateLimitKey.Dimension.USER, "user@example.com", policy).key())
+        .isEqualTo("oauth2-token:user:user@example.com");
+    assertThat(policy.scaled("oauth2-token-shared", 4.0, 0.05).keyPrefixes())
+        .containsExactly(
+            "oauth2-token-shared:ip:", "oauth2-token-shared:client:", "oauth2-token-shared:user:");
+  }
+}
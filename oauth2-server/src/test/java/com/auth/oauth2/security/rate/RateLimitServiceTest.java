@@ -0,0 +1,125 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RateLimitService tests")
+class RateLimitServiceTest {
+
+  private final RateLimitPolicy policy = RateLimitPolicy.of("login", 3, 3, 60, 0.05);
+
+  private final RateLimitHeavyHitters heavyHitters =
+      new RateLimitHeavyHitters(new RateLimitProperties.HeavyHitters(), () -> 0L);
+
+  private RateLimitService rateLimitService;
+
+  @BeforeEach
+  void setUp() {
+    // Redis disabled: no distributed limiter and no circuit breaker
+    rateLimitService =
+        new RateLimitService(
+            null,
+            mock(RateLimitPolicyRegistry.class),
+            null,
+            new LocalRateLimiter(1.0, 1_000, Duration.ofMinutes(5)),
+            heavyHitters,
+            new RateLimitProperties());
+  }
+
+  @Test
+  @DisplayName("tryConsume: 인메모리 모드에서 정책 용량 전체를 허용한 뒤 거부")
+  void tryConsume_shouldUseFullCapacityInMemory() {
+    // when & then
+    assertThat(rateLimitService.tryConsume("login:ip:10.0.0.1", policy)).isTrue();
+    assertThat(rateLimitService.tryConsume("login:ip:10.0.0.1", policy)).isTrue();
+    assertThat(rateLimitService.tryConsume("login:ip:10.0.0.1", policy)).isTrue();
+    assertThat(rateLimitService.tryConsume("login:ip:10.0.0.1", policy)).isFalse();
+    assertThat(rateLimitService.tryConsume("login:ip:10.0.0.2", policy)).isTrue();
+
+    RateLimitHeavyHitters.Report report = heavyHitters.report(Duration.ofMinutes(1), 10);
+    assertThat(report.requests().entries().get(0))
+        .isEqualTo(new SpaceSavingSketch.HeavyHitter("login:ip:10.0.0.1", 4, 0));
+    assertThat(report.rejections().entries())
+        .containsExactly(new SpaceSavingSketch.HeavyHitter("login:ip:10.0.0.1", 1, 0));
+  }
+
+  @Test
+  @DisplayName("tryConsumeAll: 인메모리 모드에서 하나라도 소진되면 거부")
+  void tryConsumeAll_shouldRejectWhenAnyKeyIsExhausted() {
+    // given
+    RateLimitKey ip = RateLimitKey.of(RateLimitKey.Dimension.IP, "10.0.0.1", policy);
+    RateLimitKey user = RateLimitKey.of(RateLimitKey.Dimension.USER, "user@example.com", policy);
+    for (int i = 0; i < 3; i++) {
+      rateLimitService.tryConsume(user.key(), policy);
+    }
+
+    // when
+    boolean allowed = rateLimitService.tryConsumeAll(List.of(ip, user));
+
+    // then
+    assertThat(allowed).isFalse();
+    assertThat(rateLimitService.tryConsumeAsync(ip.key(), policy).join()).isTrue();
+  }
+
+  @Test
+  @DisplayName("tryConsumeAsync: Redis 응답을 기다리지 않고 반환하고 응답이 오면 그 결과로 완료")
+  void tryConsumeAsync_shouldNotBlockOnRedis() {
+    // given
+    CompletableFuture<Long> reply = new CompletableFuture<>();
+    RateLimitService service = withRedis(reply, Duration.ofSeconds(5));
+
+    // when
+    CompletableFuture<Boolean> decision = service.tryConsumeAsync("login:ip:10.0.0.1", policy);
+    boolean doneBeforeReply = decision.isDone();
+    reply.complete(1L);
+
+    // then
+    assertThat(doneBeforeReply).isFalse();
+    assertThat(decision.join()).isTrue();
+  }
+
+  @Test
+  @DisplayName("tryConsumeAsync: Redis 오류나 시간 초과는 예외 없이 로컬 fallback으로 결정")
+  void tryConsumeAsync_shouldFallBackLocallyOnFailureOrTimeout() {
+    // given
+    RateLimitService failing =
+        withRedis(
+            CompletableFuture.failedFuture(new IllegalStateException("down")),
+            Duration.ofSeconds(5));
+    RateLimitService slow = withRedis(new CompletableFuture<>(), Duration.ofMillis(20));
+
+    // when
+    CompletableFuture<Boolean> afterFailure = failing.tryConsumeAsync("login:ip:10.0.0.1", policy);
+    CompletableFuture<Boolean> afterTimeout = slow.tryConsumeAsync("login:ip:10.0.0.2", policy);
+
+    // then
+    assertThat(afterFailure.join()).isTrue();
+    assertThat(afterTimeout.join()).isTrue();
+    assertThat(afterTimeout).isNotCompletedExceptionally();
+  }
+
+  private RateLimitService withRedis(CompletableFuture<Long> reply, Duration timeout) {
+    DistributedRateLimiter.RemoteBucket bucket = maxTokens -> reply;
+    RateLimitProperties properties = new RateLimitProperties();
+    // Without leases every check is a single remote call
+    properties.getLocal().setEnabled(false);
+    properties.getRedis().setTimeout(timeout);
+    return new RateLimitService(
+        (key, keyPolicy) -> bucket,
+        mock(RateLimitPolicyRegistry.class),
+        new RedisCircuitBreaker(
+            properties.getCircuitBreaker(), new SimpleMeterRegistry(), System::nanoTime),
+        new LocalRateLimiter(1.0, 1_000, Duration.ofMinutes(5)),
+        heavyHitters,
+        properties);
+  }
+}
@@ -0,0 +1,111 @@
+package com.auth.oauth2.security.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RedisCircuitBreaker tests")
+class RedisCircuitBreakerTest {
+
+  private static final long FAST = Duration.ofMillis(5).toNanos();
+  private static final long SLOW = Duration.ofMillis(300).toNanos();
+
+  private final AtomicLong clock = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private RedisCircuitBreaker breaker;
+
+  @BeforeEach
+  void setUp() {
+    RateLimitProperties.CircuitBreaker properties = new RateLimitProperties.CircuitBreaker();
+    properties.setSlidingWindowSize(10);
+    properties.setMinimumCalls(10);
+    properties.setHalfOpenProbes(2);
+    meterRegistry = new SimpleMeterRegistry();
+    breaker = new RedisCircuitBreaker(properties, meterRegistry, clock::get);
+  }
+
+  private void record(int calls, boolean success, long duration) {
+    for (int i = 0; i < calls; i++) {
+      assertThat(breaker.tryAcquirePermission()).isTrue();
+      breaker.onResult(success, duration);
+    }
+  }
+
+  @Test
+  @DisplayName("실패율이 임계치에 도달하면 OPEN으로 전환되고 호출 차단")
+  void shouldOpenOnFailureRate() {
+    // when
+    record(5, true, FAST);
+    record(5, false, FAST);
+
+    // then
+    assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquirePermission()).isFalse();
+    assertThat(
+            meterRegistry
+                .get("ratelimit.redis.circuit.transitions")
+                .tag("to", "OPEN")
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("느린 호출 비율이 임계치에 도달해도 OPEN으로 전환")
+  void shouldOpenOnSlowCallRate() {
+    record(4, true, FAST);
+    record(6, true, SLOW);
+
+    assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  @DisplayName("최소 호출 수 전에는 실패해도 CLOSED 유지")
+  void shouldStayClosedBelowMinimumCalls() {
+    record(9, false, FAST);
+
+    assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  @DisplayName("open-duration 이후 프로브가 모두 성공하면 CLOSED로 복구")
+  void shouldCloseAfterSuccessfulProbes() {
+    // given
+    record(10, false, FAST);
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    // when
+    assertThat(breaker.tryAcquirePermission()).isTrue();
+    assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+    assertThat(breaker.tryAcquirePermission()).isTrue();
+    assertThat(breaker.tryAcquirePermission()).isFalse();
+    breaker.onResult(true, FAST);
+    breaker.onResult(true, FAST);
+
+    // then
+    assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    assertThat(breaker.tryAcquirePermission()).isTrue();
+  }
+
+  @Test
+  @DisplayName("HALF_OPEN에서 프로브가 실패하면 다시 OPEN")
+  void shouldReopenOnFailedProbe() {
+    // given
+    record(10, false, FAST);
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+    assertThat(breaker.tryAcquirePermission()).isTrue();
+
+    // when
+    breaker.onResult(false, FAST);
+
+    // then
+    assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquirePermission()).isFalse();
+  }
+}
@@ -0,0 +1,180 @@
+package com.auth.oauth2.security.shedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.config.LoadSheddingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdaptiveConcurrencyLimiter tests")
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final long WINDOW = Duration.ofMillis(100).toNanos();
+
+  private final AtomicLong clock = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private AdaptiveConcurrencyLimiter limiter;
+
+  @BeforeEach
+  void setUp() {
+    LoadSheddingProperties properties = new LoadSheddingProperties();
+    properties.setInitialLimit(100);
+    properties.setMinLimit(10);
+    properties.setMaxLimit(1000);
+    properties.setSampleWindow(Duration.ofNanos(WINDOW));
+    properties.setMinSamples(10);
+    limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry, clock::get);
+  }
+
+  @Test
+  @DisplayName("release: 지연이 급증하면 한도를 줄이고 회복되면 다시 늘림")
+  void release_shouldShrinkOnLatencySpikeAndRecover() {
+    // given
+    for (int i = 0; i < 20; i++) {
+      window((int) (limiter.getLimit() * 0.6), 10);
+    }
+    double healthy = limiter.getLimit();
+    assertThat(healthy).isGreaterThan(100);
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      window(10, 80);
+    }
+    double overloaded = limiter.getLimit();
+
+    // then
+    assertThat(overloaded).isLessThan(healthy / 2).isGreaterThanOrEqualTo(10);
+
+    for (int i = 0; i < 300 && limiter.getLimit() < healthy; i++) {
+      window((int) (limiter.getLimit() * 0.6), 10);
+    }
+    assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(healthy);
+  }
+
+  @Test
+  @DisplayName("release: 길이가 다른 요청이 섞여도 샘플링하지 않은 긴 요청은 한도를 줄이지 않음")
+  void release_shouldIgnoreUnsampledLongRequestsInMixedTraffic() {
+    // given
+    for (int i = 0; i < 20; i++) {
+      window((int) (limiter.getLimit() * 0.6), 10);
+    }
+    double healthy = limiter.getLimit();
+
+    // when: every window also finishes a few 30 s imports or feed streams, not sampled
+    for (int i = 0; i < 20; i++) {
+      mixedWindow((int) (limiter.getLimit() * 0.6), 10, 5, -1);
+    }
+
+    // then
+    assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(healthy);
+  }
+
+  @Test
+  @DisplayName("release: 긴 요청의 지연을 샘플링하면 백엔드가 정상이어도 한도가 무너짐")
+  void release_shouldCollapseWhenLongRequestsAreSampled() {
+    // given
+    for (int i = 0; i < 20; i++) {
+      window((int) (limiter.getLimit() * 0.6), 10);
+    }
+    double healthy = limiter.getLimit();
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      mixedWindow((int) (limiter.getLimit() * 0.6), 10, 5, Duration.ofSeconds(30).toNanos());
+    }
+
+    // then
+    assertThat(limiter.getLimit()).isLessThan(healthy / 2);
+  }
+
+  @Test
+  @DisplayName("release: 한도의 절반도 쓰지 않으면 한도를 늘리지 않음")
+  void release_shouldNotGrowWhenIdle() {
+    // when
+    for (int i = 0; i < 50; i++) {
+      window(10, 10);
+    }
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(100);
+  }
+
+  @Test
+  @DisplayName("release: 샘플이 부족한 구간은 버리고 다음 구간에 섞지 않음")
+  void release_shouldDiscardUnderSampledWindows() {
+    // given
+    for (int i = 0; i < 20; i++) {
+      window((int) (limiter.getLimit() * 0.6), 10);
+    }
+    double healthy = limiter.getLimit();
+
+    // when: a trickle of slow requests, never enough for one window on its own
+    for (int i = 0; i < 10; i++) {
+      window(5, 80);
+    }
+    double afterTrickle = limiter.getLimit();
+    window((int) (limiter.getLimit() * 0.6), 10);
+
+    // then
+    assertThat(afterTrickle).isEqualTo(healthy);
+    assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(healthy);
+  }
+
+  @Test
+  @DisplayName("tryAcquire: 낮은 우선순위 요청부터 차단하고 CRITICAL은 한도까지 허용")
+  void tryAcquire_shouldShedLowPriorityFirst() {
+    // given
+    for (int i = 0; i < 50; i++) {
+      assertThat(limiter.tryAcquire(RequestPriority.CRITICAL)).isTrue();
+    }
+
+    // when & then
+    assertThat(limiter.tryAcquire(RequestPriority.LOW)).isFalse();
+    assertThat(limiter.tryAcquire(RequestPriority.NORMAL)).isTrue();
+    assertThat(limiter.tryAcquire(RequestPriority.HIGH)).isTrue();
+    while (limiter.getInFlight() < 100) {
+      assertThat(limiter.tryAcquire(RequestPriority.CRITICAL)).isTrue();
+    }
+    assertThat(limiter.tryAcquire(RequestPriority.CRITICAL)).isFalse();
+    assertThat(meterRegistry.counter("loadshedding.rejected", "priority", "low").count())
+        .isEqualTo(1);
+
+    for (int i = 0; i < 100; i++) {
+      limiter.release(-1);
+    }
+    assertThat(limiter.getInFlight()).isZero();
+    assertThat(limiter.tryAcquire(RequestPriority.LOW)).isTrue();
+  }
+
+  /** Runs {@code requests} concurrent requests that each take {@code rttMillis}. */
+  private void window(int requests, long rttMillis) {
+    long rtt = Duration.ofMillis(rttMillis).toNanos();
+    for (int i = 0; i < requests; i++) {
+      assertThat(limiter.tryAcquire(RequestPriority.CRITICAL)).isTrue();
+    }
+    for (int i = 0; i < requests - 1; i++) {
+      limiter.release(rtt);
+    }
+    clock.addAndGet(WINDOW);
+    limiter.release(rtt);
+  }
+
+  /**
+   * Like {@link #window}, with {@code longRequests} more requests finishing in the same window and
+   * released with {@code longRttNanos}.
+   */
+  private void mixedWindow(int requests, long rttMillis, int longRequests, long longRttNanos) {
+    for (int i = 0; i < longRequests; i++) {
+      assertThat(limiter.tryAcquire(RequestPriority.LOW)).isTrue();
+    }
+    for (int i = 0; i < longRequests; i++) {
+      limiter.release(longRttNanos);
+    }
+    window(requests, rttMillis);
+  }
+}
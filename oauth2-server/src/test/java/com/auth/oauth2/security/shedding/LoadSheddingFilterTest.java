@@ -0,0 +1,92 @@
+package com.auth.oauth2.security.shedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("LoadSheddingFilter tests")
+class LoadSheddingFilterTest {
+
+  private AdaptiveConcurrencyLimiter limiter;
+  private LoadSheddingFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    limiter = mock(AdaptiveConcurrencyLimiter.class);
+    filter = new LoadSheddingFilter(limiter, new ObjectMapper());
+  }
+
+  @Test
+  @DisplayName("doFilter: 토큰 엔드포인트 요청의 지연은 한도 계산에 반영")
+  void doFilter_shouldSampleTokenRequests() throws Exception {
+    // given
+    given(limiter.tryAcquire(RequestPriority.HIGH)).willReturn(true);
+
+    // when
+    filter.doFilter(
+        new MockHttpServletRequest("POST", "/oauth2/token"),
+        new MockHttpServletResponse(),
+        new MockFilterChain());
+
+    // then
+    then(limiter).should().release(longThat(rtt -> rtt >= 0));
+  }
+
+  @Test
+  @DisplayName("doFilter: 오래 걸리거나 스트리밍하는 요청은 지연을 샘플링하지 않음")
+  void doFilter_shouldNotSampleLongRunningRequests() throws Exception {
+    // given
+    given(limiter.tryAcquire(any())).willReturn(true);
+    List<String> paths =
+        List.of(
+            "/api/v1/admin/users/import",
+            "/api/v1/users/changes",
+            "/oauth2/introspect/batch",
+            "/oauth2/jwks");
+
+    // when
+    for (String path : paths) {
+      filter.doFilter(
+          new MockHttpServletRequest("POST", path),
+          new MockHttpServletResponse(),
+          new MockFilterChain());
+    }
+
+    // then
+    then(limiter).should(times(paths.size())).release(-1);
+    then(limiter).should(never()).release(longThat(rtt -> rtt >= 0));
+  }
+
+  @Test
+  @DisplayName("doFilter: 한도를 넘으면 체인을 실행하지 않고 503 응답")
+  void doFilter_shouldShedWhenLimitIsReached() throws Exception {
+    // given
+    given(limiter.tryAcquire(RequestPriority.LOW)).willReturn(false);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    // when
+    filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/users/changes"), response, chain);
+
+    // then
+    assertThat(response.getStatus()).isEqualTo(503);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(chain.getRequest()).isNull();
+    then(limiter).should().tryAcquire(RequestPriority.LOW);
+    then(limiter).shouldHaveNoMoreInteractions();
+  }
+}
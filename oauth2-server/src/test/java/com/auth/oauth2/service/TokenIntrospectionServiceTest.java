@@ -0,0 +1,153 @@
+package com.auth.oauth2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+import com.auth.oauth2.repository.OAuth2AuthorizationBatchRepository;
+import com.auth.oauth2.security.introspection.LocalTokenVerifier;
+import com.auth.oauth2.security.introspection.ReferenceTokenStore;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenIntrospectionService tests")
+class TokenIntrospectionServiceTest {
+
+  private static final RegisteredClient CLIENT =
+      RegisteredClient.withId("1")
+          .clientId("gateway")
+          .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+          .build();
+
+  private static final LocalTokenVerifier.Verification UNKNOWN =
+      new LocalTokenVerifier.Verification(LocalTokenVerifier.Outcome.UNKNOWN, null);
+
+  @Mock private OAuth2AuthorizationBatchRepository authorizationRepository;
+  @Mock private LocalTokenVerifier localTokenVerifier;
+  @Mock private ReferenceTokenStore referenceTokenStore;
+
+  @InjectMocks private TokenIntrospectionService tokenIntrospectionService;
+
+  @Test
+  @DisplayName("introspect: 한 번의 조회로 모든 토큰을 요청 순서대로 반환")
+  void introspect_shouldResolveAllTokensWithOneLookupInRequestOrder() {
+    // given
+    Instant now = Instant.now();
+    OAuth2Authorization active = authorization("active-token", now, now.plusSeconds(300));
+    OAuth2Authorization expired =
+        authorization("expired-token", now.minusSeconds(600), now.minusSeconds(300));
+    given(localTokenVerifier.verify(any())).willReturn(UNKNOWN);
+    given(authorizationRepository.findByTokenValues(any(), any()))
+        .willReturn(Map.of("active-token", active, "expired-token", expired));
+    given(authorizationRepository.clientIdOf(active)).willReturn("gateway");
+
+    // when
+    List<Map<String, Object>> results =
+        tokenIntrospectionService.introspect(
+            List.of("unknown-token", "active-token", "expired-token", "active-token"),
+            "access_token");
+
+    // then
+    assertThat(results).hasSize(4);
+    assertThat(results.get(0)).containsExactly(Map.entry("active", false));
+    assertThat(results.get(1))
+        .containsEntry("active", true)
+        .containsEntry("client_id", "gateway")
+        .containsEntry("sub", "user@example.com")
+        .containsEntry("scope", "read write")
+        .containsEntry("token_type", "Bearer")
+        .containsEntry("exp", now.plusSeconds(300).getEpochSecond());
+    assertThat(results.get(2)).containsExactly(Map.entry("active", false));
+    assertThat(results.get(3)).isEqualTo(results.get(1));
+    then(referenceTokenStore).should(times(2)).save(active);
+
+    then(authorizationRepository)
+        .should(times(1))
+        .findByTokenValues(
+            Set.of("unknown-token", "active-token", "expired-token"),
+            OAuth2TokenType.ACCESS_TOKEN);
+  }
+
+  @Test
+  @DisplayName("introspect: 알 수 없는 token_type_hint는 무시")
+  void introspect_shouldIgnoreUnknownTokenTypeHint() {
+    // given
+    given(localTokenVerifier.verify("token")).willReturn(UNKNOWN);
+    given(authorizationRepository.findByTokenValues(any(), any())).willReturn(Map.of());
+
+    // when
+    List<Map<String, Object>> results =
+        tokenIntrospectionService.introspect(List.of("token"), "id_token");
+
+    // then
+    assertThat(results).containsExactly(Map.of("active", false));
+    then(authorizationRepository).should().findByTokenValues(Set.of("token"), null);
+  }
+
+  @Test
+  @DisplayName("introspect: 로컬 검증으로 판정된 토큰은 저장소를 조회하지 않음")
+  void introspect_shouldAnswerLocallyVerifiedTokensWithoutStoreLookup() {
+    // given
+    Instant now = Instant.now();
+    Map<String, Object> claims =
+        Map.of(
+            "sub", "user@example.com",
+            "client_id", "gateway",
+            "scope", List.of("read", "write"),
+            "iat", now,
+            "exp", now.plusSeconds(300));
+    given(localTokenVerifier.verify("jwt-token"))
+        .willReturn(
+            new LocalTokenVerifier.Verification(LocalTokenVerifier.Outcome.ACTIVE, claims));
+    given(localTokenVerifier.verify("revoked-token"))
+        .willReturn(new LocalTokenVerifier.Verification(LocalTokenVerifier.Outcome.INACTIVE, null));
+
+    // when
+    List<Map<String, Object>> results =
+        tokenIntrospectionService.introspect(List.of("jwt-token", "revoked-token"), null);
+
+    // then
+    assertThat(results.get(0))
+        .containsEntry("active", true)
+        .containsEntry("client_id", "gateway")
+        .containsEntry("scope", "read write")
+        .containsEntry("iat", now.getEpochSecond());
+    assertThat(results.get(1)).containsExactly(Map.entry("active", false));
+    then(authorizationRepository).shouldHaveNoInteractions();
+  }
+
+  private static OAuth2Authorization authorization(
+      String tokenValue, Instant issuedAt, Instant expiresAt) {
+    OAuth2AccessToken accessToken =
+        new OAuth2AccessToken(
+            OAuth2AccessToken.TokenType.BEARER,
+            tokenValue,
+            issuedAt,
+            expiresAt,
+            Set.of("read", "write"));
+    return OAuth2Authorization.withRegisteredClient(CLIENT)
+        .principalName("user@example.com")
+        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+        .token(
+            accessToken,
+            metadata ->
+                metadata.put(
+                    OAuth2Authorization.Token.CLAIMS_METADATA_NAME,
+                    Map.of("sub", "user@example.com", "scope", List.of("read", "write"))))
+        .build();
+  }
+}
@@ -0,0 +1,244 @@
+package com.auth.oauth2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.config.UserReplicationProperties;
+import com.auth.oauth2.domain.dto.response.UserChangeFeedResponse;
+import com.auth.oauth2.domain.dto.response.UserChangeResponse;
+import com.auth.oauth2.domain.entity.Role;
+import com.auth.oauth2.domain.entity.User;
+import com.auth.oauth2.domain.entity.UserChange;
+import com.auth.oauth2.domain.entity.UserChangeType;
+import com.auth.oauth2.repository.UserChangeRepository;
+import com.auth.oauth2.repository.UserChangeSequenceRepository;
+import com.auth.oauth2.repository.UserRepository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Import({UserChangeService.class, UserReplicationProperties.class})
+// Changes must commit before they can be sequenced, so the test-managed transaction is disabled
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UserChangeService tests")
+class UserChangeServiceTest {
+
+  @Autowired private UserChangeService userChangeService;
+  @Autowired private UserChangeRepository userChangeRepository;
+  @Autowired private UserChangeSequenceRepository userChangeSequenceRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserReplicationProperties replicationProperties;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    replicationProperties.setSequenceBatchSize(1_000);
+    replicationProperties.setSeedBatchSize(500);
+  }
+
+  @AfterEach
+  void tearDown() {
+    userChangeRepository.deleteAll();
+    userChangeSequenceRepository.deleteAll();
+    userRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("getChanges: 늦게 커밋된 낮은 id의 변경도 건너뛰지 않고 다음 위치로 제공")
+  void getChanges_shouldServeLateCommitAfterConsumerMovedOn() throws Exception {
+    // given
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch recorded = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+    Future<?> slowTransaction =
+        executor.submit(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      record(1L, "slow@example.com");
+                      recorded.countDown();
+                      awaitQuietly(commit);
+                    }));
+    assertThat(recorded.await(5, TimeUnit.SECONDS)).isTrue();
+    transactionTemplate.executeWithoutResult(status -> record(2L, "fast@example.com"));
+
+    // when
+    userChangeService.assignPositions();
+    UserChangeFeedResponse beforeCommit = userChangeService.getChanges(0, null);
+    commit.countDown();
+    slowTransaction.get(5, TimeUnit.SECONDS);
+    executor.shutdown();
+    userChangeService.assignPositions();
+    UserChangeFeedResponse afterCommit =
+        userChangeService.getChanges(beforeCommit.getNextCursor(), null);
+
+    // then
+    assertThat(beforeCommit.getChanges())
+        .extracting(UserChangeResponse::getEmail)
+        .containsExactly("fast@example.com");
+    assertThat(afterCommit.getChanges())
+        .extracting(UserChangeResponse::getEmail)
+        .containsExactly("slow@example.com");
+    assertThat(afterCommit.getChanges().get(0).getId())
+        .isLessThan(beforeCommit.getChanges().get(0).getId());
+    assertThat(afterCommit.getNextCursor()).isEqualTo(beforeCommit.getNextCursor() + 1);
+  }
+
+  @Test
+  @DisplayName("getChanges: 위치가 배정되지 않은 변경은 제공하지 않음")
+  void getChanges_shouldHideUnsequencedChanges() {
+    // given
+    transactionTemplate.executeWithoutResult(status -> record(1L, "alice@example.com"));
+
+    // when
+    UserChangeFeedResponse response = userChangeService.getChanges(0, null);
+
+    // then
+    assertThat(response.getChanges()).isEmpty();
+    assertThat(response.getNextCursor()).isZero();
+    assertThat(response.getHasMore()).isFalse();
+  }
+
+  @Test
+  @DisplayName("getChanges: limit 단위로 페이지를 나누고 nextCursor로 이어서 조회")
+  void getChanges_shouldPageWithCursor() {
+    // given
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          record(1L, "alice@example.com");
+          record(2L, "bob@example.com");
+          record(3L, "carol@example.com");
+        });
+    userChangeService.assignPositions();
+
+    // when
+    UserChangeFeedResponse first = userChangeService.getChanges(0, 2);
+    UserChangeFeedResponse second = userChangeService.getChanges(first.getNextCursor(), 2);
+    UserChangeFeedResponse idle = userChangeService.getChanges(second.getNextCursor(), 2);
+
+    // then
+    assertThat(first.getChanges())
+        .extracting(UserChangeResponse::getEmail)
+        .containsExactly("alice@example.com", "bob@example.com");
+    assertThat(first.getHasMore()).isTrue();
+    assertThat(second.getChanges())
+        .extracting(UserChangeResponse::getEmail)
+        .containsExactly("carol@example.com");
+    assertThat(second.getHasMore()).isFalse();
+    assertThat(idle.getChanges()).isEmpty();
+    assertThat(idle.getNextCursor()).isEqualTo(second.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("assignPositions: 배치 크기를 넘는 변경도 id 순서로 빈틈없이 위치 배정")
+  void assignPositions_shouldNumberAllPendingChangesInIdOrder() {
+    // given
+    replicationProperties.setSequenceBatchSize(2);
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          for (long userId = 1; userId <= 5; userId++) {
+            record(userId, "user" + userId + "@example.com");
+          }
+        });
+
+    // when
+    userChangeService.assignPositions();
+
+    // then
+    List<UserChange> changes = userChangeRepository.findAll(Sort.by("id"));
+    assertThat(changes).extracting(UserChange::getPosition).containsExactly(1L, 2L, 3L, 4L, 5L);
+  }
+
+  @Test
+  @DisplayName("seedIfEmpty: 비어 있는 스트림에 기존 사용자마다 CREATED 변경을 한 번만 기록")
+  void seedIfEmpty_shouldRecordEveryExistingUserOnce() {
+    // given
+    replicationProperties.setSeedBatchSize(2);
+    for (String email : List.of("alice@example.com", "bob@example.com", "carol@example.com")) {
+      userRepository.save(newUser(email));
+    }
+
+    // when
+    userChangeService.seedIfEmpty();
+    userChangeService.seedIfEmpty();
+
+    // then
+    assertThat(userChangeRepository.findAll())
+        .hasSize(3)
+        .allMatch(change -> change.getChangeType() == UserChangeType.CREATED)
+        .extracting(UserChange::getEmail)
+        .containsExactlyInAnyOrder("alice@example.com", "bob@example.com", "carol@example.com");
+  }
+
+  @Test
+  @DisplayName("purgeExpired: 최신 위치의 변경과 아직 배정되지 않은 변경은 보존 기간이 지나도 유지")
+  void purgeExpired_shouldKeepNewestAndUnsequencedChanges() {
+    // given
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          record(1L, "alice@example.com");
+          record(2L, "bob@example.com");
+          record(3L, "carol@example.com");
+        });
+    userChangeService.assignPositions();
+    transactionTemplate.executeWithoutResult(status -> record(4L, "dave@example.com"));
+    jdbcTemplate.update(
+        "UPDATE user_changes SET created_at = ?",
+        Timestamp.valueOf(
+            LocalDateTime.now().minus(replicationProperties.getRetention()).minusDays(1)));
+
+    // when
+    userChangeService.purgeExpired();
+
+    // then
+    assertThat(userChangeRepository.findAll())
+        .extracting(UserChange::getEmail)
+        .containsExactlyInAnyOrder("carol@example.com", "dave@example.com");
+  }
+
+  private void record(long userId, String email) {
+    userChangeService.record(
+        User.builder()
+            .id(userId)
+            .email(email)
+            .roles(Collections.singletonList(Role.ROLE_USER))
+            .build(),
+        UserChangeType.CREATED);
+  }
+
+  private static User newUser(String email) {
+    return User.builder()
+        .email(email)
+        .normalizedEmail(User.normalizeEmail(email))
+        .password("encodedPassword")
+        .roles(Collections.singletonList(Role.ROLE_USER))
+        .build();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,238 @@
+package com.auth.oauth2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+
+import com.auth.oauth2.config.UserImportProperties;
+import com.auth.oauth2.domain.dto.response.UserImportResponse;
+import com.auth.oauth2.domain.entity.UserImportJob;
+import com.auth.oauth2.exception.UserImportFormatMismatchException;
+import com.auth.oauth2.exception.UserImportJobNotFoundException;
+import com.auth.oauth2.repository.UserBatchRepository;
+import com.auth.oauth2.repository.UserBatchRepository.NewUser;
+import com.auth.oauth2.repository.UserImportJobRepository;
+import com.auth.oauth2.service.imports.UserImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DisplayName("UserImportService tests")
+class UserImportServiceTest {
+
+  // Pre-hashed passwords keep the tests about batching rather than BCrypt cost
+  private static final String BCRYPT_HASH =
+      "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+  private UserBatchRepository userBatchRepository;
+  private UserImportJobRepository jobRepository;
+  private UserImportService userImportService;
+
+  @BeforeEach
+  void setUp() {
+    userBatchRepository = mock(UserBatchRepository.class);
+    jobRepository = mock(UserImportJobRepository.class);
+    given(jobRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+    UserImportProperties properties = new UserImportProperties();
+    properties.setHashParallelism(1);
+    userImportService =
+        new UserImportService(
+            userBatchRepository,
+            jobRepository,
+            properties,
+            // Runs callbacks inline; commit and rollback go to a mock
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new ObjectMapper(),
+            new BCryptPasswordEncoder(4));
+  }
+
+  @Test
+  @DisplayName("importUsers: 중단된 작업은 체크포인트 이후 레코드부터 이어서 가져오고 누적 집계")
+  void importUsers_shouldResumeAfterCheckpoint() {
+    // given
+    UserImportJob job =
+        UserImportJob.builder()
+            .id("job-1")
+            .source("users.csv")
+            .format(UserImportFormat.CSV.name())
+            .status(UserImportJob.Status.FAILED)
+            .recordsProcessed(2L)
+            .imported(2L)
+            .build();
+    given(jobRepository.findById("job-1")).willReturn(Optional.of(job));
+    given(userBatchRepository.insertIfAbsent(any())).willReturn(new boolean[] {true, true});
+
+    // when
+    UserImportResponse response =
+        userImportService.importUsers(
+            csv("a@example.com", "b@example.com", "c@example.com", "d@example.com"),
+            UserImportFormat.CSV,
+            "users.csv",
+            "job-1");
+
+    // then
+    assertThat(insertedEmails()).containsExactly(List.of("c@example.com", "d@example.com"));
+    assertThat(response.getStatus()).isEqualTo("COMPLETED");
+    assertThat(response.getRecordsProcessed()).isEqualTo(4);
+    assertThat(response.getImported()).isEqualTo(4);
+    assertThat(job.getLastError()).isNull();
+  }
+
+  @Test
+  @DisplayName("importUsers: 파일 안의 중복과 이미 있는 이메일은 가져오지 않고 중복으로 집계")
+  void importUsers_shouldSkipDuplicates() {
+    // given
+    given(userBatchRepository.insertIfAbsent(any())).willReturn(new boolean[] {true, false});
+
+    // when
+    UserImportResponse response =
+        userImportService.importUsers(
+            csv("a@example.com", " A@Example.com", "existing@example.com"),
+            UserImportFormat.CSV,
+            "users.csv",
+            null);
+
+    // then
+    assertThat(insertedEmails()).containsExactly(List.of("a@example.com", "existing@example.com"));
+    assertThat(response.getImported()).isEqualTo(1);
+    assertThat(response.getDuplicates()).isEqualTo(2);
+    assertThat(response.getFailed()).isZero();
+  }
+
+  @Test
+  @DisplayName("importUsers: 동시 가입과 충돌한 배치는 한 건씩 다시 시도하고 진 건은 중복으로 집계")
+  void importUsers_shouldRetryRowByRowAfterConflict() {
+    // given
+    given(userBatchRepository.insertIfAbsent(any()))
+        .willThrow(new DataIntegrityViolationException("normalized_email"))
+        .willReturn(new boolean[] {true})
+        .willThrow(new DataIntegrityViolationException("normalized_email"));
+
+    // when
+    UserImportResponse response =
+        userImportService.importUsers(
+            csv("a@example.com", "b@example.com"), UserImportFormat.CSV, "users.csv", null);
+
+    // then
+    assertThat(insertedEmails())
+        .containsExactly(
+            List.of("a@example.com", "b@example.com"),
+            List.of("a@example.com"),
+            List.of("b@example.com"));
+    assertThat(response.getStatus()).isEqualTo("COMPLETED");
+    assertThat(response.getRecordsProcessed()).isEqualTo(2);
+    assertThat(response.getImported()).isEqualTo(1);
+    assertThat(response.getDuplicates()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("startImport: 본문을 받은 즉시 RUNNING 작업을 반환하고 가져오기는 백그라운드에서 완료")
+  void startImport_shouldReturnRunningJobAndImportInBackground() throws InterruptedException {
+    // given
+    CountDownLatch completed = new CountDownLatch(1);
+    given(jobRepository.save(any()))
+        .willAnswer(
+            invocation -> {
+              UserImportJob job = invocation.getArgument(0);
+              if (job.getStatus() == UserImportJob.Status.COMPLETED) {
+                completed.countDown();
+              }
+              return job;
+            });
+    given(userBatchRepository.insertIfAbsent(any())).willReturn(new boolean[] {true, true});
+
+    // when
+    UserImportResponse response =
+        userImportService.startImport(
+            csv("a@example.com", "b@example.com"), UserImportFormat.CSV, "api", null);
+
+    // then
+    assertThat(response.getJobId()).isNotBlank();
+    assertThat(response.getStatus()).isEqualTo("RUNNING");
+    assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(insertedEmails()).containsExactly(List.of("a@example.com", "b@example.com"));
+  }
+
+  @Test
+  @DisplayName("startImport: 없는 작업을 이어받으려 하면 본문을 읽지 않고 전용 예외")
+  void startImport_shouldRejectUnknownJob() {
+    // given
+    given(jobRepository.findById("missing")).willReturn(Optional.empty());
+
+    // when & then
+    assertThatThrownBy(
+            () ->
+                userImportService.startImport(
+                    csv("a@example.com"), UserImportFormat.CSV, "api", "missing"))
+        .isInstanceOf(UserImportJobNotFoundException.class);
+    then(userBatchRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("importUsers: 다른 형식으로 시작된 작업은 이어받지 않고 전용 예외")
+  void importUsers_shouldRejectFormatMismatch() {
+    // given
+    UserImportJob job =
+        UserImportJob.builder()
+            .id("job-1")
+            .source("users.jsonl")
+            .format(UserImportFormat.JSONL.name())
+            .status(UserImportJob.Status.FAILED)
+            .build();
+    given(jobRepository.findById("job-1")).willReturn(Optional.of(job));
+
+    // when & then
+    assertThatThrownBy(
+            () ->
+                userImportService.importUsers(
+                    csv("a@example.com"), UserImportFormat.CSV, "users.csv", "job-1"))
+        .isInstanceOf(UserImportFormatMismatchException.class);
+    assertThat(job.getStatus()).isEqualTo(UserImportJob.Status.FAILED);
+    then(userBatchRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("getJob: 없는 작업은 전용 예외")
+  void getJob_shouldThrowWhenJobIsUnknown() {
+    // given
+    given(jobRepository.findById("missing")).willReturn(Optional.empty());
+
+    // when & then
+    assertThatThrownBy(() -> userImportService.getJob("missing"))
+        .isInstanceOf(UserImportJobNotFoundException.class);
+  }
+
+  private List<List<String>> insertedEmails() {
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<NewUser>> batches = ArgumentCaptor.forClass(List.class);
+    then(userBatchRepository).should(atLeastOnce()).insertIfAbsent(batches.capture());
+    return batches.getAllValues().stream()
+        .map(batch -> batch.stream().map(NewUser::email).toList())
+        .toList();
+  }
+
+  private static InputStream csv(String... emails) {
+    StringBuilder csv = new StringBuilder("email,password_hash\n");
+    for (String email : emails) {
+      csv.append(email).append(',').append(BCRYPT_HASH).append('\n');
+    }
+    return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,117 @@
+package com.auth.oauth2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.oauth2.config.NormalizedEmailMigration;
+import com.auth.oauth2.config.UserReplicationProperties;
+import com.auth.oauth2.domain.dto.request.SignupRequest;
+import com.auth.oauth2.exception.DuplicateEmailException;
+import com.auth.oauth2.repository.UserChangeRepository;
+import com.auth.oauth2.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import({
+  NormalizedEmailMigration.class,
+  UserService.class,
+  UserChangeService.class,
+  UserReplicationProperties.class,
+  UserServiceConcurrencyTest.FastPasswordEncoder.class
+})
+// Every signup must commit on its own thread, so the test-managed transaction is disabled
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UserService concurrency tests")
+class UserServiceConcurrencyTest {
+
+  private static final int SIGNUPS = 2000;
+  private static final int DISTINCT_EMAILS = 200;
+  private static final int THREADS = 64;
+
+  @Autowired private UserService userService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserChangeRepository userChangeRepository;
+
+  // Low BCrypt cost keeps the test about the insert race rather than hashing time
+  @TestConfiguration
+  static class FastPasswordEncoder {
+    @Bean
+    PasswordEncoder userPasswordEncoder() {
+      return new BCryptPasswordEncoder(4);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    userChangeRepository.deleteAll();
+    userRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("signup: 동시 가입 요청 중 이메일당 정확히 하나만 성공하고 나머지는 중복 예외")
+  void signup_shouldCreateExactlyOneUserPerEmailUnderContention() throws Exception {
+    // given
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch startGate = new CountDownLatch(1);
+    AtomicInteger created = new AtomicInteger();
+    AtomicInteger duplicates = new AtomicInteger();
+    List<Throwable> unexpected = new ArrayList<>();
+    List<Future<?>> futures = new ArrayList<>(SIGNUPS);
+
+    // when
+    for (int i = 0; i < SIGNUPS; i++) {
+      SignupRequest request =
+          SignupRequest.builder()
+              .email("user" + (i % DISTINCT_EMAILS) + "@example.com")
+              .password("password123")
+              .build();
+      futures.add(
+          executor.submit(
+              () -> {
+                startGate.await();
+                try {
+                  userService.signup(request);
+                  created.incrementAndGet();
+                } catch (DuplicateEmailException e) {
+                  duplicates.incrementAndGet();
+                } catch (Throwable t) {
+                  synchronized (unexpected) {
+                    unexpected.add(t);
+                  }
+                }
+                return null;
+              }));
+    }
+    startGate.countDown();
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    // then
+    assertThat(unexpected).isEmpty();
+    assertThat(created.get()).isEqualTo(DISTINCT_EMAILS);
+    assertThat(duplicates.get()).isEqualTo(SIGNUPS - DISTINCT_EMAILS);
+    assertThat(userRepository.count()).isEqualTo(DISTINCT_EMAILS);
+    // Rolled-back duplicates leave no change behind
+    assertThat(userChangeRepository.count()).isEqualTo(DISTINCT_EMAILS);
+  }
+}
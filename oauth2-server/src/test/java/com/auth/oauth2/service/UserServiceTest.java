@@ -3,12 +3,16 @@ package com.auth.oauth2.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 
 import com.auth.oauth2.domain.dto.request.SignupRequest;
 import com.auth.oauth2.domain.entity.OAuth2Client;
 import com.auth.oauth2.domain.entity.Role;
 import com.auth.oauth2.domain.entity.User;
+import com.auth.oauth2.domain.entity.UserChangeType;
+import com.auth.oauth2.exception.DuplicateEmailException;
+import com.auth.oauth2.exception.UserNotFoundException;
 import com.auth.oauth2.repository.OAuth2ClientRepository;
 import com.auth.oauth2.repository.UserRepository;
 import java.time.LocalDateTime;
@@ -20,8 +24,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserService tests")
@@ -29,10 +39,16 @@ class UserServiceTest {
 
   @Mock private UserRepository userRepository;
   @Mock private OAuth2ClientRepository clientRepository;
+  @Mock private UserChangeService userChangeService;
+
+  // Runs callbacks inline; commit and rollback go to a mock
+  @Spy
+  private TransactionTemplate transactionTemplate =
+      new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
+  @Spy private PasswordEncoder userPasswordEncoder = new BCryptPasswordEncoder();
 
   @InjectMocks private UserService userService;
-  
-  private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
   private SignupRequest signupRequest;
   private User savedUser;
@@ -78,8 +94,7 @@ class UserServiceTest {
   @DisplayName("signup: 회원가입 성공")
   void signup_shouldCreateUserSuccessfully() {
     // given
-    given(userRepository.existsByEmail("test@example.com")).willReturn(false);
-    given(userRepository.save(any(User.class))).willAnswer(invocation -> {
+    given(userRepository.saveAndFlush(any(User.class))).willAnswer(invocation -> {
       User user = invocation.getArgument(0);
       return User.builder()
           .id(1L)
@@ -103,12 +118,13 @@ class UserServiceTest {
     assertThat(result.getUsername()).isEqualTo("test@example.com"); // getUsername()은 email을 반환
     assertThat(result.getEmail()).isEqualTo("test@example.com");
     // BCrypt로 인코딩된 비밀번호가 올바른지 확인
-    assertThat(passwordEncoder.matches("password123", result.getPassword())).isTrue();
+    assertThat(userPasswordEncoder.matches("password123", result.getPassword())).isTrue();
     assertThat(result.getRoles()).containsExactly(Role.ROLE_USER);
     assertThat(result.getEnabled()).isTrue();
 
-    then(userRepository).should(times(1)).existsByEmail("test@example.com");
-    then(userRepository).should(times(1)).save(any(User.class));
+    then(userRepository).should(never()).existsByEmail(anyString());
+    then(userRepository).should(times(1)).saveAndFlush(any(User.class));
+    then(userChangeService).should().record(result, UserChangeType.CREATED);
   }
 
   @Test
@@ -118,10 +134,9 @@ class UserServiceTest {
     signupRequest.setRedirectUri("http://localhost:3000/callback");
     signupRequest.setClientId("test-client");
 
-    given(userRepository.existsByEmail("test@example.com")).willReturn(false);
     given(clientRepository.findByClientId("test-client"))
         .willReturn(Optional.of(oAuth2Client));
-    given(userRepository.save(any(User.class))).willAnswer(invocation -> {
+    given(userRepository.saveAndFlush(any(User.class))).willAnswer(invocation -> {
       User user = invocation.getArgument(0);
       return User.builder()
           .id(1L)
@@ -149,15 +164,28 @@ class UserServiceTest {
   @DisplayName("signup 실패: 이미 존재하는 email")
   void signup_shouldThrowExceptionWhenEmailExists() {
     // given
+    given(userRepository.saveAndFlush(any(User.class)))
+        .willThrow(new DataIntegrityViolationException("unique constraint violation"));
     given(userRepository.existsByEmail("test@example.com")).willReturn(true);
 
     // when & then
     assertThatThrownBy(() -> userService.signup(signupRequest))
-        .isInstanceOf(RuntimeException.class)
+        .isInstanceOf(DuplicateEmailException.class)
         .hasMessageContaining("Email already exists");
 
-    then(userRepository).should(times(1)).existsByEmail("test@example.com");
-    then(userRepository).should(never()).save(any(User.class));
+    then(userRepository).should(times(1)).saveAndFlush(any(User.class));
+  }
+
+  @Test
+  @DisplayName("signup 실패: email 중복이 아닌 제약 조건 위반은 그대로 전파")
+  void signup_shouldRethrowOtherConstraintViolations() {
+    // given
+    var violation = new DataIntegrityViolationException("not null violation");
+    given(userRepository.saveAndFlush(any(User.class))).willThrow(violation);
+    given(userRepository.existsByEmail("test@example.com")).willReturn(false);
+
+    // when & then
+    assertThatThrownBy(() -> userService.signup(signupRequest)).isSameAs(violation);
   }
 
   @Test
@@ -167,7 +195,6 @@ class UserServiceTest {
     signupRequest.setRedirectUri("http://localhost:3000/callback");
     signupRequest.setClientId("invalid-client");
 
-    given(userRepository.existsByEmail("test@example.com")).willReturn(false);
     given(clientRepository.findByClientId("invalid-client")).willReturn(Optional.empty());
 
     // when & then
@@ -176,7 +203,7 @@ class UserServiceTest {
         .hasMessageContaining("Invalid client ID");
 
     then(clientRepository).should(times(1)).findByClientId("invalid-client");
-    then(userRepository).should(never()).save(any(User.class));
+    then(userRepository).should(never()).saveAndFlush(any(User.class));
   }
 
   @Test
@@ -186,7 +213,6 @@ class UserServiceTest {
     signupRequest.setRedirectUri("http://malicious.com/callback");
     signupRequest.setClientId("test-client");
 
-    given(userRepository.existsByEmail("test@example.com")).willReturn(false);
     given(clientRepository.findByClientId("test-client"))
         .willReturn(Optional.of(oAuth2Client));
 
@@ -196,7 +222,7 @@ class UserServiceTest {
         .hasMessageContaining("Redirect URI is not registered for this client");
 
     then(clientRepository).should(times(1)).findByClientId("test-client");
-    then(userRepository).should(never()).save(any(User.class));
+    then(userRepository).should(never()).saveAndFlush(any(User.class));
   }
 
   @Test
@@ -206,8 +232,7 @@ class UserServiceTest {
     signupRequest.setRedirectUri("http://localhost:3000/callback");
     signupRequest.setClientId(null);
 
-    given(userRepository.existsByEmail("test@example.com")).willReturn(false);
-    given(userRepository.save(any(User.class))).willAnswer(invocation -> {
+    given(userRepository.saveAndFlush(any(User.class))).willAnswer(invocation -> {
       User user = invocation.getArgument(0);
       return User.builder()
           .id(1L)
@@ -230,5 +255,42 @@ class UserServiceTest {
     assertThat(result).isNotNull();
     then(clientRepository).should(never()).findByClientId(anyString());
   }
-}
 
+  @Test
+  @DisplayName("setEnabled: 비활성화 시 DISABLED 변경을 기록")
+  void setEnabled_shouldRecordDisabledChange() {
+    // given
+    given(userRepository.findById(1L)).willReturn(Optional.of(savedUser));
+
+    // when
+    var result = userService.setEnabled(1L, false);
+
+    // then
+    assertThat(result.getEnabled()).isFalse();
+    then(userChangeService).should().record(savedUser, UserChangeType.DISABLED);
+  }
+
+  @Test
+  @DisplayName("setEnabled: 상태가 같으면 변경을 기록하지 않음")
+  void setEnabled_shouldNotRecordWhenUnchanged() {
+    // given
+    given(userRepository.findById(1L)).willReturn(Optional.of(savedUser));
+
+    // when
+    userService.setEnabled(1L, true);
+
+    // then
+    then(userChangeService).should(never()).record(any(User.class), eq(UserChangeType.UPDATED));
+  }
+
+  @Test
+  @DisplayName("setEnabled 실패: 존재하지 않는 사용자")
+  void setEnabled_shouldThrowWhenUserMissing() {
+    // given
+    given(userRepository.findById(99L)).willReturn(Optional.empty());
+
+    // when & then
+    assertThatThrownBy(() -> userService.setEnabled(99L, false))
+        .isInstanceOf(UserNotFoundException.class);
+  }
+}
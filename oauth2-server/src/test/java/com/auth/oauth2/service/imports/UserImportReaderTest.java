@@ -0,0 +1,130 @@
+package com.auth.oauth2.service.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UserImportReader tests")
+class UserImportReaderTest {
+
+  private static final String BCRYPT_HASH =
+      "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private UserImportReader open(UserImportFormat format, String content) throws IOException {
+    return format.open(
+        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper);
+  }
+
+  @Test
+  @DisplayName("CSV: 헤더 기반으로 email/password 컬럼 파싱")
+  void csv_shouldParseRecordsByHeader() throws IOException {
+    // given
+    String csv = "name,password,email\n\"Kim, A\",password123,a@example.com\n";
+
+    // when
+    try (UserImportReader reader = open(UserImportFormat.CSV, csv)) {
+      UserImportRecord record = reader.next();
+
+      // then
+      assertThat(record.isValid()).isTrue();
+      assertThat(record.ordinal()).isEqualTo(1);
+      assertThat(record.email()).isEqualTo("a@example.com");
+      assertThat(record.password()).isEqualTo("password123");
+      assertThat(record.passwordHashed()).isFalse();
+      assertThat(reader.next()).isNull();
+    }
+  }
+
+  @Test
+  @DisplayName("CSV: password_hash 컬럼은 해싱 없이 그대로 사용")
+  void csv_shouldAcceptPreHashedPasswords() throws IOException {
+    // given
+    String csv = "email,password_hash\nb@example.com," + BCRYPT_HASH + "\n";
+
+    // when
+    try (UserImportReader reader = open(UserImportFormat.CSV, csv)) {
+      UserImportRecord record = reader.next();
+
+      // then
+      assertThat(record.passwordHashed()).isTrue();
+      assertThat(record.password()).isEqualTo(BCRYPT_HASH);
+    }
+  }
+
+  @Test
+  @DisplayName("CSV: 유효하지 않은 레코드도 순번을 소비")
+  void csv_shouldCountInvalidRecordsInOrdinal() throws IOException {
+    // given
+    String csv =
+        "email,password\n"
+            + "not-an-email,password123\n"
+            + "\n"
+            + "c@example.com,short\n"
+            + "d@example.com,password123\n";
+
+    // when
+    try (UserImportReader reader = open(UserImportFormat.CSV, csv)) {
+      UserImportRecord first = reader.next();
+      UserImportRecord second = reader.next();
+      UserImportRecord third = reader.next();
+
+      // then
+      assertThat(first.isValid()).isFalse();
+      assertThat(second.isValid()).isFalse();
+      assertThat(second.error()).contains("at least 8");
+      assertThat(third.isValid()).isTrue();
+      assertThat(third.ordinal()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  @DisplayName("CSV: email 컬럼이 없으면 예외 발생")
+  void csv_shouldRejectHeaderWithoutEmail() {
+    assertThatThrownBy(() -> open(UserImportFormat.CSV, "username,password\n"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("email");
+  }
+
+  @Test
+  @DisplayName("JSONL: 한 줄에 하나의 객체 파싱, 잘못된 JSON은 실패로 표시")
+  void jsonl_shouldParseEachLine() throws IOException {
+    // given
+    String jsonl =
+        "{\"email\":\"e@example.com\",\"password\":\"password123\"}\n"
+            + "{not json}\n"
+            + "{\"email\":\"f@example.com\",\"passwordHash\":\""
+            + BCRYPT_HASH
+            + "\"}\n";
+
+    // when
+    try (UserImportReader reader = open(UserImportFormat.JSONL, jsonl)) {
+      UserImportRecord first = reader.next();
+      UserImportRecord second = reader.next();
+      UserImportRecord third = reader.next();
+
+      // then
+      assertThat(first.email()).isEqualTo("e@example.com");
+      assertThat(second.isValid()).isFalse();
+      assertThat(second.ordinal()).isEqualTo(2);
+      assertThat(third.passwordHashed()).isTrue();
+      assertThat(reader.next()).isNull();
+    }
+  }
+
+  @Test
+  @DisplayName("resolve: format 파라미터가 없으면 Content-Type으로 판별")
+  void resolve_shouldFallBackToContentType() {
+    assertThat(UserImportFormat.resolve(null, "text/csv")).isEqualTo(UserImportFormat.CSV);
+    assertThat(UserImportFormat.resolve(null, "application/x-ndjson"))
+        .isEqualTo(UserImportFormat.JSONL);
+    assertThat(UserImportFormat.resolve("jsonl", "text/csv")).isEqualTo(UserImportFormat.JSONL);
+  }
+}
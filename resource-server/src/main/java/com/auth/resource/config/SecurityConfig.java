@@ -1,8 +1,11 @@
 package com.auth.resource.config;
 
+import com.auth.client.introspection.TokenFormatAuthenticationManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -15,12 +18,23 @@ public class SecurityConfig {
 
   @Bean
   @Order(1)
-  public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain securityFilterChain(
+      HttpSecurity http, ObjectProvider<TokenFormatAuthenticationManager> tokenFormatManager)
+      throws Exception {
+    TokenFormatAuthenticationManager bothFormats = tokenFormatManager.getIfAvailable();
     http.csrf(AbstractHttpConfigurer::disable)
         .sessionManagement(
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        // Tokens are decoded by the cached JwtDecoder from the auth-client module; with
+        // auth.client.introspection enabled, opaque reference tokens go to cached introspection
         .oauth2ResourceServer(
-            oauth2 -> oauth2.jwt(jwt -> jwt.jwkSetUri("http://localhost:8081/oauth2/jwks")))
+            oauth2 -> {
+              if (bothFormats != null) {
+                oauth2.authenticationManagerResolver(request -> bothFormats);
+              } else {
+                oauth2.jwt(Customizer.withDefaults());
+              }
+            })
         .authorizeHttpRequests(
             auth ->
                 auth.requestMatchers("/userinfo")
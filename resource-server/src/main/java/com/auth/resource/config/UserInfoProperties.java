@@ -0,0 +1,19 @@
+package com.auth.resource.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "userinfo")
+@Getter
+@Setter
+public class UserInfoProperties {
+
+  // Look the subject up in the local users table when the token carries no user claims (slow path)
+  private boolean repositoryFallback = false;
+  private long maximumSize = 10_000;
+  private Duration expireAfterAccess = Duration.ofMinutes(10);
+}
@@ -0,0 +1,42 @@
+package com.auth.resource.config;
+
+import com.auth.resource.replication.UserChangeFeedClient;
+import com.auth.resource.replication.UserReplicator;
+import com.auth.resource.repository.ReplicationCheckpointRepository;
+import com.auth.resource.repository.UserUpsertRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(
+    name = "user-replication.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class UserReplicationConfig {
+
+  @Bean
+  public UserChangeFeedClient userChangeFeedClient(
+      RestClient.Builder restClientBuilder, UserReplicationProperties properties) {
+    return new UserChangeFeedClient(restClientBuilder, properties);
+  }
+
+  @Bean
+  public UserReplicator userReplicator(
+      UserChangeFeedClient userChangeFeedClient,
+      UserUpsertRepository userUpsertRepository,
+      ReplicationCheckpointRepository checkpointRepository,
+      TransactionTemplate transactionTemplate,
+      UserReplicationProperties properties) {
+    return new UserReplicator(
+        userChangeFeedClient,
+        userUpsertRepository,
+        checkpointRepository,
+        transactionTemplate,
+        properties);
+  }
+}
@@ -0,0 +1,25 @@
+package com.auth.resource.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-replication")
+@Getter
+@Setter
+public class UserReplicationProperties {
+
+  private boolean enabled = true;
+  private String feedUri = "http://localhost:8081/api/v1/users/changes";
+  private String tokenUri = "http://localhost:8081/oauth2/token";
+  // client_credentials client with the users.read scope
+  private String clientId = "resource-server";
+  private String clientSecret = "resource-server-secret-key";
+  private Duration pollInterval = Duration.ofSeconds(5);
+  private int batchSize = 500;
+  private Duration connectTimeout = Duration.ofSeconds(1);
+  private Duration readTimeout = Duration.ofSeconds(10);
+}
@@ -2,12 +2,14 @@ package com.auth.resource.controller;
 
 import com.auth.resource.security.OidcUserInfoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping
@@ -18,12 +20,20 @@ public class UserInfoController {
 
   /**
    * OIDC UserInfo endpoint.
-   * Returns user information using the access token issued by the OAuth2 Authorization Server.
+   * Returns user information from the claims of the access token issued by the OAuth2
+   * Authorization Server. Clients polling with If-None-Match get 304 while the claims are
+   * unchanged.
    */
   @GetMapping("/userinfo")
-  public ResponseEntity<OidcUserInfo> getUserInfo(Authentication authentication) {
-    OidcUserInfo userInfo = oidcUserInfoService.getUserInfo(authentication);
-    return ResponseEntity.ok(userInfo);
+  public ResponseEntity<byte[]> getUserInfo(Authentication authentication, WebRequest request) {
+    OidcUserInfoService.UserInfoBody userInfo = oidcUserInfoService.getUserInfo(authentication);
+    if (request.checkNotModified(userInfo.etag())) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .eTag(userInfo.etag())
+        .body(userInfo.json());
   }
 }
-
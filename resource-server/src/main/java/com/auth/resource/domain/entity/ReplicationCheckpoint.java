@@ -0,0 +1,40 @@
+package com.auth.resource.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Position of a consumer in a change feed. Advanced in the same transaction as the changes it
+ * covers, so a restart resumes exactly after the last applied batch.
+ */
+@Entity
+@Table(name = "replication_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplicationCheckpoint {
+
+  @Id
+  @Column(length = 50)
+  private String feed;
+
+  // Stream position of the last applied change; the column keeps its original name
+  @Column(name = "last_change_id", nullable = false)
+  private Long lastPosition;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now();
+  }
+}
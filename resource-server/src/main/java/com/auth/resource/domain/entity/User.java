@@ -21,7 +21,7 @@ public class User {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  @Column(nullable = false, unique = true, length = 50)
+  @Column(nullable = false, unique = true, length = 100)
   private String username;
 
   @Column(nullable = false, length = 100)
@@ -0,0 +1,18 @@
+package com.auth.resource.replication;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** One page of oauth2-server's user change feed. */
+public record UserChangeFeed(List<Change> changes, long nextCursor, boolean hasMore) {
+
+  /** Full state of the user after the change; {@code type} is CREATED, UPDATED or DISABLED. */
+  public record Change(
+      long id,
+      long userId,
+      String email,
+      String type,
+      boolean enabled,
+      List<String> roles,
+      LocalDateTime occurredAt) {}
+}
@@ -0,0 +1,82 @@
+package com.auth.resource.replication;
+
+import com.auth.resource.config.UserReplicationProperties;
+import java.time.Instant;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Reads oauth2-server's user change feed with a {@code client_credentials} access token, which is
+ * fetched on first use and reused until shortly before it expires.
+ */
+public class UserChangeFeedClient {
+
+  private static final long EXPIRY_MARGIN_SECONDS = 30;
+
+  private final RestClient restClient;
+  private final UserReplicationProperties properties;
+  private String accessToken;
+  private Instant accessTokenExpiresAt = Instant.EPOCH;
+
+  public UserChangeFeedClient(
+      RestClient.Builder restClientBuilder, UserReplicationProperties properties) {
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(properties.getConnectTimeout());
+    requestFactory.setReadTimeout(properties.getReadTimeout());
+    this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    this.properties = properties;
+  }
+
+  /** Returns up to {@code limit} changes after {@code cursor}. */
+  public synchronized UserChangeFeed fetch(long cursor, int limit) {
+    try {
+      return restClient
+          .get()
+          .uri(properties.getFeedUri() + "?after={after}&limit={limit}", cursor, limit)
+          .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken())
+          .retrieve()
+          .body(UserChangeFeed.class);
+    } catch (HttpClientErrorException e) {
+      if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+        // Signing key rotated or token revoked: get a new one on the next poll
+        accessToken = null;
+      }
+      throw e;
+    }
+  }
+
+  private String accessToken() {
+    if (accessToken != null && Instant.now().isBefore(accessTokenExpiresAt)) {
+      return accessToken;
+    }
+    MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+    form.add("grant_type", "client_credentials");
+    form.add("scope", "users.read");
+    Map<?, ?> response =
+        restClient
+            .post()
+            .uri(properties.getTokenUri())
+            .headers(
+                headers ->
+                    headers.setBasicAuth(properties.getClientId(), properties.getClientSecret()))
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .body(form)
+            .retrieve()
+            .body(Map.class);
+    if (response == null || !(response.get("access_token") instanceof String token)) {
+      throw new IllegalStateException("Token endpoint returned no access_token");
+    }
+    long expiresIn =
+        response.get("expires_in") instanceof Number seconds ? seconds.longValue() : 0;
+    accessToken = token;
+    accessTokenExpiresAt = Instant.now().plusSeconds(expiresIn - EXPIRY_MARGIN_SECONDS);
+    return accessToken;
+  }
+}
@@ -0,0 +1,87 @@
+package com.auth.resource.replication;
+
+import com.auth.resource.config.UserReplicationProperties;
+import com.auth.resource.domain.entity.ReplicationCheckpoint;
+import com.auth.resource.repository.ReplicationCheckpointRepository;
+import com.auth.resource.repository.UserUpsertRepository;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Keeps the local {@code users} table in step with oauth2-server by polling its change feed.
+ *
+ * <p>Each page is applied in one transaction together with the checkpoint: changes are collapsed
+ * to the latest per user and written as batched upserts. After downtime the next poll continues
+ * from the checkpoint and drains the backlog page by page before waiting again; nothing is ever
+ * copied wholesale. When oauth2-server is unreachable the poll is skipped and retried on the next
+ * interval.
+ */
+@Slf4j
+public class UserReplicator {
+
+  static final String FEED = "oauth2-server.users";
+
+  private final UserChangeFeedClient feedClient;
+  private final UserUpsertRepository userUpsertRepository;
+  private final ReplicationCheckpointRepository checkpointRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public UserReplicator(
+      UserChangeFeedClient feedClient,
+      UserUpsertRepository userUpsertRepository,
+      ReplicationCheckpointRepository checkpointRepository,
+      TransactionTemplate transactionTemplate,
+      UserReplicationProperties properties) {
+    this.feedClient = feedClient;
+    this.userUpsertRepository = userUpsertRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = properties.getBatchSize();
+  }
+
+  @Scheduled(
+      initialDelayString = "${user-replication.poll-interval:PT5S}",
+      fixedDelayString = "${user-replication.poll-interval:PT5S}")
+  public void poll() {
+    long cursor =
+        checkpointRepository.findById(FEED).map(ReplicationCheckpoint::getLastPosition).orElse(0L);
+    long applied = 0;
+    try {
+      UserChangeFeed page;
+      do {
+        page = feedClient.fetch(cursor, batchSize);
+        if (page.nextCursor() != cursor) {
+          apply(page);
+          applied += page.changes().size();
+          cursor = page.nextCursor();
+        }
+      } while (page.hasMore());
+    } catch (RestClientException e) {
+      log.warn("User replication paused at change {}: {}", cursor, e.getMessage());
+    }
+    if (applied > 0) {
+      log.debug("Replicated {} user changes, now at {}", applied, cursor);
+    }
+  }
+
+  private void apply(UserChangeFeed page) {
+    Map<Long, UserChangeFeed.Change> latest = new LinkedHashMap<>();
+    for (UserChangeFeed.Change change : page.changes()) {
+      latest.put(change.userId(), change);
+    }
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          userUpsertRepository.upsert(latest.values());
+          checkpointRepository.save(
+              ReplicationCheckpoint.builder()
+                  .feed(FEED)
+                  .lastPosition(page.nextCursor())
+                  .build());
+        });
+  }
+}
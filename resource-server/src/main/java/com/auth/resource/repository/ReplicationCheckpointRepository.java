@@ -0,0 +1,9 @@
+package com.auth.resource.repository;
+
+import com.auth.resource.domain.entity.ReplicationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReplicationCheckpointRepository
+    extends JpaRepository<ReplicationCheckpoint, String> {}
@@ -0,0 +1,82 @@
+package com.auth.resource.repository;
+
+import com.auth.resource.domain.entity.Role;
+import com.auth.resource.replication.UserChangeFeed;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC batch writer applying replicated user state. Users keep the id they have on oauth2-server,
+ * so every change is an upsert on the primary key and replaying one is harmless.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserUpsertRepository {
+
+  // Standard MERGE runs unchanged on H2 and PostgreSQL 15+. Replicas never authenticate users, so
+  // no password hash is copied and the NOT NULL column gets an empty string.
+  private static final String UPSERT_USER_SQL =
+      "MERGE INTO users u"
+          + " USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(100)), CAST(? AS BOOLEAN),"
+          + " CAST(? AS TIMESTAMP))) AS s (id, email, enabled, changed_at)"
+          + " ON u.id = s.id"
+          + " WHEN MATCHED THEN UPDATE SET username = s.email, email = s.email,"
+          + " enabled = s.enabled, updated_at = s.changed_at"
+          + " WHEN NOT MATCHED THEN INSERT (id, username, email, password, enabled,"
+          + " account_non_expired, account_non_locked, credentials_non_expired, created_at,"
+          + " updated_at)"
+          + " VALUES (s.id, s.email, s.email, '', s.enabled, TRUE, TRUE, TRUE, s.changed_at,"
+          + " s.changed_at)";
+
+  private static final String DELETE_ROLES_SQL = "DELETE FROM user_roles WHERE user_id = ?";
+
+  private static final String INSERT_ROLE_SQL =
+      "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+
+  private static final Set<String> KNOWN_ROLES =
+      Arrays.stream(Role.values()).map(Role::name).collect(Collectors.toUnmodifiableSet());
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Writes the given states with three statement batches. At most one change per user; must run
+   * inside a transaction so that users and roles are committed together.
+   */
+  public void upsert(Collection<UserChangeFeed.Change> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    List<Object[]> userArgs = new ArrayList<>(changes.size());
+    List<Object[]> userIds = new ArrayList<>(changes.size());
+    List<Object[]> roleArgs = new ArrayList<>(changes.size());
+    for (UserChangeFeed.Change change : changes) {
+      userArgs.add(
+          new Object[] {
+            change.userId(),
+            change.email(),
+            change.enabled(),
+            Timestamp.valueOf(change.occurredAt())
+          });
+      userIds.add(new Object[] {change.userId()});
+      for (String role : change.roles()) {
+        // Roles this replica does not know yet are skipped rather than failing the batch
+        if (KNOWN_ROLES.contains(role)) {
+          roleArgs.add(new Object[] {change.userId(), role});
+        }
+      }
+    }
+    jdbcTemplate.batchUpdate(UPSERT_USER_SQL, userArgs);
+    jdbcTemplate.batchUpdate(DELETE_ROLES_SQL, userIds);
+    if (!roleArgs.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_ROLE_SQL, roleArgs);
+    }
+  }
+}
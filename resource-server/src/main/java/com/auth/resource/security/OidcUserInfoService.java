@@ -1,73 +1,128 @@
 package com.auth.resource.security;
 
+import com.auth.resource.config.UserInfoProperties;
+import com.auth.resource.domain.entity.User;
 import com.auth.resource.repository.UserRepository;
-import java.util.HashMap;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.core.ClaimAccessor;
 import org.springframework.stereotype.Service;
 
+/**
+ * Builds OIDC UserInfo responses from the claims of the already verified access token.
+ *
+ * <p>The response only depends on the subject and the user claims in the token (a JWT, or the
+ * introspection result of a reference token), so the serialized JSON body and its ETag are
+ * computed once per distinct set of claims and kept in a bounded cache; a request costs a lookup
+ * and no database access. Tokens without {@code username} or {@code userId} claims get just their
+ * {@code sub}, unless {@code userinfo.repository-fallback} enables the lookup in the local users
+ * table, which is neither cached nor meant for the hot path.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class OidcUserInfoService {
 
   private final UserRepository userRepository;
+  private final ObjectMapper objectMapper;
+  private final boolean repositoryFallback;
+  private final Cache<ClaimsKey, UserInfoBody> responses;
 
-  /**
-   * Extracts user information from JWT token and creates OIDC UserInfo.
-   * Called by Resource Server, retrieves user information from JWT claims.
-   */
-  public OidcUserInfo getUserInfo(Authentication authentication) {
-    if (authentication == null || !(authentication.getPrincipal() instanceof Jwt)) {
-      return createDefaultUserInfo("unknown");
-    }
+  public OidcUserInfoService(
+      UserRepository userRepository, ObjectMapper objectMapper, UserInfoProperties properties) {
+    this.userRepository = userRepository;
+    this.objectMapper = objectMapper;
+    this.repositoryFallback = properties.isRepositoryFallback();
+    this.responses =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterAccess(properties.getExpireAfterAccess())
+            .build();
+  }
 
-    Jwt jwt = (Jwt) authentication.getPrincipal();
-    
-    String username = jwt.getClaimAsString("username");
-    String userId = jwt.getClaimAsString("userId");
-    String email = jwt.getClaimAsString("email");
+  /** Serialized UserInfo JSON and a strong ETag derived from it. */
+  public record UserInfoBody(byte[] json, String etag) {}
 
-    if (username != null || userId != null) {
-      Map<String, Object> claims = new HashMap<>();
-      claims.put("sub", userId != null ? userId : username);
-      if (username != null) {
-        claims.put("name", username);
-        claims.put("preferred_username", username);
-      }
-      if (email != null) {
-        claims.put("email", email);
-        claims.put("email_verified", true);
+  /** The claims a response is built from; equal keys always produce the same body. */
+  private record ClaimsKey(String subject, String userId, String username, String email) {}
+
+  public UserInfoBody getUserInfo(Authentication authentication) {
+    // A Jwt, or the introspection result of an opaque reference token
+    if (authentication == null
+        || !(authentication.getPrincipal() instanceof ClaimAccessor token)) {
+      return responses.get(new ClaimsKey("unknown", null, null, null), this::serialize);
+    }
+
+    ClaimsKey key =
+        new ClaimsKey(
+            token.getClaimAsString("sub"),
+            token.getClaimAsString("userId"),
+            token.getClaimAsString("username"),
+            token.getClaimAsString("email"));
+    if (key.username() == null && key.userId() == null && repositoryFallback) {
+      Optional<User> user = Optional.ofNullable(key.subject()).flatMap(this::findUser);
+      if (user.isPresent()) {
+        return toBody(userClaims(user.get()));
       }
-      return new OidcUserInfo(claims);
     }
+    return responses.get(key, this::serialize);
+  }
 
-    String subject = jwt.getSubject();
-    if (subject != null) {
-      return userRepository
-          .findByUsername(subject)
-          .map(
-              user -> {
-                Map<String, Object> claims = new HashMap<>();
-                claims.put("sub", user.getId().toString());
-                claims.put("name", user.getUsername());
-                claims.put("email", user.getEmail());
-                claims.put("email_verified", true);
-                claims.put("preferred_username", user.getUsername());
-                return new OidcUserInfo(claims);
-              })
-          .orElseGet(() -> createDefaultUserInfo(subject));
+  private Optional<User> findUser(String subject) {
+    log.debug("No user claims in token for {}, falling back to the users table", subject);
+    return userRepository.findByUsername(subject);
+  }
+
+  private UserInfoBody serialize(ClaimsKey key) {
+    Map<String, Object> claims = new LinkedHashMap<>();
+    if (key.username() == null && key.userId() == null) {
+      claims.put("sub", key.subject() != null ? key.subject() : "unknown");
+      return toBody(claims);
+    }
+    claims.put("sub", key.userId() != null ? key.userId() : key.username());
+    if (key.username() != null) {
+      claims.put("name", key.username());
+    }
+    if (key.email() != null) {
+      claims.put("email", key.email());
+      claims.put("email_verified", true);
+    }
+    if (key.username() != null) {
+      claims.put("preferred_username", key.username());
     }
+    return toBody(claims);
+  }
 
-    return createDefaultUserInfo("unknown");
+  private static Map<String, Object> userClaims(User user) {
+    Map<String, Object> claims = new LinkedHashMap<>();
+    claims.put("sub", user.getId().toString());
+    claims.put("name", user.getUsername());
+    claims.put("email", user.getEmail());
+    claims.put("email_verified", true);
+    claims.put("preferred_username", user.getUsername());
+    return claims;
   }
 
-  private OidcUserInfo createDefaultUserInfo(String subject) {
-    Map<String, Object> claims = new HashMap<>();
-    claims.put("sub", subject != null ? subject : "unknown");
-    return new OidcUserInfo(claims);
+  private UserInfoBody toBody(Map<String, Object> claims) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(claims);
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+      String tag = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+      return new UserInfoBody(json, '"' + tag + '"');
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize UserInfo claims", e);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
   }
 }
-
@@ -0,0 +1,99 @@
+package com.auth.resource.controller;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.auth.resource.config.SecurityConfig;
+import com.auth.resource.config.UserInfoProperties;
+import com.auth.resource.repository.UserRepository;
+import com.auth.resource.security.OidcUserInfoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@WebMvcTest(controllers = UserInfoController.class)
+@Import({SecurityConfig.class, OidcUserInfoService.class, UserInfoProperties.class})
+@DisplayName("UserInfoController tests")
+class UserInfoControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private UserRepository userRepository;
+  @MockBean private JwtDecoder jwtDecoder;
+
+  @Test
+  @DisplayName("GET /userinfo: 토큰 클레임을 ETag와 함께 반환")
+  void getUserInfo_shouldReturnClaimsWithEtag() throws Exception {
+    // when & then
+    mockMvc
+        .perform(get("/userinfo").with(token("a@x.io")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.sub").value("7"))
+        .andExpect(jsonPath("$.email").value("a@x.io"))
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+  }
+
+  @Test
+  @DisplayName("GET /userinfo: If-None-Match가 현재 ETag와 같으면 본문 없이 304")
+  void getUserInfo_shouldReturnNotModifiedForCurrentEtag() throws Exception {
+    // given
+    String etag =
+        mockMvc
+            .perform(get("/userinfo").with(token("a@x.io")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    // when & then
+    mockMvc
+        .perform(get("/userinfo").with(token("a@x.io")).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  @DisplayName("GET /userinfo: 클레임이 바뀌면 이전 ETag로 요청해도 새 본문 반환")
+  void getUserInfo_shouldReturnNewBodyWhenClaimsChanged() throws Exception {
+    // given
+    String etag =
+        mockMvc
+            .perform(get("/userinfo").with(token("a@x.io")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    // when & then
+    mockMvc
+        .perform(get("/userinfo").with(token("b@x.io")).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.email").value("b@x.io"))
+        .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+  }
+
+  @Test
+  @DisplayName("GET /userinfo: 토큰이 없으면 401")
+  void getUserInfo_shouldRequireToken() throws Exception {
+    // when & then
+    mockMvc.perform(get("/userinfo")).andExpect(status().isUnauthorized());
+  }
+
+  private static RequestPostProcessor token(String email) {
+    return jwt()
+        .jwt(
+            jwt ->
+                jwt.subject("alice")
+                    .claim("userId", "7")
+                    .claim("username", "alice")
+                    .claim("email", email));
+  }
+}
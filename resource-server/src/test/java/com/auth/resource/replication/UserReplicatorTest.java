@@ -0,0 +1,167 @@
+package com.auth.resource.replication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.auth.resource.config.UserReplicationProperties;
+import com.auth.resource.domain.entity.ReplicationCheckpoint;
+import com.auth.resource.repository.ReplicationCheckpointRepository;
+import com.auth.resource.repository.UserUpsertRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+
+@DisplayName("UserReplicator tests")
+class UserReplicatorTest {
+
+  private static final int BATCH_SIZE = 500;
+
+  private UserChangeFeedClient feedClient;
+  private UserUpsertRepository userUpsertRepository;
+  private ReplicationCheckpointRepository checkpointRepository;
+  private UserReplicator replicator;
+
+  @BeforeEach
+  void setUp() {
+    feedClient = mock(UserChangeFeedClient.class);
+    userUpsertRepository = mock(UserUpsertRepository.class);
+    checkpointRepository = mock(ReplicationCheckpointRepository.class);
+    UserReplicationProperties properties = new UserReplicationProperties();
+    properties.setBatchSize(BATCH_SIZE);
+    replicator =
+        new UserReplicator(
+            feedClient,
+            userUpsertRepository,
+            checkpointRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            properties);
+  }
+
+  @Test
+  @DisplayName("poll: 체크포인트부터 남은 페이지를 모두 적용하고 페이지마다 체크포인트 전진")
+  void poll_shouldDrainPagesAndAdvanceCheckpoint() {
+    // given
+    given(checkpointRepository.findById(UserReplicator.FEED)).willReturn(checkpoint(10L));
+    given(feedClient.fetch(10L, BATCH_SIZE))
+        .willReturn(
+            new UserChangeFeed(
+                List.of(change(11, 1, "CREATED", true), change(12, 2, "CREATED", true)),
+                12L,
+                true));
+    given(feedClient.fetch(12L, BATCH_SIZE))
+        .willReturn(new UserChangeFeed(List.of(change(13, 3, "CREATED", true)), 13L, false));
+
+    // when
+    replicator.poll();
+
+    // then
+    then(userUpsertRepository).should(times(2)).upsert(any());
+    assertThat(savedCheckpoints()).containsExactly(12L, 13L);
+  }
+
+  @Test
+  @DisplayName("poll: 한 페이지 안의 변경은 사용자별 최신 상태 하나로 합쳐서 적용")
+  void poll_shouldCollapseChangesPerUser() {
+    // given
+    given(checkpointRepository.findById(UserReplicator.FEED)).willReturn(Optional.empty());
+    given(feedClient.fetch(0L, BATCH_SIZE))
+        .willReturn(
+            new UserChangeFeed(
+                List.of(
+                    change(1, 1, "CREATED", true),
+                    change(2, 2, "CREATED", true),
+                    change(3, 1, "DISABLED", false)),
+                3L,
+                false));
+
+    // when
+    replicator.poll();
+
+    // then
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<UserChangeFeed.Change>> applied =
+        ArgumentCaptor.forClass(Collection.class);
+    then(userUpsertRepository).should().upsert(applied.capture());
+    assertThat(applied.getValue())
+        .extracting(UserChangeFeed.Change::userId, UserChangeFeed.Change::type)
+        .containsExactly(tuple(1L, "DISABLED"), tuple(2L, "CREATED"));
+    assertThat(savedCheckpoints()).containsExactly(3L);
+  }
+
+  @Test
+  @DisplayName("poll: oauth2-server에 연결할 수 없으면 적용한 페이지까지만 남기고 다음 주기로 미룸")
+  void poll_shouldPauseOnRestClientException() {
+    // given
+    given(checkpointRepository.findById(UserReplicator.FEED)).willReturn(checkpoint(5L));
+    given(feedClient.fetch(5L, BATCH_SIZE))
+        .willReturn(new UserChangeFeed(List.of(change(6, 1, "UPDATED", true)), 6L, true));
+    given(feedClient.fetch(6L, BATCH_SIZE))
+        .willThrow(new ResourceAccessException("Connection refused"));
+
+    // when
+    replicator.poll();
+
+    // then
+    then(userUpsertRepository).should(times(1)).upsert(any());
+    assertThat(savedCheckpoints()).containsExactly(6L);
+  }
+
+  @Test
+  @DisplayName("poll: 새 변경이 없으면 아무것도 쓰지 않음")
+  void poll_shouldNotWriteWhenFeedIsIdle() {
+    // given
+    given(checkpointRepository.findById(UserReplicator.FEED)).willReturn(checkpoint(7L));
+    given(feedClient.fetch(anyLong(), anyInt()))
+        .willReturn(new UserChangeFeed(List.of(), 7L, false));
+
+    // when
+    replicator.poll();
+
+    // then
+    then(userUpsertRepository).should(never()).upsert(any());
+    then(checkpointRepository).should(never()).save(any());
+  }
+
+  private List<Long> savedCheckpoints() {
+    ArgumentCaptor<ReplicationCheckpoint> saved =
+        ArgumentCaptor.forClass(ReplicationCheckpoint.class);
+    then(checkpointRepository).should(atLeastOnce()).save(saved.capture());
+    return saved.getAllValues().stream().map(ReplicationCheckpoint::getLastPosition).toList();
+  }
+
+  private static Optional<ReplicationCheckpoint> checkpoint(long lastPosition) {
+    return Optional.of(
+        ReplicationCheckpoint.builder()
+            .feed(UserReplicator.FEED)
+            .lastPosition(lastPosition)
+            .build());
+  }
+
+  private static UserChangeFeed.Change change(long id, long userId, String type, boolean enabled) {
+    return new UserChangeFeed.Change(
+        id,
+        userId,
+        "user" + userId + "@example.com",
+        type,
+        enabled,
+        List.of("ROLE_USER"),
+        LocalDateTime.of(2026, 10, 1, 10, 0));
+  }
+}
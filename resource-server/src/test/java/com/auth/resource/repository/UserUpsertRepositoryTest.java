@@ -0,0 +1,92 @@
+package com.auth.resource.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth.resource.domain.entity.Role;
+import com.auth.resource.domain.entity.User;
+import com.auth.resource.replication.UserChangeFeed;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(UserUpsertRepository.class)
+@DisplayName("UserUpsertRepository tests")
+class UserUpsertRepositoryTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 1, 10, 0);
+  private static final LocalDateTime DISABLED_AT = LocalDateTime.of(2026, 10, 2, 10, 0);
+
+  @Autowired private UserUpsertRepository userUpsertRepository;
+  @Autowired private UserRepository userRepository;
+
+  @Test
+  @DisplayName("upsert: 없는 사용자는 oauth2-server의 id 그대로 비밀번호 없이 추가")
+  void upsert_shouldInsertUserWithItsOriginId() {
+    // when
+    userUpsertRepository.upsert(List.of(alice(true, List.of("ROLE_USER", "ROLE_ADMIN"))));
+
+    // then
+    User user = userRepository.findById(42L).orElseThrow();
+    assertThat(user.getUsername()).isEqualTo("alice@example.com");
+    assertThat(user.getEmail()).isEqualTo("alice@example.com");
+    assertThat(user.getPassword()).isEmpty();
+    assertThat(user.getEnabled()).isTrue();
+    assertThat(user.getRoles()).containsExactlyInAnyOrder(Role.ROLE_USER, Role.ROLE_ADMIN);
+    assertThat(user.getCreatedAt()).isEqualTo(CREATED_AT);
+  }
+
+  @Test
+  @DisplayName("upsert: 있는 사용자는 상태를 덮어쓰고 역할을 새로 기록하며 모르는 역할은 건너뜀")
+  void upsert_shouldUpdateUserAndRewriteRoles() {
+    // given
+    userUpsertRepository.upsert(List.of(alice(true, List.of("ROLE_USER", "ROLE_ADMIN"))));
+
+    // when
+    userUpsertRepository.upsert(
+        List.of(
+            change(
+                42L, "alice@example.org", false, List.of("ROLE_USER", "ROLE_AUDITOR"), DISABLED_AT),
+            change(43L, "bob@example.com", true, List.of("ROLE_USER"), DISABLED_AT)));
+
+    // then
+    User alice = userRepository.findById(42L).orElseThrow();
+    assertThat(alice.getEmail()).isEqualTo("alice@example.org");
+    assertThat(alice.getUsername()).isEqualTo("alice@example.org");
+    assertThat(alice.getEnabled()).isFalse();
+    assertThat(alice.getRoles()).containsExactly(Role.ROLE_USER);
+    assertThat(alice.getCreatedAt()).isEqualTo(CREATED_AT);
+    assertThat(alice.getUpdatedAt()).isEqualTo(DISABLED_AT);
+    assertThat(userRepository.findById(43L)).isPresent();
+  }
+
+  @Test
+  @DisplayName("upsert: 같은 변경을 다시 적용해도 결과가 같음")
+  void upsert_shouldBeIdempotent() {
+    // given
+    UserChangeFeed.Change change = alice(true, List.of("ROLE_USER"));
+
+    // when
+    userUpsertRepository.upsert(List.of(change));
+    userUpsertRepository.upsert(List.of(change));
+
+    // then
+    assertThat(userRepository.count()).isEqualTo(1);
+    assertThat(userRepository.findById(42L).orElseThrow().getRoles())
+        .containsExactly(Role.ROLE_USER);
+  }
+
+  private static UserChangeFeed.Change alice(boolean enabled, List<String> roles) {
+    return change(42L, "alice@example.com", enabled, roles, CREATED_AT);
+  }
+
+  private static UserChangeFeed.Change change(
+      long userId, String email, boolean enabled, List<String> roles, LocalDateTime at) {
+    return new UserChangeFeed.Change(
+        userId, userId, email, enabled ? "UPDATED" : "DISABLED", enabled, roles, at);
+  }
+}
@@ -0,0 +1,124 @@
+package com.auth.resource.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.auth.resource.config.UserInfoProperties;
+import com.auth.resource.domain.entity.User;
+import com.auth.resource.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+@DisplayName("OidcUserInfoService tests")
+class OidcUserInfoServiceTest {
+
+  private static final Map<String, Object> ALICE =
+      Map.of("userId", "7", "username", "alice", "email", "a@x.io");
+
+  private UserRepository userRepository;
+  private UserInfoProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    properties = new UserInfoProperties();
+  }
+
+  @Test
+  @DisplayName("getUserInfo: 토큰 클레임으로 응답을 만들고 같은 클레임이면 캐시된 본문 재사용")
+  void getUserInfo_shouldBuildFromClaimsAndReuseCachedBody() throws Exception {
+    // given
+    OidcUserInfoService service = service();
+
+    // when
+    OidcUserInfoService.UserInfoBody first = service.getUserInfo(token(ALICE));
+    OidcUserInfoService.UserInfoBody second = service.getUserInfo(token(ALICE));
+
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(new ObjectMapper().readValue(first.json(), Map.class))
+        .containsEntry("sub", "7")
+        .containsEntry("name", "alice")
+        .containsEntry("email", "a@x.io")
+        .containsEntry("email_verified", true)
+        .containsEntry("preferred_username", "alice");
+    then(userRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("getUserInfo: 클레임이 다르면 ETag도 다름")
+  void getUserInfo_shouldChangeEtagWhenClaimsChange() {
+    // given
+    OidcUserInfoService service = service();
+
+    // when
+    OidcUserInfoService.UserInfoBody before = service.getUserInfo(token(ALICE));
+    OidcUserInfoService.UserInfoBody after =
+        service.getUserInfo(token(Map.of("userId", "7", "username", "alice", "email", "b@x.io")));
+
+    // then
+    assertThat(before.etag()).startsWith("\"").endsWith("\"");
+    assertThat(after.etag()).isNotEqualTo(before.etag());
+  }
+
+  @Test
+  @DisplayName("getUserInfo: 사용자 클레임이 없으면 기본적으로 DB 조회 없이 sub만 반환")
+  void getUserInfo_shouldReturnSubjectOnlyWithoutFallback() {
+    // given
+    OidcUserInfoService service = service();
+
+    // when
+    OidcUserInfoService.UserInfoBody body = service.getUserInfo(token(Map.of()));
+
+    // then
+    assertThat(new String(body.json(), StandardCharsets.UTF_8)).isEqualTo("{\"sub\":\"alice\"}");
+    then(userRepository).should(never()).findByUsername(anyString());
+  }
+
+  @Test
+  @DisplayName("getUserInfo: repository-fallback을 켜면 사용자 클레임이 없는 토큰은 매번 DB에서 조회")
+  void getUserInfo_shouldLookUpUserWhenFallbackEnabled() throws Exception {
+    // given
+    properties.setRepositoryFallback(true);
+    OidcUserInfoService service = service();
+    given(userRepository.findByUsername("alice"))
+        .willReturn(
+            Optional.of(
+                User.builder().id(7L).username("alice").email("a@x.io").password("").build()));
+
+    // when
+    service.getUserInfo(token(Map.of()));
+    OidcUserInfoService.UserInfoBody body = service.getUserInfo(token(Map.of()));
+
+    // then
+    assertThat(new ObjectMapper().readValue(body.json(), Map.class))
+        .containsEntry("sub", "7")
+        .containsEntry("email", "a@x.io");
+    then(userRepository).should(times(2)).findByUsername("alice");
+  }
+
+  private OidcUserInfoService service() {
+    return new OidcUserInfoService(userRepository, new ObjectMapper(), properties);
+  }
+
+  private static JwtAuthenticationToken token(Map<String, Object> claims) {
+    return new JwtAuthenticationToken(
+        Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("alice")
+            .claims(c -> c.putAll(claims))
+            .build());
+  }
+}